@@ -20,7 +20,9 @@ import java.io.Serializable;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.aopalliance.intercept.MethodInvocation;
 import org.apache.commons.logging.Log;
@@ -92,6 +94,19 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 	 */
 	private boolean hashCodeDefined;
 
+	/**
+	 * Interception chains per proxied method, resolved when creating the proxy
+	 * for a frozen configuration with a static target.
+	 */
+	@Nullable
+	private transient Map<Method, List<Object>> fixedChains;
+
+	/**
+	 * The target class that the {@link #fixedChains} have been resolved for.
+	 */
+	@Nullable
+	private transient Class<?> fixedChainsTargetClass;
+
 
 	/**
 	 * Construct a new JdkDynamicAopProxy for the given AOP configuration.
@@ -120,6 +135,9 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 		}
 		Class<?>[] proxiedInterfaces = AopProxyUtils.completeProxiedInterfaces(this.advised, true);
 		findDefinedEqualsAndHashCodeMethods(proxiedInterfaces);
+		if (this.advised.isFrozen() && this.advised.getTargetSource().isStatic()) {
+			resolveFixedChains(proxiedInterfaces);
+		}
 		return Proxy.newProxyInstance(classLoader, proxiedInterfaces, this);
 	}
 
@@ -146,6 +164,25 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 	}
 
 
+	/**
+	 * Resolve the interception chains for all methods of the supplied interfaces.
+	 * <p>A frozen configuration cannot change its advice, and a static target
+	 * always has the same class, so the chains can be determined up front
+	 * instead of being looked up on every invocation.
+	 * @param proxiedInterfaces the interfaces to introspect
+	 */
+	private void resolveFixedChains(Class<?>[] proxiedInterfaces) {
+		Class<?> targetClass = this.advised.getTargetClass();
+		Map<Method, List<Object>> chains = new HashMap<>();
+		for (Class<?> proxiedInterface : proxiedInterfaces) {
+			for (Method method : proxiedInterface.getMethods()) {
+				chains.put(method, this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass));
+			}
+		}
+		this.fixedChainsTargetClass = targetClass;
+		this.fixedChains = chains;
+	}
+
 	/**
 	 * Implementation of {@code InvocationHandler.invoke}.
 	 * <p>Callers will see exactly the exception thrown by the target,
@@ -194,7 +231,14 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 			Class<?> targetClass = (target != null ? target.getClass() : null);
 
 			// Get the interception chain for this method.
-			List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+			List<Object> chain = null;
+			Map<Method, List<Object>> fixedChains = this.fixedChains;
+			if (fixedChains != null && targetClass == this.fixedChainsTargetClass) {
+				chain = fixedChains.get(method);
+			}
+			if (chain == null) {
+				chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+			}
 
 			// Check whether we have any advice. If we don't, we can fallback on direct
 			// reflective invocation of the target, and avoid creating a MethodInvocation.
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.annotation;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.TypeConverter;
+import org.springframework.beans.factory.InjectionPoint;
+import org.springframework.beans.factory.UnsatisfiedDependencyException;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.DependencyDescriptor;
+import org.springframework.core.MethodParameter;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Resolves and injects the dependencies of a single bean from injection points
+ * that have been determined up front, typically by code generated at build time.
+ *
+ * <p>Constructor arguments, fields and methods are identified by name and
+ * parameter type names only: in contrast to {@link AutowiredAnnotationBeanPostProcessor},
+ * the bean class is not introspected for annotated members. Each dependency is
+ * resolved like an {@link Autowired @Autowired} one, honoring qualifiers and
+ * {@link Value @Value} annotations on the injection point as far as supported by
+ * the bean factory's {@link org.springframework.beans.factory.support.AutowireCandidateResolver}.
+ *
+ * <p>Members are looked up once per resolver and then cached, so a resolver can
+ * be shared by all instances of a bean, e.g. for a prototype bean.
+ *
+ * @since 5.1
+ * @see AutowiredAnnotationBeanPostProcessor
+ */
+public final class AutowiredInjectionResolver {
+
+	private final ConfigurableListableBeanFactory beanFactory;
+
+	private final String beanName;
+
+	private final Class<?> beanClass;
+
+	private final Map<String, Constructor<?>> constructorCache = new ConcurrentHashMap<>(1);
+
+	private final Map<String, Field> fieldCache = new ConcurrentHashMap<>(4);
+
+	private final Map<String, Method> methodCache = new ConcurrentHashMap<>(4);
+
+
+	/**
+	 * Create a new {@code AutowiredInjectionResolver} for the given bean.
+	 * @param beanFactory the bean factory to resolve dependencies against
+	 * @param beanName the name of the bean to resolve dependencies for
+	 * @param beanClass the class of the bean
+	 */
+	public AutowiredInjectionResolver(ConfigurableListableBeanFactory beanFactory, String beanName, Class<?> beanClass) {
+		Assert.notNull(beanFactory, "BeanFactory must not be null");
+		Assert.notNull(beanName, "Bean name must not be null");
+		Assert.notNull(beanClass, "Bean class must not be null");
+		this.beanFactory = beanFactory;
+		this.beanName = beanName;
+		this.beanClass = beanClass;
+	}
+
+
+	/**
+	 * Resolve the arguments for the constructor with the given parameter types.
+	 * @param parameterTypeNames the {@link Class#getTypeName() type names} of
+	 * the constructor parameters
+	 * @return the resolved arguments
+	 * @throws UnsatisfiedDependencyException if an argument cannot be resolved
+	 */
+	public Object[] resolveConstructorArguments(String... parameterTypeNames) {
+		return resolveArguments(getConstructor(parameterTypeNames), true);
+	}
+
+	/**
+	 * Instantiate the bean through the constructor with the given parameter
+	 * types, resolving its arguments first. To be used for constructors which
+	 * are not accessible to the calling code.
+	 * @param parameterTypeNames the {@link Class#getTypeName() type names} of
+	 * the constructor parameters
+	 * @return the new bean instance
+	 * @throws UnsatisfiedDependencyException if an argument cannot be resolved
+	 */
+	public Object instantiate(String... parameterTypeNames) {
+		Constructor<?> constructor = getConstructor(parameterTypeNames);
+		Object[] args = resolveArguments(constructor, true);
+		Assert.state(args != null, "No constructor arguments resolved");
+		return BeanUtils.instantiateClass(constructor, args);
+	}
+
+	/**
+	 * Inject the given field of the bean, declared on the bean class or one
+	 * of its superclasses.
+	 * @param bean the bean instance
+	 * @param fieldName the name of the field
+	 * @param required whether the dependency is required
+	 * @throws UnsatisfiedDependencyException if a required dependency cannot be resolved
+	 */
+	public void injectField(Object bean, String fieldName, boolean required) {
+		Field field = this.fieldCache.computeIfAbsent(fieldName, name -> {
+			Field found = ReflectionUtils.findField(this.beanClass, name);
+			if (found == null) {
+				throw new IllegalStateException("No field '" + name + "' found on " + this.beanClass);
+			}
+			ReflectionUtils.makeAccessible(found);
+			return found;
+		});
+		DependencyDescriptor descriptor = new DependencyDescriptor(field, required);
+		descriptor.setContainingClass(bean.getClass());
+		Set<String> autowiredBeanNames = new LinkedHashSet<>(1);
+		Object value;
+		try {
+			value = this.beanFactory.resolveDependency(
+					descriptor, this.beanName, autowiredBeanNames, this.beanFactory.getTypeConverter());
+		}
+		catch (BeansException ex) {
+			throw new UnsatisfiedDependencyException(null, this.beanName, new InjectionPoint(field), ex);
+		}
+		registerDependentBeans(autowiredBeanNames);
+		if (value != null) {
+			ReflectionUtils.setField(field, bean, value);
+		}
+	}
+
+	/**
+	 * Inject the bean through the given method, declared on the bean class or
+	 * one of its superclasses.
+	 * @param bean the bean instance
+	 * @param methodName the name of the method
+	 * @param required whether the dependencies are required: if not, the method
+	 * does not get invoked unless all of its arguments can be resolved
+	 * @param parameterTypeNames the {@link Class#getTypeName() type names} of
+	 * the method parameters
+	 * @throws UnsatisfiedDependencyException if a required dependency cannot be resolved
+	 */
+	public void injectMethod(Object bean, String methodName, boolean required, String... parameterTypeNames) {
+		String key = methodName + ObjectUtils.nullSafeToString(parameterTypeNames);
+		Method method = this.methodCache.computeIfAbsent(key, k -> {
+			Class<?> searchType = this.beanClass;
+			while (searchType != null && searchType != Object.class) {
+				for (Method candidate : searchType.getDeclaredMethods()) {
+					if (candidate.getName().equals(methodName) &&
+							matches(candidate.getParameterTypes(), parameterTypeNames)) {
+						ReflectionUtils.makeAccessible(candidate);
+						return candidate;
+					}
+				}
+				searchType = searchType.getSuperclass();
+			}
+			throw new IllegalStateException("No method '" + methodName + "' with parameter types " +
+					ObjectUtils.nullSafeToString(parameterTypeNames) + " found on " + this.beanClass);
+		});
+		Object[] args = resolveArguments(method, required);
+		if (args != null) {
+			ReflectionUtils.invokeMethod(method, bean, args);
+		}
+	}
+
+
+	private Constructor<?> getConstructor(String... parameterTypeNames) {
+		return this.constructorCache.computeIfAbsent(ObjectUtils.nullSafeToString(parameterTypeNames), key -> {
+			for (Constructor<?> candidate : this.beanClass.getDeclaredConstructors()) {
+				if (matches(candidate.getParameterTypes(), parameterTypeNames)) {
+					return candidate;
+				}
+			}
+			throw new IllegalStateException("No constructor with parameter types " +
+					ObjectUtils.nullSafeToString(parameterTypeNames) + " found on " + this.beanClass);
+		});
+	}
+
+	/**
+	 * Resolve the arguments for the given constructor or method.
+	 * @return the arguments, or {@code null} if an optional dependency could not
+	 * be resolved
+	 */
+	@Nullable
+	private Object[] resolveArguments(Executable executable, boolean required) {
+		Object[] args = new Object[executable.getParameterCount()];
+		Set<String> autowiredBeanNames = new LinkedHashSet<>(args.length);
+		TypeConverter typeConverter = this.beanFactory.getTypeConverter();
+		for (int i = 0; i < args.length; i++) {
+			MethodParameter methodParam = MethodParameter.forExecutable(executable, i);
+			DependencyDescriptor descriptor = new DependencyDescriptor(methodParam, required);
+			descriptor.setContainingClass(this.beanClass);
+			try {
+				Object arg = this.beanFactory.resolveDependency(
+						descriptor, this.beanName, autowiredBeanNames, typeConverter);
+				if (arg == null && !required) {
+					return null;
+				}
+				args[i] = arg;
+			}
+			catch (BeansException ex) {
+				throw new UnsatisfiedDependencyException(null, this.beanName, new InjectionPoint(methodParam), ex);
+			}
+		}
+		registerDependentBeans(autowiredBeanNames);
+		return args;
+	}
+
+	private void registerDependentBeans(Set<String> autowiredBeanNames) {
+		for (String autowiredBeanName : autowiredBeanNames) {
+			if (this.beanFactory.containsBean(autowiredBeanName)) {
+				this.beanFactory.registerDependentBean(autowiredBeanName, this.beanName);
+			}
+		}
+	}
+
+	private static boolean matches(Class<?>[] parameterTypes, String[] parameterTypeNames) {
+		if (parameterTypes.length != parameterTypeNames.length) {
+			return false;
+		}
+		for (int i = 0; i < parameterTypes.length; i++) {
+			if (!parameterTypes[i].getTypeName().equals(parameterTypeNames[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
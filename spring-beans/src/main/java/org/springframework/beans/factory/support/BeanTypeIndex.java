@@ -0,0 +1,209 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.util.ClassUtils;
+
+/**
+ * Index of bean names by the classes and interfaces their beans are known
+ * to be assignable to, used by {@link DefaultListableBeanFactory} to narrow
+ * down the bean definitions to check for a by-type lookup.
+ *
+ * <p>Only beans whose type is fixed by their bean definition or by their
+ * singleton instance get indexed. Any other bean, e.g. a {@code FactoryBean}
+ * or a bean whose type is only predicted by a post-processor, is
+ * {@link #addDynamic added as dynamic} and remains a candidate for any type.
+ * Beans that have been {@link #invalidate invalidated} or have just been
+ * {@link #register registered} are pending until they get indexed again.
+ *
+ * <p>Beans are returned in registration order. All operations are
+ * thread-safe; index updates computed from a stale snapshot are ignored.
+ *
+ * @since 5.1
+ */
+final class BeanTypeIndex {
+
+	private final Map<String, Long> registrationOrder = new HashMap<>(256);
+
+	private long registrationCounter;
+
+	private final Map<String, Class<?>> indexedTypes = new HashMap<>(256);
+
+	private final Map<Class<?>, Set<String>> beanNamesByType = new HashMap<>(256);
+
+	private final Set<String> dynamicBeanNames = new LinkedHashSet<>();
+
+	private final Set<String> pendingBeanNames = new LinkedHashSet<>();
+
+	private long modificationCount;
+
+
+	/**
+	 * Register the given bean name, keeping its registration order in case
+	 * of an overriding bean definition, and mark it as pending.
+	 */
+	public synchronized void register(String beanName) {
+		if (!this.registrationOrder.containsKey(beanName)) {
+			this.registrationOrder.put(beanName, this.registrationCounter++);
+		}
+		invalidate(beanName);
+	}
+
+	/**
+	 * Remove the given bean name from this index.
+	 */
+	public synchronized void remove(String beanName) {
+		invalidate(beanName);
+		this.pendingBeanNames.remove(beanName);
+		this.registrationOrder.remove(beanName);
+	}
+
+	/**
+	 * Mark the given bean name as pending, to be indexed again.
+	 */
+	public synchronized void invalidate(String beanName) {
+		if (!this.registrationOrder.containsKey(beanName)) {
+			return;
+		}
+		Class<?> type = this.indexedTypes.remove(beanName);
+		if (type != null) {
+			for (Class<?> candidate : getIndexKeys(type)) {
+				Set<String> beanNames = this.beanNamesByType.get(candidate);
+				if (beanNames != null) {
+					beanNames.remove(beanName);
+					if (beanNames.isEmpty()) {
+						this.beanNamesByType.remove(candidate);
+					}
+				}
+			}
+		}
+		this.dynamicBeanNames.remove(beanName);
+		this.pendingBeanNames.add(beanName);
+		this.modificationCount++;
+	}
+
+	/**
+	 * Mark all registered bean names as pending, to be indexed again.
+	 */
+	public synchronized void invalidateAll() {
+		this.indexedTypes.clear();
+		this.beanNamesByType.clear();
+		this.dynamicBeanNames.clear();
+		this.pendingBeanNames.addAll(this.registrationOrder.keySet());
+		this.modificationCount++;
+	}
+
+	/**
+	 * Return a snapshot of the current state of this index for the given type.
+	 * @param type the raw type to look up
+	 */
+	public synchronized Snapshot getSnapshot(Class<?> type) {
+		Set<String> beanNames = this.beanNamesByType.get(type);
+		List<String> candidates = new ArrayList<>(
+				(beanNames != null ? beanNames.size() : 0) + this.dynamicBeanNames.size());
+		if (beanNames != null) {
+			candidates.addAll(beanNames);
+		}
+		candidates.addAll(this.dynamicBeanNames);
+		return new Snapshot(candidates, new ArrayList<>(this.pendingBeanNames), this.modificationCount);
+	}
+
+	/**
+	 * Apply the given types, as determined for the pending beans of the given
+	 * snapshot, unless this index has been modified in the meantime.
+	 * @param snapshot the snapshot the types were determined for
+	 * @param types the types per bean name, with {@code null} values for beans
+	 * whose type cannot be indexed; beans not contained remain pending
+	 */
+	public synchronized void update(Snapshot snapshot, Map<String, Class<?>> types) {
+		if (snapshot.modificationCount != this.modificationCount) {
+			return;
+		}
+		types.forEach((beanName, type) -> {
+			if (this.pendingBeanNames.remove(beanName)) {
+				if (type != null) {
+					this.indexedTypes.put(beanName, type);
+					for (Class<?> candidate : getIndexKeys(type)) {
+						this.beanNamesByType.computeIfAbsent(candidate, key -> new LinkedHashSet<>()).add(beanName);
+					}
+				}
+				else {
+					this.dynamicBeanNames.add(beanName);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Sort the given bean names by their registration order.
+	 */
+	public synchronized void sort(List<String> beanNames) {
+		beanNames.sort(Comparator.comparingLong(beanName -> {
+			Long order = this.registrationOrder.get(beanName);
+			return (order != null ? order : Long.MAX_VALUE);
+		}));
+	}
+
+	private static Collection<Class<?>> getIndexKeys(Class<?> type) {
+		Set<Class<?>> keys = new LinkedHashSet<>();
+		Class<?> current = type;
+		while (current != null && current != Object.class) {
+			keys.add(current);
+			current = current.getSuperclass();
+		}
+		keys.addAll(ClassUtils.getAllInterfacesForClassAsSet(type));
+		return keys;
+	}
+
+
+	/**
+	 * Snapshot of the candidates for a given type, plus the pending beans
+	 * whose type still needs to be determined.
+	 */
+	static final class Snapshot {
+
+		private final List<String> candidates;
+
+		private final List<String> pendingBeanNames;
+
+		private final long modificationCount;
+
+		Snapshot(List<String> candidates, List<String> pendingBeanNames, long modificationCount) {
+			this.candidates = candidates;
+			this.pendingBeanNames = pendingBeanNames;
+			this.modificationCount = modificationCount;
+		}
+
+		public List<String> getCandidates() {
+			return this.candidates;
+		}
+
+		public List<String> getPendingBeanNames() {
+			return this.pendingBeanNames;
+		}
+	}
+
+}
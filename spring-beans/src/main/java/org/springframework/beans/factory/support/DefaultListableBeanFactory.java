@@ -31,6 +31,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -39,12 +41,17 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Stream;
 import javax.inject.Provider;
 
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyValue;
 import org.springframework.beans.TypeConverter;
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.BeanCurrentlyInCreationException;
@@ -65,13 +72,17 @@ import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
 import org.springframework.beans.factory.config.DependencyDescriptor;
 import org.springframework.beans.factory.config.NamedBeanHolder;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
 import org.springframework.core.OrderComparator;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
@@ -150,6 +161,13 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	@Nullable
 	private Comparator<Object> dependencyComparator;
 
+	/** Optional Executor for pre-instantiating singletons in parallel. */
+	@Nullable
+	private Executor bootstrapExecutor;
+
+	/** Whether to narrow down by-type lookups through the bean type index. */
+	private boolean typeIndexEnabled = true;
+
 	/** Resolver to use for checking if a bean definition is an autowire candidate. */
 	private AutowireCandidateResolver autowireCandidateResolver = new SimpleAutowireCandidateResolver();
 
@@ -165,6 +183,18 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Map of singleton-only bean names, keyed by dependency type. */
 	private final Map<Class<?>, String[]> singletonBeanNamesByType = new ConcurrentHashMap<>(64);
 
+	/** Index of bean definition names, keyed by the types their beans are assignable to. */
+	private final BeanTypeIndex beanTypeIndex = new BeanTypeIndex();
+
+	/** Number of by-type lookups performed so far. */
+	private final LongAdder typeLookupCount = new LongAdder();
+
+	/** Number of beans checked for a type match by by-type lookups so far. */
+	private final LongAdder typeMatchCount = new LongAdder();
+
+	/** Time spent in by-type lookups so far, in nanoseconds. */
+	private final LongAdder typeLookupTime = new LongAdder();
+
 	/** List of bean definition names, in registration order. */
 	private volatile List<String> beanDefinitionNames = new ArrayList<>(256);
 
@@ -262,6 +292,89 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return this.allowEagerClassLoading;
 	}
 
+	/**
+	 * Set an {@link Executor} to pre-instantiate non-lazy singletons with,
+	 * in parallel rather than one after the other on the calling thread.
+	 * <p>Each singleton gets scheduled once the singletons it declares as
+	 * dependencies - through "depends-on", its factory bean, or bean references
+	 * in its constructor arguments and property values - have been created.
+	 * Dependencies which are only discovered during creation, e.g. through
+	 * autowiring, simply make the requesting thread wait for them.
+	 * {@link SmartInitializingSingleton} callbacks are still invoked on the
+	 * calling thread, in registration order, once all singletons are available.
+	 * <p>Setting an executor also enables
+	 * {@link #setConcurrentSingletonCreation concurrent singleton creation}.
+	 * Default is none.
+	 * @since 5.1
+	 * @see #preInstantiateSingletons()
+	 */
+	public void setBootstrapExecutor(@Nullable Executor bootstrapExecutor) {
+		this.bootstrapExecutor = bootstrapExecutor;
+		setConcurrentSingletonCreation(bootstrapExecutor != null);
+	}
+
+	/**
+	 * Return the {@link Executor} to pre-instantiate singletons with, if any.
+	 * @since 5.1
+	 */
+	@Nullable
+	public Executor getBootstrapExecutor() {
+		return this.bootstrapExecutor;
+	}
+
+	/**
+	 * Set whether to maintain an index of bean definitions by the classes and
+	 * interfaces their beans are assignable to, so that by-type lookups only
+	 * need to check the bean definitions that may actually match.
+	 * <p>Beans whose type is not determined by their bean definition or their
+	 * singleton instance, e.g. {@code FactoryBeans} or beans created through
+	 * a factory bean, are checked for every lookup. Default is "true".
+	 * Turn this off to check all bean definitions for every lookup.
+	 * @since 5.1
+	 * @see #getBeanNamesForType(ResolvableType)
+	 */
+	public void setTypeIndexEnabled(boolean typeIndexEnabled) {
+		this.typeIndexEnabled = typeIndexEnabled;
+	}
+
+	/**
+	 * Return whether by-type lookups are narrowed down through a type index.
+	 * @since 5.1
+	 */
+	public boolean isTypeIndexEnabled() {
+		return this.typeIndexEnabled;
+	}
+
+	/**
+	 * Return the number of by-type lookups against the bean definitions
+	 * and manual singletons of this factory performed so far, not counting
+	 * lookups served from the by-type cache of a frozen configuration.
+	 * @since 5.1
+	 * @see #getTypeMatchCount()
+	 * @see #getTypeLookupTime()
+	 */
+	public long getTypeLookupCount() {
+		return this.typeLookupCount.sum();
+	}
+
+	/**
+	 * Return the number of beans checked for a type match by by-type lookups so far.
+	 * @since 5.1
+	 * @see #getTypeLookupCount()
+	 */
+	public long getTypeMatchCount() {
+		return this.typeMatchCount.sum();
+	}
+
+	/**
+	 * Return the time spent in by-type lookups so far, in nanoseconds.
+	 * @since 5.1
+	 * @see #getTypeLookupCount()
+	 */
+	public long getTypeLookupTime() {
+		return this.typeLookupTime.sum();
+	}
+
 	/**
 	 * Set a {@link java.util.Comparator} for dependency Lists and arrays.
 	 * @since 4.0
@@ -318,6 +431,8 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			this.allowBeanDefinitionOverriding = otherListableFactory.allowBeanDefinitionOverriding;
 			this.allowEagerClassLoading = otherListableFactory.allowEagerClassLoading;
 			this.dependencyComparator = otherListableFactory.dependencyComparator;
+			setBootstrapExecutor(otherListableFactory.bootstrapExecutor);
+			this.typeIndexEnabled = otherListableFactory.typeIndexEnabled;
 			// A clone of the AutowireCandidateResolver since it is potentially BeanFactoryAware...
 			setAutowireCandidateResolver(BeanUtils.instantiateClass(getAutowireCandidateResolver().getClass()));
 			// Make resolvable dependencies (e.g. ResourceLoader) available here as well...
@@ -467,10 +582,12 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	}
 
 	private String[] doGetBeanNamesForType(ResolvableType type, boolean includeNonSingletons, boolean allowEagerInit) {
+		long startTime = System.nanoTime();
 		List<String> result = new ArrayList<>();
 
-		// Check all bean definitions.
-		for (String beanName : this.beanDefinitionNames) {
+		// Check all bean definitions that may match, in registration order.
+		Collection<String> beanNamesToCheck = getBeanDefinitionNamesToCheck(type);
+		for (String beanName : beanNamesToCheck) {
 			// Only consider bean as eligible if the bean name
 			// is not defined as alias for some other bean.
 			if (!isAlias(beanName)) {
@@ -548,9 +665,85 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			}
 		}
 
+		this.typeLookupCount.increment();
+		this.typeMatchCount.add(beanNamesToCheck.size() + this.manualSingletonNames.size());
+		this.typeLookupTime.add(System.nanoTime() - startTime);
 		return StringUtils.toStringArray(result);
 	}
 
+	/**
+	 * Determine the names of the bean definitions to check for the given type:
+	 * all bean definition names, or only the candidates from the type index.
+	 * @param type the type to look up
+	 * @return the bean names, in registration order
+	 * @see #setTypeIndexEnabled
+	 */
+	private Collection<String> getBeanDefinitionNamesToCheck(ResolvableType type) {
+		Class<?> rawType = type.resolve();
+		if (!this.typeIndexEnabled || rawType == null || rawType == Object.class ||
+				rawType.isArray() || rawType.isPrimitive() || getTempClassLoader() != null) {
+			return this.beanDefinitionNames;
+		}
+		BeanTypeIndex.Snapshot snapshot = this.beanTypeIndex.getSnapshot(rawType);
+		List<String> candidates = snapshot.getCandidates();
+		if (!snapshot.getPendingBeanNames().isEmpty()) {
+			Map<String, Class<?>> indexedTypes = new HashMap<>();
+			for (String beanName : snapshot.getPendingBeanNames()) {
+				Class<?> indexedType = determineIndexedType(beanName);
+				if (indexedType != null) {
+					indexedTypes.put(beanName, (indexedType != Object.class ? indexedType : null));
+				}
+				if (indexedType == null || indexedType == Object.class || rawType.isAssignableFrom(indexedType)) {
+					candidates.add(beanName);
+				}
+			}
+			this.beanTypeIndex.update(snapshot, indexedTypes);
+		}
+		this.beanTypeIndex.sort(candidates);
+		return candidates;
+	}
+
+	/**
+	 * Determine the type to index the given bean under: the class of its
+	 * singleton instance, if already created, or else its target type.
+	 * <p>Does not resolve the bean class of lazy-init beans.
+	 * @param beanName the name of the bean
+	 * @return the type to index the bean under, {@code Object.class} if the bean
+	 * needs to be checked for any type, or {@code null} if its type cannot be
+	 * determined yet
+	 */
+	@Nullable
+	private Class<?> determineIndexedType(String beanName) {
+		try {
+			RootBeanDefinition mbd = getMergedLocalBeanDefinition(beanName);
+			if (mbd.isAbstract() || mbd.getFactoryBeanName() != null || mbd.getDecoratedDefinition() != null) {
+				return Object.class;
+			}
+			if (mbd.isLazyInit() && !mbd.hasBeanClass()) {
+				// Do not load the bean class: left to the lookup, depending on whether it allows for that.
+				return Object.class;
+			}
+			Class<?> beanType;
+			Object beanInstance = getSingleton(beanName, false);
+			if (beanInstance != null && beanInstance.getClass() != NullBean.class) {
+				beanType = beanInstance.getClass();
+			}
+			else {
+				beanType = determineTargetType(beanName, mbd);
+				if (beanType == null || beanType != predictBeanType(beanName, mbd)) {
+					// Type predicted by a post-processor: may change without notice.
+					return Object.class;
+				}
+			}
+			return (FactoryBean.class.isAssignableFrom(beanType) || beanType.isArray() ? Object.class : beanType);
+		}
+		catch (BeansException ex) {
+			// Probably a placeholder or circular reference: let's determine the type later on.
+			onSuppressedException(ex);
+			return null;
+		}
+	}
+
 	/**
 	 * Check whether the specified bean would need to be eagerly initialized
 	 * in order to determine its type.
@@ -766,6 +959,14 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	public void clearMetadataCache() {
 		super.clearMetadataCache();
 		clearByTypeCache();
+		this.beanTypeIndex.invalidateAll();
+	}
+
+	@Override
+	public void addBeanPostProcessor(BeanPostProcessor beanPostProcessor) {
+		super.addBeanPostProcessor(beanPostProcessor);
+		// Post-processors may predict or expose different bean types.
+		this.beanTypeIndex.invalidateAll();
 	}
 
 	@Override
@@ -800,30 +1001,15 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		List<String> beanNames = new ArrayList<>(this.beanDefinitionNames);
 
 		// Trigger initialization of all non-lazy singleton beans...
-		for (String beanName : beanNames) {
-			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
-			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
-				if (isFactoryBean(beanName)) {
-					Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
-					if (bean instanceof FactoryBean) {
-						final FactoryBean<?> factory = (FactoryBean<?>) bean;
-						boolean isEagerInit;
-						if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
-							isEagerInit = AccessController.doPrivileged((PrivilegedAction<Boolean>)
-											((SmartFactoryBean<?>) factory)::isEagerInit,
-									getAccessControlContext());
-						}
-						else {
-							isEagerInit = (factory instanceof SmartFactoryBean &&
-									((SmartFactoryBean<?>) factory).isEagerInit());
-						}
-						if (isEagerInit) {
-							getBean(beanName);
-						}
-					}
-				}
-				else {
-					getBean(beanName);
+		Executor executor = this.bootstrapExecutor;
+		if (executor != null) {
+			preInstantiateSingletonsInParallel(beanNames, executor);
+		}
+		else {
+			for (String beanName : beanNames) {
+				RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+				if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+					preInstantiateSingleton(beanName);
 				}
 			}
 		}
@@ -832,18 +1018,166 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		for (String beanName : beanNames) {
 			Object singletonInstance = getSingleton(beanName);
 			if (singletonInstance instanceof SmartInitializingSingleton) {
+				StartupStep smartInitialize = getApplicationStartup().start("spring.beans.smart-initialize")
+						.tag("beanName", beanName);
 				final SmartInitializingSingleton smartSingleton = (SmartInitializingSingleton) singletonInstance;
-				if (System.getSecurityManager() != null) {
-					AccessController.doPrivileged((PrivilegedAction<Object>) () -> {
+				try {
+					if (System.getSecurityManager() != null) {
+						AccessController.doPrivileged((PrivilegedAction<Object>) () -> {
+							smartSingleton.afterSingletonsInstantiated();
+							return null;
+						}, getAccessControlContext());
+					}
+					else {
 						smartSingleton.afterSingletonsInstantiated();
-						return null;
-					}, getAccessControlContext());
+					}
+				}
+				finally {
+					smartInitialize.end();
+				}
+			}
+		}
+
+		if (logger.isDebugEnabled()) {
+			logger.debug("Performed " + getTypeLookupCount() + " by-type lookups checking " +
+					getTypeMatchCount() + " beans in " + getTypeLookupTime() / 1000000 + " ms in " + this);
+		}
+	}
+
+	private void preInstantiateSingleton(String beanName) {
+		if (isFactoryBean(beanName)) {
+			Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
+			if (bean instanceof FactoryBean) {
+				final FactoryBean<?> factory = (FactoryBean<?>) bean;
+				boolean isEagerInit;
+				if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
+					isEagerInit = AccessController.doPrivileged((PrivilegedAction<Boolean>)
+									((SmartFactoryBean<?>) factory)::isEagerInit,
+							getAccessControlContext());
 				}
 				else {
-					smartSingleton.afterSingletonsInstantiated();
+					isEagerInit = (factory instanceof SmartFactoryBean &&
+							((SmartFactoryBean<?>) factory).isEagerInit());
+				}
+				if (isEagerInit) {
+					getBean(beanName);
+				}
+			}
+		}
+		else {
+			getBean(beanName);
+		}
+	}
+
+	/**
+	 * Pre-instantiate the given singletons through the given executor, scheduling
+	 * each of them once its declared dependencies have been created.
+	 * <p>Returns once all of them are done, rethrowing the first failure
+	 * in registration order, if any.
+	 * @see #setBootstrapExecutor
+	 */
+	private void preInstantiateSingletonsInParallel(List<String> beanNames, Executor executor) {
+		Map<String, RootBeanDefinition> candidates = new LinkedHashMap<>();
+		for (String beanName : beanNames) {
+			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+				candidates.put(beanName, bd);
+			}
+		}
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		Map<String, CompletableFuture<Void>> futures = new HashMap<>(candidates.size());
+		for (String beanName : candidates.keySet()) {
+			schedulePreInstantiation(beanName, candidates, futures, new HashSet<>(), executor, classLoader);
+		}
+
+		CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).handle((result, ex) -> null).join();
+		for (String beanName : candidates.keySet()) {
+			try {
+				futures.get(beanName).join();
+			}
+			catch (CompletionException ex) {
+				Throwable cause = ex.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
 				}
+				throw new BeanCreationException(beanName, "Parallel pre-instantiation failed", cause);
+			}
+		}
+	}
+
+	private CompletableFuture<Void> schedulePreInstantiation(String beanName, Map<String, RootBeanDefinition> candidates,
+			Map<String, CompletableFuture<Void>> futures, Set<String> scheduling, Executor executor,
+			@Nullable ClassLoader classLoader) {
+
+		CompletableFuture<Void> future = futures.get(beanName);
+		if (future != null) {
+			return future;
+		}
+		// Declared circular references are left to regular early reference resolution
+		scheduling.add(beanName);
+		List<CompletableFuture<Void>> dependencies = new ArrayList<>();
+		for (String dependency : getDeclaredDependencies(candidates.get(beanName))) {
+			if (candidates.containsKey(dependency) && !scheduling.contains(dependency)) {
+				dependencies.add(schedulePreInstantiation(
+						dependency, candidates, futures, scheduling, executor, classLoader));
+			}
+		}
+		scheduling.remove(beanName);
+		future = CompletableFuture.allOf(dependencies.toArray(new CompletableFuture<?>[0])).thenRunAsync(() -> {
+			Thread currentThread = Thread.currentThread();
+			ClassLoader previousClassLoader = currentThread.getContextClassLoader();
+			currentThread.setContextClassLoader(classLoader);
+			try {
+				preInstantiateSingleton(beanName);
+			}
+			finally {
+				currentThread.setContextClassLoader(previousClassLoader);
+			}
+		}, executor);
+		futures.put(beanName, future);
+		return future;
+	}
+
+	/**
+	 * Determine the names of the beans that the given bean definition declares
+	 * as dependencies: through "depends-on", its factory bean, and bean references
+	 * in its constructor arguments and property values.
+	 */
+	private Set<String> getDeclaredDependencies(RootBeanDefinition bd) {
+		Set<String> dependencies = new LinkedHashSet<>();
+		String[] dependsOn = bd.getDependsOn();
+		if (dependsOn != null) {
+			for (String dependency : dependsOn) {
+				dependencies.add(transformedBeanName(dependency));
 			}
 		}
+		if (bd.getFactoryBeanName() != null) {
+			dependencies.add(transformedBeanName(bd.getFactoryBeanName()));
+		}
+		if (bd.hasConstructorArgumentValues()) {
+			ConstructorArgumentValues args = bd.getConstructorArgumentValues();
+			for (ConstructorArgumentValues.ValueHolder valueHolder : args.getIndexedArgumentValues().values()) {
+				addDeclaredDependency(valueHolder.getValue(), dependencies);
+			}
+			for (ConstructorArgumentValues.ValueHolder valueHolder : args.getGenericArgumentValues()) {
+				addDeclaredDependency(valueHolder.getValue(), dependencies);
+			}
+		}
+		if (bd.hasPropertyValues()) {
+			for (PropertyValue pv : bd.getPropertyValues().getPropertyValues()) {
+				addDeclaredDependency(pv.getValue(), dependencies);
+			}
+		}
+		return dependencies;
+	}
+
+	private void addDeclaredDependency(@Nullable Object value, Set<String> dependencies) {
+		if (value instanceof RuntimeBeanReference && !((RuntimeBeanReference) value).isToParent()) {
+			dependencies.add(transformedBeanName(((RuntimeBeanReference) value).getBeanName()));
+		}
 	}
 
 
@@ -921,6 +1255,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			}
 			this.frozenBeanDefinitionNames = null;
 		}
+		this.beanTypeIndex.register(beanName);
 
 		if (existingDefinition != null || containsSingleton(beanName)) {
 			resetBeanDefinition(beanName);
@@ -952,6 +1287,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			this.beanDefinitionNames.remove(beanName);
 		}
 		this.frozenBeanDefinitionNames = null;
+		this.beanTypeIndex.remove(beanName);
 
 		resetBeanDefinition(beanName);
 	}
@@ -964,6 +1300,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	protected void resetBeanDefinition(String beanName) {
 		// Remove the merged bean definition for the given bean, if already created.
 		clearMergedBeanDefinition(beanName);
+		this.beanTypeIndex.invalidate(beanName);
 
 		// Remove corresponding bean from singleton cache, if any. Shouldn't usually
 		// be necessary, rather just meant for overriding a context's default beans
@@ -1026,6 +1363,27 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		super.destroySingletons();
 		this.manualSingletonNames.clear();
 		clearByTypeCache();
+		this.beanTypeIndex.invalidateAll();
+	}
+
+	@Override
+	protected void addSingleton(String beanName, Object singletonObject) {
+		super.addSingleton(beanName, singletonObject);
+		// The singleton instance may be of a more specific type than predicted.
+		this.beanTypeIndex.invalidate(beanName);
+	}
+
+	@Override
+	protected void removeSingleton(String beanName) {
+		super.removeSingleton(beanName);
+		this.beanTypeIndex.invalidate(beanName);
+	}
+
+	@Override
+	protected void beforeSingletonCreation(String beanName) {
+		super.beforeSingletonCreation(beanName);
+		// An early singleton reference may expose a different type until creation completes.
+		this.beanTypeIndex.invalidate(beanName);
 	}
 
 	/**
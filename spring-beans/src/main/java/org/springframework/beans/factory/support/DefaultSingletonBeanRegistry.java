@@ -18,6 +18,7 @@ package org.springframework.beans.factory.support;
 
 import org.springframework.beans.factory.*;
 import org.springframework.beans.factory.config.SingletonBeanRegistry;
+import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.SimpleAliasRegistry;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -116,6 +117,54 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	private final Map<String, Set<String>> dependenciesForBeanMap = new ConcurrentHashMap<>(64);
 
+	/**
+	 * Whether singletons may be created by several threads at the same time.
+	 */
+	private volatile boolean concurrentSingletonCreation = false;
+
+	/**
+	 * 并发创建时, 正在创建某个 bean 的线程
+	 * Threads currently creating singletons: bean name to creating thread.
+	 */
+	private final Map<String, Thread> singletonCreationThreads = new ConcurrentHashMap<>(16);
+
+	/**
+	 * 并发创建时, 正在等待其他线程创建完某个 bean 的线程
+	 * Threads waiting for a singleton created by another thread: thread to bean name.
+	 */
+	private final Map<Thread, String> singletonCreationWaits = new ConcurrentHashMap<>(16);
+
+	/**
+	 * 并发创建时, 当前线程创建过程中被压制的异常
+	 * Suppressed Exceptions of the singleton creation in the current thread,
+	 * in case of concurrent creation.
+	 */
+	private final ThreadLocal<Set<Exception>> concurrentSuppressedExceptions =
+			new NamedThreadLocal<>("Suppressed exceptions of concurrent singleton creation");
+
+
+	/**
+	 * Specify whether singletons may be created by several threads at the same time.
+	 * <p>By default, singleton creation is fully serialized through the
+	 * {@link #getSingletonMutex() singleton mutex}. If enabled, the mutex is only
+	 * held while updating the registry: each singleton gets created by a single
+	 * thread while other threads requesting it wait for it to complete, releasing
+	 * the mutex while they wait. Threads waiting for each other's singletons get
+	 * early references, just like circular references within a single thread.
+	 * @since 5.1
+	 */
+	protected void setConcurrentSingletonCreation(boolean concurrentSingletonCreation) {
+		this.concurrentSingletonCreation = concurrentSingletonCreation;
+	}
+
+	/**
+	 * Return whether singletons may be created by several threads at the same time.
+	 * @since 5.1
+	 */
+	protected boolean isConcurrentSingletonCreation() {
+		return this.concurrentSingletonCreation;
+	}
+
 
 	/**
 	 * 注册一个单例的bean
@@ -195,6 +244,11 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		//如果这个单例的bean还没创建结束
 		if (singletonObject == null && isSingletonCurrentlyInCreation(beanName)) {
 			synchronized (this.singletonObjects) {
+				//并发创建时, 早期引用只暴露给正在创建它的线程
+				Thread creatingThread = this.singletonCreationThreads.get(beanName);
+				if (creatingThread != null && creatingThread != Thread.currentThread()) {
+					return this.singletonObjects.get(beanName);
+				}
 				singletonObject = this.earlySingletonObjects.get(beanName);
 				//在通过工厂去创建
 				if (singletonObject == null && allowEarlyReference) {
@@ -224,6 +278,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	public Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
 		Assert.notNull(beanName, "Bean name must not be null");
+		if (this.concurrentSingletonCreation) {
+			return getSingletonConcurrently(beanName, singletonFactory);
+		}
 		synchronized (this.singletonObjects) {
 			//如果缓存中已经存在了，就直接返回
 			Object singletonObject = this.singletonObjects.get(beanName);
@@ -277,6 +334,171 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		}
 	}
 
+	/**
+	 * Variant of {@link #getSingleton(String, ObjectFactory)} for concurrent creation:
+	 * the singleton mutex is not held while the singleton gets created.
+	 */
+	private Object getSingletonConcurrently(String beanName, ObjectFactory<?> singletonFactory) {
+		Object singletonObject = this.singletonObjects.get(beanName);
+		if (singletonObject != null) {
+			return singletonObject;
+		}
+		synchronized (this.singletonObjects) {
+			singletonObject = awaitSingletonCreation(beanName);
+			if (singletonObject != null) {
+				return singletonObject;
+			}
+			if (this.singletonsCurrentlyInDestruction) {
+				throw new BeanCreationNotAllowedException(beanName,
+						"Singleton bean creation not allowed while singletons of this factory are in destruction " +
+								"(Do not request a bean from a BeanFactory in a destroy method implementation!)");
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("Creating shared instance of singleton bean '" + beanName + "'");
+			}
+			beforeSingletonCreation(beanName);
+		}
+		boolean newSingleton = false;
+		boolean recordSuppressedExceptions = (this.concurrentSuppressedExceptions.get() == null);
+		if (recordSuppressedExceptions) {
+			this.concurrentSuppressedExceptions.set(new LinkedHashSet<>());
+		}
+		try {
+			singletonObject = singletonFactory.getObject();
+			newSingleton = true;
+		}
+		catch (IllegalStateException ex) {
+			// Has the singleton object implicitly appeared in the meantime ->
+			// if yes, proceed with it since the exception indicates that state.
+			singletonObject = this.singletonObjects.get(beanName);
+			if (singletonObject == null) {
+				throw ex;
+			}
+		}
+		catch (BeanCreationException ex) {
+			if (recordSuppressedExceptions) {
+				for (Exception suppressedException : this.concurrentSuppressedExceptions.get()) {
+					ex.addRelatedCause(suppressedException);
+				}
+			}
+			throw ex;
+		}
+		finally {
+			if (recordSuppressedExceptions) {
+				this.concurrentSuppressedExceptions.remove();
+			}
+			// Register the singleton before waking up threads waiting for it
+			synchronized (this.singletonObjects) {
+				if (newSingleton) {
+					addSingleton(beanName, singletonObject);
+				}
+				afterSingletonCreation(beanName);
+			}
+		}
+		return singletonObject;
+	}
+
+	/**
+	 * Wait for the given singleton if another thread is currently creating it.
+	 * <p>To be called with the singleton mutex held, which gets released while waiting.
+	 * @param beanName the name of the bean
+	 * @return the singleton object or an early reference to it, or {@code null}
+	 * if not created yet and not in creation by another thread either
+	 */
+	@Nullable
+	private Object awaitSingletonCreation(String beanName) {
+		Thread currentThread = Thread.currentThread();
+		Thread creatingThread = this.singletonCreationThreads.get(beanName);
+		if (creatingThread == null || creatingThread == currentThread) {
+			return this.singletonObjects.get(beanName);
+		}
+		this.singletonCreationWaits.put(currentThread, beanName);
+		// Let other waiting threads check whether they are now waiting for this one
+		this.singletonObjects.notifyAll();
+		try {
+			while (creatingThread != null && creatingThread != currentThread) {
+				List<String> cycle = getSingletonCreationCycle(beanName);
+				if (cycle != null) {
+					// Threads waiting for each other: resolve like a circular reference
+					Object earlySingletonReference = getEarlySingletonReference(beanName);
+					if (earlySingletonReference != null) {
+						return earlySingletonReference;
+					}
+					boolean resolvable = false;
+					for (String cycleBeanName : cycle) {
+						if (this.earlySingletonObjects.containsKey(cycleBeanName) ||
+								this.singletonFactories.containsKey(cycleBeanName)) {
+							resolvable = true;
+						}
+					}
+					if (!resolvable) {
+						throw new BeanCurrentlyInCreationException(beanName,
+								"Requested bean is currently in creation by another thread that waits for " +
+										"this thread in turn: Is there an unresolvable circular reference between " + cycle + "?");
+					}
+				}
+				this.singletonObjects.wait();
+				Object singletonObject = this.singletonObjects.get(beanName);
+				if (singletonObject != null) {
+					return singletonObject;
+				}
+				creatingThread = this.singletonCreationThreads.get(beanName);
+			}
+			return this.singletonObjects.get(beanName);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new BeanCreationException(beanName,
+					"Interrupted while waiting for singleton creation in another thread", ex);
+		}
+		finally {
+			this.singletonCreationWaits.remove(currentThread);
+		}
+	}
+
+	/**
+	 * Determine whether waiting for the given singleton closes a cycle of threads
+	 * waiting for each other's singletons.
+	 * @param beanName the name of the bean that the current thread waits for
+	 * @return the names of the beans waited for along the cycle, or {@code null} if none
+	 */
+	@Nullable
+	private List<String> getSingletonCreationCycle(String beanName) {
+		Thread currentThread = Thread.currentThread();
+		List<String> cycle = new ArrayList<>();
+		String waitedFor = beanName;
+		for (int i = 0; i <= this.singletonCreationWaits.size() && waitedFor != null; i++) {
+			cycle.add(waitedFor);
+			Thread creatingThread = this.singletonCreationThreads.get(waitedFor);
+			if (creatingThread == null) {
+				return null;
+			}
+			if (creatingThread == currentThread) {
+				return cycle;
+			}
+			waitedFor = this.singletonCreationWaits.get(creatingThread);
+		}
+		return null;
+	}
+
+	/**
+	 * Obtain an early reference to the given singleton currently in creation,
+	 * if already exposed. To be called with the singleton mutex held.
+	 */
+	@Nullable
+	private Object getEarlySingletonReference(String beanName) {
+		Object singletonObject = this.earlySingletonObjects.get(beanName);
+		if (singletonObject == null) {
+			ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
+			if (singletonFactory != null) {
+				singletonObject = singletonFactory.getObject();
+				this.earlySingletonObjects.put(beanName, singletonObject);
+				this.singletonFactories.remove(beanName);
+			}
+		}
+		return singletonObject;
+	}
+
 	/**
 	 * Register an Exception that happened to get suppressed during the creation of a
 	 * singleton bean instance, e.g. a temporary circular reference resolution problem.
@@ -284,6 +506,11 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @param ex the Exception to register
 	 */
 	protected void onSuppressedException(Exception ex) {
+		Set<Exception> concurrentSuppressedExceptions = this.concurrentSuppressedExceptions.get();
+		if (concurrentSuppressedExceptions != null) {
+			concurrentSuppressedExceptions.add(ex);
+			return;
+		}
 		synchronized (this.singletonObjects) {
 			if (this.suppressedExceptions != null) {
 				this.suppressedExceptions.add(ex);
@@ -362,6 +589,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		if (!this.inCreationCheckExclusions.contains(beanName) && !this.singletonsCurrentlyInCreation.add(beanName)) {
 			throw new BeanCurrentlyInCreationException(beanName);
 		}
+		if (this.concurrentSingletonCreation) {
+			this.singletonCreationThreads.put(beanName, Thread.currentThread());
+		}
 	}
 
 	/**
@@ -375,6 +605,11 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		if (!this.inCreationCheckExclusions.contains(beanName) && !this.singletonsCurrentlyInCreation.remove(beanName)) {
 			throw new IllegalStateException("Singleton '" + beanName + "' isn't currently in creation");
 		}
+		if (this.singletonCreationThreads.remove(beanName) != null) {
+			synchronized (this.singletonObjects) {
+				this.singletonObjects.notifyAll();
+			}
+		}
 	}
 
 
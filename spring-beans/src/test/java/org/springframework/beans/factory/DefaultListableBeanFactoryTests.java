@@ -26,7 +26,9 @@ import java.security.Principal;
 import java.security.PrivilegedAction;
 import java.text.NumberFormat;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -37,6 +39,11 @@ import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import javax.annotation.Priority;
 import javax.security.auth.Subject;
@@ -155,6 +162,202 @@ public class DefaultListableBeanFactoryTests {
 		assertTrue("singleton was instantiated", KnowsIfInstantiated.wasInstantiated());
 	}
 
+	@Test
+	public void testParallelPreInstantiationRespectsDeclaredDependencies() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		lbf.setBootstrapExecutor(executor);
+		try {
+			List<String> creationOrder = Collections.synchronizedList(new ArrayList<>());
+			for (int i = 0; i < 20; i++) {
+				RootBeanDefinition bd = new RootBeanDefinition(CreationRecordingBean.class);
+				bd.getConstructorArgumentValues().addGenericArgumentValue("bean" + i);
+				bd.getConstructorArgumentValues().addGenericArgumentValue((Consumer<String>) creationOrder::add);
+				if (i % 5 != 0) {
+					bd.setDependsOn("bean" + (i - 1));
+				}
+				if (i == 19) {
+					bd.getPropertyValues().add("reference", new RuntimeBeanReference("bean0"));
+				}
+				lbf.registerBeanDefinition("bean" + i, bd);
+			}
+			RootBeanDefinition lazy = new RootBeanDefinition(CreationRecordingBean.class);
+			lazy.setLazyInit(true);
+			lbf.registerBeanDefinition("lazy", lazy);
+
+			lbf.preInstantiateSingletons();
+			assertEquals(20, creationOrder.size());
+			for (int i = 0; i < 20; i++) {
+				if (i % 5 != 0) {
+					assertTrue(creationOrder.indexOf("bean" + (i - 1)) < creationOrder.indexOf("bean" + i));
+				}
+			}
+			assertFalse(lbf.containsSingleton("lazy"));
+			assertSame(lbf.getBean("bean0"), lbf.getBean("bean19", CreationRecordingBean.class).getReference());
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testParallelPreInstantiationWithCircularReferenceAcrossThreads() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		lbf.setBootstrapExecutor(executor);
+		try {
+			CyclicBarrier barrier = new CyclicBarrier(2);
+			RootBeanDefinition bd1 = new RootBeanDefinition(BarrierLookupBean.class);
+			bd1.getPropertyValues().add("barrier", barrier).add("lookupName", "bean2");
+			lbf.registerBeanDefinition("bean1", bd1);
+			RootBeanDefinition bd2 = new RootBeanDefinition(BarrierLookupBean.class);
+			bd2.getPropertyValues().add("barrier", barrier).add("lookupName", "bean1");
+			lbf.registerBeanDefinition("bean2", bd2);
+
+			lbf.preInstantiateSingletons();
+			BarrierLookupBean bean1 = lbf.getBean("bean1", BarrierLookupBean.class);
+			BarrierLookupBean bean2 = lbf.getBean("bean2", BarrierLookupBean.class);
+			assertSame(bean2, bean1.getLookedUp());
+			assertSame(bean1, bean2.getLookedUp());
+			assertNotSame(bean1.getCreationThread(), bean2.getCreationThread());
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testParallelPreInstantiationPropagatesFailure() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		lbf.setBootstrapExecutor(executor);
+		try {
+			lbf.registerBeanDefinition("ok", new RootBeanDefinition(TestBean.class));
+			RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+			bd.setInitMethodName("doesNotExist");
+			lbf.registerBeanDefinition("failing", bd);
+			RootBeanDefinition dependent = new RootBeanDefinition(TestBean.class);
+			dependent.setDependsOn("failing");
+			lbf.registerBeanDefinition("dependent", dependent);
+			try {
+				lbf.preInstantiateSingletons();
+				fail("Should have thrown BeanCreationException");
+			}
+			catch (BeanCreationException ex) {
+				assertEquals("failing", ex.getBeanName());
+			}
+			assertTrue(lbf.containsSingleton("ok"));
+			assertFalse(lbf.containsSingleton("dependent"));
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testParallelPreInstantiationRecordsRelatedCauses() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		lbf.setBootstrapExecutor(executor);
+		try {
+			RootBeanDefinition bd = new RootBeanDefinition(UnsatisfiedConstructorsBean.class);
+			bd.setAutowireMode(RootBeanDefinition.AUTOWIRE_CONSTRUCTOR);
+			lbf.registerBeanDefinition("unsatisfied", bd);
+			try {
+				lbf.preInstantiateSingletons();
+				fail("Should have thrown UnsatisfiedDependencyException");
+			}
+			catch (UnsatisfiedDependencyException ex) {
+				assertEquals("unsatisfied", ex.getBeanName());
+				assertNotNull(ex.getRelatedCauses());
+				assertEquals(1, ex.getRelatedCauses().length);
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testGetBeanNamesForTypeThroughTypeIndex() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.registerBeanDefinition("tb1", new RootBeanDefinition(TestBean.class));
+		lbf.registerBeanDefinition("nested", new RootBeanDefinition(NestedTestBean.class));
+		lbf.registerBeanDefinition("tb2", new RootBeanDefinition(DerivedTestBean.class));
+		lbf.registerBeanDefinition("factory", new RootBeanDefinition(DummyFactory.class));
+
+		assertEquals(Arrays.asList("tb1", "tb2", "factory"), Arrays.asList(lbf.getBeanNamesForType(TestBean.class)));
+		assertEquals(Arrays.asList("tb1", "tb2", "factory"), Arrays.asList(lbf.getBeanNamesForType(ITestBean.class)));
+		assertEquals(Arrays.asList("tb2", "&factory"), Arrays.asList(lbf.getBeanNamesForType(DisposableBean.class)));
+		assertEquals(Collections.singletonList("nested"), Arrays.asList(lbf.getBeanNamesForType(NestedTestBean.class)));
+		assertEquals(Collections.singletonList("&factory"), Arrays.asList(lbf.getBeanNamesForType(DummyFactory.class)));
+
+		lbf.registerBeanDefinition("tb1", new RootBeanDefinition(NestedTestBean.class));
+		assertEquals(Arrays.asList("tb2", "factory"), Arrays.asList(lbf.getBeanNamesForType(TestBean.class)));
+		assertEquals(Arrays.asList("tb1", "nested"), Arrays.asList(lbf.getBeanNamesForType(NestedTestBean.class)));
+
+		lbf.removeBeanDefinition("tb2");
+		assertEquals(Collections.singletonList("factory"), Arrays.asList(lbf.getBeanNamesForType(TestBean.class)));
+		lbf.registerBeanDefinition("tb2", new RootBeanDefinition(TestBean.class));
+		assertEquals(Arrays.asList("factory", "tb2"), Arrays.asList(lbf.getBeanNamesForType(TestBean.class)));
+	}
+
+	@Test
+	public void testGetBeanNamesForTypeThroughTypeIndexWithMoreSpecificSingleton() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.registerBeanDefinition("tb", new RootBeanDefinition(TestBean.class, DerivedTestBean::new));
+		assertEquals(Collections.singletonList("tb"), Arrays.asList(lbf.getBeanNamesForType(TestBean.class)));
+		assertEquals(0, lbf.getBeanNamesForType(DerivedTestBean.class).length);
+
+		lbf.getBean("tb");
+		assertEquals(Collections.singletonList("tb"), Arrays.asList(lbf.getBeanNamesForType(DerivedTestBean.class)));
+	}
+
+	@Test
+	public void testGetBeanNamesForTypeThroughTypeIndexDoesNotLoadLazyBeanClass() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		List<String> loadedClassNames = new ArrayList<>();
+		lbf.setBeanClassLoader(new ClassLoader(getClass().getClassLoader()) {
+			@Override
+			public Class<?> loadClass(String name) throws ClassNotFoundException {
+				loadedClassNames.add(name);
+				return super.loadClass(name);
+			}
+		});
+		lbf.setAllowEagerClassLoading(false);
+		lbf.registerBeanDefinition("tb", new RootBeanDefinition(TestBean.class));
+		RootBeanDefinition lazy = new RootBeanDefinition();
+		lazy.setBeanClassName("org.springframework.beans.factory.DoesNotExist");
+		lazy.setLazyInit(true);
+		lbf.registerBeanDefinition("lazy", lazy);
+
+		assertEquals(Collections.singletonList("tb"), Arrays.asList(lbf.getBeanNamesForType(TestBean.class, true, false)));
+		assertEquals(Collections.singletonList("tb"), Arrays.asList(lbf.getBeanNamesForType(TestBean.class, true, false)));
+		assertFalse(loadedClassNames.contains("org.springframework.beans.factory.DoesNotExist"));
+	}
+
+	@Test
+	public void testTypeLookupStatistics() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		for (int i = 0; i < 10; i++) {
+			lbf.registerBeanDefinition("tb" + i, new RootBeanDefinition(TestBean.class));
+		}
+		lbf.registerBeanDefinition("nested", new RootBeanDefinition(NestedTestBean.class));
+
+		assertEquals(Collections.singletonList("nested"), Arrays.asList(lbf.getBeanNamesForType(NestedTestBean.class)));
+		assertEquals(1, lbf.getTypeLookupCount());
+		assertEquals(1, lbf.getTypeMatchCount());
+		assertEquals(Collections.singletonList("nested"), Arrays.asList(lbf.getBeanNamesForType(NestedTestBean.class)));
+		assertEquals(2, lbf.getTypeLookupCount());
+		assertEquals(2, lbf.getTypeMatchCount());
+
+		lbf.setTypeIndexEnabled(false);
+		assertEquals(Collections.singletonList("nested"), Arrays.asList(lbf.getBeanNamesForType(NestedTestBean.class)));
+		assertEquals(3, lbf.getTypeLookupCount());
+		assertEquals(13, lbf.getTypeMatchCount());
+		assertTrue(lbf.getTypeLookupTime() > 0);
+	}
+
 	@Test
 	public void testFactoryBeanDidNotCreatePrototype() {
 		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
@@ -3493,6 +3696,80 @@ public class DefaultListableBeanFactoryTests {
 	}
 
 
+	public static class CreationRecordingBean {
+
+		private Object reference;
+
+		public CreationRecordingBean() {
+		}
+
+		public CreationRecordingBean(String name, Consumer<String> creationCallback) {
+			creationCallback.accept(name);
+		}
+
+		public Object getReference() {
+			return this.reference;
+		}
+
+		public void setReference(Object reference) {
+			this.reference = reference;
+		}
+	}
+
+
+	public static class UnsatisfiedConstructorsBean {
+
+		public UnsatisfiedConstructorsBean(Runnable runnable) {
+		}
+
+		public UnsatisfiedConstructorsBean(Callable<?> callable) {
+		}
+	}
+
+
+	public static class BarrierLookupBean implements BeanFactoryAware, InitializingBean {
+
+		private BeanFactory beanFactory;
+
+		private CyclicBarrier barrier;
+
+		private String lookupName;
+
+		private Object lookedUp;
+
+		private Thread creationThread;
+
+		@Override
+		public void setBeanFactory(BeanFactory beanFactory) {
+			this.beanFactory = beanFactory;
+		}
+
+		public void setBarrier(CyclicBarrier barrier) {
+			this.barrier = barrier;
+		}
+
+		public void setLookupName(String lookupName) {
+			this.lookupName = lookupName;
+		}
+
+		@Override
+		public void afterPropertiesSet() throws Exception {
+			this.creationThread = Thread.currentThread();
+			// Make sure both beans are in creation before looking up the other one
+			this.barrier.await(10, TimeUnit.SECONDS);
+			this.lookedUp = this.beanFactory.getBean(this.lookupName);
+		}
+
+		public Object getLookedUp() {
+			return this.lookedUp;
+		}
+
+		public Thread getCreationThread() {
+			return this.creationThread;
+		}
+	}
+
+
 	enum NonPublicEnum {
 
 		VALUE_1, VALUE_2;
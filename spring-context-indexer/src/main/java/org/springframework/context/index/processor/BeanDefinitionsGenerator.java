@@ -0,0 +1,647 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.processing.Completion;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation {@link Processor} that generates an {@code ApplicationContextInitializer}
+ * registering the components of the compiled sources with a {@code GenericApplicationContext},
+ * so that the context can be started without classpath scanning, configuration class
+ * parsing or introspection of the components for injection points.
+ *
+ * <p>Code generation is enabled by specifying the fully qualified name of the class to
+ * generate through the {@value #GENERATED_CLASS_OPTION} processor option, e.g.
+ * {@code -Aspring.context.beanDefinitionsClass=com.example.ApplicationBeanDefinitions}.
+ * The generated class registers each component with an instance supplier that
+ * invokes its constructor and injects its {@code @Autowired}, {@code @Inject} and
+ * {@code @Value} fields and methods, and applies {@code @Scope}, {@code @Lazy},
+ * {@code @Primary}, {@code @DependsOn}, {@code @PostConstruct} and {@code @PreDestroy}
+ * to its bean definition. It is meant to be used with a plain context, without
+ * annotation config processors:
+ *
+ * <pre class="code">
+ * GenericApplicationContext context = new GenericApplicationContext();
+ * new ApplicationBeanDefinitions().initialize(context);
+ * context.refresh();
+ * </pre>
+ *
+ * <p>Components that require processing at startup, such as configuration classes,
+ * conditional components, scoped proxies and components declaring {@code @Bean},
+ * {@code @Lookup}, {@code @Resource} or {@code @EventListener} methods, are not
+ * included: a warning is reported for each of them instead.
+ *
+ * <p>Fields and methods are injected by the instance supplier, i.e. before the bean
+ * is exposed for resolving circular references. Unlike with annotation config
+ * processing, components which reference each other through injected fields or
+ * methods therefore fail with a {@code BeanCurrentlyInCreationException}: one of
+ * the references needs to be resolved lazily instead, through an {@code ObjectProvider}
+ * or a {@code @Lazy} injection point.
+ *
+ * <p>The classes of the registered components are listed in a
+ * {@code META-INF/<generated class name>.components} resource. In an incremental
+ * build, the components of previous compilations are registered again if their
+ * classes still exist, in addition to the components of the compiled sources.
+ *
+ * @since 5.1
+ * @see CandidateComponentsIndexer
+ */
+public class BeanDefinitionsGenerator implements Processor {
+
+	/**
+	 * The processor option specifying the fully qualified name of the class to generate.
+	 */
+	public static final String GENERATED_CLASS_OPTION = "spring.context.beanDefinitionsClass";
+
+	private static final String COMPONENT_ANNOTATION = "org.springframework.stereotype.Component";
+
+	private static final String CONFIGURATION_ANNOTATION = "org.springframework.context.annotation.Configuration";
+
+	private static final String CONDITIONAL_ANNOTATION = "org.springframework.context.annotation.Conditional";
+
+	private static final String SCOPE_ANNOTATION = "org.springframework.context.annotation.Scope";
+
+	private static final String LAZY_ANNOTATION = "org.springframework.context.annotation.Lazy";
+
+	private static final String PRIMARY_ANNOTATION = "org.springframework.context.annotation.Primary";
+
+	private static final String DEPENDS_ON_ANNOTATION = "org.springframework.context.annotation.DependsOn";
+
+	private static final String AUTOWIRED_ANNOTATION = "org.springframework.beans.factory.annotation.Autowired";
+
+	private static final String VALUE_ANNOTATION = "org.springframework.beans.factory.annotation.Value";
+
+	private static final String INJECT_ANNOTATION = "javax.inject.Inject";
+
+	private static final String POST_CONSTRUCT_ANNOTATION = "javax.annotation.PostConstruct";
+
+	private static final String PRE_DESTROY_ANNOTATION = "javax.annotation.PreDestroy";
+
+	private static final Set<String> NAMING_ANNOTATIONS = Collections.unmodifiableSet(new HashSet<>(
+			Arrays.asList("javax.inject.Named", "javax.annotation.ManagedBean")));
+
+	private static final Set<String> UNSUPPORTED_MEMBER_ANNOTATIONS = Collections.unmodifiableSet(new HashSet<>(
+			Arrays.asList("org.springframework.context.annotation.Bean",
+					"org.springframework.beans.factory.annotation.Lookup",
+					"org.springframework.context.event.EventListener",
+					"javax.annotation.Resource")));
+
+	private static final Set<ElementKind> TYPE_KINDS =
+			Collections.unmodifiableSet(EnumSet.of(ElementKind.CLASS, ElementKind.INTERFACE));
+
+	private String generatedClassName;
+
+	private Elements elements;
+
+	private Types types;
+
+	private Messager messager;
+
+	private ProcessingEnvironment env;
+
+	private TypeHelper typeHelper;
+
+	private IndexedStereotypesProvider stereotypesProvider;
+
+	private BeanDefinitionsWriter writer;
+
+	private final Map<String, BeanRegistration> registrations = new LinkedHashMap<>();
+
+	private final Set<String> processedClassNames = new HashSet<>();
+
+	private boolean generated;
+
+
+	@Override
+	public Set<String> getSupportedOptions() {
+		return Collections.singleton(GENERATED_CLASS_OPTION);
+	}
+
+	@Override
+	public Set<String> getSupportedAnnotationTypes() {
+		return Collections.singleton("*");
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latest();
+	}
+
+	@Override
+	public synchronized void init(ProcessingEnvironment env) {
+		this.env = env;
+		this.generatedClassName = env.getOptions().get(GENERATED_CLASS_OPTION);
+		this.elements = env.getElementUtils();
+		this.types = env.getTypeUtils();
+		this.messager = env.getMessager();
+		this.typeHelper = new TypeHelper(env);
+		this.stereotypesProvider = new IndexedStereotypesProvider(this.typeHelper);
+		if (this.generatedClassName != null) {
+			this.writer = new BeanDefinitionsWriter(this.generatedClassName);
+		}
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		if (this.writer == null || roundEnv.processingOver()) {
+			return false;
+		}
+		for (Element element : roundEnv.getRootElements()) {
+			processElement(element);
+		}
+		if (!this.generated) {
+			addPreviousRegistrations();
+			writeSource();
+			this.generated = true;
+		}
+		return false;
+	}
+
+	@Override
+	public Iterable<? extends Completion> getCompletions(
+			Element element, AnnotationMirror annotation, ExecutableElement member, String userText) {
+
+		return Collections.emptyList();
+	}
+
+
+	private void processElement(Element element) {
+		if (isComponent(element)) {
+			if (this.generated) {
+				warn(element, "Component generated by another annotation processor is not registered by " +
+						this.generatedClassName);
+			}
+			else {
+				TypeElement type = (TypeElement) element;
+				this.processedClassNames.add(type.getQualifiedName().toString());
+				addRegistration(type);
+			}
+		}
+		for (Element enclosed : element.getEnclosedElements()) {
+			if (TYPE_KINDS.contains(enclosed.getKind()) && enclosed.getModifiers().contains(Modifier.STATIC)) {
+				processElement(enclosed);
+			}
+		}
+	}
+
+	private boolean isComponent(Element element) {
+		return (element.getKind() == ElementKind.CLASS && !element.getModifiers().contains(Modifier.ABSTRACT) &&
+				this.stereotypesProvider.getStereotypes(element).contains(COMPONENT_ANNOTATION));
+	}
+
+	private void addRegistration(TypeElement type) {
+		BeanRegistration registration = createRegistration(type);
+		if (registration != null) {
+			this.registrations.put(registration.getBeanName(), registration);
+		}
+	}
+
+	/**
+	 * Register the components of previous compilations that are not part of the
+	 * current one, e.g. in an incremental build, rather than generating a class
+	 * which only registers the recompiled components. Components whose class
+	 * does not exist anymore are dropped.
+	 */
+	private void addPreviousRegistrations() {
+		for (String className : readPreviousClassNames()) {
+			if (!this.processedClassNames.contains(className)) {
+				TypeElement type = this.elements.getTypeElement(className);
+				if (type != null && isComponent(type)) {
+					addRegistration(type);
+				}
+			}
+		}
+	}
+
+	private BeanRegistration createRegistration(TypeElement type) {
+		String unsupported = getUnsupportedReason(type);
+		if (unsupported != null) {
+			warn(type, unsupported + ": the component is not registered by " + this.generatedClassName);
+			return null;
+		}
+		ExecutableElement constructor = determineConstructor(type);
+		if (constructor == null) {
+			warn(type, "No unique constructor found: the component is not registered by " +
+					this.generatedClassName);
+			return null;
+		}
+		String beanName = determineBeanName(type);
+		if (this.registrations.containsKey(beanName)) {
+			warn(type, "Bean name '" + beanName + "' already used by " +
+					this.registrations.get(beanName).getClassName() + ": the component is not registered by " +
+					this.generatedClassName);
+			return null;
+		}
+
+		BeanRegistration registration = new BeanRegistration(beanName, type.getQualifiedName().toString(),
+				this.elements.getBinaryName(type).toString(), isAccessible(type));
+		boolean constructorAccessible = registration.isAccessible() && isAccessible(constructor);
+		for (VariableElement parameter : constructor.getParameters()) {
+			TypeMirror parameterType = this.types.erasure(parameter.asType());
+			constructorAccessible &= isAccessible(parameterType);
+			registration.addConstructorParameter(createParameter(parameterType));
+		}
+		registration.setConstructorAccessible(constructorAccessible);
+
+		List<ExecutableElement> initMethods = new ArrayList<>();
+		List<ExecutableElement> destroyMethods = new ArrayList<>();
+		for (TypeElement current : getTypeHierarchy(type)) {
+			for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+				Boolean required = getInjectionRequired(field);
+				if (required != null && !field.getModifiers().contains(Modifier.STATIC)) {
+					registration.addInjectionPoint(
+							BeanRegistration.InjectionPoint.forField(field.getSimpleName().toString(), required));
+				}
+			}
+			for (ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+				if (method.getModifiers().contains(Modifier.STATIC) || isOverridden(method, current, type)) {
+					continue;
+				}
+				Boolean required = getInjectionRequired(method);
+				if (required != null) {
+					List<BeanRegistration.Parameter> parameters = method.getParameters().stream()
+							.map(parameter -> createParameter(this.types.erasure(parameter.asType())))
+							.collect(Collectors.toList());
+					registration.addInjectionPoint(BeanRegistration.InjectionPoint.forMethod(
+							method.getSimpleName().toString(), required, parameters));
+				}
+				if (isAnnotated(method, POST_CONSTRUCT_ANNOTATION)) {
+					initMethods.add(method);
+				}
+				if (isAnnotated(method, PRE_DESTROY_ANNOTATION)) {
+					destroyMethods.add(method);
+				}
+			}
+		}
+		if (initMethods.size() > 1 || destroyMethods.size() > 1) {
+			warn(type, "Multiple @PostConstruct or @PreDestroy methods found: " +
+					"the component is not registered by " + this.generatedClassName);
+			return null;
+		}
+		if (!initMethods.isEmpty()) {
+			registration.setInitMethodName(initMethods.get(0).getSimpleName().toString());
+		}
+		if (!destroyMethods.isEmpty()) {
+			registration.setDestroyMethodName(destroyMethods.get(0).getSimpleName().toString());
+		}
+
+		AnnotationMirror scope = findAnnotation(type, SCOPE_ANNOTATION);
+		if (scope != null) {
+			String scopeName = (String) getAttribute(scope, "value");
+			if (scopeName == null || scopeName.isEmpty()) {
+				scopeName = (String) getAttribute(scope, "scopeName");
+			}
+			if (scopeName != null && !scopeName.isEmpty()) {
+				registration.setScope(scopeName);
+			}
+		}
+		AnnotationMirror lazy = findAnnotation(type, LAZY_ANNOTATION);
+		if (lazy != null) {
+			registration.setLazyInit((Boolean) getAttribute(lazy, "value"));
+		}
+		registration.setPrimary(findAnnotation(type, PRIMARY_ANNOTATION) != null);
+		AnnotationMirror dependsOn = findAnnotation(type, DEPENDS_ON_ANNOTATION);
+		if (dependsOn != null) {
+			registration.setDependsOn(getStringArrayAttribute(dependsOn, "value"));
+		}
+		return registration;
+	}
+
+	/**
+	 * Return why the given component cannot be registered at build time,
+	 * or {@code null} if it can.
+	 */
+	private String getUnsupportedReason(TypeElement type) {
+		if (isAnnotated(type, CONFIGURATION_ANNOTATION)) {
+			return "Configuration classes require parsing at startup";
+		}
+		if (isAnnotated(type, CONDITIONAL_ANNOTATION)) {
+			return "Conditions require evaluation at startup";
+		}
+		if (!type.getTypeParameters().isEmpty()) {
+			return "Generic component classes are not supported";
+		}
+		for (AnnotationMirror annotation : type.getAnnotationMirrors()) {
+			Object proxyMode = getAttribute(annotation, "proxyMode");
+			if (proxyMode != null && !proxyMode.toString().equals("DEFAULT") && !proxyMode.toString().equals("NO")) {
+				return "Scoped proxies are not supported";
+			}
+		}
+		for (TypeElement current : getTypeHierarchy(type)) {
+			for (Element member : current.getEnclosedElements()) {
+				for (String annotation : UNSUPPORTED_MEMBER_ANNOTATIONS) {
+					if (isAnnotated(member, annotation)) {
+						return "@" + annotation.substring(annotation.lastIndexOf('.') + 1) +
+								" members are not supported";
+					}
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Determine the constructor to use, in the same way as for an autowired component.
+	 */
+	private ExecutableElement determineConstructor(TypeElement type) {
+		List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+		List<ExecutableElement> autowired = constructors.stream()
+				.filter(constructor -> getInjectionRequired(constructor) != null)
+				.collect(Collectors.toList());
+		if (autowired.size() == 1) {
+			return autowired.get(0);
+		}
+		if (autowired.isEmpty()) {
+			if (constructors.size() == 1) {
+				return constructors.get(0);
+			}
+			for (ExecutableElement constructor : constructors) {
+				if (constructor.getParameters().isEmpty()) {
+					return constructor;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Determine the bean name in the same way as an {@code AnnotationBeanNameGenerator}.
+	 */
+	private String determineBeanName(TypeElement type) {
+		for (AnnotationMirror annotation : type.getAnnotationMirrors()) {
+			String annotationType = this.typeHelper.getType(annotation);
+			if (annotationType.equals(COMPONENT_ANNOTATION) || NAMING_ANNOTATIONS.contains(annotationType) ||
+					isAnnotated(annotation.getAnnotationType().asElement(), COMPONENT_ANNOTATION)) {
+				Object value = getAttribute(annotation, "value");
+				if (value instanceof String && !((String) value).isEmpty()) {
+					return (String) value;
+				}
+			}
+		}
+		String binaryName = this.elements.getBinaryName(type).toString();
+		String shortName = binaryName.substring(binaryName.lastIndexOf('.') + 1).replace('$', '.');
+		return decapitalize(shortName);
+	}
+
+	/**
+	 * Return whether the given field, method or constructor is to be injected:
+	 * {@code null} if it is not, or else whether its dependencies are required.
+	 */
+	private Boolean getInjectionRequired(Element element) {
+		AnnotationMirror autowired = findAnnotation(element, AUTOWIRED_ANNOTATION);
+		if (autowired != null) {
+			return (Boolean) getAttribute(autowired, "required");
+		}
+		if (isAnnotated(element, INJECT_ANNOTATION) || isAnnotated(element, VALUE_ANNOTATION)) {
+			return Boolean.TRUE;
+		}
+		return null;
+	}
+
+	/**
+	 * Return the given type and its superclasses, from the topmost one down,
+	 * excluding {@code java.lang.Object}.
+	 */
+	private List<TypeElement> getTypeHierarchy(TypeElement type) {
+		List<TypeElement> hierarchy = new ArrayList<>();
+		Element current = type;
+		while (current instanceof TypeElement && !"java.lang.Object".equals(this.typeHelper.getType(current))) {
+			hierarchy.add(0, (TypeElement) current);
+			current = this.typeHelper.getSuperClass(current);
+		}
+		return hierarchy;
+	}
+
+	private boolean isOverridden(ExecutableElement method, TypeElement declaringType, TypeElement type) {
+		for (TypeElement current : getTypeHierarchy(type)) {
+			if (current.equals(declaringType)) {
+				continue;
+			}
+			for (ExecutableElement candidate : ElementFilter.methodsIn(current.getEnclosedElements())) {
+				if (this.elements.overrides(candidate, method, current)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private boolean isAccessible(TypeElement type) {
+		Element current = type;
+		while (current instanceof TypeElement) {
+			if (!isAccessible(current)) {
+				return false;
+			}
+			current = current.getEnclosingElement();
+		}
+		return true;
+	}
+
+	private boolean isAccessible(Element element) {
+		Set<Modifier> modifiers = element.getModifiers();
+		return (modifiers.contains(Modifier.PUBLIC) || (!modifiers.contains(Modifier.PRIVATE) &&
+				this.elements.getPackageOf(element).getQualifiedName().contentEquals(this.writer.getPackageName())));
+	}
+
+	private boolean isAccessible(TypeMirror type) {
+		if (type.getKind().isPrimitive()) {
+			return true;
+		}
+		if (type.getKind() == TypeKind.ARRAY) {
+			return isAccessible(((ArrayType) type).getComponentType());
+		}
+		if (type.getKind() == TypeKind.DECLARED) {
+			return isAccessible((TypeElement) ((DeclaredType) type).asElement());
+		}
+		return false;
+	}
+
+	private BeanRegistration.Parameter createParameter(TypeMirror type) {
+		return new BeanRegistration.Parameter(getSourceName(type), getBinaryName(type));
+	}
+
+	private String getSourceName(TypeMirror type) {
+		if (type.getKind() == TypeKind.ARRAY) {
+			return getSourceName(((ArrayType) type).getComponentType()) + "[]";
+		}
+		if (type.getKind() == TypeKind.DECLARED) {
+			return ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+		}
+		return type.toString();
+	}
+
+	private String getBinaryName(TypeMirror type) {
+		if (type.getKind() == TypeKind.ARRAY) {
+			return getBinaryName(((ArrayType) type).getComponentType()) + "[]";
+		}
+		if (type.getKind() == TypeKind.DECLARED) {
+			return this.elements.getBinaryName((TypeElement) ((DeclaredType) type).asElement()).toString();
+		}
+		return type.toString();
+	}
+
+	private boolean isAnnotated(Element element, String annotationType) {
+		return (findAnnotation(element, annotationType) != null);
+	}
+
+	/**
+	 * Find the given annotation on the given element, either directly present
+	 * or as a meta-annotation.
+	 */
+	private AnnotationMirror findAnnotation(Element element, String annotationType) {
+		return findAnnotation(element, annotationType, new HashSet<>());
+	}
+
+	private AnnotationMirror findAnnotation(Element element, String annotationType, Set<Element> seen) {
+		for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+			if (this.typeHelper.getType(annotation).equals(annotationType)) {
+				return annotation;
+			}
+		}
+		for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+			Element annotationElement = annotation.getAnnotationType().asElement();
+			if (!annotationElement.toString().startsWith("java.lang") && seen.add(annotationElement)) {
+				AnnotationMirror found = findAnnotation(annotationElement, annotationType, seen);
+				if (found != null) {
+					return found;
+				}
+			}
+		}
+		return null;
+	}
+
+	private Object getAttribute(AnnotationMirror annotation, String name) {
+		for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry :
+				this.elements.getElementValuesWithDefaults(annotation).entrySet()) {
+			if (entry.getKey().getSimpleName().contentEquals(name)) {
+				return entry.getValue().getValue();
+			}
+		}
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<String> getStringArrayAttribute(AnnotationMirror annotation, String name) {
+		Object value = getAttribute(annotation, name);
+		if (!(value instanceof List)) {
+			return Collections.emptyList();
+		}
+		return ((List<AnnotationValue>) value).stream()
+				.map(element -> element.getValue().toString()).collect(Collectors.toList());
+	}
+
+	private void writeSource() {
+		List<BeanRegistration> sorted = new ArrayList<>(this.registrations.values());
+		sorted.sort(Comparator.comparing(BeanRegistration::getClassName));
+		try (Writer out = this.env.getFiler().createSourceFile(this.generatedClassName).openWriter()) {
+			this.writer.write(sorted, out);
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Failed to write " + this.generatedClassName, ex);
+		}
+		try (Writer out = new OutputStreamWriter(this.env.getFiler().createResource(
+				StandardLocation.CLASS_OUTPUT, "", getClassNamesResourceName()).openOutputStream(),
+				StandardCharsets.UTF_8)) {
+			for (BeanRegistration registration : sorted) {
+				out.write(registration.getClassName());
+				out.write('\n');
+			}
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Failed to write " + getClassNamesResourceName(), ex);
+		}
+	}
+
+	private List<String> readPreviousClassNames() {
+		try {
+			FileObject resource = this.env.getFiler().getResource(
+					StandardLocation.CLASS_OUTPUT, "", getClassNamesResourceName());
+			try (BufferedReader reader = new BufferedReader(
+					new InputStreamReader(resource.openInputStream(), StandardCharsets.UTF_8))) {
+				return reader.lines().filter(line -> !line.isEmpty()).collect(Collectors.toList());
+			}
+		}
+		catch (IOException ex) {
+			// No previous compilation
+			return Collections.emptyList();
+		}
+	}
+
+	/**
+	 * Return the name of the resource listing the classes of the components
+	 * registered by the generated class.
+	 */
+	private String getClassNamesResourceName() {
+		return "META-INF/" + this.generatedClassName + ".components";
+	}
+
+	private void warn(Element element, String message) {
+		this.messager.printMessage(Diagnostic.Kind.WARNING, message, element);
+	}
+
+	/**
+	 * Same algorithm as {@code java.beans.Introspector#decapitalize}.
+	 */
+	private static String decapitalize(String name) {
+		if (name.isEmpty() || (name.length() > 1 && Character.isUpperCase(name.charAt(1)) &&
+				Character.isUpperCase(name.charAt(0)))) {
+			return name;
+		}
+		return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+	}
+
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Writes the source code of an {@code ApplicationContextInitializer} that
+ * registers {@link BeanRegistration BeanRegistrations} with a
+ * {@code GenericApplicationContext}.
+ *
+ * @since 5.1
+ * @see BeanDefinitionsGenerator
+ */
+class BeanDefinitionsWriter {
+
+	private final String packageName;
+
+	private final String simpleName;
+
+
+	/**
+	 * Create a new {@code BeanDefinitionsWriter} instance.
+	 * @param className the fully qualified name of the class to generate
+	 */
+	public BeanDefinitionsWriter(String className) {
+		int lastDot = className.lastIndexOf('.');
+		this.packageName = (lastDot != -1 ? className.substring(0, lastDot) : "");
+		this.simpleName = className.substring(lastDot + 1);
+	}
+
+
+	public String getPackageName() {
+		return this.packageName;
+	}
+
+	public void write(List<BeanRegistration> registrations, Writer out) throws IOException {
+		PrintWriter writer = new PrintWriter(out);
+		if (!this.packageName.isEmpty()) {
+			writer.println("package " + this.packageName + ";");
+			writer.println();
+		}
+		writer.println("import org.springframework.beans.factory.annotation.AutowiredInjectionResolver;");
+		writer.println("import org.springframework.beans.factory.support.AbstractBeanDefinition;");
+		writer.println("import org.springframework.beans.factory.support.DefaultListableBeanFactory;");
+		writer.println("import org.springframework.context.ApplicationContextInitializer;");
+		writer.println("import org.springframework.context.annotation.ContextAnnotationAutowireCandidateResolver;");
+		writer.println("import org.springframework.context.support.GenericApplicationContext;");
+		writer.println("import org.springframework.util.ClassUtils;");
+		writer.println();
+		writer.println("/**");
+		writer.println(" * Registers the components found at build time with a {@link GenericApplicationContext}.");
+		writer.println(" * <p>Generated by {@code " + BeanDefinitionsGenerator.class.getName() + "}: do not edit.");
+		writer.println(" */");
+		writer.println("public class " + this.simpleName +
+				" implements ApplicationContextInitializer<GenericApplicationContext> {");
+		writer.println();
+		writer.println("\t@Override");
+		writer.println("\tpublic void initialize(GenericApplicationContext context) {");
+		writer.println("\t\tDefaultListableBeanFactory beanFactory = context.getDefaultListableBeanFactory();");
+		writer.println("\t\tif (!(beanFactory.getAutowireCandidateResolver() instanceof " +
+				"ContextAnnotationAutowireCandidateResolver)) {");
+		writer.println("\t\t\tbeanFactory.setAutowireCandidateResolver(new ContextAnnotationAutowireCandidateResolver());");
+		writer.println("\t\t}");
+		Set<String> methodNames = new HashSet<>();
+		String[] registerMethods = new String[registrations.size()];
+		for (int i = 0; i < registrations.size(); i++) {
+			registerMethods[i] = getRegisterMethodName(registrations.get(i), methodNames);
+			writer.println("\t\t" + registerMethods[i] + "(context, beanFactory);");
+		}
+		writer.println("\t}");
+		for (int i = 0; i < registrations.size(); i++) {
+			writer.println();
+			writeRegisterMethod(writer, registerMethods[i], registrations.get(i));
+		}
+		writer.println();
+		writer.println("}");
+		writer.flush();
+	}
+
+	private void writeRegisterMethod(PrintWriter writer, String methodName, BeanRegistration registration) {
+		String beanName = literal(registration.getBeanName());
+		String beanType = (registration.isAccessible() ? registration.getClassName() : "Object");
+		boolean resolverNeeded = (!registration.getConstructorParameters().isEmpty() ||
+				!registration.isConstructorAccessible() || !registration.getInjectionPoints().isEmpty());
+
+		writer.println("\t@SuppressWarnings(\"unchecked\")");
+		writer.println("\tprivate void " + methodName +
+				"(GenericApplicationContext context, DefaultListableBeanFactory beanFactory) {");
+		String beanClass;
+		if (registration.isAccessible()) {
+			beanClass = registration.getClassName() + ".class";
+		}
+		else {
+			writer.println("\t\tClass<?> beanClass = ClassUtils.resolveClassName(" +
+					literal(registration.getBinaryName()) + ", context.getClassLoader());");
+			beanClass = "beanClass";
+		}
+		if (resolverNeeded) {
+			writer.println("\t\tAutowiredInjectionResolver resolver =");
+			writer.println("\t\t\t\tnew AutowiredInjectionResolver(beanFactory, " + beanName + ", " + beanClass + ");");
+		}
+		String registeredClass = (registration.isAccessible() ? beanClass : "(Class<Object>) beanClass");
+		writer.println("\t\tcontext.registerBean(" + beanName + ", " + registeredClass + ", () -> {");
+		writeInstantiation(writer, registration, beanType);
+		for (BeanRegistration.InjectionPoint injectionPoint : registration.getInjectionPoints()) {
+			if (injectionPoint.isField()) {
+				writer.println("\t\t\tresolver.injectField(bean, " + literal(injectionPoint.getName()) + ", " +
+						injectionPoint.isRequired() + ");");
+			}
+			else {
+				writer.println("\t\t\tresolver.injectMethod(bean, " + literal(injectionPoint.getName()) + ", " +
+						injectionPoint.isRequired() + binaryNames(injectionPoint.getParameters(), true) + ");");
+			}
+		}
+		writer.println("\t\t\treturn bean;");
+		if (registration.isCustomized()) {
+			writer.println("\t\t}, bd -> {");
+			writeCustomizations(writer, registration);
+			writer.println("\t\t});");
+		}
+		else {
+			writer.println("\t\t});");
+		}
+		writer.println("\t}");
+	}
+
+	private void writeInstantiation(PrintWriter writer, BeanRegistration registration, String beanType) {
+		List<BeanRegistration.Parameter> parameters = registration.getConstructorParameters();
+		if (!registration.isConstructorAccessible()) {
+			String cast = (registration.isAccessible() ? "(" + beanType + ") " : "");
+			writer.println("\t\t\t" + beanType + " bean = " + cast + "resolver.instantiate(" +
+					binaryNames(parameters, false) + ");");
+			return;
+		}
+		if (!parameters.isEmpty()) {
+			writer.println("\t\t\tObject[] args = resolver.resolveConstructorArguments(" +
+					binaryNames(parameters, false) + ");");
+		}
+		StringBuilder args = new StringBuilder();
+		for (int i = 0; i < parameters.size(); i++) {
+			if (i > 0) {
+				args.append(", ");
+			}
+			args.append("(").append(parameters.get(i).getTypeName()).append(") args[").append(i).append("]");
+		}
+		writer.println("\t\t\t" + beanType + " bean = new " + registration.getClassName() + "(" + args + ");");
+	}
+
+	private void writeCustomizations(PrintWriter writer, BeanRegistration registration) {
+		if (registration.getScope() != null) {
+			writer.println("\t\t\tbd.setScope(" + literal(registration.getScope()) + ");");
+		}
+		if (registration.getLazyInit() != null) {
+			writer.println("\t\t\tbd.setLazyInit(" + registration.getLazyInit() + ");");
+		}
+		if (registration.isPrimary()) {
+			writer.println("\t\t\tbd.setPrimary(true);");
+		}
+		if (!registration.getDependsOn().isEmpty()) {
+			writer.println("\t\t\tbd.setDependsOn(" + registration.getDependsOn().stream()
+					.map(BeanDefinitionsWriter::literal).collect(Collectors.joining(", ")) + ");");
+		}
+		if (registration.getInitMethodName() != null) {
+			writer.println("\t\t\t((AbstractBeanDefinition) bd).setInitMethodName(" +
+					literal(registration.getInitMethodName()) + ");");
+		}
+		if (registration.getDestroyMethodName() != null) {
+			writer.println("\t\t\t((AbstractBeanDefinition) bd).setDestroyMethodName(" +
+					literal(registration.getDestroyMethodName()) + ");");
+		}
+	}
+
+	private static String getRegisterMethodName(BeanRegistration registration, Set<String> methodNames) {
+		StringBuilder name = new StringBuilder("register");
+		String beanName = registration.getBeanName();
+		for (int i = 0; i < beanName.length(); i++) {
+			char c = beanName.charAt(i);
+			if (!Character.isJavaIdentifierPart(c)) {
+				c = '_';
+			}
+			name.append(i == 0 ? Character.toUpperCase(c) : c);
+		}
+		String candidate = name.toString();
+		int counter = 1;
+		while (!methodNames.add(candidate)) {
+			candidate = name.toString() + (++counter);
+		}
+		return candidate;
+	}
+
+	private static String binaryNames(List<BeanRegistration.Parameter> parameters, boolean leadingSeparator) {
+		if (parameters.isEmpty()) {
+			return "";
+		}
+		return parameters.stream().map(parameter -> literal(parameter.getBinaryName()))
+				.collect(Collectors.joining(", ", (leadingSeparator ? ", " : ""), ""));
+	}
+
+	private static String literal(String value) {
+		StringBuilder literal = new StringBuilder("\"");
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\') {
+				literal.append('\\');
+			}
+			literal.append(c);
+		}
+		return literal.append('"').toString();
+	}
+
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index.processor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The build-time metadata of a component to register as a bean, with the
+ * injection points determined by {@link BeanDefinitionsGenerator}.
+ *
+ * @since 5.1
+ */
+class BeanRegistration {
+
+	private final String beanName;
+
+	private final String className;
+
+	private final String binaryName;
+
+	private final boolean accessible;
+
+	private final List<Parameter> constructorParameters = new ArrayList<>();
+
+	private boolean constructorAccessible;
+
+	private final List<InjectionPoint> injectionPoints = new ArrayList<>();
+
+	private String scope;
+
+	private Boolean lazyInit;
+
+	private boolean primary;
+
+	private List<String> dependsOn = Collections.emptyList();
+
+	private String initMethodName;
+
+	private String destroyMethodName;
+
+
+	/**
+	 * Create a new {@code BeanRegistration} instance.
+	 * @param beanName the name of the bean
+	 * @param className the canonical name of the bean class
+	 * @param binaryName the binary name of the bean class
+	 * @param accessible whether the bean class is accessible from the generated code
+	 */
+	public BeanRegistration(String beanName, String className, String binaryName, boolean accessible) {
+		this.beanName = beanName;
+		this.className = className;
+		this.binaryName = binaryName;
+		this.accessible = accessible;
+	}
+
+
+	public String getBeanName() {
+		return this.beanName;
+	}
+
+	public String getClassName() {
+		return this.className;
+	}
+
+	public String getBinaryName() {
+		return this.binaryName;
+	}
+
+	public boolean isAccessible() {
+		return this.accessible;
+	}
+
+	public void addConstructorParameter(Parameter parameter) {
+		this.constructorParameters.add(parameter);
+	}
+
+	public List<Parameter> getConstructorParameters() {
+		return this.constructorParameters;
+	}
+
+	public void setConstructorAccessible(boolean constructorAccessible) {
+		this.constructorAccessible = constructorAccessible;
+	}
+
+	/**
+	 * Return whether the generated code can invoke the constructor directly.
+	 */
+	public boolean isConstructorAccessible() {
+		return this.constructorAccessible;
+	}
+
+	public void addInjectionPoint(InjectionPoint injectionPoint) {
+		this.injectionPoints.add(injectionPoint);
+	}
+
+	/**
+	 * Return the fields and methods to inject, in injection order.
+	 */
+	public List<InjectionPoint> getInjectionPoints() {
+		return this.injectionPoints;
+	}
+
+	public void setScope(String scope) {
+		this.scope = scope;
+	}
+
+	public String getScope() {
+		return this.scope;
+	}
+
+	public void setLazyInit(Boolean lazyInit) {
+		this.lazyInit = lazyInit;
+	}
+
+	public Boolean getLazyInit() {
+		return this.lazyInit;
+	}
+
+	public void setPrimary(boolean primary) {
+		this.primary = primary;
+	}
+
+	public boolean isPrimary() {
+		return this.primary;
+	}
+
+	public void setDependsOn(List<String> dependsOn) {
+		this.dependsOn = dependsOn;
+	}
+
+	public List<String> getDependsOn() {
+		return this.dependsOn;
+	}
+
+	public void setInitMethodName(String initMethodName) {
+		this.initMethodName = initMethodName;
+	}
+
+	public String getInitMethodName() {
+		return this.initMethodName;
+	}
+
+	public void setDestroyMethodName(String destroyMethodName) {
+		this.destroyMethodName = destroyMethodName;
+	}
+
+	public String getDestroyMethodName() {
+		return this.destroyMethodName;
+	}
+
+	/**
+	 * Return whether the bean definition needs any customization.
+	 */
+	public boolean isCustomized() {
+		return (this.scope != null || this.lazyInit != null || this.primary || !this.dependsOn.isEmpty() ||
+				this.initMethodName != null || this.destroyMethodName != null);
+	}
+
+
+	/**
+	 * A constructor or method parameter.
+	 */
+	public static class Parameter {
+
+		private final String typeName;
+
+		private final String binaryName;
+
+		public Parameter(String typeName, String binaryName) {
+			this.typeName = typeName;
+			this.binaryName = binaryName;
+		}
+
+		/**
+		 * Return the erased type of the parameter, as used in source code.
+		 */
+		public String getTypeName() {
+			return this.typeName;
+		}
+
+		/**
+		 * Return the erased type of the parameter, as returned by
+		 * {@link Class#getTypeName()} at runtime.
+		 */
+		public String getBinaryName() {
+			return this.binaryName;
+		}
+	}
+
+
+	/**
+	 * A field or method to inject.
+	 */
+	public static class InjectionPoint {
+
+		private final String name;
+
+		private final boolean required;
+
+		private final List<Parameter> parameters;
+
+		private InjectionPoint(String name, boolean required, List<Parameter> parameters) {
+			this.name = name;
+			this.required = required;
+			this.parameters = parameters;
+		}
+
+		public static InjectionPoint forField(String name, boolean required) {
+			return new InjectionPoint(name, required, null);
+		}
+
+		public static InjectionPoint forMethod(String name, boolean required, List<Parameter> parameters) {
+			return new InjectionPoint(name, required, parameters);
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public boolean isRequired() {
+			return this.required;
+		}
+
+		public boolean isField() {
+			return (this.parameters == null);
+		}
+
+		public List<Parameter> getParameters() {
+			return (this.parameters != null ? this.parameters : Collections.emptyList());
+		}
+	}
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index.processor;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.function.Supplier;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.index.sample.wiring.GreetingConfiguration;
+import org.springframework.context.index.sample.wiring.GreetingRepository;
+import org.springframework.context.index.sample.wiring.GreetingService;
+import org.springframework.context.index.test.TestCompiler;
+import org.springframework.context.support.GenericApplicationContext;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link BeanDefinitionsGenerator}.
+ *
+ * @since 5.1
+ */
+public class BeanDefinitionsGeneratorTests {
+
+	private static final String GENERATED_CLASS_NAME =
+			"org.springframework.context.index.generated.SampleBeanDefinitions";
+
+	private static final String[] SAMPLE_TYPES = new String[] {
+			GreetingRepository.class.getName(), GreetingService.class.getName(),
+			"org.springframework.context.index.sample.wiring.GreetingController",
+			GreetingConfiguration.class.getName()};
+
+	private TestCompiler compiler;
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+
+	@Before
+	public void createCompiler() throws IOException {
+		this.compiler = new TestCompiler(this.temporaryFolder);
+	}
+
+
+	@Test
+	public void noSourceWithoutOption() {
+		this.compiler.getTask(SAMPLE_TYPES).call(new BeanDefinitionsGenerator());
+		assertFalse(getGeneratedFile().exists());
+	}
+
+	@Test
+	public void generatedSource() throws IOException {
+		String source = compile();
+		assertTrue(source.contains("public class SampleBeanDefinitions"));
+		assertTrue(source.contains("context.registerBean(\"greetingRepository\", " +
+				"org.springframework.context.index.sample.wiring.GreetingRepository.class"));
+		assertTrue(source.contains("resolver.resolveConstructorArguments(" +
+				"\"org.springframework.context.index.sample.wiring.GreetingRepository\")"));
+		assertTrue(source.contains("resolver.injectField(bean, \"suffix\", true);"));
+		assertTrue(source.contains("resolver.injectField(bean, \"formatter\", false);"));
+		assertTrue(source.contains("setInitMethodName(\"init\");"));
+		assertTrue(source.contains("ClassUtils.resolveClassName(" +
+				"\"org.springframework.context.index.sample.wiring.GreetingController\""));
+		assertTrue(source.contains("resolver.injectMethod(bean, \"setService\", true, " +
+				"\"org.springframework.context.index.sample.wiring.GreetingService\");"));
+		assertFalse(source.contains("greetingConfiguration"));
+	}
+
+	@Test
+	public void incrementalCompilationKeepsPreviousComponents() throws IOException {
+		compile();
+		String source = compile(GreetingService.class.getName());
+		assertTrue(source.contains("context.registerBean(\"greetingService\""));
+		assertTrue(source.contains("context.registerBean(\"greetingRepository\""));
+		assertTrue(source.contains("context.registerBean(\"controller\""));
+		assertFalse(source.contains("greetingConfiguration"));
+	}
+
+	@Test
+	public void generatedInitializerRegistersComponents() throws Exception {
+		compile();
+		try (URLClassLoader classLoader = new URLClassLoader(
+				new URL[] {this.compiler.getOutputLocation().toURI().toURL()}, getClass().getClassLoader())) {
+			@SuppressWarnings("unchecked")
+			ApplicationContextInitializer<GenericApplicationContext> initializer =
+					(ApplicationContextInitializer<GenericApplicationContext>)
+							classLoader.loadClass(GENERATED_CLASS_NAME).newInstance();
+			GenericApplicationContext context = new GenericApplicationContext();
+			initializer.initialize(context);
+			context.refresh();
+
+			assertFalse(context.containsBeanDefinition("greetingConfiguration"));
+			assertFalse(context.containsBeanDefinition("otherRepository"));
+			GreetingService service = context.getBean(GreetingService.class);
+			assertSame(service, context.getBean("greetingService"));
+			assertTrue(service.isInitialized());
+			assertFalse(service.hasFormatter());
+			assertEquals("Hello Spring!", service.greet("Spring"));
+
+			assertTrue(context.getBeanDefinition("controller").isPrototype());
+			assertTrue(context.getBeanDefinition("controller").isLazyInit());
+			Object controller = context.getBean("controller");
+			assertNotSame(controller, context.getBean("controller"));
+			assertEquals("Hello World!", ((Supplier<?>) controller).get());
+			assertArrayEquals(new String[] {"controller"},
+					context.getBeanFactory().getDependentBeans("greetingService"));
+			context.close();
+		}
+	}
+
+
+	private String compile() throws IOException {
+		return compile(SAMPLE_TYPES);
+	}
+
+	private String compile(String... types) throws IOException {
+		this.compiler.getTask(Collections.singletonList(
+				"-A" + BeanDefinitionsGenerator.GENERATED_CLASS_OPTION + "=" + GENERATED_CLASS_NAME),
+				types).call(new BeanDefinitionsGenerator());
+		File file = getGeneratedFile();
+		assertTrue(file.exists());
+		return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+	}
+
+	private File getGeneratedFile() {
+		return new File(this.compiler.getOutputLocation(), GENERATED_CLASS_NAME.replace('.', '/') + ".java");
+	}
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.context.index.sample.wiring;
+
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Controller;
+
+/**
+ * Test candidate that is not accessible from other packages, with method injection.
+ */
+@Controller("controller")
+@Scope("prototype")
+@Lazy
+class GreetingController implements Supplier<String> {
+
+	private GreetingService service;
+
+	@Autowired
+	public void setService(GreetingService service) {
+		this.service = service;
+	}
+
+	@Override
+	public String get() {
+		return this.service.greet("World");
+	}
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2002-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.context.index.sample.wiring;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Test candidate with constructor, field and optional dependencies.
+ */
+@Service
+public class GreetingService {
+
+	private final GreetingRepository repository;
+
+	@Value("${greeting.suffix:!}")
+	private String suffix;
+
+	@Autowired(required = false)
+	private Formatter formatter;
+
+	private boolean initialized;
+
+
+	public GreetingService(GreetingRepository repository) {
+		this.repository = repository;
+	}
+
+
+	@PostConstruct
+	void init() {
+		this.initialized = true;
+	}
+
+	public boolean isInitialized() {
+		return this.initialized;
+	}
+
+	public boolean hasFormatter() {
+		return (this.formatter != null);
+	}
+
+	public String greet(String name) {
+		return this.repository.getGreeting() + " " + name + this.suffix;
+	}
+
+
+	public interface Formatter {
+	}
+
+}
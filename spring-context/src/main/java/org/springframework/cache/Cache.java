@@ -17,6 +17,8 @@
 package org.springframework.cache;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import org.springframework.lang.Nullable;
 
@@ -98,6 +100,53 @@ public interface Cache {
 	@Nullable
 	<T> T get(Object key, Callable<T> valueLoader);
 
+	/**
+	 * Return the value to which this cache maps the specified key, asynchronously.
+	 * <p>The returned future completes with {@code null} if the cache contains
+	 * no mapping for this key; otherwise, with the cached value (which may be
+	 * {@code null} itself) contained within a {@link ValueWrapper}, just like
+	 * {@link #get(Object)}.
+	 * <p>The default implementation delegates to {@link #get(Object)} and returns
+	 * an already completed future. Cache providers with a remote or otherwise
+	 * blocking store should override this method with a non-blocking lookup.
+	 * @param key the key whose associated value is to be returned
+	 * @return a future for the value to which this cache maps the specified key
+	 * @since 5.1
+	 * @see #get(Object)
+	 */
+	default CompletableFuture<ValueWrapper> retrieve(Object key) {
+		return CompletableFuture.completedFuture(get(key));
+	}
+
+	/**
+	 * Return the value to which this cache maps the specified key, obtaining
+	 * that value from the future returned by {@code valueLoader} if necessary.
+	 * This is the asynchronous variant of {@link #get(Object, Callable)}.
+	 * <p>If possible, implementations should ensure that the loading operation
+	 * is synchronized so that the specified {@code valueLoader} is only called
+	 * once in case of concurrent access on the same key.
+	 * <p>The default implementation checks {@link #get(Object)} and, on a miss,
+	 * puts the value the loader future completes with into this cache.
+	 * If the loader future completes exceptionally, nothing is cached and the
+	 * returned future completes with the same exception.
+	 * @param key the key whose associated value is to be returned
+	 * @param valueLoader the supplier of a future for the value to cache
+	 * @return a future for the value to which this cache maps the specified key
+	 * @since 5.1
+	 * @see #get(Object, Callable)
+	 */
+	@SuppressWarnings("unchecked")
+	default <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		ValueWrapper wrapper = get(key);
+		if (wrapper != null) {
+			return CompletableFuture.completedFuture((T) wrapper.get());
+		}
+		return valueLoader.get().thenApply(value -> {
+			put(key, value);
+			return value;
+		});
+	}
+
 	/**
 	 * Associate the specified value with the specified key in this cache.
 	 * <p>If the cache previously contained a mapping for this key, the old
@@ -0,0 +1,659 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntBiFunction;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.core.serializer.support.SerializationDelegate;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link org.springframework.cache.Cache} implementation based on the core JDK
+ * {@code java.util.concurrent} package, bounding the number of entries (or their
+ * total weight) and optionally expiring entries a fixed time after they were written.
+ *
+ * <p>Entries are evicted according to a segmented LRU policy: new entries start
+ * in a probation segment and are promoted to a protected segment when read again,
+ * so that entries only read once are evicted before frequently read ones.
+ * Reads are recorded in a buffer that is drained under a lock on subsequent
+ * writes or once enough reads have accumulated, so lookups never block.
+ *
+ * <p>Hits, misses, evictions and loads through {@link #get(Object, Callable)}
+ * are counted and exposed through {@link #getStatistics()}.
+ *
+ * <p>Useful for simple caching scenarios that need a bound on memory usage
+ * without a dependency on a third-party caching library, typically set up
+ * through {@link ConcurrentMapCacheManager#setMaximumSize}. For advanced local
+ * caching needs, consider {@link org.springframework.cache.caffeine.CaffeineCache}.
+ *
+ * @since 5.1
+ * @see ConcurrentMapCache
+ */
+public class BoundedConcurrentMapCache extends AbstractValueAdaptingCache {
+
+	private static final int READ_BUFFER_MAX_SIZE = 128;
+
+	private static final int READ_BUFFER_DRAIN_THRESHOLD = 32;
+
+	private static final int PROTECTED_PERCENTAGE = 80;
+
+
+	private final String name;
+
+	private final ConcurrentMap<Object, Node> store = new ConcurrentHashMap<>(256);
+
+	private final long maximumWeight;
+
+	private final long maximumProtectedWeight;
+
+	@Nullable
+	private final ToIntBiFunction<Object, Object> weigher;
+
+	private final long timeToLiveNanos;
+
+	@Nullable
+	private final SerializationDelegate serialization;
+
+	private final Queue<Node> readBuffer = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger readBufferSize = new AtomicInteger();
+
+	private final ReentrantLock evictionLock = new ReentrantLock();
+
+	// Guarded by evictionLock
+
+	private final Node probation = Node.sentinel();
+
+	private final Node protectedSegment = Node.sentinel();
+
+	private final Node writeOrder = Node.sentinel();
+
+	private long weightedSize;
+
+	private long protectedWeightedSize;
+
+	// Statistics
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder evictionCount = new LongAdder();
+
+	private final LongAdder loadSuccessCount = new LongAdder();
+
+	private final LongAdder loadFailureCount = new LongAdder();
+
+	private final LongAdder totalLoadTime = new LongAdder();
+
+
+	/**
+	 * Create a new BoundedConcurrentMapCache with the specified name,
+	 * holding at most the given number of entries.
+	 * @param name the name of the cache
+	 * @param maximumSize the maximum number of entries in the cache
+	 */
+	public BoundedConcurrentMapCache(String name, long maximumSize) {
+		this(name, maximumSize, null, null, true, null);
+	}
+
+	/**
+	 * Create a new BoundedConcurrentMapCache with the specified name,
+	 * holding at most the given number of entries, each of which expires
+	 * once the given time to live has elapsed after it was written.
+	 * @param name the name of the cache
+	 * @param maximumSize the maximum number of entries in the cache
+	 * @param timeToLive the time after which an entry expires, or {@code null}
+	 * for entries to never expire
+	 */
+	public BoundedConcurrentMapCache(String name, long maximumSize, @Nullable Duration timeToLive) {
+		this(name, maximumSize, null, timeToLive, true, null);
+	}
+
+	/**
+	 * Create a new BoundedConcurrentMapCache with the specified name and settings.
+	 * @param name the name of the cache
+	 * @param maximumWeight the maximum total weight of the entries in the cache,
+	 * or {@code -1} for no bound; without a weigher, each entry has a weight of 1
+	 * @param weigher the function to compute the weight of an entry from its key
+	 * and store value (possibly {@link org.springframework.cache.support.NullValue}),
+	 * or {@code null} for a weight of 1 per entry
+	 * @param timeToLive the time after which an entry expires, or {@code null}
+	 * for entries to never expire
+	 * @param allowNullValues whether to allow {@code null} values
+	 * (adapting them to an internal null holder value)
+	 */
+	public BoundedConcurrentMapCache(String name, long maximumWeight,
+			@Nullable ToIntBiFunction<Object, Object> weigher, @Nullable Duration timeToLive,
+			boolean allowNullValues) {
+
+		this(name, maximumWeight, weigher, timeToLive, allowNullValues, null);
+	}
+
+	/**
+	 * Create a new BoundedConcurrentMapCache with the specified name and settings.
+	 * If the {@link SerializationDelegate} is specified,
+	 * {@link #isStoreByValue() store-by-value} is enabled.
+	 * @param name the name of the cache
+	 * @param maximumWeight the maximum total weight of the entries in the cache,
+	 * or {@code -1} for no bound; without a weigher, each entry has a weight of 1
+	 * @param weigher the function to compute the weight of an entry from its key
+	 * and store value (possibly {@link org.springframework.cache.support.NullValue}
+	 * or a serialized byte array), or {@code null} for a weight of 1 per entry
+	 * @param timeToLive the time after which an entry expires, or {@code null}
+	 * for entries to never expire
+	 * @param allowNullValues whether to allow {@code null} values
+	 * (adapting them to an internal null holder value)
+	 * @param serialization the {@link SerializationDelegate} to use
+	 * to serialize cache entry or {@code null} to store the reference
+	 */
+	protected BoundedConcurrentMapCache(String name, long maximumWeight,
+			@Nullable ToIntBiFunction<Object, Object> weigher, @Nullable Duration timeToLive,
+			boolean allowNullValues, @Nullable SerializationDelegate serialization) {
+
+		super(allowNullValues);
+		Assert.notNull(name, "Name must not be null");
+		Assert.isTrue(maximumWeight >= -1, "Maximum weight must be -1 (unbounded) or a non-negative value");
+		Assert.isTrue(timeToLive == null || !timeToLive.isNegative(), "Time to live must not be negative");
+		this.name = name;
+		this.maximumWeight = (maximumWeight != -1 ? maximumWeight : Long.MAX_VALUE);
+		this.maximumProtectedWeight = determineMaximumProtectedWeight(this.maximumWeight);
+		this.weigher = weigher;
+		this.timeToLiveNanos = (timeToLive != null ? timeToLive.toNanos() : 0);
+		this.serialization = serialization;
+	}
+
+
+	/**
+	 * Return whether this cache stores a copy of each entry ({@code true}) or
+	 * a reference ({@code false}, default). If store by value is enabled, each
+	 * entry in the cache must be serializable.
+	 */
+	public final boolean isStoreByValue() {
+		return (this.serialization != null);
+	}
+
+	/**
+	 * Return the maximum total weight of the entries in this cache,
+	 * or {@link Long#MAX_VALUE} if unbounded.
+	 */
+	public final long getMaximumWeight() {
+		return this.maximumWeight;
+	}
+
+	/**
+	 * Return the approximate number of entries in this cache, possibly
+	 * including expired entries that have not been removed yet.
+	 */
+	public long estimatedSize() {
+		return this.store.size();
+	}
+
+	/**
+	 * Return a snapshot of the statistics gathered by this cache so far.
+	 */
+	public CacheStatistics getStatistics() {
+		return new CacheStatistics(this.hitCount.sum(), this.missCount.sum(), this.evictionCount.sum(),
+				this.loadSuccessCount.sum(), this.loadFailureCount.sum(), this.totalLoadTime.sum());
+	}
+
+	@Override
+	public final String getName() {
+		return this.name;
+	}
+
+	/**
+	 * This implementation returns the cache itself, since it does not
+	 * delegate to an underlying cache provider.
+	 */
+	@Override
+	public final Object getNativeCache() {
+		return this;
+	}
+
+	@Override
+	@Nullable
+	protected Object lookup(Object key) {
+		Node node = this.store.get(key);
+		if (node == null) {
+			this.missCount.increment();
+			return null;
+		}
+		if (isExpired(node, System.nanoTime())) {
+			if (this.store.remove(key, node)) {
+				this.evictionCount.increment();
+				afterRemoval(node);
+			}
+			this.missCount.increment();
+			return null;
+		}
+		this.hitCount.increment();
+		afterRead(node);
+		return node.value;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	@Nullable
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		Node node = this.store.get(key);
+		if (node != null && !isExpired(node, System.nanoTime())) {
+			this.hitCount.increment();
+			afterRead(node);
+			return (T) fromStoreValue(node.value);
+		}
+
+		this.missCount.increment();
+		Node[] replaced = new Node[2];
+		Node result = this.store.compute(key, (k, existing) -> {
+			long startTime = System.nanoTime();
+			if (existing != null && !isExpired(existing, startTime)) {
+				return existing;
+			}
+			try {
+				Node loaded = createNode(k, toStoreValue(valueLoader.call()));
+				this.loadSuccessCount.increment();
+				replaced[0] = loaded;
+				replaced[1] = existing;
+				return loaded;
+			}
+			catch (Throwable ex) {
+				this.loadFailureCount.increment();
+				throw new ValueRetrievalException(key, valueLoader, ex);
+			}
+			finally {
+				this.totalLoadTime.add(System.nanoTime() - startTime);
+			}
+		});
+
+		if (result == replaced[0]) {
+			afterWrite(result, replaced[1], true);
+		}
+		else {
+			afterRead(result);
+		}
+		return (T) fromStoreValue(result.value);
+	}
+
+	@Override
+	public void put(Object key, @Nullable Object value) {
+		Node node = createNode(key, toStoreValue(value));
+		Node existing = this.store.put(key, node);
+		afterWrite(node, existing, false);
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+		Node node = createNode(key, toStoreValue(value));
+		Node[] replaced = new Node[1];
+		Node result = this.store.compute(key, (k, existing) -> {
+			if (existing != null && !isExpired(existing, System.nanoTime())) {
+				return existing;
+			}
+			replaced[0] = existing;
+			return node;
+		});
+
+		if (result == node) {
+			afterWrite(node, replaced[0], true);
+			return null;
+		}
+		return toValueWrapper(result.value);
+	}
+
+	@Override
+	public void evict(Object key) {
+		Node node = this.store.remove(key);
+		if (node != null) {
+			afterRemoval(node);
+		}
+	}
+
+	@Override
+	public void clear() {
+		this.evictionLock.lock();
+		try {
+			drainReadBuffer();
+			for (Node node : this.store.values()) {
+				this.store.remove(node.key, node);
+				retire(node);
+			}
+		}
+		finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+	@Override
+	protected Object toStoreValue(@Nullable Object userValue) {
+		Object storeValue = super.toStoreValue(userValue);
+		if (this.serialization != null) {
+			try {
+				return serializeValue(this.serialization, storeValue);
+			}
+			catch (Throwable ex) {
+				throw new IllegalArgumentException("Failed to serialize cache value '" + userValue +
+						"'. Does it implement Serializable?", ex);
+			}
+		}
+		else {
+			return storeValue;
+		}
+	}
+
+	private Object serializeValue(SerializationDelegate serialization, Object storeValue) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try {
+			serialization.serialize(storeValue, out);
+			return out.toByteArray();
+		}
+		finally {
+			out.close();
+		}
+	}
+
+	@Override
+	protected Object fromStoreValue(@Nullable Object storeValue) {
+		if (storeValue != null && this.serialization != null) {
+			try {
+				return super.fromStoreValue(deserializeValue(this.serialization, storeValue));
+			}
+			catch (Throwable ex) {
+				throw new IllegalArgumentException("Failed to deserialize cache value '" + storeValue + "'", ex);
+			}
+		}
+		else {
+			return super.fromStoreValue(storeValue);
+		}
+	}
+
+	private Object deserializeValue(SerializationDelegate serialization, Object storeValue) throws IOException {
+		ByteArrayInputStream in = new ByteArrayInputStream((byte[]) storeValue);
+		try {
+			return serialization.deserialize(in);
+		}
+		finally {
+			in.close();
+		}
+	}
+
+
+	// Eviction policy
+
+	private Node createNode(Object key, Object storeValue) {
+		int weight = (this.weigher != null ? this.weigher.applyAsInt(key, storeValue) : 1);
+		Assert.state(weight >= 0, "Weigher must not return a negative weight");
+		return new Node(key, storeValue, weight, System.nanoTime());
+	}
+
+	private boolean isExpired(Node node, long now) {
+		return (this.timeToLiveNanos > 0 && now - node.writeTime >= this.timeToLiveNanos);
+	}
+
+	/**
+	 * Record a read of the given node, to be applied to the eviction policy
+	 * the next time the read buffer is drained.
+	 */
+	private void afterRead(Node node) {
+		if (this.readBufferSize.get() < READ_BUFFER_MAX_SIZE) {
+			this.readBuffer.offer(node);
+			if (this.readBufferSize.incrementAndGet() < READ_BUFFER_DRAIN_THRESHOLD) {
+				return;
+			}
+		}
+		if (this.evictionLock.tryLock()) {
+			try {
+				drainReadBuffer();
+			}
+			finally {
+				this.evictionLock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Apply a write of the given node to the eviction policy, retiring the
+	 * node it replaced (if any) and evicting entries if necessary.
+	 */
+	private void afterWrite(Node node, @Nullable Node replaced, boolean replacedExpired) {
+		this.evictionLock.lock();
+		try {
+			drainReadBuffer();
+			if (replaced != null) {
+				if (replacedExpired) {
+					this.evictionCount.increment();
+				}
+				retire(replaced);
+			}
+			if (node.state == Node.NEW) {
+				node.state = Node.PROBATION;
+				this.probation.linkLast(node);
+				this.writeOrder.linkLastInWriteOrder(node);
+				this.weightedSize += node.weight;
+			}
+			evictEntries();
+		}
+		finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+	private void afterRemoval(Node node) {
+		this.evictionLock.lock();
+		try {
+			retire(node);
+		}
+		finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+	private void drainReadBuffer() {
+		Node node;
+		while ((node = this.readBuffer.poll()) != null) {
+			this.readBufferSize.decrementAndGet();
+			if (node.state == Node.PROBATION) {
+				node.unlink();
+				node.state = Node.PROTECTED;
+				this.protectedSegment.linkLast(node);
+				this.protectedWeightedSize += node.weight;
+				demoteProtectedEntries();
+			}
+			else if (node.state == Node.PROTECTED) {
+				node.unlink();
+				this.protectedSegment.linkLast(node);
+			}
+		}
+	}
+
+	private void demoteProtectedEntries() {
+		while (this.protectedWeightedSize > this.maximumProtectedWeight) {
+			Node node = this.protectedSegment.first();
+			if (node == null) {
+				break;
+			}
+			node.unlink();
+			node.state = Node.PROBATION;
+			this.protectedWeightedSize -= node.weight;
+			this.probation.linkLast(node);
+		}
+	}
+
+	private void evictEntries() {
+		if (this.timeToLiveNanos > 0) {
+			long now = System.nanoTime();
+			Node node;
+			while ((node = this.writeOrder.firstInWriteOrder()) != null && isExpired(node, now)) {
+				evictEntry(node);
+			}
+		}
+		while (this.weightedSize > this.maximumWeight) {
+			Node node = this.probation.first();
+			if (node == null) {
+				node = this.protectedSegment.first();
+				if (node == null) {
+					break;
+				}
+			}
+			evictEntry(node);
+		}
+	}
+
+	private void evictEntry(Node node) {
+		if (this.store.remove(node.key, node)) {
+			this.evictionCount.increment();
+		}
+		retire(node);
+	}
+
+	private void retire(Node node) {
+		if (node.state == Node.PROBATION || node.state == Node.PROTECTED) {
+			if (node.state == Node.PROTECTED) {
+				this.protectedWeightedSize -= node.weight;
+			}
+			node.unlink();
+			node.unlinkInWriteOrder();
+			this.weightedSize -= node.weight;
+		}
+		node.state = Node.RETIRED;
+	}
+
+	/**
+	 * Keep the protected segment below the maximum weight, so that there is
+	 * always room for new entries in the probation segment.
+	 */
+	private static long determineMaximumProtectedWeight(long maximumWeight) {
+		long protectedWeight = (maximumWeight <= Long.MAX_VALUE / 100 ?
+				maximumWeight * PROTECTED_PERCENTAGE / 100 : maximumWeight / 100 * PROTECTED_PERCENTAGE);
+		return Math.max(0, Math.min(protectedWeight, maximumWeight - 1));
+	}
+
+
+	/**
+	 * A cache entry, linked into one of the access-ordered segments
+	 * as well as into the write-ordered list while it is live.
+	 * All linkage is guarded by the eviction lock.
+	 */
+	private static final class Node {
+
+		static final int NEW = 0;
+
+		static final int PROBATION = 1;
+
+		static final int PROTECTED = 2;
+
+		static final int RETIRED = 3;
+
+		@Nullable
+		final Object key;
+
+		@Nullable
+		final Object value;
+
+		final int weight;
+
+		final long writeTime;
+
+		int state = NEW;
+
+		@Nullable
+		Node prev;
+
+		@Nullable
+		Node next;
+
+		@Nullable
+		Node prevInWriteOrder;
+
+		@Nullable
+		Node nextInWriteOrder;
+
+		Node(@Nullable Object key, @Nullable Object value, int weight, long writeTime) {
+			this.key = key;
+			this.value = value;
+			this.weight = weight;
+			this.writeTime = writeTime;
+		}
+
+		static Node sentinel() {
+			Node sentinel = new Node(null, null, 0, 0);
+			sentinel.prev = sentinel;
+			sentinel.next = sentinel;
+			sentinel.prevInWriteOrder = sentinel;
+			sentinel.nextInWriteOrder = sentinel;
+			return sentinel;
+		}
+
+		@Nullable
+		Node first() {
+			return (this.next != this ? this.next : null);
+		}
+
+		@Nullable
+		Node firstInWriteOrder() {
+			return (this.nextInWriteOrder != this ? this.nextInWriteOrder : null);
+		}
+
+		void linkLast(Node node) {
+			node.prev = this.prev;
+			node.next = this;
+			this.prev.next = node;
+			this.prev = node;
+		}
+
+		void linkLastInWriteOrder(Node node) {
+			node.prevInWriteOrder = this.prevInWriteOrder;
+			node.nextInWriteOrder = this;
+			this.prevInWriteOrder.nextInWriteOrder = node;
+			this.prevInWriteOrder = node;
+		}
+
+		void unlink() {
+			if (this.prev != null) {
+				this.prev.next = this.next;
+				this.next.prev = this.prev;
+				this.prev = null;
+				this.next = null;
+			}
+		}
+
+		void unlinkInWriteOrder() {
+			if (this.prevInWriteOrder != null) {
+				this.prevInWriteOrder.nextInWriteOrder = this.nextInWriteOrder;
+				this.nextInWriteOrder.prevInWriteOrder = this.prevInWriteOrder;
+				this.prevInWriteOrder = null;
+				this.nextInWriteOrder = null;
+			}
+		}
+	}
+
+}
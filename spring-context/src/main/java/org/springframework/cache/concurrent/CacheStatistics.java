@@ -0,0 +1,137 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+/**
+ * Immutable snapshot of the statistics gathered by a
+ * {@link BoundedConcurrentMapCache}.
+ *
+ * @since 5.1
+ * @see BoundedConcurrentMapCache#getStatistics()
+ * @see ConcurrentMapCacheManager#getCacheStatistics(String)
+ */
+public final class CacheStatistics {
+
+	private final long hitCount;
+
+	private final long missCount;
+
+	private final long evictionCount;
+
+	private final long loadSuccessCount;
+
+	private final long loadFailureCount;
+
+	private final long totalLoadTime;
+
+
+	/**
+	 * Create a new CacheStatistics instance.
+	 * @param hitCount the number of lookups that found a cached value
+	 * @param missCount the number of lookups that found no (or an expired) value
+	 * @param evictionCount the number of entries evicted due to size or expiration
+	 * @param loadSuccessCount the number of values successfully loaded
+	 * @param loadFailureCount the number of value loaders that threw an exception
+	 * @param totalLoadTime the total time spent loading values, in nanoseconds
+	 */
+	public CacheStatistics(long hitCount, long missCount, long evictionCount,
+			long loadSuccessCount, long loadFailureCount, long totalLoadTime) {
+
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.evictionCount = evictionCount;
+		this.loadSuccessCount = loadSuccessCount;
+		this.loadFailureCount = loadFailureCount;
+		this.totalLoadTime = totalLoadTime;
+	}
+
+
+	/**
+	 * Return the number of lookups that found a cached value.
+	 */
+	public long getHitCount() {
+		return this.hitCount;
+	}
+
+	/**
+	 * Return the number of lookups that found no value, or an expired one.
+	 */
+	public long getMissCount() {
+		return this.missCount;
+	}
+
+	/**
+	 * Return the total number of lookups, i.e. hits plus misses.
+	 */
+	public long getRequestCount() {
+		return this.hitCount + this.missCount;
+	}
+
+	/**
+	 * Return the ratio of lookups that found a cached value,
+	 * or {@code 1.0} if there were no lookups yet.
+	 */
+	public double getHitRate() {
+		long requestCount = getRequestCount();
+		return (requestCount != 0 ? (double) this.hitCount / requestCount : 1.0);
+	}
+
+	/**
+	 * Return the number of entries evicted due to size or expiration.
+	 */
+	public long getEvictionCount() {
+		return this.evictionCount;
+	}
+
+	/**
+	 * Return the number of values successfully loaded.
+	 */
+	public long getLoadSuccessCount() {
+		return this.loadSuccessCount;
+	}
+
+	/**
+	 * Return the number of value loaders that threw an exception.
+	 */
+	public long getLoadFailureCount() {
+		return this.loadFailureCount;
+	}
+
+	/**
+	 * Return the total time spent loading values, in nanoseconds.
+	 */
+	public long getTotalLoadTime() {
+		return this.totalLoadTime;
+	}
+
+	/**
+	 * Return the average time spent loading a value, in nanoseconds.
+	 */
+	public double getAverageLoadPenalty() {
+		long loadCount = this.loadSuccessCount + this.loadFailureCount;
+		return (loadCount != 0 ? (double) this.totalLoadTime / loadCount : 0.0);
+	}
+
+
+	@Override
+	public String toString() {
+		return "CacheStatistics: hits=" + this.hitCount + ", misses=" + this.missCount +
+				", evictions=" + this.evictionCount + ", loadSuccesses=" + this.loadSuccessCount +
+				", loadFailures=" + this.loadFailureCount + ", totalLoadTime=" + this.totalLoadTime + "ns";
+	}
+
+}
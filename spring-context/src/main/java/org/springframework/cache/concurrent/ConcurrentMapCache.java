@@ -20,8 +20,10 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 
 import org.springframework.cache.support.AbstractValueAdaptingCache;
 import org.springframework.core.serializer.support.SerializationDelegate;
@@ -52,6 +54,8 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 
 	private final ConcurrentMap<Object, Object> store;
 
+	private final ConcurrentMap<Object, CompletableFuture<?>> loaders = new ConcurrentHashMap<>(16);
+
 	@Nullable
 	private final SerializationDelegate serialization;
 
@@ -151,6 +155,58 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 		}));
 	}
 
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		Object storeValue = lookup(key);
+		if (storeValue != null) {
+			return CompletableFuture.completedFuture((T) fromStoreValue(storeValue));
+		}
+		CompletableFuture<T> loader = new CompletableFuture<>();
+		CompletableFuture<?> existingLoader = this.loaders.putIfAbsent(key, loader);
+		if (existingLoader != null) {
+			// Another caller is loading the value already: share its result
+			return existingLoader.thenApply(value -> (T) value);
+		}
+		try {
+			// The value may have been stored since the first lookup
+			storeValue = lookup(key);
+			if (storeValue != null) {
+				this.loaders.remove(key, loader);
+				loader.complete((T) fromStoreValue(storeValue));
+			}
+			else {
+				valueLoader.get().whenComplete((value, ex) -> completeLoader(key, loader, value, ex));
+			}
+		}
+		catch (Throwable ex) {
+			completeLoader(key, loader, null, ex);
+		}
+		return loader;
+	}
+
+	private <T> void completeLoader(Object key, CompletableFuture<T> loader, @Nullable T value, @Nullable Throwable ex) {
+		try {
+			if (ex == null) {
+				// Store before removing the in-flight loader, so that there is no window
+				// in which subsequent callers see neither of them and load again
+				this.store.put(key, toStoreValue(value));
+			}
+		}
+		catch (Throwable storeEx) {
+			ex = storeEx;
+		}
+		finally {
+			this.loaders.remove(key, loader);
+		}
+		if (ex != null) {
+			loader.completeExceptionally(ex);
+		}
+		else {
+			loader.complete(value);
+		}
+	}
+
 	@Override
 	public void put(Object key, @Nullable Object value) {
 		this.store.put(key, toStoreValue(value));
@@ -16,12 +16,14 @@
 
 package org.springframework.cache.concurrent;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.ToIntBiFunction;
 
 import org.springframework.beans.factory.BeanClassLoaderAware;
 import org.springframework.cache.Cache;
@@ -35,9 +37,12 @@ import org.springframework.lang.Nullable;
  * the set of cache names is pre-defined through {@link #setCacheNames}, with no
  * dynamic creation of further cache regions at runtime.
  *
- * <p>Note: This is by no means a sophisticated CacheManager; it comes with no
+ * <p>Note: This is by no means a sophisticated CacheManager; it comes with few
  * cache configuration options. However, it may be useful for testing or simple
- * caching scenarios. For advanced local caching needs, consider
+ * caching scenarios. Caches can be bounded in size and expire entries through
+ * {@link #setMaximumSize}, {@link #setMaximumWeight} and {@link #setExpireAfterWrite},
+ * in which case {@link BoundedConcurrentMapCache} instances are created, exposing
+ * their statistics through {@link #getCacheStatistics}. For advanced local caching needs, consider
  * {@link org.springframework.cache.jcache.JCacheCacheManager},
  * {@link org.springframework.cache.ehcache.EhCacheCacheManager},
  * {@link org.springframework.cache.caffeine.CaffeineCacheManager}.
@@ -56,6 +61,16 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 
 	private boolean storeByValue = false;
 
+	private long maximumSize = -1;
+
+	private long maximumWeight = -1;
+
+	@Nullable
+	private ToIntBiFunction<Object, Object> weigher;
+
+	@Nullable
+	private Duration expireAfterWrite;
+
 	@Nullable
 	private SerializationDelegate serialization;
 
@@ -146,6 +161,63 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 		return this.storeByValue;
 	}
 
+	/**
+	 * Specify the maximum number of entries each cache may hold, evicting
+	 * entries according to a segmented LRU policy beyond that.
+	 * <p>Default is "-1", i.e. no bound on the number of entries.
+	 * <p>Note: A change of the maximum size will reset all existing caches,
+	 * if any, to reconfigure them with the new bound.
+	 * @since 5.1
+	 * @see BoundedConcurrentMapCache
+	 */
+	public void setMaximumSize(long maximumSize) {
+		if (maximumSize != this.maximumSize) {
+			this.maximumSize = maximumSize;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Specify the maximum total weight of the entries each cache may hold,
+	 * as determined by the {@link #setWeigher weigher}, as an alternative
+	 * to a {@link #setMaximumSize maximum size}, taking precedence over it.
+	 * <p>Default is "-1", i.e. no bound on the total weight of entries.
+	 * <p>Note: A change of the maximum weight will reset all existing caches,
+	 * if any, to reconfigure them with the new bound.
+	 * @since 5.1
+	 * @see #setWeigher
+	 */
+	public void setMaximumWeight(long maximumWeight) {
+		if (maximumWeight != this.maximumWeight) {
+			this.maximumWeight = maximumWeight;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Specify the function determining the weight of each cache entry from its
+	 * key and store value, to be used in combination with a
+	 * {@link #setMaximumWeight maximum weight}.
+	 * <p>Default is none, i.e. a weight of 1 per entry.
+	 * @since 5.1
+	 */
+	public void setWeigher(@Nullable ToIntBiFunction<Object, Object> weigher) {
+		this.weigher = weigher;
+		recreateCaches();
+	}
+
+	/**
+	 * Specify the time after which cache entries expire once written.
+	 * <p>Default is none, i.e. entries are kept until evicted or removed.
+	 * <p>Note: A change of the expiration setting will reset all existing caches,
+	 * if any, to reconfigure them with the new time to live.
+	 * @since 5.1
+	 */
+	public void setExpireAfterWrite(@Nullable Duration expireAfterWrite) {
+		this.expireAfterWrite = expireAfterWrite;
+		recreateCaches();
+	}
+
 	@Override
 	public void setBeanClassLoader(ClassLoader classLoader) {
 		this.serialization = new SerializationDelegate(classLoader);
@@ -177,6 +249,22 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 		return cache;
 	}
 
+	/**
+	 * Return the statistics gathered by the specified cache so far.
+	 * @param name the name of the cache
+	 * @return a snapshot of the cache statistics, or {@code null} if there is
+	 * no such cache or if the cache is not bounded and therefore keeps no statistics
+	 * @since 5.1
+	 * @see #setMaximumSize
+	 * @see #setExpireAfterWrite
+	 */
+	@Nullable
+	public CacheStatistics getCacheStatistics(String name) {
+		Cache cache = this.cacheMap.get(name);
+		return (cache instanceof BoundedConcurrentMapCache ?
+				((BoundedConcurrentMapCache) cache).getStatistics() : null);
+	}
+
 	private void recreateCaches() {
 		for (Map.Entry<String, Cache> entry : this.cacheMap.entrySet()) {
 			entry.setValue(createConcurrentMapCache(entry.getKey()));
@@ -190,6 +278,14 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 	 */
 	protected Cache createConcurrentMapCache(String name) {
 		SerializationDelegate actualSerialization = (isStoreByValue() ? this.serialization : null);
+		if (this.maximumSize != -1 || this.maximumWeight != -1 || this.expireAfterWrite != null) {
+			if (this.maximumWeight != -1) {
+				return new BoundedConcurrentMapCache(name, this.maximumWeight, this.weigher,
+						this.expireAfterWrite, isAllowNullValues(), actualSerialization);
+			}
+			return new BoundedConcurrentMapCache(name, this.maximumSize, null,
+					this.expireAfterWrite, isAllowNullValues(), actualSerialization);
+		}
 		return new ConcurrentMapCache(name, new ConcurrentHashMap<>(256),
 				isAllowNullValues(), actualSerialization);
 
@@ -25,11 +25,18 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import org.springframework.aop.framework.AopProxyUtils;
 import org.springframework.aop.support.AopUtils;
@@ -83,10 +90,20 @@ import org.springframework.util.function.SupplierUtils;
 public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		implements BeanFactoryAware, InitializingBean, SmartInitializingSingleton {
 
+	private static final boolean reactorPresent = ClassUtils.isPresent(
+			"reactor.core.publisher.Mono", CacheAspectSupport.class.getClassLoader());
+
+
 	protected final Log logger = LogFactory.getLog(getClass());
 
 	private final Map<CacheOperationCacheKey, CacheOperationMetadata> metadataCache = new ConcurrentHashMap<>(1024);
 
+	private final ConcurrentMap<InFlightKey, InFlightInvocation> inFlightInvocations = new ConcurrentHashMap<>(64);
+
+	@Nullable
+	private final ReactiveCachingHandler reactiveCachingHandler =
+			(reactorPresent ? new ReactiveCachingHandler() : null);
+
 	private final CacheOperationExpressionEvaluator evaluator = new CacheOperationExpressionEvaluator();
 
 	@Nullable
@@ -100,6 +117,8 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	@Nullable
 	private BeanFactory beanFactory;
 
+	private boolean coalesceMisses = false;
+
 	private boolean initialized = false;
 
 
@@ -204,6 +223,35 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		this.beanFactory = beanFactory;
 	}
 
+	/**
+	 * Set whether concurrent cache misses for the same key(s) of a
+	 * {@link CacheableOperation} should be coalesced into a single invocation
+	 * of the underlying method. Default is "false".
+	 * <p>Unlike {@link CacheableOperation#isSync() synchronized} caching, this
+	 * does not rely on {@link Cache#get(Object, java.util.concurrent.Callable)}
+	 * and therefore works with any cache provider and with several caches per
+	 * operation: the first caller for a given key invokes the method and puts
+	 * the result in the cache(s), while concurrent callers for the same key wait
+	 * for and share that result (or exception). For methods returning a
+	 * {@code CompletableFuture} or a Reactor {@code Mono} or {@code Flux},
+	 * concurrent callers share the resolved value without blocking.
+	 * <p>Coalescing only applies to operations without an explicit
+	 * {@code @CachePut} which would need to run for every invocation.
+	 * @since 5.1
+	 */
+	public void setCoalesceMisses(boolean coalesceMisses) {
+		this.coalesceMisses = coalesceMisses;
+	}
+
+	/**
+	 * Return whether concurrent cache misses for the same key(s) are coalesced
+	 * into a single invocation of the underlying method.
+	 * @since 5.1
+	 */
+	public boolean isCoalesceMisses() {
+		return this.coalesceMisses;
+	}
+
 
 	@Override
 	public void afterPropertiesSet() {
@@ -371,6 +419,15 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 	@Nullable
 	private Object execute(final CacheOperationInvoker invoker, Method method, CacheOperationContexts contexts) {
+		// Cache the resolved value of asynchronous and reactive return types
+		Class<?> returnType = method.getReturnType();
+		if (isFutureType(returnType)) {
+			return unwrapFailure(executeAsync(() -> invokeForFuture(invoker), method, contexts));
+		}
+		if (this.reactiveCachingHandler != null && this.reactiveCachingHandler.isReactiveType(returnType)) {
+			return this.reactiveCachingHandler.execute(invoker, method, contexts);
+		}
+
 		// Special handling of synchronized invocation
 		if (contexts.isSynchronized()) {
 			CacheOperationContext context = contexts.get(CacheableOperation.class).iterator().next();
@@ -415,6 +472,10 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			cacheValue = cacheHit.get();
 			returnValue = wrapCacheValue(method, cacheValue);
 		}
+		else if (cacheHit == null && this.coalesceMisses && !cachePutRequests.isEmpty() && !hasCachePut(contexts)) {
+			// Share a single invocation with any concurrent miss for the same key(s)
+			return executeCoalesced(invoker, method, contexts, cachePutRequests);
+		}
 		else {
 			// Invoke the method if we don't have a cache hit
 			returnValue = invokeOperation(invoker);
@@ -435,6 +496,210 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		return returnValue;
 	}
 
+	@Nullable
+	private Object executeCoalesced(CacheOperationInvoker invoker, Method method,
+			CacheOperationContexts contexts, List<CachePutRequest> cachePutRequests) {
+
+		InFlightKey flightKey = new InFlightKey(method, cachePutRequests);
+		InFlightInvocation flight = new InFlightInvocation();
+		InFlightInvocation existing = this.inFlightInvocations.putIfAbsent(flightKey, flight);
+		if (existing != null) {
+			if (!existing.isOwnedByCurrentThread()) {
+				return existing.await();
+			}
+			// Reentrant call for the same key(s) from the invoking thread: do not wait for ourselves
+			flight = null;
+		}
+
+		try {
+			Object cacheValue;
+			Object returnValue;
+			// Another invocation may have completed right before we registered ours
+			Cache.ValueWrapper cacheHit = (flight != null ?
+					findCachedItem(contexts.get(CacheableOperation.class)) : null);
+			if (cacheHit != null) {
+				cacheValue = cacheHit.get();
+				returnValue = wrapCacheValue(method, cacheValue);
+			}
+			else {
+				returnValue = invokeOperation(invoker);
+				cacheValue = unwrapReturnValue(returnValue);
+				for (CachePutRequest cachePutRequest : cachePutRequests) {
+					cachePutRequest.apply(cacheValue);
+				}
+			}
+			processCacheEvicts(contexts.get(CacheEvictOperation.class), false, cacheValue);
+			if (flight != null) {
+				flight.complete(returnValue);
+			}
+			return returnValue;
+		}
+		catch (RuntimeException | Error ex) {
+			if (flight != null) {
+				flight.completeExceptionally(ex);
+			}
+			throw ex;
+		}
+		finally {
+			if (flight != null) {
+				this.inFlightInvocations.remove(flightKey, flight);
+			}
+		}
+	}
+
+	/**
+	 * Asynchronous variant of {@link #execute}, operating on a future for the
+	 * value to cache instead of on the return value itself.
+	 * @param invocation the invocation of the underlying method, adapted to
+	 * a future for the value to cache
+	 * @param method the method being invoked
+	 * @param contexts the operation contexts
+	 * @return a future for the cached or computed value
+	 */
+	@SuppressWarnings("unchecked")
+	private CompletableFuture<Object> executeAsync(
+			Supplier<CompletableFuture<?>> invocation, Method method, CacheOperationContexts contexts) {
+
+		// Special handling of synchronized invocation
+		if (contexts.isSynchronized()) {
+			CacheOperationContext context = contexts.get(CacheableOperation.class).iterator().next();
+			if (isConditionPassing(context, CacheOperationExpressionEvaluator.NO_RESULT)) {
+				Object key = generateKey(context, CacheOperationExpressionEvaluator.NO_RESULT);
+				Cache cache = context.getCaches().iterator().next();
+				return cache.retrieve(key, () -> (CompletableFuture<Object>) invocation.get());
+			}
+			else {
+				// No caching required, only call the underlying method
+				return (CompletableFuture<Object>) invocation.get();
+			}
+		}
+
+		// Process any early evictions
+		processCacheEvicts(contexts.get(CacheEvictOperation.class), true,
+				CacheOperationExpressionEvaluator.NO_RESULT);
+
+		return compose(findCachedItemAsync(contexts.get(CacheableOperation.class)), cacheHit -> {
+			// Collect puts from any @Cacheable miss, if no cached item is found
+			List<CachePutRequest> cachePutRequests = new LinkedList<>();
+			if (cacheHit == null) {
+				collectPutRequests(contexts.get(CacheableOperation.class),
+						CacheOperationExpressionEvaluator.NO_RESULT, cachePutRequests);
+			}
+
+			if (cacheHit != null && !hasCachePut(contexts)) {
+				// If there are no put requests, just use the cache hit
+				Object cacheValue = cacheHit.get();
+				processCacheEvicts(contexts.get(CacheEvictOperation.class), false, cacheValue);
+				return CompletableFuture.completedFuture(cacheValue);
+			}
+
+			if (cacheHit == null && this.coalesceMisses && !cachePutRequests.isEmpty() && !hasCachePut(contexts)) {
+				// Share the value of a single invocation with any concurrent miss for the same key(s)
+				InFlightKey flightKey = new InFlightKey(method, cachePutRequests);
+				InFlightInvocation flight = new InFlightInvocation();
+				InFlightInvocation existing = this.inFlightInvocations.putIfAbsent(flightKey, flight);
+				if (existing != null) {
+					return existing.thenApply(Function.identity());
+				}
+				CompletableFuture<Object> result;
+				try {
+					result = invokeAndCache(invocation, contexts, cachePutRequests);
+				}
+				catch (RuntimeException | Error ex) {
+					this.inFlightInvocations.remove(flightKey, flight);
+					flight.completeExceptionally(ex);
+					throw ex;
+				}
+				result.whenComplete((value, ex) -> {
+					this.inFlightInvocations.remove(flightKey, flight);
+					if (ex != null) {
+						flight.completeExceptionally(ex);
+					}
+					else {
+						flight.complete(value);
+					}
+				});
+				return result;
+			}
+
+			return invokeAndCache(invocation, contexts, cachePutRequests);
+		});
+	}
+
+	private CompletableFuture<Object> invokeAndCache(Supplier<CompletableFuture<?>> invocation,
+			CacheOperationContexts contexts, List<CachePutRequest> cachePutRequests) {
+
+		return invocation.get().thenApply(cacheValue -> {
+			// Collect any explicit @CachePuts
+			collectPutRequests(contexts.get(CachePutOperation.class), cacheValue, cachePutRequests);
+
+			// Process any collected put requests, either from @CachePut or a @Cacheable miss
+			for (CachePutRequest cachePutRequest : cachePutRequests) {
+				cachePutRequest.apply(cacheValue);
+			}
+
+			// Process any late evictions
+			processCacheEvicts(contexts.get(CacheEvictOperation.class), false, cacheValue);
+			return cacheValue;
+		});
+	}
+
+	private CompletableFuture<?> invokeForFuture(CacheOperationInvoker invoker) {
+		Object returnValue = invokeOperation(invoker);
+		if (returnValue == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+		return ((CompletionStage<?>) returnValue).toCompletableFuture();
+	}
+
+	private static boolean isFutureType(Class<?> returnType) {
+		return (returnType == CompletableFuture.class || returnType == CompletionStage.class);
+	}
+
+	/**
+	 * Apply the given function to the value of the given future, directly if
+	 * that future is already complete. This way, an exception thrown by an
+	 * invocation of the underlying method propagates to the caller as usual
+	 * for an in-memory cache, rather than through the returned future.
+	 */
+	private static <T> CompletableFuture<Object> compose(
+			CompletableFuture<T> future, Function<T, CompletableFuture<Object>> function) {
+
+		if (future.isDone() && !future.isCompletedExceptionally()) {
+			return function.apply(future.join());
+		}
+		return future.thenCompose(function);
+	}
+
+	/**
+	 * Return a future that completes with the original exception thrown by the
+	 * underlying method, rather than with a {@link CompletionException} or a
+	 * {@link CacheOperationInvoker.ThrowableWrapper}.
+	 */
+	private static CompletableFuture<Object> unwrapFailure(CompletableFuture<Object> future) {
+		if (future.isDone() && !future.isCompletedExceptionally()) {
+			return future;
+		}
+		CompletableFuture<Object> result = new CompletableFuture<>();
+		future.whenComplete((value, ex) -> {
+			if (ex != null) {
+				result.completeExceptionally(unwrapThrowable(ex));
+			}
+			else {
+				result.complete(value);
+			}
+		});
+		return result;
+	}
+
+	private static Throwable unwrapThrowable(Throwable ex) {
+		Throwable cause = (ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+		if (cause instanceof CacheOperationInvoker.ThrowableWrapper) {
+			cause = ((CacheOperationInvoker.ThrowableWrapper) cause).getOriginal();
+		}
+		return cause;
+	}
+
 	@Nullable
 	private Object wrapCacheValue(Method method, @Nullable Object cacheValue) {
 		if (method.getReturnType() == Optional.class &&
@@ -530,6 +795,29 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		return null;
 	}
 
+	/**
+	 * Asynchronous variant of {@link #findCachedItem}, looking up the caches
+	 * of each {@link CacheableOperation} that passes the condition in turn
+	 * through {@link Cache#retrieve(Object)}.
+	 * @param contexts the cacheable operations
+	 * @return a future for the {@link Cache.ValueWrapper} holding the cached
+	 * item, completing with {@code null} if none is found
+	 */
+	private CompletableFuture<Cache.ValueWrapper> findCachedItemAsync(Collection<CacheOperationContext> contexts) {
+		Object result = CacheOperationExpressionEvaluator.NO_RESULT;
+		CompletableFuture<Cache.ValueWrapper> cached = CompletableFuture.completedFuture(null);
+		for (CacheOperationContext context : contexts) {
+			if (isConditionPassing(context, result)) {
+				Object key = generateKey(context, result);
+				for (Cache cache : context.getCaches()) {
+					cached = cached.thenCompose(wrapper ->
+							(wrapper != null ? CompletableFuture.completedFuture(wrapper) : doRetrieve(cache, key)));
+				}
+			}
+		}
+		return cached;
+	}
+
 	/**
 	 * Collect the {@link CachePutRequest} for all {@link CacheOperation} using
 	 * the specified result item.
@@ -824,6 +1112,122 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	}
 
 
+	/**
+	 * Key of an in-flight invocation: the method and the caches and keys of its
+	 * collected put requests.
+	 */
+	private static final class InFlightKey {
+
+		private final Method method;
+
+		private final List<Object> cacheKeys;
+
+		private final int hashCode;
+
+		public InFlightKey(Method method, List<CachePutRequest> cachePutRequests) {
+			this.method = method;
+			this.cacheKeys = new ArrayList<>(cachePutRequests.size() * 2);
+			for (CachePutRequest cachePutRequest : cachePutRequests) {
+				this.cacheKeys.add(cachePutRequest.context.getCaches());
+				this.cacheKeys.add(cachePutRequest.key);
+			}
+			this.hashCode = this.method.hashCode() * 31 + this.cacheKeys.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof InFlightKey)) {
+				return false;
+			}
+			InFlightKey otherKey = (InFlightKey) other;
+			return (this.method.equals(otherKey.method) && this.cacheKeys.equals(otherKey.cacheKeys));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+
+		@Override
+		public String toString() {
+			return this.cacheKeys + " for " + this.method;
+		}
+	}
+
+
+	/**
+	 * The result of an in-flight invocation, shared with concurrent callers
+	 * for the same key(s).
+	 */
+	@SuppressWarnings("serial")
+	private static final class InFlightInvocation extends CompletableFuture<Object> {
+
+		private final Thread owner = Thread.currentThread();
+
+		public boolean isOwnedByCurrentThread() {
+			return (this.owner == Thread.currentThread());
+		}
+
+		@Nullable
+		public Object await() {
+			Object result;
+			try {
+				result = join();
+			}
+			catch (CompletionException ex) {
+				Throwable cause = ex.getCause();
+				if (cause instanceof CacheOperationInvoker.ThrowableWrapper) {
+					throw new CacheOperationInvoker.ThrowableWrapper(
+							((CacheOperationInvoker.ThrowableWrapper) cause).getOriginal());
+				}
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw ex;
+			}
+			return result;
+		}
+	}
+
+
+	/**
+	 * Inner class to avoid a hard dependency on the Reactor API at runtime.
+	 */
+	private class ReactiveCachingHandler {
+
+		public boolean isReactiveType(Class<?> returnType) {
+			return (Mono.class.isAssignableFrom(returnType) || Flux.class.isAssignableFrom(returnType));
+		}
+
+		/**
+		 * Execute the given caching operations for a method returning a
+		 * {@code Mono} or a {@code Flux}, caching the emitted value or the
+		 * list of emitted values, respectively. Cache access and invocation
+		 * are deferred until subscription.
+		 */
+		@SuppressWarnings("unchecked")
+		public Object execute(CacheOperationInvoker invoker, Method method, CacheOperationContexts contexts) {
+			if (Flux.class.isAssignableFrom(method.getReturnType())) {
+				return Mono.defer(() -> Mono.fromFuture(executeAsync(
+						() -> ((Flux<?>) invokeOperation(invoker)).collectList().toFuture(), method, contexts)))
+						.onErrorMap(CacheOperationInvoker.ThrowableWrapper.class,
+								CacheOperationInvoker.ThrowableWrapper::getOriginal)
+						.flatMapMany(value -> Flux.fromIterable((Iterable<Object>) value));
+			}
+			return Mono.defer(() -> Mono.fromFuture(executeAsync(
+					() -> ((Mono<?>) invokeOperation(invoker)).toFuture(), method, contexts)))
+					.onErrorMap(CacheOperationInvoker.ThrowableWrapper.class,
+							CacheOperationInvoker.ThrowableWrapper::getOriginal);
+		}
+	}
+
+
 	private static final class CacheOperationCacheKey implements Comparable<CacheOperationCacheKey> {
 
 		private final CacheOperation cacheOperation;
@@ -125,6 +125,8 @@ class ConfigurationClassEnhancer {
 		enhancer.setUseFactory(false);
 		enhancer.setNamingPolicy(SpringNamingPolicy.INSTANCE);
 		enhancer.setStrategy(new BeanFactoryAwareGeneratorStrategy(classLoader));
+		// The key is fully described by the superclass and the stateless callback filter
+		enhancer.setUsePersistentCache(true);
 		enhancer.setCallbackFilter(CALLBACK_FILTER);
 		enhancer.setCallbackTypes(CALLBACK_FILTER.getCallbackTypes());
 		return enhancer;
@@ -200,6 +202,12 @@ class ConfigurationClassEnhancer {
 		public Class<?>[] getCallbackTypes() {
 			return this.callbackTypes;
 		}
+
+		@Override
+		public String toString() {
+			// Deterministic representation, as part of the key for the persistent class cache
+			return getClass().getName() + ": " + Arrays.toString(this.callbackTypes);
+		}
 	}
 
 
@@ -46,6 +46,8 @@ import org.springframework.core.io.support.DefaultPropertySourceFactory;
 import org.springframework.core.io.support.EncodedResource;
 import org.springframework.core.io.support.PropertySourceFactory;
 import org.springframework.core.io.support.ResourcePropertySource;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.core.type.MethodMetadata;
 import org.springframework.core.type.StandardAnnotationMetadata;
@@ -108,6 +110,8 @@ class ConfigurationClassParser {
 
 	private final ConditionEvaluator conditionEvaluator;
 
+	private final ApplicationStartup applicationStartup;
+
 	private final Map<ConfigurationClass, ConfigurationClass> configurationClasses = new LinkedHashMap<>();
 
 	private final Map<String, ConfigurationClass> knownSuperclasses = new HashMap<>();
@@ -128,6 +132,21 @@ class ConfigurationClassParser {
 									ProblemReporter problemReporter, Environment environment, ResourceLoader resourceLoader,
 									BeanNameGenerator componentScanBeanNameGenerator, BeanDefinitionRegistry registry) {
 
+		this(metadataReaderFactory, problemReporter, environment, resourceLoader,
+				componentScanBeanNameGenerator, registry, ApplicationStartup.DEFAULT);
+	}
+
+	/**
+	 * Create a new {@link ConfigurationClassParser} instance that will be used
+	 * to populate the set of configuration classes, recording component scans
+	 * with the given {@link ApplicationStartup}.
+	 * @since 5.1
+	 */
+	public ConfigurationClassParser(MetadataReaderFactory metadataReaderFactory,
+			ProblemReporter problemReporter, Environment environment, ResourceLoader resourceLoader,
+			BeanNameGenerator componentScanBeanNameGenerator, BeanDefinitionRegistry registry,
+			ApplicationStartup applicationStartup) {
+
 		this.metadataReaderFactory = metadataReaderFactory;
 		this.problemReporter = problemReporter;
 		this.environment = environment;
@@ -136,6 +155,7 @@ class ConfigurationClassParser {
 		this.componentScanParser = new ComponentScanAnnotationParser(
 				environment, resourceLoader, componentScanBeanNameGenerator, registry);
 		this.conditionEvaluator = new ConditionEvaluator(registry, environment, resourceLoader);
+		this.applicationStartup = applicationStartup;
 	}
 
 
@@ -259,8 +279,17 @@ class ConfigurationClassParser {
 				!this.conditionEvaluator.shouldSkip(sourceClass.getMetadata(), ConfigurationPhase.REGISTER_BEAN)) {
 			for (AnnotationAttributes componentScan : componentScans) {
 				// The config class is annotated with @ComponentScan -> perform the scan immediately
-				Set<BeanDefinitionHolder> scannedBeanDefinitions =
-						this.componentScanParser.parse(componentScan, sourceClass.getMetadata().getClassName());
+				StartupStep componentScanStep = this.applicationStartup.start("spring.context.component-scan")
+						.tag("configurationClass", sourceClass.getMetadata().getClassName());
+				Set<BeanDefinitionHolder> scannedBeanDefinitions;
+				try {
+					scannedBeanDefinitions =
+							this.componentScanParser.parse(componentScan, sourceClass.getMetadata().getClassName());
+					componentScanStep.tag("beanDefinitionCount", String.valueOf(scannedBeanDefinitions.size()));
+				}
+				finally {
+					componentScanStep.end();
+				}
 				// Check the set of scanned definitions for any further config classes and parse recursively if needed
 				for (BeanDefinitionHolder holder : scannedBeanDefinitions) {
 					BeanDefinition bdCand = holder.getBeanDefinition().getOriginatingBeanDefinition();
@@ -33,6 +33,8 @@ import org.springframework.util.ObjectUtils;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Abstract implementation of the {@link ApplicationEventMulticaster} interface,
@@ -51,18 +53,26 @@ import java.util.concurrent.ConcurrentHashMap;
 public abstract class AbstractApplicationEventMulticaster
 		implements ApplicationEventMulticaster, BeanClassLoaderAware, BeanFactoryAware {
 
-	//重试机制
-	private final ListenerRetriever defaultRetriever = new ListenerRetriever(false);
+	//当前注册的监听器快照，注册变更时整体替换(copy-on-write)
+	private volatile ListenerRetriever defaultRetriever =
+			new ListenerRetriever(new LinkedHashSet<>(), new LinkedHashSet<>(), false);
 	//缓存
 	final Map<ListenerCacheKey, ListenerRetriever> retrieverCache = new ConcurrentHashMap<>(64);
 
+	//按事件类型统计的分发次数与耗时
+	private final Map<ResolvableType, DispatchStatistics> dispatchStatistics = new ConcurrentHashMap<>(64);
+
 	@Nullable
 	private ClassLoader beanClassLoader;
 
 	@Nullable
 	private BeanFactory beanFactory;
 
-	private Object retrievalMutex = this.defaultRetriever;
+	private final Object registrationMonitor = new Object();
+
+	private volatile int registrationGeneration;
+
+	private volatile boolean dispatchStatisticsEnabled;
 
 
 	@Override
@@ -79,8 +89,6 @@ public abstract class AbstractApplicationEventMulticaster
 			if (this.beanClassLoader == null) {
 				this.beanClassLoader = cbf.getBeanClassLoader();
 			}
-			//容器内创建单例bean的锁
-			this.retrievalMutex = cbf.getSingletonMutex();
 		}
 	}
 
@@ -92,63 +100,133 @@ public abstract class AbstractApplicationEventMulticaster
 		return this.beanFactory;
 	}
 
+	/**
+	 * Specify whether to record per event type dispatch statistics,
+	 * exposed through {@link #getDispatchStatistics()}.
+	 * <p>Default is "false", avoiding the timing overhead on every dispatch.
+	 * @since 5.1
+	 */
+	public void setDispatchStatisticsEnabled(boolean dispatchStatisticsEnabled) {
+		this.dispatchStatisticsEnabled = dispatchStatisticsEnabled;
+	}
+
+	/**
+	 * Return whether per event type dispatch statistics are being recorded.
+	 * @since 5.1
+	 */
+	public boolean isDispatchStatisticsEnabled() {
+		return this.dispatchStatisticsEnabled;
+	}
+
+	/**
+	 * Return the dispatch statistics recorded so far, keyed by event type.
+	 * @since 5.1
+	 * @see #setDispatchStatisticsEnabled
+	 */
+	public Map<ResolvableType, DispatchStatistics> getDispatchStatistics() {
+		return Collections.unmodifiableMap(this.dispatchStatistics);
+	}
+
+	/**
+	 * Discard all dispatch statistics recorded so far.
+	 * @since 5.1
+	 */
+	public void resetDispatchStatistics() {
+		this.dispatchStatistics.clear();
+	}
+
+	/**
+	 * Record the dispatch of an event of the given type to a number of listeners.
+	 * <p>To be called by {@link #multicastEvent} implementations when
+	 * {@link #isDispatchStatisticsEnabled()} returns {@code true}.
+	 * @param eventType the event type
+	 * @param listenerCount the number of listeners the event was dispatched to
+	 * @param elapsedNanos the time spent dispatching the event, in nanoseconds
+	 * @since 5.1
+	 */
+	protected void recordDispatch(ResolvableType eventType, int listenerCount, long elapsedNanos) {
+		DispatchStatistics statistics = this.dispatchStatistics.get(eventType);
+		if (statistics == null) {
+			statistics = this.dispatchStatistics.computeIfAbsent(eventType, DispatchStatistics::new);
+		}
+		statistics.record(listenerCount, elapsedNanos);
+	}
+
 
 	@Override
 	public void addApplicationListener(ApplicationListener<?> listener) {
-		synchronized (this.retrievalMutex) {
+		synchronized (this.registrationMonitor) {
+			ListenerRetriever current = this.defaultRetriever;
+			Set<ApplicationListener<?>> listeners = new LinkedHashSet<>(current.applicationListeners);
 			// Explicitly remove target for a proxy, if registered already,
 			// in order to avoid double invocations of the same listener.
 			Object singletonTarget = AopProxyUtils.getSingletonTarget(listener);
 			if (singletonTarget instanceof ApplicationListener) {
-				this.defaultRetriever.applicationListeners.remove(singletonTarget);
+				listeners.remove(singletonTarget);
 			}
-			this.defaultRetriever.applicationListeners.add(listener);
-			this.retrieverCache.clear();
+			listeners.add(listener);
+			updateDefaultRetriever(listeners, current.applicationListenerBeans);
 		}
 	}
 
 	@Override
 	public void addApplicationListenerBean(String listenerBeanName) {
-		synchronized (this.retrievalMutex) {
-			this.defaultRetriever.applicationListenerBeans.add(listenerBeanName);
-			this.retrieverCache.clear();
+		synchronized (this.registrationMonitor) {
+			ListenerRetriever current = this.defaultRetriever;
+			Set<String> listenerBeans = new LinkedHashSet<>(current.applicationListenerBeans);
+			listenerBeans.add(listenerBeanName);
+			updateDefaultRetriever(current.applicationListeners, listenerBeans);
 		}
 	}
 
 	@Override
 	public void removeApplicationListener(ApplicationListener<?> listener) {
-		synchronized (this.retrievalMutex) {
-			this.defaultRetriever.applicationListeners.remove(listener);
-			this.retrieverCache.clear();
+		synchronized (this.registrationMonitor) {
+			ListenerRetriever current = this.defaultRetriever;
+			Set<ApplicationListener<?>> listeners = new LinkedHashSet<>(current.applicationListeners);
+			listeners.remove(listener);
+			updateDefaultRetriever(listeners, current.applicationListenerBeans);
 		}
 	}
 
 	@Override
 	public void removeApplicationListenerBean(String listenerBeanName) {
-		synchronized (this.retrievalMutex) {
-			this.defaultRetriever.applicationListenerBeans.remove(listenerBeanName);
-			this.retrieverCache.clear();
+		synchronized (this.registrationMonitor) {
+			ListenerRetriever current = this.defaultRetriever;
+			Set<String> listenerBeans = new LinkedHashSet<>(current.applicationListenerBeans);
+			listenerBeans.remove(listenerBeanName);
+			updateDefaultRetriever(current.applicationListeners, listenerBeans);
 		}
 	}
 
 	@Override
 	public void removeAllListeners() {
-		synchronized (this.retrievalMutex) {
-			this.defaultRetriever.applicationListeners.clear();
-			this.defaultRetriever.applicationListenerBeans.clear();
-			this.retrieverCache.clear();
+		synchronized (this.registrationMonitor) {
+			updateDefaultRetriever(new LinkedHashSet<>(), new LinkedHashSet<>());
 		}
 	}
 
+	/**
+	 * Publish a new registration snapshot and invalidate all retrievers built
+	 * from the previous one. Callers need to hold the registration monitor.
+	 */
+	private void updateDefaultRetriever(Set<ApplicationListener<?>> listeners, Set<String> listenerBeans) {
+		this.defaultRetriever = new ListenerRetriever(listeners, listenerBeans, false);
+		this.registrationGeneration++;
+		this.retrieverCache.clear();
+	}
+
 	protected Collection<ApplicationListener<?>> getApplicationListeners() {
-		synchronized (this.retrievalMutex) {
-			return this.defaultRetriever.getApplicationListeners();
-		}
+		return this.defaultRetriever.getApplicationListeners();
 	}
 
 	/**
 	 * Return a Collection of ApplicationListeners matching the given
 	 * event type. Non-matching listeners get excluded early.
+	 * <p>Never blocks: listeners are resolved against an immutable snapshot
+	 * of the current registrations, cached per event type and source type.
+	 * <p>As of 5.1, the returned Collection may be shared between calls and is
+	 * therefore not to be modified: subclasses need to copy it for that purpose.
 	 *
 	 * @param event     the event to be propagated. Allows for excluding
 	 *                  non-matching listeners early, based on cached matching information.
@@ -157,7 +235,7 @@ public abstract class AbstractApplicationEventMulticaster
 	 * @see org.springframework.context.ApplicationListener
 	 */
 	protected Collection<ApplicationListener<?>> getApplicationListeners(ApplicationEvent event, ResolvableType eventType) {
-         //获取事件源
+		//获取事件源
 		Object source = event.getSource();
 		Class<?> sourceType = (source != null ? source.getClass() : null);
 		//
@@ -172,61 +250,61 @@ public abstract class AbstractApplicationEventMulticaster
 		if (this.beanClassLoader == null ||
 				(ClassUtils.isCacheSafe(event.getClass(), this.beanClassLoader) &&
 						(sourceType == null || ClassUtils.isCacheSafe(sourceType, this.beanClassLoader)))) {
-			// Fully synchronized building and caching of a ListenerRetriever
-			synchronized (this.retrievalMutex) {
-				retriever = this.retrieverCache.get(cacheKey);
-				if (retriever != null) {
-					return retriever.getApplicationListeners();
-				}
-				retriever = new ListenerRetriever(true);
-				Collection<ApplicationListener<?>> listeners =
-						retrieveApplicationListeners(eventType, sourceType, retriever);
-				this.retrieverCache.put(cacheKey, retriever);
-				return listeners;
+			// Build a ListenerRetriever from the current snapshot without locking;
+			// the generation check keeps it from outliving a concurrent registration change
+			int generation = this.registrationGeneration;
+			Set<ApplicationListener<?>> filteredListeners = new LinkedHashSet<>();
+			Set<String> filteredListenerBeans = new LinkedHashSet<>();
+			Collection<ApplicationListener<?>> listeners = retrieveApplicationListeners(
+					eventType, sourceType, this.defaultRetriever, filteredListeners, filteredListenerBeans);
+			retriever = new ListenerRetriever(filteredListeners, filteredListenerBeans, true);
+			if (this.retrieverCache.putIfAbsent(cacheKey, retriever) == null &&
+					generation != this.registrationGeneration) {
+				this.retrieverCache.remove(cacheKey, retriever);
 			}
+			return listeners;
 		} else {
-			// No ListenerRetriever caching -> no synchronization necessary
-			return retrieveApplicationListeners(eventType, sourceType, null);
+			// No ListenerRetriever caching
+			return retrieveApplicationListeners(eventType, sourceType, this.defaultRetriever, null, null);
 		}
 	}
 
 	/**
 	 * Actually retrieve the application listeners for the given event and source type.
 	 *
-	 * @param eventType  the event type
-	 * @param sourceType the event source type
-	 * @param retriever  the ListenerRetriever, if supposed to populate one (for caching purposes)
+	 * @param eventType             the event type
+	 * @param sourceType            the event source type
+	 * @param registrations         the registration snapshot to retrieve from
+	 * @param filteredListeners     the set to collect matching listener instances in, if supposed
+	 *                              to populate a ListenerRetriever (for caching purposes)
+	 * @param filteredListenerBeans the set to collect matching listener bean names in, if supposed
+	 *                              to populate a ListenerRetriever (for caching purposes)
 	 * @return the pre-filtered list of application listeners for the given event and source type
 	 */
 	private Collection<ApplicationListener<?>> retrieveApplicationListeners(
-			ResolvableType eventType, @Nullable Class<?> sourceType, @Nullable ListenerRetriever retriever) {
+			ResolvableType eventType, @Nullable Class<?> sourceType, ListenerRetriever registrations,
+			@Nullable Set<ApplicationListener<?>> filteredListeners, @Nullable Set<String> filteredListenerBeans) {
 
 		List<ApplicationListener<?>> allListeners = new ArrayList<>();
-		Set<ApplicationListener<?>> listeners;
-		Set<String> listenerBeans;
-		synchronized (this.retrievalMutex) {
-			listeners = new LinkedHashSet<>(this.defaultRetriever.applicationListeners);
-			listenerBeans = new LinkedHashSet<>(this.defaultRetriever.applicationListenerBeans);
-		}
-		for (ApplicationListener<?> listener : listeners) {
+		for (ApplicationListener<?> listener : registrations.applicationListeners) {
 			if (supportsEvent(listener, eventType, sourceType)) {
-				if (retriever != null) {
-					retriever.applicationListeners.add(listener);
+				if (filteredListeners != null) {
+					filteredListeners.add(listener);
 				}
 				allListeners.add(listener);
 			}
 		}
-		if (!listenerBeans.isEmpty()) {
+		if (!registrations.applicationListenerBeans.isEmpty()) {
 			BeanFactory beanFactory = getBeanFactory();
-			for (String listenerBeanName : listenerBeans) {
+			for (String listenerBeanName : registrations.applicationListenerBeans) {
 				try {
 					Class<?> listenerType = beanFactory.getType(listenerBeanName);
 					if (listenerType == null || supportsEvent(listenerType, eventType)) {
 						ApplicationListener<?> listener =
 								beanFactory.getBean(listenerBeanName, ApplicationListener.class);
 						if (!allListeners.contains(listener) && supportsEvent(listener, eventType, sourceType)) {
-							if (retriever != null) {
-								retriever.applicationListenerBeans.add(listenerBeanName);
+							if (filteredListenerBeans != null) {
+								filteredListenerBeans.add(listenerBeanName);
 							}
 							allListeners.add(listener);
 						}
@@ -342,6 +420,8 @@ public abstract class AbstractApplicationEventMulticaster
 	 * Helper class that encapsulates a specific set of target listeners,
 	 * allowing for efficient retrieval of pre-filtered listeners.
 	 * <p>An instance of this helper gets cached per event type and source type.
+	 * Its sets are never modified after construction, so instances can be
+	 * shared between threads without synchronization.
 	 */
 	private class ListenerRetriever {
 
@@ -351,18 +431,37 @@ public abstract class AbstractApplicationEventMulticaster
 
 		private final boolean preFiltered;
 
-		public ListenerRetriever(boolean preFiltered) {
-			this.applicationListeners = new LinkedHashSet<>();
-			this.applicationListenerBeans = new LinkedHashSet<>();
+		//缓存的检索结果中没有通过bean名字注入的监听器时，预先排好序的结果
+		@Nullable
+		private final List<ApplicationListener<?>> sortedListeners;
+
+		public ListenerRetriever(Set<ApplicationListener<?>> applicationListeners,
+				Set<String> applicationListenerBeans, boolean preFiltered) {
+
+			this.applicationListeners = applicationListeners;
+			this.applicationListenerBeans = applicationListenerBeans;
 			this.preFiltered = preFiltered;
+			// Only for cached retrievers: the default retriever gets replaced on every
+			// registration change and would otherwise be sorted over and over at startup
+			if (preFiltered && applicationListenerBeans.isEmpty()) {
+				List<ApplicationListener<?>> sorted = new ArrayList<>(applicationListeners);
+				AnnotationAwareOrderComparator.sort(sorted);
+				this.sortedListeners = Collections.unmodifiableList(sorted);
+			}
+			else {
+				this.sortedListeners = null;
+			}
 		}
 
 		//检索符合条件的监听器
 		public Collection<ApplicationListener<?>> getApplicationListeners() {
+			if (this.sortedListeners != null) {
+				return this.sortedListeners;
+			}
 			List<ApplicationListener<?>> allListeners = new ArrayList<>(
 					this.applicationListeners.size() + this.applicationListenerBeans.size());
 			allListeners.addAll(this.applicationListeners);
-			//如果有通过bean名字的方式注入
+			//如果有通过bean名字的方式注入，每次从容器中获取
 			if (!this.applicationListenerBeans.isEmpty()) {
 				BeanFactory beanFactory = getBeanFactory();
 				for (String listenerBeanName : this.applicationListenerBeans) {
@@ -384,4 +483,85 @@ public abstract class AbstractApplicationEventMulticaster
 		}
 	}
 
+
+	/**
+	 * Dispatch counters and timings for a single event type.
+	 * @since 5.1
+	 * @see #setDispatchStatisticsEnabled
+	 */
+	public static final class DispatchStatistics {
+
+		private final ResolvableType eventType;
+
+		private final LongAdder dispatchCount = new LongAdder();
+
+		private final LongAdder listenerInvocationCount = new LongAdder();
+
+		private final LongAdder totalDispatchTime = new LongAdder();
+
+		private final LongAccumulator maxDispatchTime = new LongAccumulator(Math::max, 0);
+
+		DispatchStatistics(ResolvableType eventType) {
+			this.eventType = eventType;
+		}
+
+		void record(int listenerCount, long elapsedNanos) {
+			this.dispatchCount.increment();
+			this.listenerInvocationCount.add(listenerCount);
+			this.totalDispatchTime.add(elapsedNanos);
+			this.maxDispatchTime.accumulate(elapsedNanos);
+		}
+
+		/**
+		 * Return the event type these statistics apply to.
+		 */
+		public ResolvableType getEventType() {
+			return this.eventType;
+		}
+
+		/**
+		 * Return the number of events of this type that were multicast.
+		 */
+		public long getDispatchCount() {
+			return this.dispatchCount.sum();
+		}
+
+		/**
+		 * Return the number of listeners these events were dispatched to, in total.
+		 */
+		public long getListenerInvocationCount() {
+			return this.listenerInvocationCount.sum();
+		}
+
+		/**
+		 * Return the total time spent dispatching events of this type, in nanoseconds.
+		 */
+		public long getTotalDispatchTime() {
+			return this.totalDispatchTime.sum();
+		}
+
+		/**
+		 * Return the longest time spent dispatching a single event, in nanoseconds.
+		 */
+		public long getMaxDispatchTime() {
+			return this.maxDispatchTime.get();
+		}
+
+		/**
+		 * Return the average time spent dispatching a single event, in nanoseconds.
+		 */
+		public long getAverageDispatchTime() {
+			long count = getDispatchCount();
+			return (count > 0 ? getTotalDispatchTime() / count : 0);
+		}
+
+		@Override
+		public String toString() {
+			return "DispatchStatistics [eventType = " + this.eventType + ", dispatchCount = " +
+					getDispatchCount() + ", listenerInvocationCount = " + getListenerInvocationCount() +
+					", averageDispatchTime = " + getAverageDispatchTime() + "ns, maxDispatchTime = " +
+					getMaxDispatchTime() + "ns]";
+		}
+	}
+
 }
@@ -85,6 +85,24 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 
 
 	public ApplicationListenerMethodAdapter(String beanName, Class<?> targetClass, Method method) {
+		this(beanName, targetClass, method, false);
+	}
+
+	/**
+	 * Create a new adapter for the given method, optionally declaring a batch
+	 * listener: in that case, the method accepts a {@link List} of events and
+	 * the element type of that parameter determines the event type to listen to.
+	 * <p>Arguments are still resolved per event; it is up to the subclass to
+	 * collect them and to {@link #doInvoke invoke} the method with a list.
+	 * @param beanName the name of the bean declaring the listener method
+	 * @param targetClass the target class of that bean
+	 * @param method the listener method
+	 * @param batchListener whether the method accepts a list of events
+	 * @since 5.1
+	 */
+	protected ApplicationListenerMethodAdapter(
+			String beanName, Class<?> targetClass, Method method, boolean batchListener) {
+
 		this.beanName = beanName;
 		this.method = BridgeMethodResolver.findBridgedMethod(method);
 		this.targetMethod = (!Proxy.isProxyClass(targetClass) ?
@@ -92,18 +110,24 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 		this.methodKey = new AnnotatedElementKey(this.targetMethod, targetClass);
 
 		EventListener ann = AnnotatedElementUtils.findMergedAnnotation(this.targetMethod, EventListener.class);
-		this.declaredEventTypes = resolveDeclaredEventTypes(method, ann);
+		this.declaredEventTypes = resolveDeclaredEventTypes(method, ann, batchListener);
 		this.condition = (ann != null ? ann.condition() : null);
 		this.order = resolveOrder(method);
 	}
 
 
-	private List<ResolvableType> resolveDeclaredEventTypes(Method method, @Nullable EventListener ann) {
+	private List<ResolvableType> resolveDeclaredEventTypes(
+			Method method, @Nullable EventListener ann, boolean batchListener) {
+
 		int count = method.getParameterCount();
 		if (count > 1) {
 			throw new IllegalStateException(
 					"Maximum one parameter is allowed for event listener method: " + method);
 		}
+		if (batchListener && (count == 0 || !isListParameter(method.getParameterTypes()[0]))) {
+			throw new IllegalStateException(
+					"A List parameter is mandatory for batch event listener method: " + method);
+		}
 
 		if (ann != null) {
 			Class<?>[] classes = ann.classes();
@@ -120,7 +144,15 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 			throw new IllegalStateException(
 					"Event parameter is mandatory for event listener method: " + method);
 		}
-		return Collections.singletonList(ResolvableType.forMethodParameter(method, 0));
+		ResolvableType parameterType = ResolvableType.forMethodParameter(method, 0);
+		return Collections.singletonList(batchListener ? parameterType.asCollection().getGeneric() : parameterType);
+	}
+
+	/**
+	 * Determine whether a parameter of the given type can hold a {@link List} of events.
+	 */
+	static boolean isListParameter(Class<?> parameterType) {
+		return (Collection.class.isAssignableFrom(parameterType) && parameterType.isAssignableFrom(List.class));
 	}
 
 	private int resolveOrder(Method method) {
@@ -237,7 +269,7 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 		}
 	}
 
-	private boolean shouldHandle(ApplicationEvent event, @Nullable Object[] args) {
+	boolean shouldHandle(ApplicationEvent event, @Nullable Object[] args) {
 		if (args == null) {
 			return false;
 		}
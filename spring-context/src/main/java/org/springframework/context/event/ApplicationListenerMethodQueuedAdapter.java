@@ -0,0 +1,228 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.support.TaskUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.ErrorHandler;
+
+/**
+ * {@link GenericApplicationListener} adapter that delegates the processing of
+ * an event to a {@link QueuedEventListener} annotated method. Supports the exact
+ * same features as any regular {@link EventListener} annotated method but
+ * delivers events asynchronously from a bounded queue of its own.
+ *
+ * <p>At most one delivery is in progress at any time, which preserves the
+ * order in which events were accepted. After each batch, the delivery task
+ * gets resubmitted to the executor if more events are waiting, so that a busy
+ * listener does not monopolize a shared thread pool.
+ *
+ * @since 5.1
+ * @see ApplicationListenerMethodAdapter
+ * @see QueuedEventListener
+ */
+class ApplicationListenerMethodQueuedAdapter extends ApplicationListenerMethodAdapter {
+
+	private final Executor executor;
+
+	private final ErrorHandler errorHandler;
+
+	private final boolean batchListener;
+
+	private final int batchSize;
+
+	private final EventOverflowPolicy overflowPolicy;
+
+	private final BlockingQueue<Object[]> queue;
+
+	private final AtomicBoolean delivering = new AtomicBoolean();
+
+	private final LongAdder deliveredCount = new LongAdder();
+
+	private final LongAdder droppedCount = new LongAdder();
+
+
+	public ApplicationListenerMethodQueuedAdapter(String beanName, Class<?> targetClass, Method method,
+			Executor executor, @Nullable ErrorHandler errorHandler) {
+
+		super(beanName, targetClass, method, isBatchListener(method));
+		QueuedEventListener ann = AnnotatedElementUtils.findMergedAnnotation(method, QueuedEventListener.class);
+		if (ann == null) {
+			throw new IllegalStateException("No QueuedEventListener annotation found on method: " + method);
+		}
+		Assert.isTrue(ann.capacity() > 0, "Capacity must be greater than 0");
+		Assert.isTrue(ann.batchSize() > 0, "Batch size must be greater than 0");
+		this.executor = executor;
+		this.errorHandler = (errorHandler != null ? errorHandler : TaskUtils.LOG_AND_SUPPRESS_ERROR_HANDLER);
+		this.batchListener = isBatchListener(method);
+		this.batchSize = ann.batchSize();
+		this.overflowPolicy = ann.overflowPolicy();
+		this.queue = new ArrayBlockingQueue<>(ann.capacity());
+	}
+
+	static boolean isBatchListener(Method method) {
+		return (method.getParameterCount() == 1 && isListParameter(method.getParameterTypes()[0]));
+	}
+
+
+	/**
+	 * Return the number of events currently waiting to be delivered.
+	 */
+	public int getQueueSize() {
+		return this.queue.size();
+	}
+
+	/**
+	 * Return the number of events delivered so far.
+	 */
+	public long getDeliveredCount() {
+		return this.deliveredCount.sum();
+	}
+
+	/**
+	 * Return the number of events dropped or rejected so far because the queue was full.
+	 */
+	public long getDroppedCount() {
+		return this.droppedCount.sum();
+	}
+
+
+	@Override
+	public void onApplicationEvent(ApplicationEvent event) {
+		Object[] args = resolveArguments(event);
+		if (args != null && shouldHandle(event, args)) {
+			enqueue(event, args);
+			scheduleDelivery();
+		}
+	}
+
+	private void enqueue(ApplicationEvent event, Object[] args) {
+		if (this.queue.offer(args)) {
+			return;
+		}
+		switch (this.overflowPolicy) {
+			case BLOCK:
+				try {
+					this.queue.put(args);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					drop(event);
+				}
+				break;
+			case DROP_OLDEST:
+				while (!this.queue.offer(args)) {
+					if (this.queue.poll() != null) {
+						this.droppedCount.increment();
+					}
+				}
+				break;
+			case DROP_NEWEST:
+				drop(event);
+				break;
+			case REJECT:
+				this.droppedCount.increment();
+				throw new TaskRejectedException("Queue of event listener method [" + this +
+						"] is full - rejecting " + event);
+		}
+	}
+
+	private void drop(ApplicationEvent event) {
+		this.droppedCount.increment();
+		if (logger.isDebugEnabled()) {
+			logger.debug("Queue of event listener method [" + this + "] is full - dropping " + event);
+		}
+	}
+
+	private void scheduleDelivery() {
+		if (this.delivering.compareAndSet(false, true)) {
+			try {
+				this.executor.execute(this::deliver);
+			}
+			catch (RejectedExecutionException ex) {
+				// Executor shut down or saturated: deliver on the calling thread instead
+				do {
+					deliverBatch();
+				}
+				while (!this.queue.isEmpty() && this.delivering.compareAndSet(false, true));
+			}
+		}
+	}
+
+	private void deliver() {
+		deliverBatch();
+		if (!this.queue.isEmpty()) {
+			scheduleDelivery();
+		}
+	}
+
+	/**
+	 * Deliver up to one batch of events, releasing the delivery flag afterwards.
+	 */
+	private void deliverBatch() {
+		try {
+			List<Object[]> batch = new ArrayList<>(Math.min(this.batchSize, this.queue.size()));
+			this.queue.drainTo(batch, this.batchSize);
+			if (batch.isEmpty()) {
+				return;
+			}
+			if (this.batchListener) {
+				List<Object> events = new ArrayList<>(batch.size());
+				for (Object[] args : batch) {
+					events.add(args[0]);
+				}
+				invoke(new Object[] {events});
+			}
+			else {
+				for (Object[] args : batch) {
+					invoke(args);
+				}
+			}
+			this.deliveredCount.add(batch.size());
+		}
+		finally {
+			this.delivering.set(false);
+		}
+	}
+
+	private void invoke(Object[] args) {
+		try {
+			Object result = doInvoke(args);
+			if (result != null) {
+				handleResult(result);
+			}
+		}
+		catch (Throwable ex) {
+			this.errorHandler.handleError(ex);
+		}
+	}
+
+}
@@ -20,6 +20,7 @@ import java.lang.reflect.Method;
 
 import org.springframework.context.ApplicationListener;
 import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotationUtils;
 
 /**
  * Default {@link EventListenerFactory} implementation that supports the
@@ -48,6 +49,11 @@ public class DefaultEventListenerFactory implements EventListenerFactory, Ordere
 
 	@Override
 	public ApplicationListener<?> createApplicationListener(String beanName, Class<?> type, Method method) {
+		if (ApplicationListenerMethodQueuedAdapter.isBatchListener(method) &&
+				AnnotationUtils.findAnnotation(method, QueuedEventListener.class) != null) {
+			throw new IllegalStateException("Batch @QueuedEventListener method requires a " +
+					"QueuedEventListenerFactory bean for receiving events: " + method);
+		}
 		return new ApplicationListenerMethodAdapter(beanName, type, method);
 	}
 
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+/**
+ * The policy to apply when an event is published to a {@link QueuedEventListener}
+ * whose queue is full.
+ *
+ * @since 5.1
+ * @see QueuedEventListener#overflowPolicy()
+ */
+public enum EventOverflowPolicy {
+
+	/**
+	 * Block the publishing thread until the listener has caught up.
+	 * <p>Applies backpressure to the publisher; a listener must therefore
+	 * not publish events to itself from within its own delivery.
+	 */
+	BLOCK,
+
+	/**
+	 * Discard the event that was just published.
+	 */
+	DROP_NEWEST,
+
+	/**
+	 * Discard the oldest event still waiting in the queue, making room
+	 * for the event that was just published.
+	 */
+	DROP_OLDEST,
+
+	/**
+	 * Reject the event that was just published, throwing a
+	 * {@link org.springframework.core.task.TaskRejectedException}
+	 * to the publisher.
+	 */
+	REJECT
+
+}
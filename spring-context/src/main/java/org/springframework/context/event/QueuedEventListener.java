@@ -0,0 +1,97 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.core.annotation.AliasFor;
+
+/**
+ * An {@link EventListener} that is invoked asynchronously from a bounded queue
+ * of its own.
+ *
+ * <p>Events are accepted on the publishing thread, after evaluating the
+ * {@link #condition}, and delivered to the annotated method in the order in
+ * which they were published, one delivery at a time. What happens when the
+ * queue is full is determined by the {@link #overflowPolicy}.
+ *
+ * <p>If the annotated method declares a single {@link java.util.List} parameter,
+ * events are delivered in batches of up to {@link #batchSize} events: the
+ * element type of the list determines the event type to listen to, e.g.
+ * {@code public void onOrders(List<OrderCreatedEvent> events)}.
+ *
+ * <p>Processing of {@code @QueuedEventListener} annotations requires a bean of
+ * type {@link QueuedEventListenerFactory}, which also determines the executor
+ * to deliver events with. Without it, annotated methods with a single event
+ * parameter are invoked synchronously like any regular {@code @EventListener}
+ * method, ignoring the queue attributes, whereas methods accepting a
+ * {@code List} are rejected on startup since they cannot receive batches.
+ *
+ * @since 5.1
+ * @see QueuedEventListenerFactory
+ */
+@Target({ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@EventListener
+public @interface QueuedEventListener {
+
+	/**
+	 * Alias for {@link #classes}.
+	 */
+	@AliasFor(annotation = EventListener.class, attribute = "classes")
+	Class<?>[] value() default {};
+
+	/**
+	 * The event classes that this listener handles.
+	 * @see EventListener#classes
+	 */
+	@AliasFor(annotation = EventListener.class, attribute = "classes")
+	Class<?>[] classes() default {};
+
+	/**
+	 * Spring Expression Language (SpEL) attribute used for making the event
+	 * handling conditional, evaluated for each event on the publishing thread.
+	 * <p>The default is {@code ""}, meaning the event is always handled.
+	 * @see EventListener#condition
+	 */
+	@AliasFor(annotation = EventListener.class, attribute = "condition")
+	String condition() default "";
+
+	/**
+	 * The maximum number of events waiting to be delivered to this listener.
+	 */
+	int capacity() default 1024;
+
+	/**
+	 * The maximum number of events delivered at once to a listener method
+	 * accepting a {@link java.util.List}, or delivered one after the other
+	 * before yielding the executor thread for any other listener method.
+	 */
+	int batchSize() default 64;
+
+	/**
+	 * The policy to apply when an event is published while the queue is full.
+	 * <p>The default is {@link EventOverflowPolicy#BLOCK}.
+	 */
+	EventOverflowPolicy overflowPolicy() default EventOverflowPolicy.BLOCK;
+
+}
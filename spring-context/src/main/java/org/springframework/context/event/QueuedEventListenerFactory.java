@@ -0,0 +1,109 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.ErrorHandler;
+
+/**
+ * {@link EventListenerFactory} implementation that handles {@link QueuedEventListener}
+ * annotated methods.
+ *
+ * <p>Events are delivered through the configured {@link #setTaskExecutor task executor}.
+ * By default, a cached thread pool gets created for that purpose, which uses at most
+ * one thread per listener method at any time and gets shut down with this factory.
+ *
+ * @since 5.1
+ * @see QueuedEventListener
+ */
+public class QueuedEventListenerFactory implements EventListenerFactory, Ordered, DisposableBean {
+
+	private int order = 50;
+
+	@Nullable
+	private Executor taskExecutor;
+
+	@Nullable
+	private ErrorHandler errorHandler;
+
+	@Nullable
+	private ExecutorService defaultExecutor;
+
+
+	public void setOrder(int order) {
+		this.order = order;
+	}
+
+	@Override
+	public int getOrder() {
+		return this.order;
+	}
+
+	/**
+	 * Set the executor to deliver queued events with.
+	 */
+	public void setTaskExecutor(@Nullable Executor taskExecutor) {
+		this.taskExecutor = taskExecutor;
+	}
+
+	/**
+	 * Set the {@link ErrorHandler} to invoke in case an exception is thrown
+	 * from a listener method. By default, such exceptions are logged.
+	 */
+	public void setErrorHandler(@Nullable ErrorHandler errorHandler) {
+		this.errorHandler = errorHandler;
+	}
+
+
+	@Override
+	public boolean supportsMethod(Method method) {
+		return (AnnotationUtils.findAnnotation(method, QueuedEventListener.class) != null);
+	}
+
+	@Override
+	public ApplicationListener<?> createApplicationListener(String beanName, Class<?> type, Method method) {
+		return new ApplicationListenerMethodQueuedAdapter(beanName, type, method, obtainExecutor(), this.errorHandler);
+	}
+
+	private synchronized Executor obtainExecutor() {
+		if (this.taskExecutor != null) {
+			return this.taskExecutor;
+		}
+		if (this.defaultExecutor == null) {
+			this.defaultExecutor = Executors.newCachedThreadPool(new CustomizableThreadFactory("queued-event-"));
+		}
+		return this.defaultExecutor;
+	}
+
+	@Override
+	public synchronized void destroy() {
+		if (this.defaultExecutor != null) {
+			this.defaultExecutor.shutdown();
+		}
+	}
+
+}
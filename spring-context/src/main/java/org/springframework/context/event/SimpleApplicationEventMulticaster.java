@@ -16,6 +16,7 @@
 
 package org.springframework.context.event;
 
+import java.util.Collection;
 import java.util.concurrent.Executor;
 
 import org.apache.commons.logging.Log;
@@ -41,6 +42,10 @@ import org.springframework.util.ErrorHandler;
  * but adds minimal overhead. Specify an alternative task executor to have
  * listeners executed in different threads, for example from a thread pool.
  *
+ * <p>When {@link #setDispatchStatisticsEnabled dispatch statistics} are enabled,
+ * the time spent in {@link #multicastEvent} is recorded per event type; with a
+ * task executor, this covers handing the listeners off rather than running them.
+ *
  * @author Rod Johnson
  * @author Juergen Hoeller
  * @author Stephane Nicoll
@@ -97,14 +102,24 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 	@Override
 	public void multicastEvent(final ApplicationEvent event, @Nullable ResolvableType eventType) {
 		ResolvableType type = (eventType != null ? eventType : resolveDefaultEventType(event));
-		//遍历每一个监听器，调用其onApplicationEvent
-		for (final ApplicationListener<?> listener : getApplicationListeners(event, type)) {
-			Executor executor = getTaskExecutor();
-			if (executor != null) {
-				executor.execute(() -> invokeListener(listener, event));
+		Collection<ApplicationListener<?>> listeners = getApplicationListeners(event, type);
+		Executor executor = getTaskExecutor();
+		boolean recordStatistics = isDispatchStatisticsEnabled();
+		long startTime = (recordStatistics ? System.nanoTime() : 0);
+		try {
+			//遍历每一个监听器，调用其onApplicationEvent
+			for (final ApplicationListener<?> listener : listeners) {
+				if (executor != null) {
+					executor.execute(() -> invokeListener(listener, event));
+				}
+				else {
+					invokeListener(listener, event);
+				}
 			}
-			else {
-				invokeListener(listener, event);
+		}
+		finally {
+			if (recordStatistics) {
+				recordDispatch(type, listeners.size(), System.nanoTime() - startTime);
 			}
 		}
 	}
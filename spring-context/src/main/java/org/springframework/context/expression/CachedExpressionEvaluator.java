@@ -17,11 +17,21 @@
 package org.springframework.context.expression;
 
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 
 import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.EvaluationException;
 import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelEvaluationException;
+import org.springframework.expression.spel.SpelMessage;
+import org.springframework.expression.spel.standard.SpelExpression;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
 
@@ -29,16 +39,42 @@ import org.springframework.util.ObjectUtils;
  * Shared utility class used to evaluate and cache SpEL expressions that
  * are defined on {@link java.lang.reflect.AnnotatedElement}.
  *
+ * <p>As of 5.1, cached expressions are compiled once they have been evaluated
+ * a {@link #setCompilationThreshold number of times}, irrespective of the
+ * compiler mode of the parser. Should a compiled expression fail, e.g. because
+ * the types it operates on have changed, it reverts to being interpreted and
+ * may get compiled again later on.
+ *
  * @author Stephane Nicoll
  * @since 4.2
  * @see AnnotatedElementKey
  */
 public abstract class CachedExpressionEvaluator {
 
+	/**
+	 * The default number of evaluations after which a cached expression gets compiled.
+	 * @since 5.1
+	 * @see #setCompilationThreshold
+	 */
+	public static final int DEFAULT_COMPILATION_THRESHOLD = 100;
+
+	/**
+	 * The number of times a compiled expression may revert to being interpreted
+	 * before no further attempt is made to compile it.
+	 */
+	private static final int MAX_FALLBACKS = 10;
+
+
 	private final SpelExpressionParser parser;
 
 	private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
 
+	private volatile int compilationThreshold = DEFAULT_COMPILATION_THRESHOLD;
+
+	private final LongAdder compilationCount = new LongAdder();
+
+	private final LongAdder fallbackCount = new LongAdder();
+
 
 	/**
 	 * Create a new instance with the specified {@link SpelExpressionParser}.
@@ -71,6 +107,43 @@ public abstract class CachedExpressionEvaluator {
 		return this.parameterNameDiscoverer;
 	}
 
+	/**
+	 * Set the number of evaluations after which a cached expression gets compiled.
+	 * <p>Default is {@link #DEFAULT_COMPILATION_THRESHOLD}. Specify 0 to turn off
+	 * compilation by this evaluator, leaving it to the compiler mode of the parser.
+	 * @since 5.1
+	 * @see org.springframework.expression.spel.SpelParserConfiguration#getCompilerMode()
+	 */
+	public void setCompilationThreshold(int compilationThreshold) {
+		Assert.isTrue(compilationThreshold >= 0, "Compilation threshold must not be negative");
+		this.compilationThreshold = compilationThreshold;
+	}
+
+	/**
+	 * Return the number of evaluations after which a cached expression gets compiled.
+	 * @since 5.1
+	 */
+	public int getCompilationThreshold() {
+		return this.compilationThreshold;
+	}
+
+	/**
+	 * Return the number of times a cached expression has been compiled.
+	 * @since 5.1
+	 */
+	public long getCompilationCount() {
+		return this.compilationCount.sum();
+	}
+
+	/**
+	 * Return the number of times a compiled expression has failed and reverted
+	 * to being interpreted.
+	 * @since 5.1
+	 */
+	public long getFallbackCount() {
+		return this.fallbackCount.sum();
+	}
+
 
 	/**
 	 * Return the {@link Expression} for the specified SpEL value
@@ -86,6 +159,9 @@ public abstract class CachedExpressionEvaluator {
 		Expression expr = cache.get(expressionKey);
 		if (expr == null) {
 			expr = getParser().parseExpression(expression);
+			if (expr instanceof SpelExpression && this.compilationThreshold > 0) {
+				expr = new CompilingExpression((SpelExpression) expr);
+			}
 			cache.put(expressionKey, expr);
 		}
 		return expr;
@@ -96,6 +172,212 @@ public abstract class CachedExpressionEvaluator {
 	}
 
 
+	/**
+	 * An {@link Expression} that compiles the {@link SpelExpression} it delegates
+	 * to once it has been evaluated often enough, and reverts it to being
+	 * interpreted if its compiled form fails.
+	 */
+	private class CompilingExpression implements Expression {
+
+		private final SpelExpression delegate;
+
+		private final AtomicInteger evaluationCount = new AtomicInteger();
+
+		private final AtomicInteger fallbacks = new AtomicInteger();
+
+		private volatile boolean compiled;
+
+		public CompilingExpression(SpelExpression delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public String getExpressionString() {
+			return this.delegate.getExpressionString();
+		}
+
+		@Override
+		@Nullable
+		public Object getValue() throws EvaluationException {
+			return evaluate(Expression::getValue);
+		}
+
+		@Override
+		@Nullable
+		public <T> T getValue(@Nullable Class<T> desiredResultType) throws EvaluationException {
+			return evaluate(expression -> expression.getValue(desiredResultType));
+		}
+
+		@Override
+		@Nullable
+		public Object getValue(Object rootObject) throws EvaluationException {
+			return evaluate(expression -> expression.getValue(rootObject));
+		}
+
+		@Override
+		@Nullable
+		public <T> T getValue(Object rootObject, @Nullable Class<T> desiredResultType) throws EvaluationException {
+			return evaluate(expression -> expression.getValue(rootObject, desiredResultType));
+		}
+
+		@Override
+		@Nullable
+		public Object getValue(EvaluationContext context) throws EvaluationException {
+			return evaluate(expression -> expression.getValue(context));
+		}
+
+		@Override
+		@Nullable
+		public Object getValue(EvaluationContext context, Object rootObject) throws EvaluationException {
+			return evaluate(expression -> expression.getValue(context, rootObject));
+		}
+
+		@Override
+		@Nullable
+		public <T> T getValue(EvaluationContext context, @Nullable Class<T> desiredResultType)
+				throws EvaluationException {
+
+			return evaluate(expression -> expression.getValue(context, desiredResultType));
+		}
+
+		@Override
+		@Nullable
+		public <T> T getValue(EvaluationContext context, Object rootObject, @Nullable Class<T> desiredResultType)
+				throws EvaluationException {
+
+			return evaluate(expression -> expression.getValue(context, rootObject, desiredResultType));
+		}
+
+		@Nullable
+		private <T> T evaluate(Function<SpelExpression, T> evaluation) {
+			T result;
+			try {
+				result = evaluation.apply(this.delegate);
+			}
+			catch (SpelEvaluationException ex) {
+				if (ex.getMessageCode() != SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION) {
+					throw ex;
+				}
+				// The compiled form does not suit the current evaluation, e.g. because of
+				// a type change: fall back to interpreting the expression
+				this.delegate.revertToInterpreted();
+				this.compiled = false;
+				this.evaluationCount.set(0);
+				this.fallbacks.incrementAndGet();
+				fallbackCount.increment();
+				return evaluation.apply(this.delegate);
+			}
+			// Stop counting once compiled, or once falling back too often
+			int threshold = compilationThreshold;
+			if (threshold > 0 && !this.compiled && this.fallbacks.get() < MAX_FALLBACKS &&
+					this.evaluationCount.incrementAndGet() >= threshold) {
+				compile();
+			}
+			return result;
+		}
+
+		private synchronized void compile() {
+			if (!this.compiled) {
+				if (this.delegate.compileExpression()) {
+					this.compiled = true;
+					compilationCount.increment();
+				}
+				else {
+					// Not compilable yet, e.g. if some branches have not been evaluated
+					this.evaluationCount.set(0);
+				}
+			}
+		}
+
+		@Override
+		@Nullable
+		public Class<?> getValueType() throws EvaluationException {
+			return this.delegate.getValueType();
+		}
+
+		@Override
+		@Nullable
+		public Class<?> getValueType(Object rootObject) throws EvaluationException {
+			return this.delegate.getValueType(rootObject);
+		}
+
+		@Override
+		@Nullable
+		public Class<?> getValueType(EvaluationContext context) throws EvaluationException {
+			return this.delegate.getValueType(context);
+		}
+
+		@Override
+		@Nullable
+		public Class<?> getValueType(EvaluationContext context, Object rootObject) throws EvaluationException {
+			return this.delegate.getValueType(context, rootObject);
+		}
+
+		@Override
+		@Nullable
+		public TypeDescriptor getValueTypeDescriptor() throws EvaluationException {
+			return this.delegate.getValueTypeDescriptor();
+		}
+
+		@Override
+		@Nullable
+		public TypeDescriptor getValueTypeDescriptor(Object rootObject) throws EvaluationException {
+			return this.delegate.getValueTypeDescriptor(rootObject);
+		}
+
+		@Override
+		@Nullable
+		public TypeDescriptor getValueTypeDescriptor(EvaluationContext context) throws EvaluationException {
+			return this.delegate.getValueTypeDescriptor(context);
+		}
+
+		@Override
+		@Nullable
+		public TypeDescriptor getValueTypeDescriptor(EvaluationContext context, Object rootObject)
+				throws EvaluationException {
+
+			return this.delegate.getValueTypeDescriptor(context, rootObject);
+		}
+
+		@Override
+		public boolean isWritable(Object rootObject) throws EvaluationException {
+			return this.delegate.isWritable(rootObject);
+		}
+
+		@Override
+		public boolean isWritable(EvaluationContext context) throws EvaluationException {
+			return this.delegate.isWritable(context);
+		}
+
+		@Override
+		public boolean isWritable(EvaluationContext context, Object rootObject) throws EvaluationException {
+			return this.delegate.isWritable(context, rootObject);
+		}
+
+		@Override
+		public void setValue(Object rootObject, @Nullable Object value) throws EvaluationException {
+			this.delegate.setValue(rootObject, value);
+		}
+
+		@Override
+		public void setValue(EvaluationContext context, @Nullable Object value) throws EvaluationException {
+			this.delegate.setValue(context, value);
+		}
+
+		@Override
+		public void setValue(EvaluationContext context, Object rootObject, @Nullable Object value)
+				throws EvaluationException {
+
+			this.delegate.setValue(context, rootObject, value);
+		}
+
+		@Override
+		public String toString() {
+			return this.delegate.getExpressionString();
+		}
+	}
+
+
 	/**
 	 * An expression key.
 	 */
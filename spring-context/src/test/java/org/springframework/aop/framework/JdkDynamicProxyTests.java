@@ -17,6 +17,8 @@
 package org.springframework.aop.framework;
 
 import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.List;
 
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
@@ -25,6 +27,7 @@ import org.junit.Test;
 
 import org.springframework.aop.interceptor.ExposeInvocationInterceptor;
 import org.springframework.aop.support.AopUtils;
+import org.springframework.tests.aop.interceptor.NopInterceptor;
 import org.springframework.tests.sample.beans.IOther;
 import org.springframework.tests.sample.beans.ITestBean;
 import org.springframework.tests.sample.beans.TestBean;
@@ -145,6 +148,50 @@ public class JdkDynamicProxyTests extends AbstractAopProxyTests implements Seria
 		assertTrue(proxy.doWithVarargs(MyEnum.A, MyOtherEnum.C));
 	}
 
+	@Test
+	public void testInterceptorChainsResolvedUpFrontWhenFrozen() {
+		CountingAdvisedSupport pc = new CountingAdvisedSupport(ITestBean.class);
+		pc.setTarget(new TestBean("tb", 32));
+		NopInterceptor nop = new NopInterceptor();
+		pc.addAdvice(nop);
+		pc.setFrozen(true);
+
+		ITestBean proxy = (ITestBean) new JdkDynamicAopProxy(pc).getProxy();
+		int lookups = pc.chainLookups;
+		assertEquals(32, proxy.getAge());
+		assertEquals("tb", proxy.getName());
+		assertEquals(2, nop.getCount());
+		assertEquals("No chain lookups per invocation", lookups, pc.chainLookups);
+	}
+
+	@Test
+	public void testInterceptorChainsLookedUpPerInvocationWhenNotFrozen() {
+		CountingAdvisedSupport pc = new CountingAdvisedSupport(ITestBean.class);
+		pc.setTarget(new TestBean("tb", 32));
+		pc.addAdvice(new NopInterceptor());
+
+		ITestBean proxy = (ITestBean) new JdkDynamicAopProxy(pc).getProxy();
+		assertEquals(0, pc.chainLookups);
+		assertEquals(32, proxy.getAge());
+		assertEquals(1, pc.chainLookups);
+	}
+
+
+	private static class CountingAdvisedSupport extends AdvisedSupport {
+
+		int chainLookups;
+
+		public CountingAdvisedSupport(Class<?>... interfaces) {
+			super(interfaces);
+		}
+
+		@Override
+		public List<Object> getInterceptorsAndDynamicInterceptionAdvice(Method method, Class<?> targetClass) {
+			this.chainLookups++;
+			return super.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+		}
+	}
+
 
 	public interface Foo {
 
@@ -17,6 +17,8 @@
 package org.springframework.cache;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -177,6 +179,54 @@ public abstract class AbstractCacheTests<T extends Cache> {
 		}
 	}
 
+	@Test
+	public void testCacheRetrieve() throws Exception {
+		T cache = getCache();
+
+		String key = createRandomKey();
+		assertNull(cache.retrieve(key).get());
+
+		cache.put(key, "george");
+		assertEquals("george", cache.retrieve(key).get().get());
+
+		cache.put(key, null);
+		assertNotNull(cache.retrieve(key).get());
+		assertNull(cache.retrieve(key).get().get());
+	}
+
+	@Test
+	public void testCacheRetrieveWithValueLoader() throws Exception {
+		T cache = getCache();
+
+		String key = createRandomKey();
+		assertEquals("test", cache.retrieve(key, () -> CompletableFuture.completedFuture("test")).get());
+		assertEquals("test", cache.get(key).get());
+
+		Object value = cache.retrieve(key, () -> {
+			throw new IllegalStateException("Should not have been invoked");
+		}).get();
+		assertEquals("test", value);
+	}
+
+	@Test
+	public void testCacheRetrieveWithValueLoaderFail() throws Exception {
+		T cache = getCache();
+
+		String key = createRandomKey();
+		CompletableFuture<Object> failed = new CompletableFuture<>();
+		failed.completeExceptionally(new UnsupportedOperationException("Expected exception"));
+
+		CompletableFuture<Object> result = cache.retrieve(key, () -> failed);
+		try {
+			result.join();
+			fail("Should have thrown CompletionException");
+		}
+		catch (CompletionException ex) {
+			assertEquals(UnsupportedOperationException.class, ex.getCause().getClass());
+		}
+		assertNull(cache.get(key));
+	}
+
 	/**
 	 * Test that a call to get with a Callable concurrently properly synchronize the
 	 * invocations.
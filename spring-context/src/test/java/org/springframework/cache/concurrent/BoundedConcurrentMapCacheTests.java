@@ -0,0 +1,204 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.cache.AbstractValueAdaptingCacheTests;
+import org.springframework.core.serializer.support.SerializationDelegate;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link BoundedConcurrentMapCache}.
+ */
+public class BoundedConcurrentMapCacheTests
+		extends AbstractValueAdaptingCacheTests<BoundedConcurrentMapCache> {
+
+	protected BoundedConcurrentMapCache cache;
+
+	protected BoundedConcurrentMapCache cacheNoNull;
+
+
+	@Before
+	public void setUp() throws Exception {
+		this.cache = new BoundedConcurrentMapCache(CACHE_NAME, 100);
+		this.cacheNoNull = new BoundedConcurrentMapCache(CACHE_NAME_NO_NULL, 100, null, null, false);
+	}
+
+	@Override
+	protected BoundedConcurrentMapCache getCache() {
+		return getCache(true);
+	}
+
+	@Override
+	protected BoundedConcurrentMapCache getCache(boolean allowNull) {
+		return allowNull ? this.cache : this.cacheNoNull;
+	}
+
+	@Override
+	protected Object getNativeCache() {
+		return this.cache;
+	}
+
+
+	@Test
+	public void testEvictsLeastRecentlyUsedBeyondMaximumSize() {
+		BoundedConcurrentMapCache cache = new BoundedConcurrentMapCache(CACHE_NAME, 3);
+		cache.put("a", "1");
+		cache.put("b", "2");
+		cache.put("c", "3");
+		assertEquals("1", cache.get("a").get());
+
+		cache.put("d", "4");
+		assertEquals(3, cache.estimatedSize());
+		assertNull(cache.get("b"));
+		assertEquals("1", cache.get("a").get());
+		assertEquals("3", cache.get("c").get());
+		assertEquals("4", cache.get("d").get());
+		assertEquals(1, cache.getStatistics().getEvictionCount());
+	}
+
+	@Test
+	public void testAdmitsNewEntryWhenAllEntriesHaveBeenReadWithSmallMaximumSize() {
+		BoundedConcurrentMapCache cache = new BoundedConcurrentMapCache(CACHE_NAME, 3);
+		cache.put("a", "1");
+		cache.put("b", "2");
+		cache.put("c", "3");
+		assertEquals("1", cache.get("a").get());
+		assertEquals("2", cache.get("b").get());
+		assertEquals("3", cache.get("c").get());
+
+		cache.put("d", "4");
+		assertEquals(3, cache.estimatedSize());
+		assertEquals("4", cache.get("d").get());
+		assertNull(cache.get("a"));
+		assertEquals(1, cache.getStatistics().getEvictionCount());
+	}
+
+	@Test
+	public void testFrequentlyReadEntriesSurviveScan() {
+		BoundedConcurrentMapCache cache = new BoundedConcurrentMapCache(CACHE_NAME, 10);
+		cache.put("hot", "value");
+		for (int i = 0; i < 100; i++) {
+			assertNotNull(cache.get("hot"));
+			cache.put("cold" + i, i);
+		}
+		assertEquals("value", cache.get("hot").get());
+		assertEquals(10, cache.estimatedSize());
+	}
+
+	@Test
+	public void testEvictsBeyondMaximumWeight() {
+		BoundedConcurrentMapCache cache = new BoundedConcurrentMapCache(CACHE_NAME, 10,
+				(key, value) -> ((String) value).length(), null, true);
+		cache.put("a", "12345");
+		cache.put("b", "12345");
+		cache.put("c", "123");
+
+		assertNull(cache.get("a"));
+		assertEquals("12345", cache.get("b").get());
+		assertEquals("123", cache.get("c").get());
+	}
+
+	@Test
+	public void testUnboundedWithTimeToLive() throws InterruptedException {
+		BoundedConcurrentMapCache cache = new BoundedConcurrentMapCache(CACHE_NAME, -1,
+				null, Duration.ofMillis(50), true);
+		cache.put("key", "value");
+		assertEquals("value", cache.get("key").get());
+
+		Thread.sleep(100);
+		assertNull(cache.get("key"));
+		assertEquals(0, cache.estimatedSize());
+		assertEquals(1, cache.getStatistics().getEvictionCount());
+	}
+
+	@Test
+	public void testExpiredEntryIsReloaded() throws InterruptedException {
+		BoundedConcurrentMapCache cache = new BoundedConcurrentMapCache(CACHE_NAME, 10, Duration.ofMillis(50));
+		assertEquals("first", cache.get("key", () -> "first"));
+		assertEquals("first", cache.get("key", () -> "second"));
+
+		Thread.sleep(100);
+		assertEquals("second", cache.get("key", () -> "second"));
+		assertNull(cache.putIfAbsent("other", "value"));
+	}
+
+	@Test
+	public void testStatistics() {
+		BoundedConcurrentMapCache cache = new BoundedConcurrentMapCache(CACHE_NAME, 10);
+		cache.put("key", "value");
+		cache.get("key");
+		cache.get("missing");
+		cache.get("loaded", () -> "value");
+		try {
+			cache.get("failed", () -> {
+				throw new IllegalStateException("Expected exception");
+			});
+			fail("Should have thrown ValueRetrievalException");
+		}
+		catch (BoundedConcurrentMapCache.ValueRetrievalException ex) {
+			// expected
+		}
+
+		CacheStatistics statistics = cache.getStatistics();
+		assertEquals(1, statistics.getHitCount());
+		assertEquals(3, statistics.getMissCount());
+		assertEquals(4, statistics.getRequestCount());
+		assertEquals(0.25, statistics.getHitRate(), 0.0);
+		assertEquals(1, statistics.getLoadSuccessCount());
+		assertEquals(1, statistics.getLoadFailureCount());
+		assertTrue(statistics.getTotalLoadTime() > 0);
+		assertEquals(0, statistics.getEvictionCount());
+	}
+
+	@Test
+	public void testClearResetsWeightedSize() {
+		BoundedConcurrentMapCache cache = new BoundedConcurrentMapCache(CACHE_NAME, 2);
+		cache.put("a", "1");
+		cache.put("b", "2");
+		cache.clear();
+		cache.put("c", "3");
+		cache.put("d", "4");
+
+		assertEquals(2, cache.estimatedSize());
+		assertEquals(0, cache.getStatistics().getEvictionCount());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testSerializer() {
+		BoundedConcurrentMapCache serializeCache = new BoundedConcurrentMapCache(CACHE_NAME, 10, null, null,
+				true, new SerializationDelegate(BoundedConcurrentMapCacheTests.class.getClassLoader()));
+		assertTrue(serializeCache.isStoreByValue());
+
+		List<String> content = new ArrayList<>(Arrays.asList("one", "two", "three"));
+		serializeCache.put("key", content);
+		content.remove(0);
+		List<String> entry = (List<String>) serializeCache.get("key").get();
+		assertEquals(3, entry.size());
+		assertEquals("one", entry.get(0));
+	}
+
+}
@@ -16,6 +16,8 @@
 
 package org.springframework.cache.concurrent;
 
+import java.time.Duration;
+
 import org.junit.Test;
 
 import org.springframework.cache.Cache;
@@ -131,4 +133,36 @@ public class ConcurrentMapCacheManagerTests {
 		assertNull(cache1x.get("key"));
 	}
 
+	@Test
+	public void testBoundedCaches() {
+		ConcurrentMapCacheManager cm = new ConcurrentMapCacheManager("c1");
+		assertNull(cm.getCacheStatistics("c1"));
+
+		cm.setMaximumSize(2);
+		Cache cache1 = cm.getCache("c1");
+		assertTrue(cache1 instanceof BoundedConcurrentMapCache);
+		assertEquals(2, ((BoundedConcurrentMapCache) cache1).getMaximumWeight());
+
+		cache1.put("key1", "value1");
+		cache1.put("key2", "value2");
+		cache1.put("key3", "value3");
+		assertNull(cache1.get("key1"));
+		assertEquals("value3", cache1.get("key3").get());
+
+		CacheStatistics statistics = cm.getCacheStatistics("c1");
+		assertNotNull(statistics);
+		assertEquals(1, statistics.getHitCount());
+		assertEquals(1, statistics.getMissCount());
+		assertEquals(1, statistics.getEvictionCount());
+		assertNull(cm.getCacheStatistics("c2"));
+
+		cm.setMaximumSize(-1);
+		assertTrue(cm.getCache("c1") instanceof ConcurrentMapCache);
+
+		cm.setExpireAfterWrite(Duration.ofMinutes(1));
+		Cache cache1x = cm.getCache("c1");
+		assertTrue(cache1x instanceof BoundedConcurrentMapCache);
+		assertEquals(Long.MAX_VALUE, ((BoundedConcurrentMapCache) cache1x).getMaximumWeight());
+	}
+
 }
@@ -18,9 +18,16 @@ package org.springframework.cache.concurrent;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -115,6 +122,61 @@ public class ConcurrentMapCacheTests
 		serializeCache.get(key);
 	}
 
+	@Test
+	public void testRetrieveConcurrentlyInvokesLoaderOnce() throws Exception {
+		String key = createRandomKey();
+		AtomicInteger invocations = new AtomicInteger();
+		List<Thread> loaderThreads = new CopyOnWriteArrayList<>();
+		CompletableFuture<Object> pending = new CompletableFuture<>();
+		Supplier<CompletableFuture<Object>> valueLoader = () -> {
+			invocations.incrementAndGet();
+			loaderThreads.add(Thread.currentThread());
+			return pending;
+		};
+
+		CompletableFuture<Object> first = this.cache.retrieve(key, valueLoader);
+		AtomicReference<CompletableFuture<Object>> second = new AtomicReference<>();
+		Thread thread = new Thread(() -> second.set(this.cache.retrieve(key, valueLoader)));
+		thread.start();
+		thread.join();
+
+		assertFalse(first.isDone());
+		assertFalse(second.get().isDone());
+		pending.complete("value");
+
+		assertEquals("value", first.get());
+		assertEquals("value", second.get().get());
+		assertEquals(1, invocations.get());
+		assertEquals(Collections.singletonList(Thread.currentThread()), loaderThreads);
+		assertEquals("value", this.cache.get(key).get());
+	}
+
+	@Test
+	public void testRetrieveWithFailedLoaderFuture() throws Exception {
+		String key = createRandomKey();
+		CompletableFuture<Object> pending = new CompletableFuture<>();
+		CompletableFuture<Object> first = this.cache.retrieve(key, () -> pending);
+		CompletableFuture<Object> second = this.cache.retrieve(key, () -> {
+			throw new IllegalStateException("Should not have been invoked");
+		});
+		pending.completeExceptionally(new UnsupportedOperationException("Expected exception"));
+
+		for (CompletableFuture<Object> result : Arrays.asList(first, second)) {
+			try {
+				result.join();
+				fail("Should have thrown CompletionException");
+			}
+			catch (CompletionException ex) {
+				assertEquals(UnsupportedOperationException.class, ex.getCause().getClass());
+			}
+		}
+		assertNull(this.cache.get(key));
+
+		// The failed load is not retained: the next call loads again
+		assertEquals("value", this.cache.retrieve(key, () -> CompletableFuture.completedFuture("value")).get());
+		assertEquals("value", this.cache.get(key).get());
+	}
+
 
 	private ConcurrentMapCache createCacheWithStoreByValue() {
 		return new ConcurrentMapCache(CACHE_NAME, this.nativeCache, true,
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.annotation.AnnotationCacheOperationSource;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for caching the resolved value of {@link CompletableFuture},
+ * {@link Mono} and {@link Flux} return types.
+ *
+ * @since 5.1
+ */
+public class CacheAsyncTests {
+
+	private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("testCache");
+
+	private final AsyncService target = new AsyncService();
+
+	private Service service;
+
+	private Cache cache;
+
+
+	@Before
+	public void setup() {
+		CacheInterceptor interceptor = new CacheInterceptor();
+		interceptor.setCacheOperationSources(new AnnotationCacheOperationSource());
+		interceptor.setCacheManager(this.cacheManager);
+		interceptor.afterPropertiesSet();
+		interceptor.afterSingletonsInstantiated();
+
+		ProxyFactory proxyFactory = new ProxyFactory(this.target);
+		proxyFactory.addInterface(Service.class);
+		proxyFactory.addAdvice(interceptor);
+		this.service = (Service) proxyFactory.getProxy();
+		this.cache = this.cacheManager.getCache("testCache");
+	}
+
+
+	@Test
+	public void completableFutureValueIsCached() throws Exception {
+		assertEquals("value1", this.service.getFuture(1L).get(10, TimeUnit.SECONDS));
+		assertEquals("value1", this.cache.get(1L).get());
+
+		CompletableFuture<Object> cached = this.service.getFuture(1L);
+		assertTrue(cached.isDone());
+		assertEquals("value1", cached.get());
+		assertEquals(1, this.target.invocations.get());
+	}
+
+	@Test
+	public void completableFutureFailureIsNotCached() throws Exception {
+		try {
+			this.service.failFuture(1L).get(10, TimeUnit.SECONDS);
+			fail("Should have thrown ExecutionException");
+		}
+		catch (ExecutionException ex) {
+			assertTrue(ex.getCause() instanceof IllegalStateException);
+		}
+		assertNull(this.cache.get(1L));
+
+		try {
+			this.service.failFuture(1L).get(10, TimeUnit.SECONDS);
+			fail("Should have thrown ExecutionException");
+		}
+		catch (ExecutionException ex) {
+			assertEquals(2, this.target.invocations.get());
+		}
+	}
+
+	@Test
+	public void completableFutureSynchronized() throws Exception {
+		assertEquals("value1", this.service.getFutureSync(1L).get(10, TimeUnit.SECONDS));
+		assertEquals("value1", this.cache.get(1L).get());
+		assertEquals("value1", this.service.getFutureSync(1L).get(10, TimeUnit.SECONDS));
+		assertEquals(1, this.target.invocations.get());
+	}
+
+	@Test
+	public void completableFutureCachePut() throws Exception {
+		assertEquals("value1", this.service.putFuture(1L).get(10, TimeUnit.SECONDS));
+		assertEquals("value1", this.cache.get(1L).get());
+		assertEquals("value1", this.service.putFuture(1L).get(10, TimeUnit.SECONDS));
+		assertEquals(2, this.target.invocations.get());
+	}
+
+	@Test
+	public void monoValueIsCached() {
+		Mono<Object> mono = this.service.getMono(1L);
+		assertEquals(0, this.target.invocations.get());
+
+		assertEquals("value1", mono.block());
+		assertEquals("value1", this.cache.get(1L).get());
+		assertEquals("value1", this.service.getMono(1L).block());
+		assertEquals(1, this.target.invocations.get());
+	}
+
+	@Test
+	public void fluxValuesAreCached() {
+		assertEquals(Arrays.asList("a1", "b1"), this.service.getFlux(1L).collectList().block());
+		assertEquals(Arrays.asList("a1", "b1"), this.cache.get(1L).get());
+		assertEquals(Arrays.asList("a1", "b1"), this.service.getFlux(1L).collectList().block());
+		assertEquals(1, this.target.invocations.get());
+	}
+
+
+	public interface Service {
+
+		CompletableFuture<Object> getFuture(long id);
+
+		CompletableFuture<Object> failFuture(long id);
+
+		CompletableFuture<Object> getFutureSync(long id);
+
+		CompletableFuture<Object> putFuture(long id);
+
+		Mono<Object> getMono(long id);
+
+		Flux<Object> getFlux(long id);
+	}
+
+
+	public static class AsyncService implements Service {
+
+		private final AtomicInteger invocations = new AtomicInteger();
+
+		@Override
+		@Cacheable("testCache")
+		public CompletableFuture<Object> getFuture(long id) {
+			this.invocations.incrementAndGet();
+			return CompletableFuture.supplyAsync(() -> "value" + id);
+		}
+
+		@Override
+		@Cacheable("testCache")
+		public CompletableFuture<Object> failFuture(long id) {
+			this.invocations.incrementAndGet();
+			return CompletableFuture.supplyAsync(() -> {
+				throw new IllegalStateException("failure" + id);
+			});
+		}
+
+		@Override
+		@Cacheable(cacheNames = "testCache", sync = true)
+		public CompletableFuture<Object> getFutureSync(long id) {
+			this.invocations.incrementAndGet();
+			return CompletableFuture.supplyAsync(() -> "value" + id);
+		}
+
+		@Override
+		@CachePut("testCache")
+		public CompletableFuture<Object> putFuture(long id) {
+			this.invocations.incrementAndGet();
+			return CompletableFuture.supplyAsync(() -> "value" + id);
+		}
+
+		@Override
+		@Cacheable("testCache")
+		public Mono<Object> getMono(long id) {
+			this.invocations.incrementAndGet();
+			return Mono.fromSupplier(() -> "value" + id);
+		}
+
+		@Override
+		@Cacheable("testCache")
+		public Flux<Object> getFlux(long id) {
+			this.invocations.incrementAndGet();
+			List<Object> values = Arrays.asList("a" + id, "b" + id);
+			return Flux.fromIterable(values);
+		}
+	}
+
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.cache.annotation.AnnotationCacheOperationSource;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for coalescing of concurrent cache misses, see
+ * {@link CacheAspectSupport#setCoalesceMisses(boolean)}.
+ *
+ * @since 5.1
+ */
+public class CacheCoalescingTests {
+
+	private static final int THREADS = 8;
+
+	private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("testCache");
+
+	private final SlowService target = new SlowService();
+
+	private CacheInterceptor interceptor;
+
+	private Service service;
+
+
+	@Before
+	public void setup() {
+		this.interceptor = new CacheInterceptor();
+		this.interceptor.setCacheOperationSources(new AnnotationCacheOperationSource());
+		this.interceptor.setCacheManager(this.cacheManager);
+		this.interceptor.setCoalesceMisses(true);
+		this.interceptor.afterPropertiesSet();
+		this.interceptor.afterSingletonsInstantiated();
+
+		ProxyFactory proxyFactory = new ProxyFactory(this.target);
+		proxyFactory.addInterface(Service.class);
+		proxyFactory.addAdvice(this.interceptor);
+		this.service = (Service) proxyFactory.getProxy();
+		this.target.self = this.service;
+	}
+
+
+	@Test
+	public void concurrentMissesInvokeOnce() throws Exception {
+		List<Object> results = runConcurrently(() -> this.service.get(1L));
+
+		assertEquals(1, this.target.invocations.get());
+		assertEquals(THREADS, results.size());
+		for (Object result : results) {
+			assertEquals("value1", result);
+		}
+		assertEquals("value1", this.cacheManager.getCache("testCache").get(1L).get());
+	}
+
+	@Test
+	public void concurrentMissesForDifferentKeysInvokeSeparately() throws Exception {
+		AtomicInteger counter = new AtomicInteger();
+		runConcurrently(() -> this.service.get((long) counter.incrementAndGet()));
+
+		assertEquals(THREADS, this.target.invocations.get());
+	}
+
+	@Test
+	public void concurrentMissesShareException() throws Exception {
+		List<Object> results = runConcurrently(() -> {
+			try {
+				return this.service.fail(1L);
+			}
+			catch (IllegalStateException ex) {
+				return ex;
+			}
+		});
+
+		assertEquals(1, this.target.invocations.get());
+		for (Object result : results) {
+			assertTrue(result instanceof IllegalStateException);
+			assertEquals("failure1", ((IllegalStateException) result).getMessage());
+		}
+		assertNull(this.cacheManager.getCache("testCache").get(1L));
+
+		// A failed invocation is not retained
+		this.target.release.countDown();
+		try {
+			this.service.fail(1L);
+			fail("Should have thrown IllegalStateException");
+		}
+		catch (IllegalStateException ex) {
+			assertEquals(2, this.target.invocations.get());
+		}
+	}
+
+	@Test
+	public void concurrentMissesShareCompletableFuture() throws Exception {
+		List<Object> results = runConcurrently(() -> this.service.getAsync(1L));
+
+		assertEquals(1, this.target.invocations.get());
+		for (Object result : results) {
+			assertEquals("value1", ((CompletableFuture<?>) result).get(10, TimeUnit.SECONDS));
+		}
+	}
+
+	@Test
+	public void concurrentMissesWithoutCoalescing() throws Exception {
+		this.interceptor.setCoalesceMisses(false);
+		runConcurrently(() -> this.service.get(1L));
+
+		assertEquals(THREADS, this.target.invocations.get());
+	}
+
+	@Test
+	public void reentrantMissDoesNotWaitForItself() {
+		assertEquals("value1", this.service.getReentrant(1L));
+		assertEquals(2, this.target.invocations.get());
+	}
+
+
+	private List<Object> runConcurrently(Supplier<Object> task) throws InterruptedException {
+		List<Object> results = new ArrayList<>();
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < THREADS; i++) {
+			Thread thread = new Thread(() -> {
+				Object result = task.get();
+				synchronized (results) {
+					results.add(result);
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		// Wait until the invoking thread(s) and all waiting callers are blocked or done
+		long deadline = System.currentTimeMillis() + 10000;
+		while (!allWaiting(threads) && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		this.target.release.countDown();
+		for (Thread thread : threads) {
+			thread.join(10000);
+		}
+		return results;
+	}
+
+	private static boolean allWaiting(List<Thread> threads) {
+		for (Thread thread : threads) {
+			Thread.State state = thread.getState();
+			if (state != Thread.State.WAITING && state != Thread.State.TIMED_WAITING &&
+					state != Thread.State.TERMINATED) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	public interface Service {
+
+		Object get(long id);
+
+		Object fail(long id);
+
+		CompletableFuture<Object> getAsync(long id);
+
+		Object getReentrant(long id);
+	}
+
+
+	public static class SlowService implements Service {
+
+		private final AtomicInteger invocations = new AtomicInteger();
+
+		private final CountDownLatch release = new CountDownLatch(1);
+
+		private Service self;
+
+		@Override
+		@Cacheable("testCache")
+		public Object get(long id) {
+			this.invocations.incrementAndGet();
+			awaitRelease();
+			return "value" + id;
+		}
+
+		@Override
+		@Cacheable("testCache")
+		public Object fail(long id) {
+			this.invocations.incrementAndGet();
+			awaitRelease();
+			throw new IllegalStateException("failure" + id);
+		}
+
+		@Override
+		@Cacheable("testCache")
+		public CompletableFuture<Object> getAsync(long id) {
+			this.invocations.incrementAndGet();
+			awaitRelease();
+			return CompletableFuture.supplyAsync(() -> "value" + id);
+		}
+
+		@Override
+		@Cacheable("testCache")
+		public Object getReentrant(long id) {
+			if (this.invocations.incrementAndGet() == 1) {
+				return this.self.getReentrant(id);
+			}
+			return "value" + id;
+		}
+
+		private void awaitRelease() {
+			try {
+				this.release.await(10, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.context.annotation;
+
+import java.io.File;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.cglib.core.PersistentClassCache;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ConfigurationClassEnhancer}.
+ *
+ * @since 5.1
+ */
+public class ConfigurationClassEnhancerTests {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+
+	@Test
+	public void enhancedClassIsStoredInPersistentClassCache() {
+		File directory = this.temporaryFolder.getRoot();
+		System.setProperty(PersistentClassCache.CACHE_LOCATION_PROPERTY_NAME, directory.getPath());
+		try {
+			Class<?> enhancedClass = new ConfigurationClassEnhancer().enhance(
+					PersistedConfig.class, getClass().getClassLoader());
+			assertTrue(ConfigurationClassEnhancer.EnhancedConfiguration.class.isAssignableFrom(enhancedClass));
+			assertTrue(new File(directory, enhancedClass.getName() + ".cglib").isFile());
+		}
+		finally {
+			System.clearProperty(PersistentClassCache.CACHE_LOCATION_PROPERTY_NAME);
+		}
+	}
+
+
+	@Configuration
+	public static class PersistedConfig {
+
+		@Bean
+		public String name() {
+			return "name";
+		}
+	}
+
+}
@@ -16,6 +16,9 @@
 
 package org.springframework.context.event;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -206,6 +209,67 @@ public class ApplicationContextEventTests extends AbstractApplicationEventListen
 		assertEquals(2, listener1.seenEvents.size());
 	}
 
+	@Test
+	public void listenerRegistrationChangesAfterCachedRetrieval() {
+		MyOrderedListener1 listener1 = new MyOrderedListener1();
+		MyOrderedListener1 listener2 = new MyOrderedListener1();
+
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.addApplicationListener(listener1);
+		smc.multicastEvent(new MyEvent(this));
+		assertEquals(1, smc.retrieverCache.size());
+
+		smc.addApplicationListener(listener2);
+		assertEquals(0, smc.retrieverCache.size());
+		smc.multicastEvent(new MyEvent(this));
+		assertEquals(2, listener1.seenEvents.size());
+		assertEquals(1, listener2.seenEvents.size());
+
+		smc.removeApplicationListener(listener1);
+		smc.multicastEvent(new MyEvent(this));
+		assertEquals(2, listener1.seenEvents.size());
+		assertEquals(2, listener2.seenEvents.size());
+	}
+
+	@Test
+	public void registeredListenersAreReturnedAsCopy() {
+		MyOrderedListener1 listener1 = new MyOrderedListener1();
+		MyOrderedListener1 listener2 = new MyOrderedListener1();
+
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.addApplicationListener(listener1);
+		Collection<ApplicationListener<?>> listeners = smc.getApplicationListeners();
+		listeners.add(listener2);
+		assertEquals(Collections.singletonList(listener1), new ArrayList<>(smc.getApplicationListeners()));
+	}
+
+	@Test
+	public void dispatchStatistics() {
+		MyOrderedListener1 listener1 = new MyOrderedListener1();
+		MyOrderedListener2 listener2 = new MyOrderedListener2(listener1);
+
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.addApplicationListener(listener1);
+		smc.addApplicationListener(listener2);
+		smc.multicastEvent(new MyEvent(this));
+		assertTrue(smc.getDispatchStatistics().isEmpty());
+
+		smc.setDispatchStatisticsEnabled(true);
+		smc.multicastEvent(new MyEvent(this));
+		smc.multicastEvent(new MyEvent(this));
+		smc.multicastEvent(new MyOtherEvent(this));
+		assertEquals(2, smc.getDispatchStatistics().size());
+
+		AbstractApplicationEventMulticaster.DispatchStatistics statistics =
+				smc.getDispatchStatistics().get(ResolvableType.forClass(MyEvent.class));
+		assertEquals(2, statistics.getDispatchCount());
+		assertEquals(4, statistics.getListenerInvocationCount());
+		assertTrue(statistics.getMaxDispatchTime() <= statistics.getTotalDispatchTime());
+
+		smc.resetDispatchStatistics();
+		assertTrue(smc.getDispatchStatistics().isEmpty());
+	}
+
 	@Test
 	@SuppressWarnings("unchecked")
 	public void proxiedListeners() {
@@ -0,0 +1,277 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import org.springframework.beans.factory.BeanInitializationException;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.util.ReflectionUtils;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link ApplicationListenerMethodQueuedAdapter}.
+ *
+ * @since 5.1
+ */
+public class ApplicationListenerMethodQueuedAdapterTests {
+
+	private final SampleEvents sampleEvents = new SampleEvents();
+
+	private final List<Runnable> tasks = new ArrayList<>();
+
+
+	@Test
+	public void deliverInOrderAcrossThreads() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			ApplicationListenerMethodQueuedAdapter adapter =
+					createTestInstance("handleString", String.class, executor);
+			for (int i = 0; i < 1000; i++) {
+				adapter.onApplicationEvent(createEvent(String.valueOf(i)));
+			}
+			assertTrue(this.sampleEvents.latch.await(5, TimeUnit.SECONDS));
+			for (int i = 0; i < 1000; i++) {
+				assertEquals(String.valueOf(i), this.sampleEvents.strings.get(i));
+			}
+			assertEquals(1000, adapter.getDeliveredCount());
+			assertEquals(0, adapter.getDroppedCount());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void deliverBatches() {
+		ApplicationListenerMethodQueuedAdapter adapter =
+				createTestInstance("handleStrings", List.class, this.tasks::add);
+		assertTrue(adapter.supportsEventType(ResolvableType.forClassWithGenerics(
+				PayloadApplicationEvent.class, String.class)));
+		assertFalse(adapter.supportsEventType(ResolvableType.forClassWithGenerics(
+				PayloadApplicationEvent.class, Integer.class)));
+
+		for (String payload : Arrays.asList("a", "b", "c", "d", "e")) {
+			adapter.onApplicationEvent(createEvent(payload));
+		}
+		assertEquals(5, adapter.getQueueSize());
+		runTasks();
+		assertEquals(Arrays.asList(Arrays.asList("a", "b"), Arrays.asList("c", "d"),
+				Collections.singletonList("e")), this.sampleEvents.batches);
+		assertEquals(0, adapter.getQueueSize());
+		assertEquals(5, adapter.getDeliveredCount());
+	}
+
+	@Test
+	public void dropNewestWhenFull() {
+		ApplicationListenerMethodQueuedAdapter adapter =
+				createTestInstance("handleDropNewest", String.class, this.tasks::add);
+		for (String payload : Arrays.asList("a", "b", "c")) {
+			adapter.onApplicationEvent(createEvent(payload));
+		}
+		runTasks();
+		assertEquals(Arrays.asList("a", "b"), this.sampleEvents.strings);
+		assertEquals(1, adapter.getDroppedCount());
+	}
+
+	@Test
+	public void dropOldestWhenFull() {
+		ApplicationListenerMethodQueuedAdapter adapter =
+				createTestInstance("handleDropOldest", String.class, this.tasks::add);
+		for (String payload : Arrays.asList("a", "b", "c")) {
+			adapter.onApplicationEvent(createEvent(payload));
+		}
+		runTasks();
+		assertEquals(Arrays.asList("b", "c"), this.sampleEvents.strings);
+		assertEquals(1, adapter.getDroppedCount());
+	}
+
+	@Test
+	public void rejectWhenFull() {
+		ApplicationListenerMethodQueuedAdapter adapter =
+				createTestInstance("handleReject", String.class, this.tasks::add);
+		adapter.onApplicationEvent(createEvent("a"));
+		adapter.onApplicationEvent(createEvent("b"));
+		try {
+			adapter.onApplicationEvent(createEvent("c"));
+			fail("Should have thrown TaskRejectedException");
+		}
+		catch (TaskRejectedException ex) {
+			// expected
+		}
+		runTasks();
+		assertEquals(Arrays.asList("a", "b"), this.sampleEvents.strings);
+		assertEquals(1, adapter.getDroppedCount());
+	}
+
+	@Test
+	public void deliverOnCallingThreadWhenExecutorRejects() {
+		ApplicationListenerMethodQueuedAdapter adapter = createTestInstance("handleString", String.class,
+				task -> {
+					throw new RejectedExecutionException();
+				});
+		adapter.onApplicationEvent(createEvent("a"));
+		adapter.onApplicationEvent(createEvent("b"));
+		assertEquals(Arrays.asList("a", "b"), this.sampleEvents.strings);
+	}
+
+	@Test
+	public void listenerExceptionDoesNotStopDelivery() {
+		ApplicationListenerMethodQueuedAdapter adapter =
+				createTestInstance("handleFailing", String.class, this.tasks::add);
+		adapter.onApplicationEvent(createEvent("fail"));
+		adapter.onApplicationEvent(createEvent("a"));
+		runTasks();
+		assertEquals(Arrays.asList("fail", "a"), this.sampleEvents.strings);
+	}
+
+	@Test
+	public void deliverBatchesThroughEventListenerMethodProcessor() {
+		QueuedEventListenerFactory factory = new QueuedEventListenerFactory();
+		factory.setTaskExecutor(this.tasks::add);
+		GenericApplicationContext context = new GenericApplicationContext();
+		context.registerBean(EventListenerMethodProcessor.class);
+		context.registerBean(DefaultEventListenerFactory.class);
+		context.registerBean(QueuedEventListenerFactory.class, () -> factory);
+		context.registerBean(BatchEvents.class);
+		context.refresh();
+		try {
+			for (String payload : Arrays.asList("a", "b", "c")) {
+				context.publishEvent(payload);
+			}
+			context.publishEvent(1);
+			assertTrue(context.getBean(BatchEvents.class).batches.isEmpty());
+			runTasks();
+			assertEquals(Arrays.asList(Arrays.asList("a", "b"), Collections.singletonList("c")),
+					context.getBean(BatchEvents.class).batches);
+		}
+		finally {
+			context.close();
+		}
+	}
+
+	@Test
+	public void rejectBatchListenerWithoutQueuedEventListenerFactory() {
+		GenericApplicationContext context = new GenericApplicationContext();
+		context.registerBean(EventListenerMethodProcessor.class);
+		context.registerBean(DefaultEventListenerFactory.class);
+		context.registerBean(BatchEvents.class);
+		try {
+			context.refresh();
+			fail("Should have thrown BeanInitializationException");
+		}
+		catch (BeanInitializationException ex) {
+			assertTrue(ex.getCause() instanceof IllegalStateException);
+			assertTrue(ex.getCause().getMessage().contains("QueuedEventListenerFactory"));
+		}
+	}
+
+
+	private ApplicationListenerMethodQueuedAdapter createTestInstance(
+			String methodName, Class<?> parameterType, Executor executor) {
+
+		Method method = ReflectionUtils.findMethod(SampleEvents.class, methodName, parameterType);
+		return new ApplicationListenerMethodQueuedAdapter("sampleEvents", SampleEvents.class, method, executor, null) {
+			@Override
+			protected Object getTargetBean() {
+				return sampleEvents;
+			}
+		};
+	}
+
+	private PayloadApplicationEvent<String> createEvent(String payload) {
+		return new PayloadApplicationEvent<>(this, payload);
+	}
+
+	private void runTasks() {
+		while (!this.tasks.isEmpty()) {
+			this.tasks.remove(0).run();
+		}
+	}
+
+
+	static class SampleEvents {
+
+		final List<String> strings = Collections.synchronizedList(new ArrayList<>());
+
+		final List<List<String>> batches = new ArrayList<>();
+
+		final CountDownLatch latch = new CountDownLatch(1000);
+
+		@QueuedEventListener
+		public void handleString(String payload) {
+			this.strings.add(payload);
+			this.latch.countDown();
+		}
+
+		@QueuedEventListener(batchSize = 2)
+		public void handleStrings(List<String> payloads) {
+			this.batches.add(payloads);
+		}
+
+		@QueuedEventListener(capacity = 2, overflowPolicy = EventOverflowPolicy.DROP_NEWEST)
+		public void handleDropNewest(String payload) {
+			this.strings.add(payload);
+		}
+
+		@QueuedEventListener(capacity = 2, overflowPolicy = EventOverflowPolicy.DROP_OLDEST)
+		public void handleDropOldest(String payload) {
+			this.strings.add(payload);
+		}
+
+		@QueuedEventListener(capacity = 2, overflowPolicy = EventOverflowPolicy.REJECT)
+		public void handleReject(String payload) {
+			this.strings.add(payload);
+		}
+
+		@QueuedEventListener(batchSize = 1)
+		public void handleFailing(String payload) {
+			this.strings.add(payload);
+			if (payload.equals("fail")) {
+				throw new IllegalStateException("Test exception");
+			}
+		}
+	}
+
+
+	static class BatchEvents {
+
+		final List<List<String>> batches = new ArrayList<>();
+
+		@QueuedEventListener(batchSize = 2)
+		public void handleStrings(List<String> payloads) {
+			this.batches.add(payloads);
+		}
+	}
+
+}
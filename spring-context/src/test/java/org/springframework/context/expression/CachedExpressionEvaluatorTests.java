@@ -64,6 +64,63 @@ public class CachedExpressionEvaluatorTests {
 		assertEquals("Cached expression should be based on type", 2, expressionEvaluator.testCache.size());
 	}
 
+	@Test
+	public void compileExpressionAfterThreshold() {
+		Method method = ReflectionUtils.findMethod(getClass(), "toString");
+		expressionEvaluator.setCompilationThreshold(3);
+		Expression expression = expressionEvaluator.getTestExpression("length()", method, getClass());
+		assertEquals(3, expression.getValue("abc"));
+		assertEquals(3, expression.getValue("abc"));
+		assertEquals(0, expressionEvaluator.getCompilationCount());
+		assertEquals(3, expression.getValue("abc"));
+		assertEquals(1, expressionEvaluator.getCompilationCount());
+		assertEquals(4, expression.getValue("abcd"));
+		assertEquals(0, expressionEvaluator.getFallbackCount());
+	}
+
+	@Test
+	public void compileExpressionOnceAfterThresholdLowered() {
+		Method method = ReflectionUtils.findMethod(getClass(), "toString");
+		expressionEvaluator.setCompilationThreshold(5);
+		Expression expression = expressionEvaluator.getTestExpression("length()", method, getClass());
+		for (int i = 0; i < 3; i++) {
+			assertEquals(3, expression.getValue("abc"));
+		}
+		expressionEvaluator.setCompilationThreshold(2);
+		assertEquals(3, expression.getValue("abc"));
+		assertEquals(1, expressionEvaluator.getCompilationCount());
+		for (int i = 0; i < 10; i++) {
+			assertEquals(3, expression.getValue("abc"));
+		}
+		assertEquals(1, expressionEvaluator.getCompilationCount());
+	}
+
+	@Test
+	public void compiledExpressionFallsBackOnTypeChange() {
+		Method method = ReflectionUtils.findMethod(getClass(), "toString");
+		expressionEvaluator.setCompilationThreshold(1);
+		Expression expression = expressionEvaluator.getTestExpression("toString()", method, getClass());
+		assertEquals("3", expression.getValue(3));
+		assertEquals(1, expressionEvaluator.getCompilationCount());
+		assertEquals("2", expression.getValue(2L));
+		assertEquals(1, expressionEvaluator.getFallbackCount());
+		assertEquals("2", expression.getValue(2L));
+		assertEquals(2, expressionEvaluator.getCompilationCount());
+		assertEquals("2", expression.getValue(2L));
+		assertEquals(1, expressionEvaluator.getFallbackCount());
+	}
+
+	@Test
+	public void noCompilationWithThresholdOfZero() {
+		Method method = ReflectionUtils.findMethod(getClass(), "toString");
+		expressionEvaluator.setCompilationThreshold(0);
+		Expression expression = expressionEvaluator.getTestExpression("length()", method, getClass());
+		for (int i = 0; i < CachedExpressionEvaluator.DEFAULT_COMPILATION_THRESHOLD; i++) {
+			assertEquals(3, expression.getValue("abc"));
+		}
+		assertEquals(0, expressionEvaluator.getCompilationCount());
+	}
+
 	private void hasParsedExpression(String expression) {
 		verify(expressionEvaluator.getParser(), times(1)).parseExpression(expression);
 	}
@@ -16,11 +16,22 @@
 
 package org.springframework.context.support;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.junit.Test;
 
 import org.springframework.beans.factory.NoUniqueBeanDefinitionException;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.ApplicationStartupAware;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.RecordingApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 
 import static org.junit.Assert.*;
 
@@ -104,4 +115,85 @@ public class GenericApplicationContextTests {
 		}
 	}
 
+	@Test
+	public void applicationStartupRecordsRefreshSteps() {
+		RecordingApplicationStartup applicationStartup = new RecordingApplicationStartup();
+		GenericApplicationContext ac = new GenericApplicationContext();
+		ac.setApplicationStartup(applicationStartup);
+		ac.registerBeanDefinition("postProcessor", new RootBeanDefinition(StartupAwarePostProcessor.class));
+		ac.registerBeanDefinition("testBean", new RootBeanDefinition(String.class));
+		ac.refresh();
+
+		assertSame(applicationStartup, ac.getBean(StartupAwarePostProcessor.class).applicationStartup);
+		assertSame(applicationStartup, ac.getDefaultListableBeanFactory().getApplicationStartup());
+
+		Map<String, StartupStep> steps = new LinkedHashMap<>();
+		for (StartupStep step : applicationStartup.getRecordedSteps()) {
+			String key = step.getName();
+			for (StartupStep.Tag tag : step.getTags()) {
+				if (tag.getKey().equals("beanName")) {
+					key = key + ":" + tag.getValue();
+				}
+			}
+			steps.put(key, step);
+		}
+		StartupStep refresh = steps.get("spring.context.refresh");
+		StartupStep postProcess = steps.get("spring.context.beans.post-process");
+		StartupStep instantiate = steps.get("spring.context.singletons.instantiate");
+		assertNotNull(refresh);
+		assertEquals(Long.valueOf(refresh.getId()), postProcess.getParentId());
+		assertEquals(Long.valueOf(postProcess.getId()),
+				steps.get("spring.context.bean-factory.post-process").getParentId());
+		assertEquals(Long.valueOf(refresh.getId()), instantiate.getParentId());
+		assertEquals(Long.valueOf(instantiate.getId()), steps.get("spring.beans.instantiate:testBean").getParentId());
+	}
+
+	@Test
+	public void applicationStartupEndsStepsOnRefreshFailure() {
+		RecordingApplicationStartup applicationStartup = new RecordingApplicationStartup();
+		GenericApplicationContext ac = new GenericApplicationContext();
+		ac.setApplicationStartup(applicationStartup);
+		ac.registerBeanDefinition("postProcessor", new RootBeanDefinition(FailingPostProcessor.class));
+		try {
+			ac.refresh();
+			fail("Should have thrown IllegalStateException");
+		}
+		catch (IllegalStateException ex) {
+			// expected
+		}
+
+		List<String> stepNames = new ArrayList<>();
+		for (StartupStep step : applicationStartup.getRecordedSteps()) {
+			stepNames.add(step.getName());
+		}
+		assertTrue(stepNames.contains("spring.context.refresh"));
+		assertTrue(stepNames.contains("spring.context.beans.post-process"));
+		assertTrue(stepNames.contains("spring.context.bean-factory.post-process"));
+		assertNull(applicationStartup.start("next").getParentId());
+	}
+
+
+	static class StartupAwarePostProcessor implements BeanFactoryPostProcessor, ApplicationStartupAware {
+
+		ApplicationStartup applicationStartup;
+
+		@Override
+		public void setApplicationStartup(ApplicationStartup applicationStartup) {
+			this.applicationStartup = applicationStartup;
+		}
+
+		@Override
+		public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+		}
+	}
+
+
+	static class FailingPostProcessor implements BeanFactoryPostProcessor {
+
+		@Override
+		public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+			throw new IllegalStateException("Failing post-processor");
+		}
+	}
+
 }
@@ -60,6 +60,10 @@ abstract public class AbstractClassGenerator<T> implements ClassGenerator {
 
 	private boolean attemptLoad;
 
+	// SPRING PATCH BEGIN
+	private boolean usePersistentCache;
+	// SPRING PATCH END
+
 
 	protected static class ClassLoaderData {
 
@@ -238,6 +242,49 @@ abstract public class AbstractClassGenerator<T> implements ClassGenerator {
 		return attemptLoad;
 	}
 
+	// SPRING PATCH BEGIN
+	/**
+	 * Whether to use the shared {@link PersistentClassCache}, if configured,
+	 * for storing the generated class and for loading it in subsequent runs.
+	 * Default is <code>false</code>.
+	 * <p>Only to be enabled for generators whose key has a deterministic
+	 * <code>toString()</code> representation which, together with the
+	 * {@link #getPersistentCacheSourceClasses() source classes}, fully
+	 * describes the generated class.
+	 */
+	public void setUsePersistentCache(boolean usePersistentCache) {
+		this.usePersistentCache = usePersistentCache;
+	}
+
+	/**
+	 * @see #setUsePersistentCache
+	 */
+	public boolean getUsePersistentCache() {
+		return usePersistentCache;
+	}
+
+	/**
+	 * Return the persistent cache to use for the generated class, if any.
+	 * <p>Default implementation returns the shared {@link PersistentClassCache}
+	 * if {@link #setUsePersistentCache enabled}.
+	 */
+	protected PersistentClassCache getPersistentCache() {
+		return (usePersistentCache ? PersistentClassCache.getSharedInstance() : null);
+	}
+
+	/**
+	 * Return the classes which determine the generated bytecode in addition to
+	 * the generator key, e.g. the superclass and the interfaces of a proxy.
+	 * <p>These classes and their hierarchies are part of the
+	 * {@link PersistentClassCache} key, so that a stored class is not used
+	 * anymore once any of them changes. Default implementation returns an
+	 * empty array.
+	 */
+	protected Class[] getPersistentCacheSourceClasses() {
+		return new Class[0];
+	}
+	// SPRING PATCH END
+
 	/**
 	 * Set the strategy to use to create the bytecode from this generator.
 	 * By default an instance of {@see DefaultGeneratorStrategy} is used.
@@ -330,6 +377,9 @@ abstract public class AbstractClassGenerator<T> implements ClassGenerator {
 		Class gen;
 		Object save = CURRENT.get();
 		CURRENT.set(this);
+		// SPRING PATCH BEGIN
+		long startTime = System.nanoTime();
+		// SPRING PATCH END
 		try {
 			ClassLoader classLoader = data.getClassLoader();
 			if (classLoader == null) {
@@ -351,7 +401,19 @@ abstract public class AbstractClassGenerator<T> implements ClassGenerator {
 					// ignore
 				}
 			}
-			byte[] b = strategy.generate(this);
+			// SPRING PATCH BEGIN
+			PersistentClassCache persistentCache = getPersistentCache();
+			String keyString = (persistentCache != null ?
+					PersistentClassCache.createKey(key, getClass(), getPersistentCacheSourceClasses()) : null);
+			byte[] b = (persistentCache != null ? persistentCache.load(getClassName(), keyString) : null);
+			boolean cached = (b != null);
+			if (b == null) {
+				b = strategy.generate(this);
+				if (persistentCache != null) {
+					persistentCache.store(getClassName(), keyString, b);
+				}
+			}
+			// SPRING PATCH END
 			String className = ClassNameReader.getClassName(new ClassReader(b));
 			ProtectionDomain protectionDomain = getProtectionDomain();
 			synchronized (classLoader) { // just in case
@@ -359,6 +421,9 @@ abstract public class AbstractClassGenerator<T> implements ClassGenerator {
 				gen = ReflectUtils.defineClass(className, b, classLoader, protectionDomain, contextClass);
 				// SPRING PATCH END
 			}
+			// SPRING PATCH BEGIN
+			ClassGenerationStatistics.recordDefinition(cached, System.nanoTime() - startTime);
+			// SPRING PATCH END
 			return gen;
 		}
 		catch (RuntimeException | Error ex) {
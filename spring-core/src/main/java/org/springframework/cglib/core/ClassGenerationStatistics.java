@@ -0,0 +1,76 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cglib.core;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics about the classes defined through {@link AbstractClassGenerator}
+ * in the current JVM, e.g. CGLIB proxies and enhanced configuration classes,
+ * for monitoring the class generation overhead of creating application contexts.
+ *
+ * @since 5.1
+ * @see PersistentClassCache
+ */
+public abstract class ClassGenerationStatistics {
+
+	private static final LongAdder generatedClassCount = new LongAdder();
+
+	private static final LongAdder cachedClassCount = new LongAdder();
+
+	private static final LongAdder definitionTime = new LongAdder();
+
+
+	/**
+	 * Return the number of classes that have been generated.
+	 */
+	public static long getGeneratedClassCount() {
+		return generatedClassCount.sum();
+	}
+
+	/**
+	 * Return the number of classes that have been defined from the bytecode
+	 * in the {@link PersistentClassCache} rather than being generated.
+	 */
+	public static long getCachedClassCount() {
+		return cachedClassCount.sum();
+	}
+
+	/**
+	 * Return the total time spent on generating and defining classes,
+	 * in nanoseconds.
+	 */
+	public static long getDefinitionTime() {
+		return definitionTime.sum();
+	}
+
+	/**
+	 * Record the definition of a class.
+	 * @param cached whether the class has been defined from the persistent cache
+	 * @param nanos the time it took to generate and define the class
+	 */
+	static void recordDefinition(boolean cached, long nanos) {
+		if (cached) {
+			cachedClassCount.increment();
+		}
+		else {
+			generatedClassCount.increment();
+		}
+		definitionTime.add(nanos);
+	}
+
+}
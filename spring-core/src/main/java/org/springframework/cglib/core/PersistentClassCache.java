@@ -0,0 +1,282 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cglib.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.SpringProperties;
+import org.springframework.core.SpringVersion;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StreamUtils;
+
+/**
+ * A directory of generated classes which survives JVM restarts, allowing a class
+ * generated in one run to be defined from its stored bytecode in subsequent runs
+ * instead of being generated again.
+ *
+ * <p>Each entry is stored under the name of the generated class together with
+ * its {@link #createKey key}: the {@code String} representation of the generator
+ * key plus a fingerprint of the class files that the generated class has been
+ * derived from, of the generator implementation and of the Spring version.
+ * An entry is only used if it has been stored for the very same key, so a class
+ * is generated again once its superclass or interfaces change, and classes
+ * generated for keys with identity-based {@code toString()} parts are never
+ * picked up by another JVM.
+ *
+ * <p>Only applies to generators which opted in through
+ * {@link AbstractClassGenerator#setUsePersistentCache}.
+ *
+ * <p><b>NOTE:</b> Stored bytecode is defined in the application's class loaders
+ * as-is, without any verification beyond the key check. The directory specified
+ * through {@value #CACHE_LOCATION_PROPERTY_NAME} must therefore be trusted, i.e.
+ * not be writable by anybody but the application itself.
+ *
+ * @since 5.1
+ * @see #CACHE_LOCATION_PROPERTY_NAME
+ * @see ClassGenerationStatistics
+ */
+public class PersistentClassCache {
+
+	/**
+	 * System property that specifies the directory of the shared persistent class
+	 * cache: {@code "spring.cglib.cacheLocation"}. No classes are stored or loaded
+	 * unless this property is set. The bytecode in this directory is loaded into
+	 * the application: only ever point it to a trusted location.
+	 * @see #getSharedInstance()
+	 */
+	public static final String CACHE_LOCATION_PROPERTY_NAME = "spring.cglib.cacheLocation";
+
+	private static final String FILE_SUFFIX = ".cglib";
+
+	private static final Log logger = LogFactory.getLog(PersistentClassCache.class);
+
+	@Nullable
+	private static volatile PersistentClassCache sharedInstance;
+
+
+	private final File directory;
+
+
+	/**
+	 * Create a new {@code PersistentClassCache} for the given directory,
+	 * which gets created on demand.
+	 * @param directory the directory to store generated classes in
+	 */
+	public PersistentClassCache(File directory) {
+		Assert.notNull(directory, "Directory must not be null");
+		this.directory = directory;
+	}
+
+
+	/**
+	 * Return the directory that generated classes are stored in.
+	 */
+	public File getDirectory() {
+		return this.directory;
+	}
+
+	/**
+	 * Load the stored bytecode of the given class.
+	 * @param className the name of the generated class
+	 * @param key the key that the class has been stored under
+	 * @return the bytecode, or {@code null} if the class has not been stored
+	 * for the given key or could not be read
+	 */
+	@Nullable
+	public byte[] load(String className, String key) {
+		File file = getFile(className);
+		if (!file.isFile()) {
+			return null;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+			if (!key.equals(in.readUTF())) {
+				return null;
+			}
+			byte[] bytes = new byte[in.readInt()];
+			in.readFully(bytes);
+			return bytes;
+		}
+		catch (IOException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Could not load generated class [" + className + "] from " + file, ex);
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Store the bytecode of the given class, replacing any previously stored version.
+	 * <p>Failures are logged at debug level but otherwise ignored, since the class
+	 * can always be generated again.
+	 * @param className the name of the generated class
+	 * @param key the key to store the class under, as built by {@link #createKey}
+	 * @param bytes the bytecode of the generated class
+	 */
+	public void store(String className, String key, byte[] bytes) {
+		Path tempFile = null;
+		try {
+			Path directory = Files.createDirectories(this.directory.toPath());
+			tempFile = Files.createTempFile(directory, className, ".tmp");
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+				out.writeUTF(key);
+				out.writeInt(bytes.length);
+				out.write(bytes);
+			}
+			// Several JVMs may share the directory: never expose a partially written file
+			Files.move(tempFile, getFile(className).toPath(),
+					StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			tempFile = null;
+		}
+		catch (IOException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Could not store generated class [" + className + "] in " + this.directory, ex);
+			}
+		}
+		finally {
+			if (tempFile != null) {
+				try {
+					Files.deleteIfExists(tempFile);
+				}
+				catch (IOException ex) {
+					// ignore
+				}
+			}
+		}
+	}
+
+	private File getFile(String className) {
+		return new File(this.directory, className + FILE_SUFFIX);
+	}
+
+
+	/**
+	 * Return the cache for the directory specified through the
+	 * {@value #CACHE_LOCATION_PROPERTY_NAME} property, if any.
+	 */
+	@Nullable
+	public static PersistentClassCache getSharedInstance() {
+		String location = SpringProperties.getProperty(CACHE_LOCATION_PROPERTY_NAME);
+		if (location == null) {
+			return null;
+		}
+		PersistentClassCache cache = sharedInstance;
+		if (cache == null || !cache.getDirectory().getPath().equals(location)) {
+			cache = new PersistentClassCache(new File(location));
+			sharedInstance = cache;
+		}
+		return cache;
+	}
+
+	/**
+	 * Create the key to store a generated class under: the {@code String}
+	 * representation of the generator key, followed by a fingerprint of the
+	 * Spring version, of the generator class and of the given source classes
+	 * including their superclasses and interfaces.
+	 * <p>The fingerprint of a class is based on its class file, if accessible
+	 * through its {@code ClassLoader}, and on its declared members otherwise.
+	 * @param key the generator key
+	 * @param generatorClass the class of the generator
+	 * @param sourceClasses the classes that the generated class is derived from
+	 * @return the key for {@link #load} and {@link #store}
+	 * @see AbstractClassGenerator#getPersistentCacheSourceClasses()
+	 */
+	public static String createKey(@Nullable Object key, Class<?> generatorClass, Class<?>... sourceClasses) {
+		Set<Class<?>> classes = new LinkedHashSet<>();
+		collectHierarchy(generatorClass, classes);
+		for (Class<?> sourceClass : sourceClasses) {
+			collectHierarchy(sourceClass, classes);
+		}
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		writeString(String.valueOf(SpringVersion.getVersion()), content);
+		for (Class<?> clazz : classes) {
+			writeString(clazz.getName(), content);
+			writeClassContent(clazz, content);
+		}
+		return key + " #" + DigestUtils.md5DigestAsHex(content.toByteArray());
+	}
+
+	private static void collectHierarchy(@Nullable Class<?> clazz, Set<Class<?>> classes) {
+		if (clazz == null || clazz == Object.class || !classes.add(clazz)) {
+			return;
+		}
+		collectHierarchy(clazz.getSuperclass(), classes);
+		for (Class<?> ifc : clazz.getInterfaces()) {
+			collectHierarchy(ifc, classes);
+		}
+	}
+
+	private static void writeClassContent(Class<?> clazz, ByteArrayOutputStream content) {
+		ClassLoader classLoader = clazz.getClassLoader();
+		if (classLoader != null) {
+			String resourceName = ClassUtils.convertClassNameToResourcePath(clazz.getName()) +
+					ClassUtils.CLASS_FILE_SUFFIX;
+			try (InputStream in = classLoader.getResourceAsStream(resourceName)) {
+				if (in != null) {
+					StreamUtils.copy(in, content);
+					return;
+				}
+			}
+			catch (IOException ex) {
+				// fall back to the declared members below
+			}
+		}
+		// No class file, e.g. for JDK or runtime-generated classes
+		List<String> members = new ArrayList<>();
+		for (Method method : clazz.getDeclaredMethods()) {
+			members.add(method.toGenericString() + Arrays.toString(method.getDeclaredAnnotations()));
+		}
+		for (Field field : clazz.getDeclaredFields()) {
+			members.add(field.toGenericString());
+		}
+		Collections.sort(members);
+		members.add(Arrays.toString(clazz.getDeclaredAnnotations()));
+		for (String member : members) {
+			writeString(member, content);
+		}
+	}
+
+	private static void writeString(String value, ByteArrayOutputStream content) {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		content.write(bytes, 0, bytes.length);
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2014 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,6 +24,14 @@ package org.springframework.cglib.core;
  * version (used by some other library) and Spring's embedded variant,
  * in case the same class happens to get proxied for different purposes.
  *
+ * <p>As of 5.1, the hash part of generated class names is derived from the
+ * {@code String} representation of the generator key rather than from its
+ * hash code, which usually depends on identity hash codes. Keys with a
+ * deterministic {@code toString()}, e.g. for enhanced configuration classes,
+ * therefore lead to the same class name in every JVM, as required for the
+ * {@link PersistentClassCache}. This does not apply to keys with parts that
+ * fall back to {@link Object#toString()}, e.g. the callback filters of AOP proxies.
+ *
  * @author Juergen Hoeller
  * @since 3.2.8
  */
@@ -31,9 +39,42 @@ public class SpringNamingPolicy extends DefaultNamingPolicy {
 
 	public static final SpringNamingPolicy INSTANCE = new SpringNamingPolicy();
 
+	@Override
+	public String getClassName(String prefix, String source, Object key, Predicate names) {
+		return super.getClassName(prefix, source, new StableHashKey(key), names);
+	}
+
 	@Override
 	protected String getTag() {
 		return "BySpringCGLIB";
 	}
 
+
+	/**
+	 * Exposes the hash code of the {@code String} representation of a generator key.
+	 */
+	private static final class StableHashKey {
+
+		private final Object key;
+
+		public StableHashKey(Object key) {
+			this.key = key;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return (this == other || (other instanceof StableHashKey && this.key.equals(((StableHashKey) other).key)));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.key.toString().hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return this.key.toString();
+		}
+	}
+
 }
@@ -606,6 +606,23 @@ public class Enhancer extends AbstractClassGenerator {
 		}
 	}
 
+	// SPRING PATCH BEGIN
+	@Override
+	protected Class[] getPersistentCacheSourceClasses() {
+		List classes = new ArrayList();
+		if (superclass != null) {
+			classes.add(superclass);
+		}
+		if (interfaces != null) {
+			classes.addAll(Arrays.asList(interfaces));
+		}
+		if (filter != null) {
+			classes.add(filter.getClass());
+		}
+		return (Class[]) classes.toArray(new Class[classes.size()]);
+	}
+	// SPRING PATCH END
+
 	private Signature rename(Signature sig, int index) {
 		return new Signature("CGLIB$" + sig.getName() + "$" + index,
 				sig.getDescriptor());
@@ -21,10 +21,12 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.AsynchronousFileChannel;
 import java.nio.channels.Channel;
 import java.nio.channels.Channels;
 import java.nio.channels.CompletionHandler;
+import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.nio.file.StandardOpenOption;
@@ -232,6 +234,59 @@ public abstract class DataBufferUtils {
 				DataBufferUtils::closeChannel);
 	}
 
+	/**
+	 * Obtain a {@code FileChannel} from the given supplier, and read it into a
+	 * {@code Flux} of {@code DataBuffer}s by mapping consecutive regions of the
+	 * file into memory. Closes the channel when the flux is terminated.
+	 * @param channelSupplier the supplier for the channel to read from
+	 * @param dataBufferFactory the factory to wrap the mapped regions with
+	 * @param bufferSize the maximum size of the mapped regions
+	 * @return a flux of data buffers read from the given channel
+	 * @since 5.1
+	 * @see #readMappedFileChannel(Callable, long, DataBufferFactory, int)
+	 */
+	public static Flux<DataBuffer> readMappedFileChannel(
+			Callable<FileChannel> channelSupplier, DataBufferFactory dataBufferFactory, int bufferSize) {
+
+		return readMappedFileChannel(channelSupplier, 0, dataBufferFactory, bufferSize);
+	}
+
+	/**
+	 * Obtain a {@code FileChannel} from the given supplier, and read it into a
+	 * {@code Flux} of {@code DataBuffer}s, starting at the given position, by
+	 * mapping consecutive regions of the file into memory. Closes the channel
+	 * when the flux is terminated.
+	 * <p>Each buffer {@linkplain DataBufferFactory#wrap(ByteBuffer) wraps} a
+	 * read-only {@link MappedByteBuffer}, so that file content is neither copied
+	 * into allocated buffers nor passed through a completion handler thread; this
+	 * suits large files that are read often, e.g. data exports served repeatedly.
+	 * As per {@link FileChannel#map}, a mapping remains valid once the channel is
+	 * closed. Releasing such a buffer does not unmap it, which would be unsafe
+	 * while other references to it exist; the mapping is rather reclaimed along
+	 * with the buffer once it is no longer referenced. For small files, or files
+	 * read only once, {@link #readAsynchronousFileChannel} is usually preferable,
+	 * since setting up a mapping is relatively expensive.
+	 * @param channelSupplier the supplier for the channel to read from
+	 * @param position the position to start reading from
+	 * @param dataBufferFactory the factory to wrap the mapped regions with
+	 * @param bufferSize the maximum size of the mapped regions
+	 * @return a flux of data buffers read from the given channel
+	 * @since 5.1
+	 */
+	public static Flux<DataBuffer> readMappedFileChannel(Callable<FileChannel> channelSupplier,
+			long position, DataBufferFactory dataBufferFactory, int bufferSize) {
+
+		Assert.notNull(channelSupplier, "'channelSupplier' must not be null");
+		Assert.notNull(dataBufferFactory, "'dataBufferFactory' must not be null");
+		Assert.isTrue(position >= 0, "'position' must be >= 0");
+		Assert.isTrue(bufferSize > 0, "'bufferSize' must be > 0");
+
+		return Flux.using(channelSupplier,
+				channel -> Flux.generate(
+						new MappedFileChannelGenerator(channel, position, dataBufferFactory, bufferSize)),
+				DataBufferUtils::closeChannel);
+	}
+
 	/**
 	 * Read the given {@code Resource} into a {@code Flux} of {@code DataBuffer}s.
 	 * <p>If the resource is a file, it is read into an
@@ -549,6 +604,46 @@ public abstract class DataBufferUtils {
 	}
 
 
+	private static class MappedFileChannelGenerator implements Consumer<SynchronousSink<DataBuffer>> {
+
+		private final FileChannel channel;
+
+		private final DataBufferFactory dataBufferFactory;
+
+		private final int bufferSize;
+
+		private long position;
+
+		public MappedFileChannelGenerator(
+				FileChannel channel, long position, DataBufferFactory dataBufferFactory, int bufferSize) {
+
+			this.channel = channel;
+			this.position = position;
+			this.dataBufferFactory = dataBufferFactory;
+			this.bufferSize = bufferSize;
+		}
+
+		@Override
+		public void accept(SynchronousSink<DataBuffer> sink) {
+			try {
+				long remaining = this.channel.size() - this.position;
+				if (remaining > 0) {
+					long count = Math.min(remaining, this.bufferSize);
+					MappedByteBuffer byteBuffer = this.channel.map(FileChannel.MapMode.READ_ONLY, this.position, count);
+					this.position += count;
+					sink.next(this.dataBufferFactory.wrap(byteBuffer));
+				}
+				else {
+					sink.complete();
+				}
+			}
+			catch (IOException ex) {
+				sink.error(ex);
+			}
+		}
+	}
+
+
 	private static class AsynchronousFileChannelReadCompletionHandler
 			implements CompletionHandler<Integer, DataBuffer> {
 
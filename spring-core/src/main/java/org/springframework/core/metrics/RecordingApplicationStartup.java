@@ -0,0 +1,336 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.metrics;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ApplicationStartup} implementation that records a timeline of
+ * {@link StartupStep steps}, with their tags, threads and durations.
+ *
+ * <p>Steps are recorded when they {@link StartupStep#end() end}, up to the
+ * configured capacity; any further steps are counted but not retained.
+ * The recorded timeline can be {@link #writeJson exported} in the
+ * <a href="https://docs.google.com/document/d/1CvAClvFfyA5R-PhYUmn5OOQtYMH4h6I0nSsKchNAySU">
+ * Trace Event Format</a>, as understood by {@code chrome://tracing} and similar
+ * timeline viewers, or {@link #getRecordedSteps() inspected} programmatically.
+ *
+ * @since 5.1
+ */
+public class RecordingApplicationStartup implements ApplicationStartup {
+
+	/**
+	 * The default maximum number of steps to record.
+	 */
+	public static final int DEFAULT_CAPACITY = 10000;
+
+
+	private final int capacity;
+
+	private final long startNanos = System.nanoTime();
+
+	private final AtomicLong idSequence = new AtomicLong();
+
+	private final ThreadLocal<RecordedStep> currentStep = new ThreadLocal<>();
+
+	private final Queue<RecordedStep> recordedSteps = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger recordedCount = new AtomicInteger();
+
+
+	/**
+	 * Create a new {@code RecordingApplicationStartup} with the
+	 * {@link #DEFAULT_CAPACITY default capacity}.
+	 */
+	public RecordingApplicationStartup() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Create a new {@code RecordingApplicationStartup} with the given capacity.
+	 * @param capacity the maximum number of steps to record
+	 */
+	public RecordingApplicationStartup(int capacity) {
+		Assert.isTrue(capacity > 0, "Capacity must be greater than 0");
+		this.capacity = capacity;
+	}
+
+
+	@Override
+	public StartupStep start(String name) {
+		RecordedStep parent = this.currentStep.get();
+		RecordedStep step = new RecordedStep(name, this.idSequence.incrementAndGet(), parent,
+				Thread.currentThread(), System.nanoTime() - this.startNanos);
+		this.currentStep.set(step);
+		return step;
+	}
+
+	private void record(RecordedStep step) {
+		if (this.currentStep.get() == step) {
+			this.currentStep.set(step.parent);
+		}
+		if (this.recordedCount.incrementAndGet() <= this.capacity) {
+			this.recordedSteps.add(step);
+		}
+	}
+
+	/**
+	 * Return the steps recorded so far, ordered by their start time.
+	 */
+	public List<RecordedStep> getRecordedSteps() {
+		List<RecordedStep> steps = new ArrayList<>(this.recordedSteps);
+		steps.sort(Comparator.comparingLong(RecordedStep::getStartTime));
+		return steps;
+	}
+
+	/**
+	 * Return the number of steps that ended but were not recorded
+	 * since the capacity had been reached.
+	 */
+	public int getDroppedCount() {
+		return Math.max(this.recordedCount.get() - this.capacity, 0);
+	}
+
+	/**
+	 * Write the recorded steps in the Trace Event Format (JSON), one complete
+	 * event per step with its id, parent id and tags as arguments.
+	 * @param out the target to write to
+	 * @throws IOException in case of I/O errors
+	 */
+	public void writeJson(Appendable out) throws IOException {
+		List<RecordedStep> steps = getRecordedSteps();
+		Map<Long, String> threadNames = new LinkedHashMap<>();
+		out.append("{\"traceEvents\":[");
+		boolean first = true;
+		for (RecordedStep step : steps) {
+			threadNames.putIfAbsent(step.getThreadId(), step.getThreadName());
+			out.append(first ? "\n" : ",\n");
+			first = false;
+			out.append("{\"name\":");
+			appendJsonString(out, step.getName());
+			out.append(",\"cat\":\"startup\",\"ph\":\"X\",\"pid\":1,\"tid\":").append(String.valueOf(step.getThreadId()));
+			out.append(",\"ts\":").append(String.valueOf(step.getStartTime() / 1000));
+			out.append(",\"dur\":").append(String.valueOf(step.getDuration() / 1000));
+			out.append(",\"args\":{\"id\":").append(String.valueOf(step.getId()));
+			if (step.getParentId() != null) {
+				out.append(",\"parentId\":").append(String.valueOf(step.getParentId()));
+			}
+			for (StartupStep.Tag tag : step.getTags()) {
+				out.append(',');
+				appendJsonString(out, tag.getKey());
+				out.append(':');
+				appendJsonString(out, tag.getValue());
+			}
+			out.append("}}");
+		}
+		for (Map.Entry<Long, String> entry : threadNames.entrySet()) {
+			out.append(first ? "\n" : ",\n");
+			first = false;
+			out.append("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":").append(String.valueOf(entry.getKey()));
+			out.append(",\"args\":{\"name\":");
+			appendJsonString(out, entry.getValue());
+			out.append("}}");
+		}
+		out.append("\n],\"displayTimeUnit\":\"ms\"}\n");
+	}
+
+	private static void appendJsonString(Appendable out, String value) throws IOException {
+		out.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '"':
+					out.append("\\\"");
+					break;
+				case '\\':
+					out.append("\\\\");
+					break;
+				case '\n':
+					out.append("\\n");
+					break;
+				case '\r':
+					out.append("\\r");
+					break;
+				case '\t':
+					out.append("\\t");
+					break;
+				default:
+					if (c < 0x20) {
+						out.append(String.format("\\u%04x", (int) c));
+					}
+					else {
+						out.append(c);
+					}
+			}
+		}
+		out.append('"');
+	}
+
+
+	/**
+	 * A {@link StartupStep} recorded by a {@link RecordingApplicationStartup}.
+	 */
+	public final class RecordedStep implements StartupStep {
+
+		private final String name;
+
+		private final long id;
+
+		@Nullable
+		private final RecordedStep parent;
+
+		private final long threadId;
+
+		private final String threadName;
+
+		private final long startTime;
+
+		private volatile long duration = -1;
+
+		private final List<Tag> tags = new ArrayList<>();
+
+		RecordedStep(String name, long id, @Nullable RecordedStep parent, Thread thread, long startTime) {
+			this.name = name;
+			this.id = id;
+			this.parent = parent;
+			this.threadId = thread.getId();
+			this.threadName = thread.getName();
+			this.startTime = startTime;
+		}
+
+		@Override
+		public String getName() {
+			return this.name;
+		}
+
+		@Override
+		public long getId() {
+			return this.id;
+		}
+
+		@Override
+		@Nullable
+		public Long getParentId() {
+			return (this.parent != null ? this.parent.id : null);
+		}
+
+		/**
+		 * Return the id of the thread that started this step.
+		 */
+		public long getThreadId() {
+			return this.threadId;
+		}
+
+		/**
+		 * Return the name of the thread that started this step.
+		 */
+		public String getThreadName() {
+			return this.threadName;
+		}
+
+		/**
+		 * Return the start time of this step, in nanoseconds since the
+		 * creation of the {@code RecordingApplicationStartup}.
+		 */
+		public long getStartTime() {
+			return this.startTime;
+		}
+
+		/**
+		 * Return the duration of this step in nanoseconds,
+		 * or -1 if it did not end yet.
+		 */
+		public long getDuration() {
+			return this.duration;
+		}
+
+		@Override
+		public StartupStep tag(String key, String value) {
+			Assert.notNull(key, "Tag key must not be null");
+			Assert.notNull(value, "Tag value must not be null");
+			Assert.state(this.duration < 0, "StartupStep has already ended");
+			this.tags.add(new RecordedTag(key, value));
+			return this;
+		}
+
+		@Override
+		public StartupStep tag(String key, Supplier<String> value) {
+			return tag(key, value.get());
+		}
+
+		@Override
+		public Tags getTags() {
+			List<Tag> tags = Collections.unmodifiableList(this.tags);
+			return tags::iterator;
+		}
+
+		@Override
+		public void end() {
+			Assert.state(this.duration < 0, "StartupStep has already ended");
+			this.duration = System.nanoTime() - RecordingApplicationStartup.this.startNanos - this.startTime;
+			record(this);
+		}
+
+		@Override
+		public String toString() {
+			return "StartupStep '" + this.name + "' [id=" + this.id + ", duration=" + this.duration + "ns]";
+		}
+	}
+
+
+	private static final class RecordedTag implements StartupStep.Tag {
+
+		private final String key;
+
+		private final String value;
+
+		RecordedTag(String key, String value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		@Override
+		public String getKey() {
+			return this.key;
+		}
+
+		@Override
+		public String getValue() {
+			return this.value;
+		}
+
+		@Override
+		public String toString() {
+			return this.key + "=" + this.value;
+		}
+	}
+
+}
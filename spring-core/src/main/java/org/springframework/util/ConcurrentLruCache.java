@@ -0,0 +1,213 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Simple bounded cache for values generated from their keys, designed for
+ * read-mostly access from many threads, e.g. for parsed representations of
+ * SQL statements or expressions.
+ *
+ * <p>Lookups are lock-free: a cache hit only reads from a {@link ConcurrentHashMap}
+ * and marks the entry as recently used. Once the size limit is exceeded, entries
+ * are evicted in approximate least-recently-used order, following the "second
+ * chance" (CLOCK) policy: entries are considered in insertion order, and an entry
+ * that has been used since it was last considered is kept and moved to the back.
+ *
+ * <p>Concurrent misses for the same key may generate the value more than once;
+ * the first value stored wins. Keys and values must not be {@code null}.
+ *
+ * @since 5.1
+ * @param <K> the type of the key used for cache retrieval
+ * @param <V> the type of the cached values
+ */
+public class ConcurrentLruCache<K, V> {
+
+	private final int sizeLimit;
+
+	private final ConcurrentMap<K, Entry<V>> cache;
+
+	private final Queue<K> evictionQueue = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger size = new AtomicInteger();
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+
+	/**
+	 * Create a new cache instance with the given size limit.
+	 * @param sizeLimit the maximum number of entries in the cache
+	 * (0 indicates no caching, always generating a new value)
+	 */
+	public ConcurrentLruCache(int sizeLimit) {
+		Assert.isTrue(sizeLimit >= 0, "Cache size limit must not be negative");
+		this.sizeLimit = sizeLimit;
+		this.cache = new ConcurrentHashMap<>(Math.max(16, Math.min(sizeLimit, 1024)));
+	}
+
+
+	/**
+	 * Retrieve an entry from the cache, generating it through the given
+	 * function in case of a cache miss.
+	 * @param key the key to retrieve the entry for
+	 * @param generator the function to generate a value for the given key
+	 * @return the cached or newly generated value
+	 */
+	public V get(K key, Function<? super K, ? extends V> generator) {
+		if (this.sizeLimit == 0) {
+			this.missCount.increment();
+			return generator.apply(key);
+		}
+
+		Entry<V> entry = this.cache.get(key);
+		if (entry != null) {
+			this.hitCount.increment();
+			if (!entry.used) {
+				entry.used = true;
+			}
+			return entry.value;
+		}
+
+		this.missCount.increment();
+		V value = generator.apply(key);
+		Assert.state(value != null, "Generator function must not return null");
+		Entry<V> existing = this.cache.putIfAbsent(key, new Entry<>(value));
+		if (existing != null) {
+			return existing.value;
+		}
+		this.evictionQueue.offer(key);
+		if (this.size.incrementAndGet() > this.sizeLimit) {
+			evict();
+		}
+		return value;
+	}
+
+	private void evict() {
+		while (this.size.get() > this.sizeLimit) {
+			K candidate = this.evictionQueue.poll();
+			if (candidate == null) {
+				return;
+			}
+			Entry<V> entry = this.cache.get(candidate);
+			if (entry == null) {
+				continue;
+			}
+			if (entry.used) {
+				// Second chance: keep the entry and reconsider it later on
+				entry.used = false;
+				this.evictionQueue.offer(candidate);
+			}
+			else if (this.cache.remove(candidate, entry)) {
+				this.size.decrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Determine whether the given key is present in this cache.
+	 * @param key the key to check for
+	 */
+	public boolean contains(K key) {
+		return this.cache.containsKey(key);
+	}
+
+	/**
+	 * Immediately remove the given key and any associated value.
+	 * @param key the key to evict the entry for
+	 * @return {@code true} if the key was present before
+	 */
+	public boolean remove(K key) {
+		if (this.cache.remove(key) != null) {
+			this.size.decrementAndGet();
+			this.evictionQueue.remove(key);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Immediately remove all entries from this cache.
+	 */
+	public void clear() {
+		for (K key : this.cache.keySet()) {
+			remove(key);
+		}
+	}
+
+	/**
+	 * Return the current size of the cache.
+	 * @see #sizeLimit()
+	 */
+	public int size() {
+		return this.cache.size();
+	}
+
+	/**
+	 * Return the maximum number of entries in the cache
+	 * (0 indicates no caching, always generating a new value).
+	 * @see #size()
+	 */
+	public int sizeLimit() {
+		return this.sizeLimit;
+	}
+
+	/**
+	 * Return the number of lookups that found a cached value.
+	 */
+	public long hitCount() {
+		return this.hitCount.sum();
+	}
+
+	/**
+	 * Return the number of lookups that had to generate a value.
+	 */
+	public long missCount() {
+		return this.missCount.sum();
+	}
+
+	/**
+	 * Return the ratio of lookups that found a cached value, between 0.0 and 1.0,
+	 * or 0.0 if there have not been any lookups yet.
+	 */
+	public double hitRate() {
+		long hits = this.hitCount.sum();
+		long total = hits + this.missCount.sum();
+		return (total != 0 ? (double) hits / total : 0.0);
+	}
+
+
+	private static final class Entry<V> {
+
+		final V value;
+
+		volatile boolean used;
+
+		Entry(V value) {
+			this.value = value;
+		}
+	}
+
+}
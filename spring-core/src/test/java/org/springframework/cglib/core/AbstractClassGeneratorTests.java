@@ -0,0 +1,132 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.cglib.core;
+
+import java.io.File;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.cglib.proxy.Enhancer;
+import org.springframework.cglib.proxy.NoOp;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the {@link PersistentClassCache} support in {@link AbstractClassGenerator}
+ * and for {@link ClassGenerationStatistics}.
+ *
+ * @since 5.1
+ */
+public class AbstractClassGeneratorTests {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private PersistentClassCache cache;
+
+
+	@Before
+	public void createCache() {
+		this.cache = new PersistentClassCache(new File(this.temporaryFolder.getRoot(), "classes"));
+	}
+
+
+	@Test
+	public void persistentCacheNotUsedByDefault() {
+		assertFalse(new Enhancer().getUsePersistentCache());
+	}
+
+	@Test
+	public void generatedClassIsStored() {
+		long generatedCount = ClassGenerationStatistics.getGeneratedClassCount();
+		long cachedCount = ClassGenerationStatistics.getCachedClassCount();
+		long definitionTime = ClassGenerationStatistics.getDefinitionTime();
+
+		Class<?> proxyClass = createClass(new TestClassLoader());
+		assertTrue(new File(this.cache.getDirectory(), proxyClass.getName() + ".cglib").isFile());
+		assertEquals(generatedCount + 1, ClassGenerationStatistics.getGeneratedClassCount());
+		assertEquals(cachedCount, ClassGenerationStatistics.getCachedClassCount());
+		assertTrue(ClassGenerationStatistics.getDefinitionTime() > definitionTime);
+	}
+
+	@Test
+	public void storedClassIsLoaded() throws Exception {
+		Class<?> proxyClass = createClass(new TestClassLoader());
+		long generatedCount = ClassGenerationStatistics.getGeneratedClassCount();
+		long cachedCount = ClassGenerationStatistics.getCachedClassCount();
+
+		Class<?> loadedClass = createClass(new TestClassLoader());
+		assertNotSame(proxyClass, loadedClass);
+		assertEquals(proxyClass.getName(), loadedClass.getName());
+		assertEquals(generatedCount, ClassGenerationStatistics.getGeneratedClassCount());
+		assertEquals(cachedCount + 1, ClassGenerationStatistics.getCachedClassCount());
+		assertEquals("value", ((Target) loadedClass.newInstance()).getValue());
+	}
+
+	@Test
+	public void storedClassWithStaleKeyIsGeneratedAgain() throws Exception {
+		Class<?> proxyClass = createClass(new TestClassLoader());
+		// Entry stored for a different version of the classes involved
+		this.cache.store(proxyClass.getName(), "stale", new byte[] {1, 2, 3});
+		long generatedCount = ClassGenerationStatistics.getGeneratedClassCount();
+		long cachedCount = ClassGenerationStatistics.getCachedClassCount();
+
+		Class<?> generatedClass = createClass(new TestClassLoader());
+		assertEquals(proxyClass.getName(), generatedClass.getName());
+		assertEquals(generatedCount + 1, ClassGenerationStatistics.getGeneratedClassCount());
+		assertEquals(cachedCount, ClassGenerationStatistics.getCachedClassCount());
+		assertEquals("value", ((Target) generatedClass.newInstance()).getValue());
+	}
+
+	private Class<?> createClass(ClassLoader classLoader) {
+		Enhancer enhancer = new Enhancer() {
+			@Override
+			protected PersistentClassCache getPersistentCache() {
+				return cache;
+			}
+		};
+		enhancer.setSuperclass(Target.class);
+		enhancer.setCallbackType(NoOp.class);
+		enhancer.setNamingPolicy(SpringNamingPolicy.INSTANCE);
+		enhancer.setClassLoader(classLoader);
+		return enhancer.createClass();
+	}
+
+
+	public static class Target {
+
+		public String getValue() {
+			return "value";
+		}
+	}
+
+
+	/**
+	 * Separate class loader for each generation, as in separate runs.
+	 */
+	private static class TestClassLoader extends ClassLoader {
+
+		TestClassLoader() {
+			super(AbstractClassGeneratorTests.class.getClassLoader());
+		}
+	}
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cglib.core;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link PersistentClassCache}.
+ *
+ * @since 5.1
+ */
+public class PersistentClassCacheTests {
+
+	private static final String CLASS_NAME = "com.example.Foo$$EnhancerBySpringCGLIB$$1a2b3c";
+
+	private static final String KEY = "com.example.Foo, {com.example.Bar}, null";
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private PersistentClassCache cache;
+
+
+	@Before
+	public void createCache() throws IOException {
+		this.cache = new PersistentClassCache(new File(this.temporaryFolder.getRoot(), "classes"));
+	}
+
+
+	@Test
+	public void loadWithoutStore() {
+		assertNull(this.cache.load(CLASS_NAME, KEY));
+	}
+
+	@Test
+	public void storeAndLoad() {
+		byte[] bytes = new byte[] {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0, 1, 2};
+		this.cache.store(CLASS_NAME, KEY, bytes);
+		assertArrayEquals(bytes, this.cache.load(CLASS_NAME, KEY));
+		assertArrayEquals(bytes, new PersistentClassCache(this.cache.getDirectory()).load(CLASS_NAME, KEY));
+	}
+
+	@Test
+	public void loadWithDifferentKey() {
+		this.cache.store(CLASS_NAME, KEY, new byte[] {1, 2, 3});
+		assertNull(this.cache.load(CLASS_NAME, "com.example.Foo, {}, null"));
+	}
+
+	@Test
+	public void storeReplacesPreviousVersion() {
+		this.cache.store(CLASS_NAME, KEY, new byte[] {1, 2, 3});
+		this.cache.store(CLASS_NAME, KEY, new byte[] {4, 5});
+		assertArrayEquals(new byte[] {4, 5}, this.cache.load(CLASS_NAME, KEY));
+		assertEquals(1, this.cache.getDirectory().list().length);
+	}
+
+	@Test
+	public void createKeyForSameClasses() {
+		String key = PersistentClassCache.createKey(KEY, getClass(), String.class);
+		assertTrue(key, key.startsWith(KEY));
+		assertEquals(key, PersistentClassCache.createKey(KEY, getClass(), String.class));
+	}
+
+	@Test
+	public void createKeyForDifferentClasses() {
+		String key = PersistentClassCache.createKey(KEY, getClass(), Source.class);
+		assertNotEquals(key, PersistentClassCache.createKey(KEY, getClass(), OtherSource.class));
+		assertNotEquals(key, PersistentClassCache.createKey(KEY, String.class, Source.class));
+	}
+
+	@Test
+	public void createKeyIncludesClassHierarchy() {
+		String key = PersistentClassCache.createKey(KEY, getClass(), ExtendedSource.class);
+		assertEquals(key, PersistentClassCache.createKey(KEY, getClass(), ExtendedSource.class, Source.class));
+		assertNotEquals(key, PersistentClassCache.createKey(KEY, getClass(), ExtendedSource.class, OtherSource.class));
+	}
+
+	@Test
+	public void sharedInstanceForLocationProperty() {
+		assertNull(PersistentClassCache.getSharedInstance());
+		String location = this.cache.getDirectory().getPath();
+		System.setProperty(PersistentClassCache.CACHE_LOCATION_PROPERTY_NAME, location);
+		try {
+			PersistentClassCache sharedInstance = PersistentClassCache.getSharedInstance();
+			assertNotNull(sharedInstance);
+			assertEquals(location, sharedInstance.getDirectory().getPath());
+			assertSame(sharedInstance, PersistentClassCache.getSharedInstance());
+		}
+		finally {
+			System.clearProperty(PersistentClassCache.CACHE_LOCATION_PROPERTY_NAME);
+		}
+		assertNull(PersistentClassCache.getSharedInstance());
+	}
+
+
+	private static class Source {
+
+		public void method() {
+		}
+	}
+
+
+	private static class OtherSource {
+
+		public void otherMethod() {
+		}
+	}
+
+
+	private static class ExtendedSource extends Source {
+	}
+
+}
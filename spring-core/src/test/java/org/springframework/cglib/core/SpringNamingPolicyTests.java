@@ -0,0 +1,81 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.cglib.core;
+
+import org.junit.Test;
+
+import org.springframework.cglib.proxy.Enhancer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link SpringNamingPolicy}.
+ *
+ * @since 5.1
+ */
+public class SpringNamingPolicyTests {
+
+	private static final String PREFIX = "com.example.Foo";
+
+	private static final String SOURCE = Enhancer.class.getName();
+
+
+	@Test
+	public void classNameForEqualKeyRepresentations() {
+		String className = getClassName(new Key("key"));
+		assertTrue(className, className.startsWith(PREFIX + "$$EnhancerBySpringCGLIB$$"));
+		assertEquals(className, getClassName(new Key("key")));
+	}
+
+	@Test
+	public void classNameForDifferentKeyRepresentations() {
+		assertNotEquals(getClassName(new Key("key")), getClassName(new Key("otherKey")));
+	}
+
+	@Test
+	public void classNameWithTakenName() {
+		String className = getClassName(new Key("key"));
+		String otherClassName = SpringNamingPolicy.INSTANCE.getClassName(
+				PREFIX, SOURCE, new Key("key"), className::equals);
+		assertNotEquals(className, otherClassName);
+		assertTrue(otherClassName, otherClassName.startsWith(className));
+	}
+
+	private String getClassName(Object key) {
+		return SpringNamingPolicy.INSTANCE.getClassName(PREFIX, SOURCE, key, name -> false);
+	}
+
+
+	/**
+	 * Key with identity-based {@code equals} and {@code hashCode}.
+	 */
+	private static class Key {
+
+		private final String value;
+
+		Key(String value) {
+			this.value = value;
+		}
+
+		@Override
+		public String toString() {
+			return this.value;
+		}
+	}
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+
+import org.springframework.tests.Assume;
+import org.springframework.tests.TestGroup;
+import org.springframework.util.StopWatch;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compares {@link DataBufferUtils#readMappedFileChannel} with
+ * {@link DataBufferUtils#readAsynchronousFileChannel} for files of 1 MB up
+ * to 10 GB, consuming all content of each buffer.
+ *
+ * @since 5.1
+ */
+public class DataBufferUtilsPerformanceTests {
+
+	private static final long MB = 1024 * 1024;
+
+	private final DataBufferFactory bufferFactory = new DefaultDataBufferFactory(true);
+
+
+	@Before
+	public void commonAssumptions() {
+		Assume.group(TestGroup.PERFORMANCE);
+	}
+
+
+	@Test
+	public void readSmallFiles() throws Exception {
+		compareRead(MB, 16 * MB, 256 * MB);
+	}
+
+	@Test
+	public void readLargeFiles() throws Exception {
+		Assume.group(TestGroup.LONG_RUNNING);
+		compareRead(1024 * MB, 10 * 1024 * MB);
+	}
+
+
+	private void compareRead(long... fileSizes) throws Exception {
+		StopWatch sw = new StopWatch();
+		for (long fileSize : fileSizes) {
+			Path file = Files.createTempFile("DataBufferUtilsPerformanceTests", ".bin");
+			try {
+				try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+					raf.setLength(fileSize);
+				}
+				String label = (fileSize / MB) + " MB";
+
+				sw.start("async channel, " + label);
+				assertEquals(fileSize, consume(DataBufferUtils.readAsynchronousFileChannel(
+						() -> AsynchronousFileChannel.open(file, StandardOpenOption.READ),
+						this.bufferFactory, 64 * 1024)));
+				sw.stop();
+
+				sw.start("mapped channel, " + label);
+				assertEquals(fileSize, consume(DataBufferUtils.readMappedFileChannel(
+						() -> FileChannel.open(file, StandardOpenOption.READ),
+						this.bufferFactory, (int) (64 * MB))));
+				sw.stop();
+			}
+			finally {
+				Files.delete(file);
+			}
+		}
+		System.out.println(sw.prettyPrint());
+	}
+
+	private static long consume(Flux<DataBuffer> flux) {
+		Long count = flux.map(dataBuffer -> {
+			ByteBuffer byteBuffer = dataBuffer.asByteBuffer();
+			long sum = 0;
+			while (byteBuffer.remaining() >= 8) {
+				sum += byteBuffer.getLong();
+			}
+			while (byteBuffer.hasRemaining()) {
+				sum += byteBuffer.get();
+			}
+			assertEquals(0, sum);
+			int readable = dataBuffer.readableByteCount();
+			DataBufferUtils.release(dataBuffer);
+			return (long) readable;
+		}).reduce(0L, Long::sum).block(Duration.ofMinutes(10));
+		return (count != null ? count : 0);
+	}
+
+}
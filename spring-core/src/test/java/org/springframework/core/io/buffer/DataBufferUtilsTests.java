@@ -29,6 +29,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.time.Duration;
+import java.util.List;
 import java.util.stream.Collectors;
 
 import io.netty.buffer.ByteBuf;
@@ -97,6 +98,49 @@ public class DataBufferUtilsTests extends AbstractDataBufferAllocatingTestCase {
 				.verify(Duration.ofSeconds(5));
 	}
 
+	@Test
+	public void readMappedFileChannel() throws Exception {
+		URI uri = DataBufferUtilsTests.class.getResource("DataBufferUtilsTests.txt").toURI();
+		Flux<DataBuffer> flux = DataBufferUtils.readMappedFileChannel(
+				() -> FileChannel.open(Paths.get(uri), StandardOpenOption.READ),
+				this.bufferFactory, 3);
+
+		StepVerifier.create(flux)
+				.consumeNextWith(stringConsumer("foo"))
+				.consumeNextWith(stringConsumer("bar"))
+				.consumeNextWith(stringConsumer("baz"))
+				.consumeNextWith(stringConsumer("qux"))
+				.expectComplete()
+				.verify(Duration.ofSeconds(5));
+	}
+
+	@Test
+	public void readMappedFileChannelPosition() throws Exception {
+		URI uri = DataBufferUtilsTests.class.getResource("DataBufferUtilsTests.txt").toURI();
+		Flux<DataBuffer> flux = DataBufferUtils.readMappedFileChannel(
+				() -> FileChannel.open(Paths.get(uri), StandardOpenOption.READ),
+				4, this.bufferFactory, 5);
+
+		StepVerifier.create(flux)
+				.consumeNextWith(stringConsumer("arbaz"))
+				.consumeNextWith(stringConsumer("qux"))
+				.expectComplete()
+				.verify(Duration.ofSeconds(5));
+	}
+
+	@Test
+	public void readMappedFileChannelAfterClose() throws Exception {
+		URI uri = DataBufferUtilsTests.class.getResource("DataBufferUtilsTests.txt").toURI();
+		FileChannel channel = FileChannel.open(Paths.get(uri), StandardOpenOption.READ);
+		Flux<DataBuffer> flux = DataBufferUtils.readMappedFileChannel(() -> channel, this.bufferFactory, 6);
+
+		List<DataBuffer> buffers = flux.collectList().block(Duration.ofSeconds(5));
+		assertFalse(channel.isOpen());
+		assertEquals(2, buffers.size());
+		stringConsumer("foobar").accept(buffers.get(0));
+		stringConsumer("bazqux").accept(buffers.get(1));
+	}
+
 	@Test
 	public void readInputStream() throws Exception {
 		Flux<DataBuffer> flux = DataBufferUtils.readInputStream(
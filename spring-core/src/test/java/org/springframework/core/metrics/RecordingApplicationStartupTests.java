@@ -0,0 +1,123 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.metrics;
+
+import java.io.StringWriter;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link RecordingApplicationStartup}.
+ *
+ * @since 5.1
+ */
+public class RecordingApplicationStartupTests {
+
+	private final RecordingApplicationStartup applicationStartup = new RecordingApplicationStartup();
+
+
+	@Test
+	public void defaultApplicationStartupIsNoOp() {
+		StartupStep step = ApplicationStartup.DEFAULT.start("spring.test").tag("key", "value");
+		step.tag("other", () -> {
+			throw new AssertionError("Should not have computed tag value");
+		});
+		step.end();
+		assertFalse(step.getTags().iterator().hasNext());
+	}
+
+	@Test
+	public void recordNestedSteps() {
+		StartupStep outer = this.applicationStartup.start("spring.outer");
+		StartupStep inner = this.applicationStartup.start("spring.inner").tag("beanName", "testBean");
+		inner.end();
+		outer.end();
+		StartupStep next = this.applicationStartup.start("spring.next");
+		next.end();
+
+		List<RecordingApplicationStartup.RecordedStep> steps = this.applicationStartup.getRecordedSteps();
+		assertEquals(3, steps.size());
+		assertEquals("spring.outer", steps.get(0).getName());
+		assertNull(steps.get(0).getParentId());
+		assertEquals("spring.inner", steps.get(1).getName());
+		assertEquals(Long.valueOf(outer.getId()), steps.get(1).getParentId());
+		assertEquals("spring.next", steps.get(2).getName());
+		assertNull(steps.get(2).getParentId());
+		assertTrue(steps.get(0).getDuration() >= steps.get(1).getDuration());
+		assertEquals(Thread.currentThread().getName(), steps.get(1).getThreadName());
+
+		Iterator<StartupStep.Tag> tags = steps.get(1).getTags().iterator();
+		StartupStep.Tag tag = tags.next();
+		assertEquals("beanName", tag.getKey());
+		assertEquals("testBean", tag.getValue());
+		assertFalse(tags.hasNext());
+	}
+
+	@Test
+	public void stepsOnOtherThreadsHaveNoParent() throws Exception {
+		StartupStep outer = this.applicationStartup.start("spring.outer");
+		Thread thread = new Thread(() -> this.applicationStartup.start("spring.async").end());
+		thread.start();
+		thread.join();
+		outer.end();
+
+		List<RecordingApplicationStartup.RecordedStep> steps = this.applicationStartup.getRecordedSteps();
+		assertEquals(2, steps.size());
+		assertEquals("spring.async", steps.get(1).getName());
+		assertNull(steps.get(1).getParentId());
+		assertNotEquals(steps.get(0).getThreadId(), steps.get(1).getThreadId());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void tagAfterEnd() {
+		StartupStep step = this.applicationStartup.start("spring.test");
+		step.end();
+		step.tag("key", "value");
+	}
+
+	@Test
+	public void recordUpToCapacity() {
+		RecordingApplicationStartup applicationStartup = new RecordingApplicationStartup(2);
+		for (int i = 0; i < 5; i++) {
+			applicationStartup.start("spring.test").end();
+		}
+		assertEquals(2, applicationStartup.getRecordedSteps().size());
+		assertEquals(3, applicationStartup.getDroppedCount());
+	}
+
+	@Test
+	public void writeJson() throws Exception {
+		StartupStep outer = this.applicationStartup.start("spring.outer");
+		this.applicationStartup.start("spring.inner").tag("beanName", "a \"quoted\"\nname").end();
+		outer.end();
+
+		StringWriter writer = new StringWriter();
+		this.applicationStartup.writeJson(writer);
+		String json = writer.toString();
+		assertTrue(json, json.startsWith("{\"traceEvents\":["));
+		assertTrue(json, json.contains("{\"name\":\"spring.outer\",\"cat\":\"startup\",\"ph\":\"X\""));
+		assertTrue(json, json.contains("\"args\":{\"id\":" + outer.getId() + "}}"));
+		assertTrue(json, json.contains(",\"parentId\":" + outer.getId() + ",\"beanName\":\"a \\\"quoted\\\"\\nname\"}}"));
+		assertTrue(json, json.contains("{\"name\":\"thread_name\",\"ph\":\"M\""));
+		assertTrue(json, json.endsWith("],\"displayTimeUnit\":\"ms\"}\n"));
+	}
+
+}
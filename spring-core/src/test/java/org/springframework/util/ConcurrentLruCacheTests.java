@@ -0,0 +1,154 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link ConcurrentLruCache}.
+ *
+ * @since 5.1
+ */
+public class ConcurrentLruCacheTests {
+
+	private final AtomicInteger generated = new AtomicInteger();
+
+	private final ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<>(2);
+
+
+	private String generate(String key) {
+		this.generated.incrementAndGet();
+		return key.toUpperCase();
+	}
+
+	@Test
+	public void getAndGenerate() {
+		assertEquals("A", this.cache.get("a", this::generate));
+		assertEquals("A", this.cache.get("a", this::generate));
+		assertEquals(1, this.generated.get());
+		assertEquals(1, this.cache.size());
+		assertTrue(this.cache.contains("a"));
+		assertFalse(this.cache.contains("b"));
+	}
+
+	@Test
+	public void evictsLeastRecentlyUsed() {
+		this.cache.get("a", this::generate);
+		this.cache.get("b", this::generate);
+		this.cache.get("a", this::generate);
+		this.cache.get("c", this::generate);
+
+		assertEquals(2, this.cache.size());
+		assertTrue(this.cache.contains("a"));
+		assertFalse(this.cache.contains("b"));
+		assertTrue(this.cache.contains("c"));
+	}
+
+	@Test
+	public void evictsOldestWhenNoneUsed() {
+		this.cache.get("a", this::generate);
+		this.cache.get("b", this::generate);
+		this.cache.get("c", this::generate);
+
+		assertEquals(2, this.cache.size());
+		assertFalse(this.cache.contains("a"));
+		assertTrue(this.cache.contains("b"));
+		assertTrue(this.cache.contains("c"));
+	}
+
+	@Test
+	public void zeroSizeLimit() {
+		ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<>(0);
+		assertEquals("A", cache.get("a", this::generate));
+		assertEquals("A", cache.get("a", this::generate));
+		assertEquals(2, this.generated.get());
+		assertEquals(0, cache.size());
+		assertEquals(0.0, cache.hitRate(), 0.0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void negativeSizeLimit() {
+		new ConcurrentLruCache<String, String>(-1);
+	}
+
+	@Test
+	public void removeAndClear() {
+		this.cache.get("a", this::generate);
+		this.cache.get("b", this::generate);
+		assertTrue(this.cache.remove("a"));
+		assertFalse(this.cache.remove("a"));
+		assertEquals(1, this.cache.size());
+
+		this.cache.clear();
+		assertEquals(0, this.cache.size());
+		this.cache.get("c", this::generate);
+		this.cache.get("d", this::generate);
+		assertEquals(2, this.cache.size());
+	}
+
+	@Test
+	public void hitAndMissCounts() {
+		assertEquals(0.0, this.cache.hitRate(), 0.0);
+		this.cache.get("a", this::generate);
+		this.cache.get("a", this::generate);
+		this.cache.get("a", this::generate);
+		this.cache.get("b", this::generate);
+
+		assertEquals(2, this.cache.hitCount());
+		assertEquals(2, this.cache.missCount());
+		assertEquals(0.5, this.cache.hitRate(), 0.0);
+	}
+
+	@Test
+	public void concurrentAccessStaysWithinSizeLimit() throws Exception {
+		ConcurrentLruCache<Integer, String> cache = new ConcurrentLruCache<>(64);
+		CountDownLatch latch = new CountDownLatch(1);
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		Thread[] threads = new Thread[4];
+		for (int t = 0; t < threads.length; t++) {
+			int offset = t;
+			threads[t] = new Thread(() -> {
+				try {
+					latch.await();
+					for (int i = 0; i < 10000; i++) {
+						Integer key = (i * 7 + offset) % 256;
+						assertEquals(key.toString(), cache.get(key, Object::toString));
+					}
+				}
+				catch (Throwable ex) {
+					failure.set(ex);
+				}
+			});
+			threads[t].start();
+		}
+		latch.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertNull(failure.get());
+		assertTrue(cache.size() <= 64);
+		assertEquals(40000, cache.hitCount() + cache.missCount());
+	}
+
+}
@@ -85,9 +85,17 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * When code generation requires an intermediate variable within a method,
-	 * this method records the next available variable (variable 0 is 'this').
+	 * this method records the next available variable (variable 0 is 'this',
+	 * variables 1 and 2 are the target and the EvaluationContext).
 	 */
-	private int nextFreeVariableId = 1;
+	private int nextFreeVariableId = 3;
+
+	/**
+	 * The local variables that {@link #loadTarget} currently loads the target from,
+	 * for sub-expressions that are evaluated against something other than the target
+	 * passed to the compiled expression (e.g. the elements of a projection).
+	 */
+	private final Deque<Integer> targetVariables = new ArrayDeque<>();
 
 
 	/**
@@ -105,11 +113,33 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * Push the byte code to load the target (i.e. what was passed as the first argument
-	 * to CompiledExpression.getValue(target, context))
+	 * to CompiledExpression.getValue(target, context)), or the current element if inside
+	 * a {@link #enterTargetScope target scope}
 	 * @param mv the visitor into which the load instruction should be inserted
 	 */
 	public void loadTarget(MethodVisitor mv) {
-		mv.visitVarInsn(ALOAD, 1);
+		Integer variableId = this.targetVariables.peek();
+		mv.visitVarInsn(ALOAD, (variableId != null ? variableId : 1));
+	}
+
+	/**
+	 * Redirect {@link #loadTarget} to the given local variable until the matching
+	 * {@link #exitTargetScope()} call, e.g. to evaluate a sub-expression against
+	 * each element of a collection.
+	 * @param variableId the local variable holding the target (1 for the target
+	 * passed to the compiled expression)
+	 * @since 5.1
+	 */
+	public void enterTargetScope(int variableId) {
+		this.targetVariables.push(variableId);
+	}
+
+	/**
+	 * Restore the target that was active before the last {@link #enterTargetScope} call.
+	 * @since 5.1
+	 */
+	public void exitTargetScope() {
+		this.targetVariables.pop();
 	}
 
 	/**
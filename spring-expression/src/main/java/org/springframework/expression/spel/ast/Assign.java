@@ -16,8 +16,10 @@
 
 package org.springframework.expression.spel.ast;
 
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 
 /**
@@ -40,6 +42,11 @@ public class Assign extends SpelNodeImpl {
 	public TypedValue getValueInternal(ExpressionState state) throws EvaluationException {
 		TypedValue newValue = this.children[1].getValueInternal(state);
 		getChild(0).setValue(state, newValue.getValue());
+		String valueDescriptor = this.children[1].exitTypeDescriptor;
+		if (valueDescriptor != null && CodeFlow.isPrimitive(valueDescriptor)) {
+			valueDescriptor = CodeFlow.toBoxedDescriptor(valueDescriptor);
+		}
+		this.exitTypeDescriptor = valueDescriptor;
 		return newValue;
 	}
 
@@ -48,4 +55,47 @@ public class Assign extends SpelNodeImpl {
 		return getChild(0).toStringAST() + "=" + getChild(1).toStringAST();
 	}
 
+	/**
+	 * Only assignments to variables are compilable, e.g. '#count=42': assignments
+	 * to properties or indexed elements are always interpreted.
+	 */
+	@Override
+	public boolean isCompilable() {
+		return (isVariableAssignment() && this.children[1].isCompilable() && this.exitTypeDescriptor != null);
+	}
+
+	@Override
+	public String getNonCompilableReason() {
+		if (!isVariableAssignment()) {
+			return "only assignments to variables are compilable";
+		}
+		return super.getNonCompilableReason();
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		// Stack: context, name, value -> value, context, name, value -> value
+		cf.loadEvaluationContext(mv);
+		mv.visitLdcInsn(((VariableReference) this.children[0]).getName());
+		cf.enterCompilationScope();
+		this.children[1].generateCode(mv, cf);
+		String valueDescriptor = cf.lastDescriptor();
+		if (CodeFlow.isPrimitive(valueDescriptor)) {
+			CodeFlow.insertBoxIfNecessary(mv, valueDescriptor.charAt(0));
+		}
+		cf.exitCompilationScope();
+		mv.visitInsn(DUP_X2);
+		mv.visitMethodInsn(INVOKEINTERFACE, "org/springframework/expression/EvaluationContext",
+				"setVariable", "(Ljava/lang/String;Ljava/lang/Object;)V", true);
+		cf.pushDescriptor(this.exitTypeDescriptor);
+	}
+
+	private boolean isVariableAssignment() {
+		if (!(this.children[0] instanceof VariableReference)) {
+			return false;
+		}
+		String name = ((VariableReference) this.children[0]).getName();
+		return !(name.equals("this") || name.equals("root"));
+	}
+
 }
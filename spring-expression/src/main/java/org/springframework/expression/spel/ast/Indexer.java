@@ -17,10 +17,6 @@
 package org.springframework.expression.spel.ast;
 
 import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
-import java.lang.reflect.Member;
-import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -34,6 +30,7 @@ import org.springframework.expression.PropertyAccessor;
 import org.springframework.expression.TypeConverter;
 import org.springframework.expression.TypedValue;
 import org.springframework.expression.spel.CodeFlow;
+import org.springframework.expression.spel.CompilablePropertyAccessor;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
@@ -89,6 +86,10 @@ public class Indexer extends SpelNodeImpl {
 	@Nullable
 	private IndexedType indexedType;
 
+	// Whether a map key had to be converted to the key type of the map, which
+	// compiled code does not do
+	private volatile boolean mapKeyConverted;
+
 
 	public Indexer(int pos, SpelNodeImpl expr) {
 		super(pos, expr);
@@ -151,6 +152,9 @@ public class Indexer extends SpelNodeImpl {
 			Object key = index;
 			if (targetDescriptor.getMapKeyTypeDescriptor() != null) {
 				key = state.convertValue(key, targetDescriptor.getMapKeyTypeDescriptor());
+				if (key != index) {
+					this.mapKeyConverted = true;
+				}
 			}
 			this.indexedType = IndexedType.MAP;
 			return new MapIndexingValueRef(state.getTypeConverter(), (Map<?, ?>) target, key, targetDescriptor);
@@ -200,21 +204,42 @@ public class Indexer extends SpelNodeImpl {
 			return this.children[0].isCompilable();
 		}
 		else if (this.indexedType == IndexedType.MAP) {
-			return (this.children[0] instanceof PropertyOrFieldReference || this.children[0].isCompilable());
+			return (this.children[0] instanceof PropertyOrFieldReference ||
+					(this.children[0].isCompilable() && !this.mapKeyConverted));
 		}
 		else if (this.indexedType == IndexedType.OBJECT) {
 			// If the string name is changing the accessor is clearly going to change (so no compilation possible)
-			return (this.cachedReadAccessor != null &&
-					this.cachedReadAccessor instanceof ReflectivePropertyAccessor.OptimalPropertyAccessor &&
-					getChild(0) instanceof StringLiteral);
+			PropertyAccessor accessor = this.cachedReadAccessor;
+			return (accessor instanceof CompilablePropertyAccessor &&
+					((CompilablePropertyAccessor) accessor).isCompilable() &&
+					this.exitTypeDescriptor != null && getChild(0) instanceof StringLiteral);
 		}
 		return false;
 	}
 
+	@Override
+	public String getNonCompilableReason() {
+		if (this.indexedType == IndexedType.MAP && this.mapKeyConverted) {
+			return "map key needs to be converted to the key type of the map";
+		}
+		if (this.indexedType == IndexedType.OBJECT) {
+			if (!(getChild(0) instanceof StringLiteral)) {
+				return "property name to index with is not a string literal";
+			}
+			if (!(this.cachedReadAccessor instanceof CompilablePropertyAccessor)) {
+				return "property accessor is not compilable: " + this.cachedReadAccessor;
+			}
+		}
+		if (this.indexedType == null || this.indexedType == IndexedType.STRING) {
+			return "not evaluated yet, or indexing into a type not supported by the compiler";
+		}
+		return super.getNonCompilableReason();
+	}
+
 	@Override
 	public void generateCode(MethodVisitor mv, CodeFlow cf) {
 		String descriptor = cf.lastDescriptor();
-		if (descriptor == null) {
+		if (descriptor == null && this.indexedType != IndexedType.OBJECT) {
 			// Stack is empty, should use context object
 			cf.loadTarget(mv);
 		}
@@ -256,8 +281,11 @@ public class Indexer extends SpelNodeImpl {
 				insn = AALOAD;
 			}
 			SpelNodeImpl index = this.children[0];
+			// Like in interpreted mode, the index is evaluated against the root object
 			cf.enterCompilationScope();
+			cf.enterTargetScope(1);
 			index.generateCode(mv, cf);
+			cf.exitTargetScope();
 			cf.exitCompilationScope();
 			mv.visitInsn(insn);
 		}
@@ -265,7 +293,9 @@ public class Indexer extends SpelNodeImpl {
 		else if (this.indexedType == IndexedType.LIST) {
 			mv.visitTypeInsn(CHECKCAST, "java/util/List");
 			cf.enterCompilationScope();
+			cf.enterTargetScope(1);
 			this.children[0].generateCode(mv, cf);
+			cf.exitTargetScope();
 			cf.exitCompilationScope();
 			mv.visitMethodInsn(INVOKEINTERFACE, "java/util/List", "get", "(I)Ljava/lang/Object;", true);
 		}
@@ -280,8 +310,15 @@ public class Indexer extends SpelNodeImpl {
 				mv.visitLdcInsn(mapKeyName);
 			}
 			else {
+				// Like in interpreted mode, the key is evaluated against the root object
 				cf.enterCompilationScope();
+				cf.enterTargetScope(1);
 				this.children[0].generateCode(mv, cf);
+				String keyDescriptor = cf.lastDescriptor();
+				if (CodeFlow.isPrimitive(keyDescriptor)) {
+					CodeFlow.insertBoxIfNecessary(mv, keyDescriptor.charAt(0));
+				}
+				cf.exitTargetScope();
 				cf.exitCompilationScope();
 			}
 			mv.visitMethodInsn(
@@ -289,30 +326,11 @@ public class Indexer extends SpelNodeImpl {
 		}
 
 		else if (this.indexedType == IndexedType.OBJECT) {
-			ReflectivePropertyAccessor.OptimalPropertyAccessor accessor =
-					(ReflectivePropertyAccessor.OptimalPropertyAccessor) this.cachedReadAccessor;
+			CompilablePropertyAccessor accessor = (CompilablePropertyAccessor) this.cachedReadAccessor;
 			Assert.state(accessor != null, "No cached read accessor");
-			Member member = accessor.member;
-			boolean isStatic = Modifier.isStatic(member.getModifiers());
-			String classDesc = member.getDeclaringClass().getName().replace('.', '/');
-
-			if (!isStatic) {
-				if (descriptor == null) {
-					cf.loadTarget(mv);
-				}
-				if (descriptor == null || !classDesc.equals(descriptor.substring(1))) {
-					mv.visitTypeInsn(CHECKCAST, classDesc);
-				}
-			}
-
-			if (member instanceof Method) {
-				mv.visitMethodInsn((isStatic? INVOKESTATIC : INVOKEVIRTUAL), classDesc, member.getName(),
-						CodeFlow.createSignatureDescriptor((Method) member), false);
-			}
-			else {
-				mv.visitFieldInsn((isStatic ? GETSTATIC : GETFIELD), classDesc, member.getName(),
-						CodeFlow.toJvmDescriptor(((Field) member).getType()));
-			}
+			String propertyName = (String) ((StringLiteral) getChild(0)).getLiteralValue().getValue();
+			Assert.state(propertyName != null, "No property name");
+			accessor.generateCode(propertyName, mv, cf);
 		}
 
 		cf.pushDescriptor(this.exitTypeDescriptor);
@@ -582,14 +600,13 @@ public class Indexer extends SpelNodeImpl {
 						Indexer.this.cachedReadAccessor = accessor;
 						Indexer.this.cachedReadName = this.name;
 						Indexer.this.cachedReadTargetType = targetObjectRuntimeClass;
-						if (accessor instanceof ReflectivePropertyAccessor.OptimalPropertyAccessor) {
-							ReflectivePropertyAccessor.OptimalPropertyAccessor optimalAccessor =
-									(ReflectivePropertyAccessor.OptimalPropertyAccessor) accessor;
-							Member member = optimalAccessor.member;
-							Indexer.this.exitTypeDescriptor = CodeFlow.toDescriptor(member instanceof Method ?
-									((Method) member).getReturnType() : ((Field) member).getType());
+						TypedValue result = accessor.read(this.evaluationContext, this.targetObject, this.name);
+						if (accessor instanceof CompilablePropertyAccessor) {
+							// The property type may only be known once a read has occurred
+							Indexer.this.exitTypeDescriptor =
+									CodeFlow.toDescriptor(((CompilablePropertyAccessor) accessor).getPropertyType());
 						}
-						return accessor.read(this.evaluationContext, this.targetObject, this.name);
+						return result;
 					}
 				}
 			}
@@ -164,12 +164,15 @@ public class InlineList extends SpelNodeImpl {
 			else {
 				mv.visitInsn(DUP);
 			}
-			// The children might be further lists if they are not constants. In this
+			// The children might be further lists or maps if they are not constants. In this
 			// situation do not call back into generateCode() because it will register another clinit adder.
 			// Instead, directly build the list here:
 			if (this.children[c] instanceof InlineList) {
 				((InlineList)this.children[c]).generateClinitCode(clazzname, constantFieldName, mv, codeflow, true);
 			}
+			else if (this.children[c] instanceof InlineMap) {
+				((InlineMap)this.children[c]).generateMapCode(mv, codeflow, true);
+			}
 			else {
 				this.children[c].generateCode(mv, codeflow);
 				String lastDesc = codeflow.lastDescriptor();
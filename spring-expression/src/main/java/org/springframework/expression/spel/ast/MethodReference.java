@@ -53,6 +53,16 @@ import org.springframework.util.ObjectUtils;
  */
 public class MethodReference extends SpelNodeImpl {
 
+	/**
+	 * The maximum number of target and argument type combinations for which a
+	 * node keeps resolved executors: beyond that, further combinations are
+	 * resolved on every evaluation.
+	 */
+	private static final int MAX_CACHED_EXECUTORS = 4;
+
+	private static final CachedMethodExecutor[] NO_CACHED_EXECUTORS = new CachedMethodExecutor[0];
+
+
 	private final String name;
 
 	private final boolean nullSafe;
@@ -63,6 +73,8 @@ public class MethodReference extends SpelNodeImpl {
 	@Nullable
 	private volatile CachedMethodExecutor cachedExecutor;
 
+	private volatile CachedMethodExecutor[] cachedExecutors = NO_CACHED_EXECUTORS;
+
 
 	public MethodReference(boolean nullSafe, String methodName, int pos, SpelNodeImpl... arguments) {
 		super(pos, arguments);
@@ -99,16 +111,18 @@ public class MethodReference extends SpelNodeImpl {
 	private TypedValue getValueInternal(EvaluationContext evaluationContext,
 			@Nullable Object value, @Nullable TypeDescriptor targetType, Object[] arguments) {
 
-		List<TypeDescriptor> argumentTypes = getArgumentTypes(arguments);
 		if (value == null) {
-			throwIfNotNullSafe(argumentTypes);
+			throwIfNotNullSafe(getArgumentTypes(arguments));
 			return TypedValue.NULL;
 		}
 
-		MethodExecutor executorToUse = getCachedExecutor(evaluationContext, value, targetType, argumentTypes);
-		if (executorToUse != null) {
+		List<TypeDescriptor> argumentTypes = null;
+		CachedMethodExecutor cachedExecutor = getCachedExecutor(evaluationContext, value, targetType, arguments);
+		if (cachedExecutor != null) {
+			// Matching argument types, captured before the executor may convert the arguments
+			argumentTypes = cachedExecutor.getArgumentTypes();
 			try {
-				return executorToUse.execute(evaluationContext, value, arguments);
+				return cachedExecutor.get().execute(evaluationContext, value, arguments);
 			}
 			catch (AccessException ex) {
 				// Two reasons this can occur:
@@ -126,14 +140,17 @@ public class MethodReference extends SpelNodeImpl {
 
 				// At this point we know it wasn't a user problem so worth a retry if a
 				// better candidate can be found.
-				this.cachedExecutor = null;
+				evictCachedExecutor(cachedExecutor);
 			}
 		}
 
 		// either there was no accessor or it no longer existed
-		executorToUse = findAccessorForMethod(argumentTypes, value, evaluationContext);
-		this.cachedExecutor = new CachedMethodExecutor(
-				executorToUse, (value instanceof Class ? (Class<?>) value : null), targetType, argumentTypes);
+		if (argumentTypes == null) {
+			argumentTypes = getArgumentTypes(arguments);
+		}
+		MethodExecutor executorToUse = findAccessorForMethod(argumentTypes, value, evaluationContext);
+		cacheExecutor(new CachedMethodExecutor(
+				executorToUse, (value instanceof Class ? (Class<?>) value : null), targetType, argumentTypes));
 		try {
 			return executorToUse.execute(evaluationContext, value, arguments);
 		}
@@ -178,8 +195,8 @@ public class MethodReference extends SpelNodeImpl {
 	}
 
 	@Nullable
-	private MethodExecutor getCachedExecutor(EvaluationContext evaluationContext, Object value,
-			@Nullable TypeDescriptor target, List<TypeDescriptor> argumentTypes) {
+	private CachedMethodExecutor getCachedExecutor(EvaluationContext evaluationContext, Object value,
+			@Nullable TypeDescriptor target, Object[] arguments) {
 
 		List<MethodResolver> methodResolvers = evaluationContext.getMethodResolvers();
 		if (methodResolvers.size() != 1 || !(methodResolvers.get(0) instanceof ReflectiveMethodResolver)) {
@@ -188,13 +205,47 @@ public class MethodReference extends SpelNodeImpl {
 		}
 
 		CachedMethodExecutor executorToCheck = this.cachedExecutor;
-		if (executorToCheck != null && executorToCheck.isSuitable(value, target, argumentTypes)) {
-			return executorToCheck.get();
+		if (executorToCheck != null && executorToCheck.isSuitable(value, target, arguments)) {
+			return executorToCheck;
+		}
+		// Polymorphic call site: check the executors resolved for other types before
+		for (CachedMethodExecutor candidate : this.cachedExecutors) {
+			if (candidate.isSuitable(value, target, arguments)) {
+				this.cachedExecutor = candidate;
+				return candidate;
+			}
 		}
 		this.cachedExecutor = null;
 		return null;
 	}
 
+	private void cacheExecutor(CachedMethodExecutor executorToCache) {
+		this.cachedExecutor = executorToCache;
+		CachedMethodExecutor[] cached = this.cachedExecutors;
+		List<CachedMethodExecutor> result = new ArrayList<>(cached.length + 1);
+		for (CachedMethodExecutor existing : cached) {
+			if (!existing.hasSameKey(executorToCache)) {
+				result.add(existing);
+			}
+		}
+		if (result.size() < MAX_CACHED_EXECUTORS) {
+			result.add(executorToCache);
+			this.cachedExecutors = result.toArray(NO_CACHED_EXECUTORS);
+		}
+	}
+
+	private void evictCachedExecutor(CachedMethodExecutor executorToEvict) {
+		this.cachedExecutor = null;
+		CachedMethodExecutor[] cached = this.cachedExecutors;
+		List<CachedMethodExecutor> result = new ArrayList<>(cached.length);
+		for (CachedMethodExecutor existing : cached) {
+			if (existing != executorToEvict) {
+				result.add(existing);
+			}
+		}
+		this.cachedExecutors = result.toArray(NO_CACHED_EXECUTORS);
+	}
+
 	private MethodExecutor findAccessorForMethod(List<TypeDescriptor> argumentTypes, Object targetObject,
 			EvaluationContext evaluationContext) throws SpelEvaluationException {
 
@@ -426,9 +477,30 @@ public class MethodReference extends SpelNodeImpl {
 			this.argumentTypes = argumentTypes;
 		}
 
-		public boolean isSuitable(Object value, @Nullable TypeDescriptor target, List<TypeDescriptor> argumentTypes) {
-			return ((this.staticClass == null || this.staticClass == value) &&
-					ObjectUtils.nullSafeEquals(this.target, target) && this.argumentTypes.equals(argumentTypes));
+		public boolean isSuitable(Object value, @Nullable TypeDescriptor target, Object[] arguments) {
+			if ((this.staticClass != null && this.staticClass != value) ||
+					!ObjectUtils.nullSafeEquals(this.target, target) || this.argumentTypes.size() != arguments.length) {
+				return false;
+			}
+			// Compare against the argument classes directly, without creating type descriptors
+			for (int i = 0; i < arguments.length; i++) {
+				TypeDescriptor argumentType = this.argumentTypes.get(i);
+				Object argument = arguments[i];
+				if (argument != null ? (argumentType == null || argumentType.getType() != argument.getClass()) :
+						argumentType != null) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		public boolean hasSameKey(CachedMethodExecutor other) {
+			return (this.staticClass == other.staticClass && ObjectUtils.nullSafeEquals(this.target, other.target) &&
+					this.argumentTypes.equals(other.argumentTypes));
+		}
+
+		public List<TypeDescriptor> getArgumentTypes() {
+			return this.argumentTypes;
 		}
 
 		public boolean hasProxyTarget() {
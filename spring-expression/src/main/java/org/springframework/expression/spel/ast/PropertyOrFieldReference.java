@@ -50,6 +50,15 @@ import org.springframework.util.ReflectionUtils;
  */
 public class PropertyOrFieldReference extends SpelNodeImpl {
 
+	/**
+	 * The maximum number of target types for which a node keeps optimal read
+	 * accessors: beyond that, further types are resolved on every evaluation.
+	 */
+	private static final int MAX_CACHED_READ_TYPES = 4;
+
+	private static final CachedReadAccessor[] NO_CACHED_READ_ACCESSORS = new CachedReadAccessor[0];
+
+
 	private final boolean nullSafe;
 
 	private final String name;
@@ -63,6 +72,8 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 	@Nullable
 	private volatile PropertyAccessor cachedWriteAccessor;
 
+	private volatile CachedReadAccessor[] cachedReadAccessors = NO_CACHED_READ_ACCESSORS;
+
 
 	public PropertyOrFieldReference(boolean nullSafe, String propertyOrFieldName, int pos) {
 		super(pos);
@@ -174,6 +185,28 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 			return TypedValue.NULL;
 		}
 
+		if (targetObject != null) {
+			CachedReadAccessor cached = getCachedReadAccessor(targetObject, evalContext.getPropertyAccessors());
+			if (cached != null) {
+				try {
+					TypedValue result = cached.get().read(evalContext, targetObject, name);
+					if (this.cachedReadAccessor != cached.get()) {
+						this.cachedReadAccessor = cached.get();
+					}
+					return result;
+				}
+				catch (AccessException ex) {
+					if (ex.getCause() instanceof InvocationTargetException) {
+						// The getter itself threw an exception - no point in retrying
+						throw new SpelEvaluationException(
+								ex, SpelMessage.EXCEPTION_DURING_PROPERTY_READ, name, ex.getMessage());
+					}
+					// Otherwise the member may have become inaccessible: resolve it again below
+					evictCachedReadAccessor(cached);
+				}
+			}
+		}
+
 		PropertyAccessor accessorToUse = this.cachedReadAccessor;
 		if (accessorToUse != null) {
 			if (evalContext.getPropertyAccessors().contains(accessorToUse)) {
@@ -194,15 +227,23 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 		// get the accessor and use it. If they are not cacheable but report they can read the property
 		// then ask them to read it
 		try {
+			boolean firstCandidate = true;
 			for (PropertyAccessor accessor : accessorsToTry) {
 				if (accessor.canRead(evalContext, contextObject.getValue(), name)) {
 					if (accessor instanceof ReflectivePropertyAccessor) {
 						accessor = ((ReflectivePropertyAccessor) accessor).createOptimalAccessor(
 								evalContext, contextObject.getValue(), name);
+						// Only cache per target type if no other accessor had a say in the resolution
+						if (firstCandidate && targetObject != null &&
+								accessor instanceof ReflectivePropertyAccessor.OptimalPropertyAccessor) {
+							cacheReadAccessor(new CachedReadAccessor(
+									targetObject, evalContext.getPropertyAccessors(), accessor));
+						}
 					}
 					this.cachedReadAccessor = accessor;
 					return accessor.read(evalContext, contextObject.getValue(), name);
 				}
+				firstCandidate = false;
 			}
 		}
 		catch (Exception ex) {
@@ -218,6 +259,41 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 		}
 	}
 
+	@Nullable
+	private CachedReadAccessor getCachedReadAccessor(Object target, List<PropertyAccessor> propertyAccessors) {
+		for (CachedReadAccessor cached : this.cachedReadAccessors) {
+			if (cached.isSuitable(target, propertyAccessors)) {
+				return cached;
+			}
+		}
+		return null;
+	}
+
+	private void cacheReadAccessor(CachedReadAccessor accessorToCache) {
+		CachedReadAccessor[] cached = this.cachedReadAccessors;
+		List<CachedReadAccessor> result = new ArrayList<>(cached.length + 1);
+		for (CachedReadAccessor existing : cached) {
+			if (!existing.hasSameTarget(accessorToCache)) {
+				result.add(existing);
+			}
+		}
+		if (result.size() < MAX_CACHED_READ_TYPES) {
+			result.add(accessorToCache);
+			this.cachedReadAccessors = result.toArray(NO_CACHED_READ_ACCESSORS);
+		}
+	}
+
+	private void evictCachedReadAccessor(CachedReadAccessor accessorToEvict) {
+		CachedReadAccessor[] cached = this.cachedReadAccessors;
+		List<CachedReadAccessor> result = new ArrayList<>(cached.length);
+		for (CachedReadAccessor existing : cached) {
+			if (existing != accessorToEvict) {
+				result.add(existing);
+			}
+		}
+		this.cachedReadAccessors = result.toArray(NO_CACHED_READ_ACCESSORS);
+	}
+
 	private void writeProperty(
 			TypedValue contextObject, EvaluationContext evalContext, String name, @Nullable Object newValue)
 			throws EvaluationException {
@@ -422,4 +498,54 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 		}
 	}
 
+
+	/**
+	 * An optimal read accessor resolved for a specific target type, reusable for
+	 * further targets of exactly that type as long as the evaluation context
+	 * provides the same kinds of property accessors in the same order.
+	 */
+	private static class CachedReadAccessor {
+
+		private final Class<?> targetType;
+
+		private final boolean staticTarget;
+
+		private final Class<?>[] accessorTypes;
+
+		private final PropertyAccessor accessor;
+
+		public CachedReadAccessor(Object target, List<PropertyAccessor> propertyAccessors, PropertyAccessor accessor) {
+			this.staticTarget = (target instanceof Class);
+			this.targetType = (this.staticTarget ? (Class<?>) target : target.getClass());
+			this.accessorTypes = new Class<?>[propertyAccessors.size()];
+			for (int i = 0; i < this.accessorTypes.length; i++) {
+				this.accessorTypes[i] = propertyAccessors.get(i).getClass();
+			}
+			this.accessor = accessor;
+		}
+
+		public boolean isSuitable(Object target, List<PropertyAccessor> propertyAccessors) {
+			boolean staticTarget = (target instanceof Class);
+			if (this.staticTarget != staticTarget ||
+					this.targetType != (staticTarget ? target : target.getClass()) ||
+					this.accessorTypes.length != propertyAccessors.size()) {
+				return false;
+			}
+			for (int i = 0; i < this.accessorTypes.length; i++) {
+				if (this.accessorTypes[i] != propertyAccessors.get(i).getClass()) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		public boolean hasSameTarget(CachedReadAccessor other) {
+			return (this.staticTarget == other.staticTarget && this.targetType == other.targetType);
+		}
+
+		public PropertyAccessor get() {
+			return this.accessor;
+		}
+	}
+
 }
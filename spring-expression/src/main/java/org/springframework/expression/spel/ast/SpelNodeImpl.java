@@ -175,6 +175,24 @@ public abstract class SpelNodeImpl implements SpelNode, Opcodes {
 		return false;
 	}
 
+	/**
+	 * Describe why this node itself cannot be compiled to bytecode, for diagnostic
+	 * purposes. Only meaningful if {@link #isCompilable()} returns {@code false}
+	 * even though all child nodes are compilable.
+	 * @return the reason, or {@code null} if none is known
+	 * @since 5.1
+	 */
+	@Nullable
+	public String getNonCompilableReason() {
+		if (isCompilable()) {
+			return null;
+		}
+		if (this.exitTypeDescriptor == null) {
+			return "result type not known: not evaluated yet, or not supported by the compiler";
+		}
+		return "not supported by the compiler for the values evaluated so far";
+	}
+
 	/**
 	 * Generate the bytecode for this node into the supplied visitor. Context info about
 	 * the current expression being compiled is available in the codeflow object. For
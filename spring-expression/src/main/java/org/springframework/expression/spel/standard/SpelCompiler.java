@@ -18,6 +18,8 @@ package org.springframework.expression.spel.standard;
 
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -110,14 +112,50 @@ public final class SpelCompiler implements Opcodes {
 					throw new IllegalStateException("Failed to instantiate CompiledExpression", ex);
 				}
 			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("SpEL: unable to compile " + expression.toStringAST());
+			}
 		}
-
-		if (logger.isDebugEnabled()) {
-			logger.debug("SpEL: unable to compile " + expression.toStringAST());
+		else if (logger.isDebugEnabled()) {
+			logger.debug("SpEL: unable to compile " + expression.toStringAST() + " - " +
+					getCompilationDiagnostics(expression));
 		}
 		return null;
 	}
 
+	/**
+	 * Determine why the supplied expression cannot be compiled. Every node that is
+	 * not compilable even though all of its child nodes are is reported with its
+	 * {@link SpelNodeImpl#getNonCompilableReason() reason}: these are the nodes to
+	 * look at first, since their parents may well become compilable along with them.
+	 * @param expression the expression to check
+	 * @return a description for each such node, or an empty list if the expression
+	 * is compilable
+	 * @since 5.1
+	 */
+	public static List<String> getCompilationDiagnostics(SpelNodeImpl expression) {
+		List<String> diagnostics = new ArrayList<>();
+		collectCompilationDiagnostics(expression, diagnostics);
+		return diagnostics;
+	}
+
+	private static boolean collectCompilationDiagnostics(SpelNodeImpl node, List<String> diagnostics) {
+		if (node.isCompilable()) {
+			return true;
+		}
+		boolean childrenCompilable = true;
+		for (int i = 0; i < node.getChildCount(); i++) {
+			if (!collectCompilationDiagnostics((SpelNodeImpl) node.getChild(i), diagnostics)) {
+				childrenCompilable = false;
+			}
+		}
+		if (childrenCompilable) {
+			diagnostics.add("'" + node.toStringAST() + "' (" + node.getClass().getSimpleName() +
+					" at position " + node.getStartPosition() + "): " + node.getNonCompilableReason());
+		}
+		return false;
+	}
+
 	private int getNextSuffix() {
 		return this.suffixId.incrementAndGet();
 	}
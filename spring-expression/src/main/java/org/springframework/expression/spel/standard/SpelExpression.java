@@ -16,6 +16,8 @@
 
 package org.springframework.expression.spel.standard;
 
+import java.util.List;
+
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.EvaluationException;
@@ -523,6 +525,20 @@ public class SpelExpression implements Expression {
 		return (this.compiledAst != null);
 	}
 
+	/**
+	 * Return the reasons why this expression cannot currently be compiled, e.g. to
+	 * find out why an expression keeps being interpreted. Since compilation relies on
+	 * types learned during interpreted evaluation, the result depends on the
+	 * evaluations performed so far.
+	 * @return a description for each sub-expression that prevents compilation,
+	 * or an empty list if the expression is compilable
+	 * @since 5.1
+	 * @see SpelCompiler#getCompilationDiagnostics(SpelNodeImpl)
+	 */
+	public List<String> getCompilationDiagnostics() {
+		return SpelCompiler.getCompilationDiagnostics(this.ast);
+	}
+
 	/**
 	 * Cause an expression to revert to being interpreted if it has been using a compiled
 	 * form. It also resets the compilation attempt failure count (an expression is normally no
@@ -331,6 +331,24 @@ public abstract class ReflectionHelper {
 		return (type.getComponentType().isPrimitive() ? arrayValue.equals(value) : arrayValue == value);
 	}
 
+	/**
+	 * Narrow the given declared type to the actual type of the supplied value.
+	 * <p>Avoids creating a new descriptor if the value is exactly of the declared
+	 * type and the declared type carries no generics that narrowing would drop.
+	 * @param declaredType the declared type of a method return value or field
+	 * @param value the actual value (may be {@code null})
+	 * @return the narrowed type descriptor
+	 * @since 5.1
+	 * @see TypeDescriptor#narrow(Object)
+	 */
+	static TypeDescriptor narrow(TypeDescriptor declaredType, @Nullable Object value) {
+		if (value == null || (value.getClass() == declaredType.getType() &&
+				!declaredType.getResolvableType().hasGenerics())) {
+			return declaredType;
+		}
+		return declaredType.narrow(value);
+	}
+
 	/**
 	 * Package up the arguments so that they correctly match what is expected in parameterTypes.
 	 * For example, if parameterTypes is {@code (int, String[])} because the second parameter
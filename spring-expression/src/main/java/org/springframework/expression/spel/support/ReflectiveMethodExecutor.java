@@ -45,6 +45,8 @@ public class ReflectiveMethodExecutor implements MethodExecutor {
 	@Nullable
 	private final Integer varargsPosition;
 
+	private final TypeDescriptor returnType;
+
 	private boolean computedPublicDeclaringClass = false;
 
 	@Nullable
@@ -67,6 +69,7 @@ public class ReflectiveMethodExecutor implements MethodExecutor {
 		else {
 			this.varargsPosition = null;
 		}
+		this.returnType = new TypeDescriptor(new MethodParameter(method, -1));
 	}
 
 
@@ -128,7 +131,7 @@ public class ReflectiveMethodExecutor implements MethodExecutor {
 			}
 			ReflectionUtils.makeAccessible(this.methodToInvoke);
 			Object value = this.methodToInvoke.invoke(target, arguments);
-			return new TypedValue(value, new TypeDescriptor(new MethodParameter(this.originalMethod, -1)).narrow(value));
+			return new TypedValue(value, ReflectionHelper.narrow(this.returnType, value));
 		}
 		catch (Exception ex) {
 			throw new AccessException("Problem invoking method: " + this.methodToInvoke, ex);
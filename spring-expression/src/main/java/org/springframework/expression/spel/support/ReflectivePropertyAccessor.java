@@ -690,7 +690,7 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 				try {
 					ReflectionUtils.makeAccessible(method);
 					Object value = method.invoke(target);
-					return new TypedValue(value, this.typeDescriptor.narrow(value));
+					return new TypedValue(value, ReflectionHelper.narrow(this.typeDescriptor, value));
 				}
 				catch (Exception ex) {
 					throw new AccessException("Unable to access property '" + name + "' through getter method", ex);
@@ -701,7 +701,7 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 				try {
 					ReflectionUtils.makeAccessible(field);
 					Object value = field.get(target);
-					return new TypedValue(value, this.typeDescriptor.narrow(value));
+					return new TypedValue(value, ReflectionHelper.narrow(this.typeDescriptor, value));
 				}
 				catch (Exception ex) {
 					throw new AccessException("Unable to access field '" + name + "'", ex);
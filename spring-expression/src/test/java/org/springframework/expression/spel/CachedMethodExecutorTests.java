@@ -16,12 +16,20 @@
 
 package org.springframework.expression.spel;
 
+import java.util.Collections;
+import java.util.List;
+
 import org.junit.Test;
 
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.expression.AccessException;
+import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.MethodExecutor;
 import org.springframework.expression.spel.ast.MethodReference;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.ReflectiveMethodResolver;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
 import static org.junit.Assert.*;
@@ -58,12 +66,39 @@ public class CachedMethodExecutorTests {
 		assertMethodExecution(expression, new RootObject(), "int: 42");
 	}
 
+	@Test
+	public void testCachedExecutionForAlternatingTargets() {
+		CountingMethodResolver resolver = new CountingMethodResolver();
+		this.context.setMethodResolvers(Collections.singletonList(resolver));
+		Expression expression = this.parser.parseExpression("#var.echo(42)");
+
+		for (int i = 0; i < 3; i++) {
+			assertMethodExecution(expression, new RootObject(), "int: 42");
+			assertMethodExecution(expression, new BaseObject(), "String: 42");
+		}
+		assertEquals(2, resolver.resolveCount);
+	}
+
 	private void assertMethodExecution(Expression expression, Object var, String expected) {
 		this.context.setVariable("var", var);
 		assertEquals(expected, expression.getValue(this.context));
 	}
 
 
+	private static class CountingMethodResolver extends ReflectiveMethodResolver {
+
+		int resolveCount;
+
+		@Override
+		public MethodExecutor resolve(EvaluationContext context, Object targetObject, String name,
+				List<TypeDescriptor> argumentTypes) throws AccessException {
+
+			this.resolveCount++;
+			return super.resolve(context, targetObject, name, argumentTypes);
+		}
+	}
+
+
 	public static class BaseObject {
 
 		public String echo(String value) {
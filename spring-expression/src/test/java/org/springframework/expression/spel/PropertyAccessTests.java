@@ -17,6 +17,7 @@
 package org.springframework.expression.spel;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -32,8 +33,10 @@ import org.springframework.expression.PropertyAccessor;
 import org.springframework.expression.TypedValue;
 import org.springframework.expression.spel.standard.SpelExpression;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.ReflectivePropertyAccessor;
 import org.springframework.expression.spel.support.SimpleEvaluationContext;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.expression.spel.testresources.Inventor;
 import org.springframework.expression.spel.testresources.Person;
 
 import static org.junit.Assert.*;
@@ -285,6 +288,41 @@ public class PropertyAccessTests extends AbstractExpressionTests {
 		assertSame(Object.class, context.getRootObject().getTypeDescriptor().getType());
 	}
 
+	@Test
+	public void propertyReadForAlternatingTargetTypes() {
+		CountingPropertyAccessor accessor = new CountingPropertyAccessor();
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		context.setPropertyAccessors(Collections.singletonList(accessor));
+		Expression expression = parser.parseExpression("#target.name");
+
+		for (int i = 0; i < 3; i++) {
+			context.setVariable("target", new Person("p" + i));
+			assertEquals("p" + i, expression.getValue(context));
+			context.setVariable("target", new Inventor("i" + i, null, null));
+			assertEquals("i" + i, expression.getValue(context));
+		}
+		// Resolved once per target type, then served from the node's cache
+		assertEquals(2, accessor.optimalAccessorCount);
+
+		// A different set of property accessors invalidates the cached resolution
+		context.setPropertyAccessors(Arrays.asList(accessor, new StringyPropertyAccessor()));
+		context.setVariable("target", new Person("p3"));
+		assertEquals("p3", expression.getValue(context));
+		assertEquals(3, accessor.optimalAccessorCount);
+	}
+
+
+	private static class CountingPropertyAccessor extends ReflectivePropertyAccessor {
+
+		int optimalAccessorCount;
+
+		@Override
+		public PropertyAccessor createOptimalAccessor(EvaluationContext context, Object target, String name) {
+			this.optimalAccessorCount++;
+			return super.createOptimalAccessor(context, target, name);
+		}
+	}
+
 
 	// This can resolve the property 'flibbles' on any String (very useful...)
 	private static class StringyPropertyAccessor implements PropertyAccessor {
@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -103,10 +104,13 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 	 * ConstructorReference
 	 * FunctionReference
 	 * InlineList
+	 * InlineMap
 	 * OpModulus
+	 * Projection (over an Iterable)
+	 * Selection (over an Iterable)
+	 * Assign (to a variable)
 	 *
 	 * Not yet compiled (some may never need to be):
-	 * Assign
 	 * BeanReference
 	 * Identifier
 	 * OpDec
@@ -114,9 +118,7 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 	 * OpMatches
 	 * OpPower
 	 * OpInc
-	 * Projection
 	 * QualifiedId
-	 * Selection
 	 */
 
 
@@ -441,6 +443,168 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		assertEquals("op", o);
 	}
 
+	@SuppressWarnings("rawtypes")
+	@Test
+	public void inlineMap() throws Exception {
+		expression = parser.parseExpression("{a:'abc',b:'def'}");
+		Map<?, ?> m = (Map) expression.getValue();
+		assertEquals("{a=abc, b=def}", m.toString());
+		assertCanCompile(expression);
+		m = (Map) expression.getValue();
+		assertEquals("{a=abc, b=def}", m.toString());
+
+		expression = parser.parseExpression("{a:{1,2},b:{c:3}}['b']['c']");
+		assertEquals(3, expression.getValue());
+		assertCanCompile(expression);
+		assertEquals(3, expression.getValue());
+
+		StandardEvaluationContext ctx = new StandardEvaluationContext();
+		ctx.setVariable("one", 1);
+		ctx.setVariable("two", 2);
+		expression = parser.parseExpression("{'one':#one,'two':#two+1}");
+		m = (Map) expression.getValue(ctx);
+		assertEquals("{one=1, two=3}", m.toString());
+		assertCanCompile(expression);
+		ctx.setVariable("two", 5);
+		m = (Map) expression.getValue(ctx);
+		assertEquals("{one=1, two=6}", m.toString());
+		assertNotSame(m, expression.getValue(ctx));
+	}
+
+	@Test
+	public void projection() throws Exception {
+		List<String> list = Arrays.asList("a", "bb", "ccc");
+		expression = parser.parseExpression("![length()]");
+		assertEquals(Arrays.asList(1, 2, 3), expression.getValue(list));
+		assertCanCompile(expression);
+		assertEquals(Arrays.asList(1, 2, 3), expression.getValue(list));
+
+		expression = parser.parseExpression("![#this+'!']");
+		assertEquals(Arrays.asList("a!", "bb!", "ccc!"), expression.getValue(list));
+		assertCanCompile(expression);
+		assertEquals(Arrays.asList("a!", "bb!", "ccc!"), expression.getValue(list));
+
+		StandardEvaluationContext ctx = new StandardEvaluationContext();
+		ctx.setVariable("names", list);
+		expression = parser.parseExpression("#names?.![toUpperCase()]");
+		assertEquals(Arrays.asList("A", "BB", "CCC"), expression.getValue(ctx));
+		assertCanCompile(expression);
+		assertEquals(Arrays.asList("A", "BB", "CCC"), expression.getValue(ctx));
+		ctx.setVariable("names", null);
+		assertNull(expression.getValue(ctx));
+
+		// Projections over arrays and maps are not compiled
+		expression = parser.parseExpression("![#this]");
+		expression.getValue(new String[] {"a", "b"});
+		assertCantCompile(expression);
+	}
+
+	@Test
+	public void selection() throws Exception {
+		List<String> list = Arrays.asList("a", "bb", "ccc", "dd");
+		expression = parser.parseExpression("?[length()>1]");
+		assertEquals(Arrays.asList("bb", "ccc", "dd"), expression.getValue(list));
+		assertCanCompile(expression);
+		assertEquals(Arrays.asList("bb", "ccc", "dd"), expression.getValue(list));
+
+		expression = parser.parseExpression("^[length()>1]");
+		assertEquals("bb", expression.getValue(list));
+		assertCanCompile(expression);
+		assertEquals("bb", expression.getValue(list));
+
+		expression = parser.parseExpression("$[length()>1]");
+		assertEquals("dd", expression.getValue(list));
+		assertCanCompile(expression);
+		assertEquals("dd", expression.getValue(list));
+
+		expression = parser.parseExpression("^[length()>3]");
+		assertNull(expression.getValue(list));
+		assertCanCompile(expression);
+		assertNull(expression.getValue(list));
+
+		expression = parser.parseExpression("?[#this.startsWith('c') or length()==1].![length()]");
+		assertEquals(Arrays.asList(1, 3), expression.getValue(list));
+		assertCanCompile(expression);
+		assertEquals(Arrays.asList(1, 3), expression.getValue(list));
+	}
+
+	@Test
+	public void assignToVariable() throws Exception {
+		StandardEvaluationContext ctx = new StandardEvaluationContext();
+		expression = parser.parseExpression("#count='abc'.length()");
+		assertEquals(3, expression.getValue(ctx));
+		assertCanCompile(expression);
+		ctx.setVariable("count", null);
+		assertEquals(3, expression.getValue(ctx));
+		assertEquals(3, ctx.lookupVariable("count"));
+
+		// Only assignments to variables are compiled
+		Map<String, String> map = new HashMap<>();
+		expression = parser.parseExpression("['key']='value'");
+		assertEquals("value", expression.getValue(map));
+		assertCantCompile(expression);
+		assertEquals("value", map.get("key"));
+	}
+
+	@Test
+	public void mapIndexerWithComputedKey() throws Exception {
+		Map<Object, String> map = new HashMap<>();
+		map.put("abc", "one");
+		map.put(2, "two");
+		StandardEvaluationContext ctx = new StandardEvaluationContext();
+		ctx.setVariable("map", map);
+		ctx.setVariable("key", "ab");
+
+		expression = parser.parseExpression("#map[#key+'c']");
+		assertEquals("one", expression.getValue(ctx));
+		assertCanCompile(expression);
+		assertEquals("one", expression.getValue(ctx));
+
+		expression = parser.parseExpression("#map[1+1]");
+		assertEquals("two", expression.getValue(ctx));
+		assertCanCompile(expression);
+		assertEquals("two", expression.getValue(ctx));
+	}
+
+	@Test
+	public void indexerWithComputedIndexInProjectionAndSelection() throws Exception {
+		IndexedElements root = new IndexedElements();
+
+		expression = parser.parseExpression("names.![#root.names[index]]");
+		assertEquals(Arrays.asList("ccc", "ccc", "ccc"), expression.getValue(root));
+		assertCanCompile(expression);
+		assertEquals(Arrays.asList("ccc", "ccc", "ccc"), expression.getValue(root));
+
+		expression = parser.parseExpression("names.![#root.numbers[index]]");
+		assertEquals(Arrays.asList(30, 30, 30), expression.getValue(root));
+		assertCanCompile(expression);
+		assertEquals(Arrays.asList(30, 30, 30), expression.getValue(root));
+
+		expression = parser.parseExpression("names.?[#root.numbers[index] > length() * 10]");
+		assertEquals(Arrays.asList("a", "bb"), expression.getValue(root));
+		assertCanCompile(expression);
+		assertEquals(Arrays.asList("a", "bb"), expression.getValue(root));
+	}
+
+	@Test
+	public void compilationDiagnostics() throws Exception {
+		SpelExpression expression = (SpelExpression) parser.parseExpression("#a.length()");
+		List<String> diagnostics = expression.getCompilationDiagnostics();
+		assertEquals(2, diagnostics.size());
+		assertTrue(diagnostics.get(0).startsWith("'#a' (VariableReference at position 0)"));
+		assertTrue(diagnostics.get(1).startsWith("'length()' (MethodReference at position 3)"));
+		StandardEvaluationContext ctx = new StandardEvaluationContext();
+		ctx.setVariable("a", "abc");
+		expression.getValue(ctx);
+		assertTrue(expression.getCompilationDiagnostics().isEmpty());
+
+		expression = (SpelExpression) parser.parseExpression("![#this]");
+		expression.getValue(new String[] {"a", "b"});
+		diagnostics = expression.getCompilationDiagnostics();
+		assertEquals(1, diagnostics.size());
+		assertTrue(diagnostics.get(0).contains("only projections over an Iterable are compilable"));
+	}
+
 	@Test
 	public void intLiteral() throws Exception {
 		expression = parser.parseExpression("42");
@@ -5111,6 +5275,22 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 	}
 
 
+	public static class IndexedElements {
+
+		public List<String> getNames() {
+			return Arrays.asList("a", "bb", "ccc");
+		}
+
+		public int[] getNumbers() {
+			return new int[] {10, 20, 30};
+		}
+
+		public int getIndex() {
+			return 2;
+		}
+	}
+
+
 	public static class GenericMessageTestHelper<T> {
 
 		private T payload;
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import org.springframework.util.Assert;
+
+/**
+ * Determines the size of the next chunk for a streaming batch update,
+ * based on the measured execution time of previous chunks.
+ *
+ * <p>Starts at the minimum batch size and aims for chunks that take about
+ * the target time to execute: after each chunk, the next size is derived
+ * from the time per row of that chunk, changing by at most a factor of two
+ * per step and staying within the minimum and maximum batch size. Setting
+ * both bounds to the same value results in fixed-size chunks.
+ *
+ * <p>Thread-safe, so that it can be shared between concurrent batch workers.
+ *
+ * @since 5.1
+ * @see JdbcTemplate#batchUpdate(String, java.util.Iterator, ParameterizedPreparedStatementSetter)
+ */
+final class AdaptiveBatchSizer {
+
+	private final int minBatchSize;
+
+	private final int maxBatchSize;
+
+	private final long targetNanos;
+
+	private int batchSize;
+
+
+	/**
+	 * Create a new {@code AdaptiveBatchSizer}.
+	 * @param minBatchSize the minimum (and initial) number of rows per chunk
+	 * @param maxBatchSize the maximum number of rows per chunk
+	 * @param targetTimeMillis the targeted execution time per chunk, in milliseconds
+	 */
+	AdaptiveBatchSizer(int minBatchSize, int maxBatchSize, long targetTimeMillis) {
+		Assert.isTrue(minBatchSize > 0, "Minimum batch size must be greater than 0");
+		Assert.isTrue(maxBatchSize >= minBatchSize, "Maximum batch size must not be less than minimum batch size");
+		Assert.isTrue(targetTimeMillis > 0, "Target time must be greater than 0");
+		this.minBatchSize = minBatchSize;
+		this.maxBatchSize = maxBatchSize;
+		this.targetNanos = targetTimeMillis * 1000000;
+		this.batchSize = minBatchSize;
+	}
+
+
+	/**
+	 * Return the number of rows to put into the next chunk.
+	 */
+	public synchronized int getBatchSize() {
+		return this.batchSize;
+	}
+
+	/**
+	 * Record the execution of a chunk, adapting the size of subsequent chunks.
+	 * @param rows the number of rows in the chunk
+	 * @param elapsedNanos the time it took to execute the chunk, in nanoseconds
+	 */
+	public synchronized void recordBatch(int rows, long elapsedNanos) {
+		if (rows <= 0) {
+			return;
+		}
+		long nanosPerRow = Math.max(elapsedNanos / rows, 1);
+		long idealSize = this.targetNanos / nanosPerRow;
+		long nextSize = Math.max(Math.min(idealSize, (long) this.batchSize * 2), this.batchSize / 2);
+		this.batchSize = (int) Math.max(this.minBatchSize, Math.min(this.maxBatchSize, nextSize));
+	}
+
+}
@@ -17,14 +17,20 @@
 package org.springframework.jdbc.core;
 
 import java.beans.PropertyDescriptor;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -42,6 +48,7 @@ import org.springframework.jdbc.support.JdbcUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -68,7 +75,11 @@ import org.springframework.util.StringUtils;
  * will have been set to the primitive's default value instead of null.
  *
  * <p>Please note that this class is designed to provide convenience rather than high performance.
- * For best performance, consider using a custom {@link RowMapper} implementation.
+ * For best performance, consider using a custom {@link RowMapper} implementation, or switch
+ * on {@link #setCompiledMapping "compiledMapping"}: in that mode, the column-to-property
+ * bindings are resolved once per result set layout, and properties of the types listed
+ * above are populated through generated bytecode which calls the typed {@code ResultSet}
+ * getters and the property setters directly.
  *
  * @author Thomas Risberg
  * @author Juergen Hoeller
@@ -102,6 +113,16 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 	@Nullable
 	private Set<String> mappedProperties;
 
+	/** Whether we're populating objects through generated bytecode. */
+	private boolean compiledMapping = false;
+
+	/** Compiled mappings per result set layout, keyed by column labels. */
+	private final Map<List<String>, CompiledMapping> compiledMappings = new ConcurrentHashMap<>(4);
+
+	/** The compiled mapping used for the most recent ResultSet. */
+	@Nullable
+	private volatile ResultSetMapping lastResultSetMapping;
+
 
 	/**
 	 * Create a new {@code BeanPropertyRowMapper} for bean-style configuration.
@@ -213,6 +234,33 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 		return this.conversionService;
 	}
 
+	/**
+	 * Set whether rows should be mapped through generated bytecode rather than
+	 * through a {@link BeanWrapper} for each row.
+	 * <p>Default is {@code false}. If switched to {@code true}, the bindings between
+	 * the columns of a result set and the bean properties are resolved on the first
+	 * row of each distinct column layout only; properties of the common types listed
+	 * in the {@linkplain BeanPropertyRowMapper class-level documentation} are then
+	 * populated through a generated class that calls the typed {@code ResultSet}
+	 * getters and the setters of the mapped class directly. This requires a public
+	 * mapped class with a public no-arg constructor. All other properties, as well
+	 * as all properties of a subclass overriding {@link #getColumnValue} or
+	 * {@link #initBeanWrapper}, are still bound through a {@code BeanWrapper},
+	 * with the same semantics as in the default mode.
+	 * @since 5.1
+	 */
+	public void setCompiledMapping(boolean compiledMapping) {
+		this.compiledMapping = compiledMapping;
+	}
+
+	/**
+	 * Return whether rows are mapped through generated bytecode.
+	 * @since 5.1
+	 */
+	public boolean isCompiledMapping() {
+		return this.compiledMapping;
+	}
+
 
 	/**
 	 * Initialize the mapping meta-data for the given class.
@@ -282,6 +330,15 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 	@Override
 	public T mapRow(ResultSet rs, int rowNumber) throws SQLException {
 		Assert.state(this.mappedClass != null, "Mapped class was not specified");
+		if (this.compiledMapping) {
+			T mappedObject = mapRowCompiled(rs, rowNumber, getCompiledMapping(rs, rowNumber));
+			if (mappedObject != null) {
+				return mappedObject;
+			}
+			// Otherwise a null value for a primitive property: let the regular
+			// mapping below raise the corresponding TypeMismatchException.
+		}
+
 		T mappedObject = BeanUtils.instantiateClass(this.mappedClass);
 		BeanWrapper bw = PropertyAccessorFactory.forBeanPropertyAccess(mappedObject);
 		initBeanWrapper(bw);
@@ -295,36 +352,9 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 			String field = lowerCaseName(column.replaceAll(" ", ""));
 			PropertyDescriptor pd = (this.mappedFields != null ? this.mappedFields.get(field) : null);
 			if (pd != null) {
-				try {
-					Object value = getColumnValue(rs, index, pd);
-					if (rowNumber == 0 && logger.isDebugEnabled()) {
-						logger.debug("Mapping column '" + column + "' to property '" + pd.getName() +
-								"' of type '" + ClassUtils.getQualifiedName(pd.getPropertyType()) + "'");
-					}
-					try {
-						bw.setPropertyValue(pd.getName(), value);
-					}
-					catch (TypeMismatchException ex) {
-						if (value == null && this.primitivesDefaultedForNullValue) {
-							if (logger.isDebugEnabled()) {
-								logger.debug("Intercepted TypeMismatchException for row " + rowNumber +
-										" and column '" + column + "' with null value when setting property '" +
-										pd.getName() + "' of type '" +
-										ClassUtils.getQualifiedName(pd.getPropertyType()) +
-										"' on object: " + mappedObject, ex);
-							}
-						}
-						else {
-							throw ex;
-						}
-					}
-					if (populatedProperties != null) {
-						populatedProperties.add(pd.getName());
-					}
-				}
-				catch (NotWritablePropertyException ex) {
-					throw new DataRetrievalFailureException(
-							"Unable to map column '" + column + "' to property '" + pd.getName() + "'", ex);
+				applyColumnValue(bw, rs, rowNumber, index, column, pd);
+				if (populatedProperties != null) {
+					populatedProperties.add(pd.getName());
 				}
 			}
 			else {
@@ -335,13 +365,189 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 			}
 		}
 
-		if (populatedProperties != null && !populatedProperties.equals(this.mappedProperties)) {
+		if (populatedProperties != null) {
+			checkFullyPopulated(populatedProperties);
+		}
+
+		return mappedObject;
+	}
+
+	/**
+	 * Map the current row through the given compiled mapping.
+	 * @return the mapped object, or {@code null} if a primitive property
+	 * could not be populated due to a {@code null} column value
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	private T mapRowCompiled(ResultSet rs, int rowNumber, CompiledMapping mapping) throws SQLException {
+		Assert.state(this.mappedClass != null, "Mapped class was not specified");
+		T mappedObject;
+		CompiledRowPopulator populator = mapping.populator;
+		if (populator != null) {
+			mappedObject = (T) populator.newInstance();
+			if (populator.populate(mappedObject, rs, this.primitivesDefaultedForNullValue) != 0) {
+				return null;
+			}
+		}
+		else {
+			mappedObject = BeanUtils.instantiateClass(this.mappedClass);
+		}
+
+		if (mapping.fallbackIndexes.length > 0) {
+			BeanWrapper bw = PropertyAccessorFactory.forBeanPropertyAccess(mappedObject);
+			initBeanWrapper(bw);
+			for (int i = 0; i < mapping.fallbackIndexes.length; i++) {
+				applyColumnValue(bw, rs, rowNumber, mapping.fallbackIndexes[i],
+						mapping.columns[mapping.fallbackIndexes[i] - 1], mapping.fallbackProperties[i]);
+			}
+		}
+
+		if (isCheckFullyPopulated()) {
+			checkFullyPopulated(mapping.populatedProperties);
+		}
+
+		return mappedObject;
+	}
+
+	/**
+	 * Bind the value of the given column to the given property.
+	 */
+	private void applyColumnValue(BeanWrapper bw, ResultSet rs, int rowNumber, int index, String column,
+			PropertyDescriptor pd) throws SQLException {
+
+		try {
+			Object value = getColumnValue(rs, index, pd);
+			if (rowNumber == 0 && logger.isDebugEnabled()) {
+				logger.debug("Mapping column '" + column + "' to property '" + pd.getName() +
+						"' of type '" + ClassUtils.getQualifiedName(pd.getPropertyType()) + "'");
+			}
+			try {
+				bw.setPropertyValue(pd.getName(), value);
+			}
+			catch (TypeMismatchException ex) {
+				if (value == null && this.primitivesDefaultedForNullValue) {
+					if (logger.isDebugEnabled()) {
+						logger.debug("Intercepted TypeMismatchException for row " + rowNumber +
+								" and column '" + column + "' with null value when setting property '" +
+								pd.getName() + "' of type '" +
+								ClassUtils.getQualifiedName(pd.getPropertyType()) +
+								"' on object: " + bw.getWrappedInstance(), ex);
+					}
+				}
+				else {
+					throw ex;
+				}
+			}
+		}
+		catch (NotWritablePropertyException ex) {
+			throw new DataRetrievalFailureException(
+					"Unable to map column '" + column + "' to property '" + pd.getName() + "'", ex);
+		}
+	}
+
+	private void checkFullyPopulated(Set<String> populatedProperties) {
+		if (!populatedProperties.equals(this.mappedProperties)) {
+			Assert.state(this.mappedClass != null, "Mapped class was not specified");
 			throw new InvalidDataAccessApiUsageException("Given ResultSet does not contain all fields " +
 					"necessary to populate object of class [" + this.mappedClass.getName() + "]: " +
 					this.mappedProperties);
 		}
+	}
 
-		return mappedObject;
+	/**
+	 * Obtain the compiled mapping for the column layout of the given ResultSet,
+	 * building it on first use of that layout.
+	 * <p>The column layout is only checked for the first row of each ResultSet:
+	 * subsequent rows of the same ResultSet reuse its mapping.
+	 */
+	private CompiledMapping getCompiledMapping(ResultSet rs, int rowNumber) throws SQLException {
+		ResultSetMapping last = this.lastResultSetMapping;
+		if (last != null && rowNumber > 0 && last.resultSet.get() == rs) {
+			return last.mapping;
+		}
+		ResultSetMetaData rsmd = rs.getMetaData();
+		int columnCount = rsmd.getColumnCount();
+		CompiledMapping mapping = (last != null ? last.mapping : null);
+		if (mapping == null || !mapping.matches(rsmd, columnCount)) {
+			String[] columns = new String[columnCount];
+			for (int index = 1; index <= columnCount; index++) {
+				columns[index - 1] = JdbcUtils.lookupColumnName(rsmd, index);
+			}
+			mapping = this.compiledMappings.computeIfAbsent(Arrays.asList(columns), key -> buildCompiledMapping(columns));
+		}
+		this.lastResultSetMapping = new ResultSetMapping(rs, mapping);
+		return mapping;
+	}
+
+	/**
+	 * Return whether the most recently mapped ResultSet has been mapped through
+	 * a generated {@link CompiledRowPopulator} (for testing purposes).
+	 */
+	boolean isCompiledPopulatorInUse() {
+		ResultSetMapping last = this.lastResultSetMapping;
+		return (last != null && last.mapping.populator != null);
+	}
+
+	private CompiledMapping buildCompiledMapping(String[] columns) {
+		Assert.state(this.mappedClass != null, "Mapped class was not specified");
+		boolean compilable = (RowPopulatorCompiler.isCompilable(this.mappedClass) &&
+				!isOverridden("getColumnValue", ResultSet.class, int.class, PropertyDescriptor.class) &&
+				!isOverridden("initBeanWrapper", BeanWrapper.class));
+		List<Integer> compiledIndexes = new ArrayList<>(columns.length);
+		List<PropertyDescriptor> compiledProperties = new ArrayList<>(columns.length);
+		List<Integer> fallbackIndexes = new ArrayList<>();
+		List<PropertyDescriptor> fallbackProperties = new ArrayList<>();
+		Set<String> populatedProperties = new HashSet<>();
+
+		for (int index = 1; index <= columns.length; index++) {
+			String column = columns[index - 1];
+			String field = lowerCaseName(column.replaceAll(" ", ""));
+			PropertyDescriptor pd = (this.mappedFields != null ? this.mappedFields.get(field) : null);
+			if (pd != null) {
+				if (compilable && RowPopulatorCompiler.isCompilable(pd)) {
+					compiledIndexes.add(index);
+					compiledProperties.add(pd);
+				}
+				else {
+					fallbackIndexes.add(index);
+					fallbackProperties.add(pd);
+				}
+				populatedProperties.add(pd.getName());
+			}
+			else if (logger.isDebugEnabled()) {
+				logger.debug("No property found for column '" + column + "' mapped to field '" + field + "'");
+			}
+		}
+
+		CompiledRowPopulator populator = null;
+		if (compilable) {
+			populator = RowPopulatorCompiler.compile(this.mappedClass, toIntArray(compiledIndexes),
+					compiledProperties.toArray(new PropertyDescriptor[0]));
+			if (populator == null) {
+				// Generation failed: bind all properties through the BeanWrapper
+				fallbackIndexes.addAll(compiledIndexes);
+				fallbackProperties.addAll(compiledProperties);
+			}
+			else if (logger.isDebugEnabled()) {
+				logger.debug("Compiled mapping of " + compiledIndexes.size() + " out of " + columns.length +
+						" columns to properties of class [" + this.mappedClass.getName() + "]");
+			}
+		}
+		return new CompiledMapping(columns, populator, toIntArray(fallbackIndexes),
+				fallbackProperties.toArray(new PropertyDescriptor[0]), populatedProperties);
+	}
+
+	private boolean isOverridden(String methodName, Class<?>... paramTypes) {
+		Method method = ReflectionUtils.findMethod(getClass(), methodName, paramTypes);
+		return (method != null && method.getDeclaringClass() != BeanPropertyRowMapper.class);
+	}
+
+	private static int[] toIntArray(List<Integer> list) {
+		int[] result = new int[list.size()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = list.get(i);
+		}
+		return result;
 	}
 
 	/**
@@ -388,4 +594,62 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 		return new BeanPropertyRowMapper<>(mappedClass);
 	}
 
+
+
+	/**
+	 * Column-to-property bindings for a specific result set layout.
+	 */
+	private static final class CompiledMapping {
+
+		final String[] columns;
+
+		@Nullable
+		final CompiledRowPopulator populator;
+
+		final int[] fallbackIndexes;
+
+		final PropertyDescriptor[] fallbackProperties;
+
+		final Set<String> populatedProperties;
+
+		CompiledMapping(String[] columns, @Nullable CompiledRowPopulator populator,
+				int[] fallbackIndexes, PropertyDescriptor[] fallbackProperties, Set<String> populatedProperties) {
+
+			this.columns = columns;
+			this.populator = populator;
+			this.fallbackIndexes = fallbackIndexes;
+			this.fallbackProperties = fallbackProperties;
+			this.populatedProperties = populatedProperties;
+		}
+
+		boolean matches(ResultSetMetaData rsmd, int columnCount) throws SQLException {
+			if (columnCount != this.columns.length) {
+				return false;
+			}
+			for (int index = 1; index <= columnCount; index++) {
+				if (!this.columns[index - 1].equals(JdbcUtils.lookupColumnName(rsmd, index))) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+
+	/**
+	 * The compiled mapping in use for a given ResultSet, which is only weakly
+	 * referenced in order to not hold on to it beyond its use.
+	 */
+	private static final class ResultSetMapping {
+
+		final WeakReference<ResultSet> resultSet;
+
+		final CompiledMapping mapping;
+
+		ResultSetMapping(ResultSet resultSet, CompiledMapping mapping) {
+			this.resultSet = new WeakReference<>(resultSet);
+			this.mapping = mapping;
+		}
+	}
+
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Base superclass for row populators generated by {@link BeanPropertyRowMapper}
+ * in {@linkplain BeanPropertyRowMapper#setCompiledMapping compiled mapping} mode.
+ *
+ * <p>A generated subclass instantiates the mapped class through its public
+ * no-arg constructor and binds a fixed set of result set columns to bean
+ * properties through typed {@code ResultSet} getters and direct setter calls.
+ * Not intended to be extended by application code.
+ *
+ * @since 5.1
+ * @see RowPopulatorCompiler
+ */
+public abstract class CompiledRowPopulator {
+
+	/**
+	 * Create a new instance of the mapped class.
+	 */
+	public abstract Object newInstance();
+
+	/**
+	 * Populate the given mapped object with the bound columns of the current row.
+	 * @param mappedObject the mapped object, as created by {@link #newInstance()}
+	 * @param rs the ResultSet positioned at the current row
+	 * @param primitivesDefaultedForNullValue whether to leave a primitive property
+	 * at its default value when the corresponding column is {@code null}
+	 * @return the index of the first column with a {@code null} value for a primitive
+	 * property if not defaulted, or {@code 0} if all bound columns have been applied
+	 * @throws SQLException if thrown by a JDBC method
+	 */
+	public abstract int populate(Object mappedObject, ResultSet rs, boolean primitivesDefaultedForNullValue)
+			throws SQLException;
+
+}
@@ -17,8 +17,11 @@
 package org.springframework.jdbc.core;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
@@ -132,6 +135,29 @@ public interface JdbcOperations {
 	 */
 	<T> List<T> query(String sql, RowMapper<T> rowMapper) throws DataAccessException;
 
+	/**
+	 * Execute a query given static SQL, mapping each row to a result object
+	 * via a RowMapper, and turning it into an iterable and closeable Stream.
+	 * <p>In contrast to {@link #query(String, RowMapper)}, rows are fetched
+	 * and mapped lazily while the Stream is being consumed, with the number of
+	 * rows fetched per round trip determined by the {@code fetchSize} of the
+	 * template. The returned Stream holds on to the JDBC ResultSet, Statement
+	 * and Connection until it is closed, so it needs to be closed once fully
+	 * processed, e.g. through a try-with-resources clause.
+	 * <p>Uses a JDBC Statement, not a PreparedStatement. If you want to
+	 * execute a static query with a PreparedStatement, use the overloaded
+	 * {@code queryForStream} method with {@code null} as argument array.
+	 * @param sql the SQL query to execute
+	 * @param rowMapper a callback that will map one object per row
+	 * @return the result Stream, containing mapped objects, needing to be
+	 * closed once fully processed (e.g. through a try-with-resources clause)
+	 * @throws DataAccessException if the query fails
+	 * @since 5.1
+	 * @see #queryForStream(String, RowMapper, Object...)
+	 * @see JdbcTemplate#setFetchSize
+	 */
+	<T> Stream<T> queryForStream(String sql, RowMapper<T> rowMapper) throws DataAccessException;
+
 	/**
 	 * Execute a query given static SQL, mapping a single result row to a Java
 	 * object via a RowMapper.
@@ -460,6 +486,22 @@ public interface JdbcOperations {
 	 */
 	<T> List<T> query(PreparedStatementCreator psc, RowMapper<T> rowMapper) throws DataAccessException;
 
+	/**
+	 * Query using a prepared statement, mapping each row to a result object
+	 * via a RowMapper, and turning it into an iterable and closeable Stream.
+	 * <p>A PreparedStatementCreator can either be implemented directly or
+	 * configured through a PreparedStatementCreatorFactory.
+	 * @param psc a callback that creates a PreparedStatement given a Connection
+	 * @param rowMapper a callback that will map one object per row
+	 * @return the result Stream, containing mapped objects, needing to be
+	 * closed once fully processed (e.g. through a try-with-resources clause)
+	 * @throws DataAccessException if there is any problem
+	 * @since 5.1
+	 * @see #queryForStream(String, RowMapper)
+	 * @see PreparedStatementCreatorFactory
+	 */
+	<T> Stream<T> queryForStream(PreparedStatementCreator psc, RowMapper<T> rowMapper) throws DataAccessException;
+
 	/**
 	 * Query given SQL to create a prepared statement from SQL and a
 	 * PreparedStatementSetter implementation that knows how to bind values
@@ -475,6 +517,26 @@ public interface JdbcOperations {
 	 */
 	<T> List<T> query(String sql, @Nullable PreparedStatementSetter pss, RowMapper<T> rowMapper) throws DataAccessException;
 
+	/**
+	 * Query given SQL to create a prepared statement from SQL and a
+	 * PreparedStatementSetter implementation that knows how to bind values
+	 * to the query, mapping each row to a result object via a RowMapper,
+	 * and turning it into an iterable and closeable Stream.
+	 * @param sql the SQL query to execute
+	 * @param pss a callback that knows how to set values on the prepared statement.
+	 * If this is {@code null}, the SQL will be assumed to contain no bind parameters.
+	 * Even if there are no bind parameters, this callback may be used to set the
+	 * fetch size and other performance options.
+	 * @param rowMapper a callback that will map one object per row
+	 * @return the result Stream, containing mapped objects, needing to be
+	 * closed once fully processed (e.g. through a try-with-resources clause)
+	 * @throws DataAccessException if the query fails
+	 * @since 5.1
+	 * @see #queryForStream(String, RowMapper)
+	 */
+	<T> Stream<T> queryForStream(String sql, @Nullable PreparedStatementSetter pss, RowMapper<T> rowMapper)
+			throws DataAccessException;
+
 	/**
 	 * Query given SQL to create a prepared statement from SQL and a list
 	 * of arguments to bind to the query, mapping each row to a Java object
@@ -521,6 +583,25 @@ public interface JdbcOperations {
 	 */
 	<T> List<T> query(String sql, RowMapper<T> rowMapper, @Nullable Object... args) throws DataAccessException;
 
+	/**
+	 * Query given SQL to create a prepared statement from SQL and a list of
+	 * arguments to bind to the query, mapping each row to a result object
+	 * via a RowMapper, and turning it into an iterable and closeable Stream.
+	 * @param sql the SQL query to execute
+	 * @param rowMapper a callback that will map one object per row
+	 * @param args arguments to bind to the query
+	 * (leaving it to the PreparedStatement to guess the corresponding SQL type);
+	 * may also contain {@link SqlParameterValue} objects which indicate not
+	 * only the argument value but also the SQL type and optionally the scale
+	 * @return the result Stream, containing mapped objects, needing to be
+	 * closed once fully processed (e.g. through a try-with-resources clause)
+	 * @throws DataAccessException if the query fails
+	 * @since 5.1
+	 * @see #queryForStream(String, RowMapper)
+	 */
+	<T> Stream<T> queryForStream(String sql, RowMapper<T> rowMapper, @Nullable Object... args)
+			throws DataAccessException;
+
 	/**
 	 * Query given SQL to create a prepared statement from SQL and a list
 	 * of arguments to bind to the query, mapping a single result row to a
@@ -937,6 +1018,70 @@ public interface JdbcOperations {
 	<T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
 			ParameterizedPreparedStatementSetter<T> pss) throws DataAccessException;
 
+	/**
+	 * Execute multiple batches using the supplied SQL statement with the arguments
+	 * provided by the given Iterator, which may be of arbitrary size.
+	 * The arguments' values will be set using the ParameterizedPreparedStatementSetter.
+	 * <p>Arguments are consumed chunk by chunk, with the size of each chunk adapted
+	 * to the measured execution time of the previous chunks; no per-row update
+	 * counts are retained.
+	 * @param sql the SQL statement to execute
+	 * @param batchArgs the Iterator providing the arguments for each update
+	 * @param pss the ParameterizedPreparedStatementSetter to use (invoked from
+	 * several threads if batch updates are executed concurrently, so it needs
+	 * to be thread-safe in that case)
+	 * @return the total number of rows affected, not including updates for which
+	 * the driver reported {@link java.sql.Statement#SUCCESS_NO_INFO}
+	 * @throws DataAccessException if there is any problem issuing the update
+	 * @since 5.1
+	 * @see JdbcTemplate#setMinBatchSize
+	 * @see JdbcTemplate#setMaxBatchSize
+	 * @see JdbcTemplate#setBatchTargetTime
+	 * @see JdbcTemplate#setBatchConcurrency
+	 */
+	<T> long batchUpdate(String sql, Iterator<T> batchArgs, ParameterizedPreparedStatementSetter<T> pss)
+			throws DataAccessException;
+
+	/**
+	 * Execute multiple batches using the supplied SQL statement with the arguments
+	 * provided by the given Iterator, which may be of arbitrary size, exposing the
+	 * update counts of each executed chunk to the given callback.
+	 * @param sql the SQL statement to execute
+	 * @param batchArgs the Iterator providing the arguments for each update
+	 * @param pss the ParameterizedPreparedStatementSetter to use (invoked from
+	 * several threads if batch updates are executed concurrently, so it needs
+	 * to be thread-safe in that case)
+	 * @param rowsAffectedCallback a callback receiving the numbers of rows affected
+	 * by each update in a chunk, once the chunk has been executed (invoked from
+	 * several threads if batch updates are executed concurrently, so it needs
+	 * to be thread-safe in that case), or {@code null}
+	 * if not interested in per-row update counts
+	 * @return the total number of rows affected, not including updates for which
+	 * the driver reported {@link java.sql.Statement#SUCCESS_NO_INFO}
+	 * @throws DataAccessException if there is any problem issuing the update
+	 * @since 5.1
+	 * @see #batchUpdate(String, Iterator, ParameterizedPreparedStatementSetter)
+	 */
+	<T> long batchUpdate(String sql, Iterator<T> batchArgs, ParameterizedPreparedStatementSetter<T> pss,
+			@Nullable Consumer<int[]> rowsAffectedCallback) throws DataAccessException;
+
+	/**
+	 * Execute multiple batches using the supplied SQL statement with the arguments
+	 * provided by the given Stream, which may be of arbitrary size.
+	 * <p>The Stream is consumed through its {@link Stream#iterator() Iterator};
+	 * closing it remains the responsibility of the caller.
+	 * @param sql the SQL statement to execute
+	 * @param batchArgs the Stream providing the arguments for each update
+	 * @param pss the ParameterizedPreparedStatementSetter to use
+	 * @return the total number of rows affected, not including updates for which
+	 * the driver reported {@link java.sql.Statement#SUCCESS_NO_INFO}
+	 * @throws DataAccessException if there is any problem issuing the update
+	 * @since 5.1
+	 * @see #batchUpdate(String, Iterator, ParameterizedPreparedStatementSetter)
+	 */
+	<T> long batchUpdate(String sql, Stream<T> batchArgs, ParameterizedPreparedStatementSetter<T> pss)
+			throws DataAccessException;
+
 
 	//-------------------------------------------------------------------------
 	// Methods dealing with callable statements
@@ -32,14 +32,25 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import javax.sql.DataSource;
 
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.dao.support.DataAccessUtils;
+import org.springframework.jdbc.InvalidResultSetAccessException;
 import org.springframework.jdbc.SQLWarningException;
 import org.springframework.jdbc.UncategorizedSQLException;
 import org.springframework.jdbc.datasource.ConnectionProxy;
@@ -49,6 +60,7 @@ import org.springframework.jdbc.support.JdbcUtils;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 import org.springframework.util.LinkedCaseInsensitiveMap;
 import org.springframework.util.StringUtils;
@@ -147,6 +159,40 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	 */
 	private boolean resultsMapCaseInsensitive = false;
 
+	/**
+	 * The minimum and initial number of rows per chunk for streaming batch updates.
+	 */
+	private int minBatchSize = 16;
+
+	/**
+	 * The maximum number of rows per chunk for streaming batch updates.
+	 */
+	private int maxBatchSize = 4096;
+
+	/**
+	 * The targeted execution time per chunk for streaming batch updates, in milliseconds.
+	 */
+	private long batchTargetTime = 100;
+
+	/**
+	 * The number of connections to execute streaming batch updates on concurrently,
+	 * outside of transactions.
+	 */
+	private int batchConcurrency = 1;
+
+	/**
+	 * The Executor to run concurrent batch workers on.
+	 */
+	@Nullable
+	private Executor batchExecutor;
+
+	/**
+	 * The Executor to run concurrent batch workers on if none has been specified,
+	 * lazily created on first concurrent batch update.
+	 */
+	@Nullable
+	private volatile Executor defaultBatchExecutor;
+
 
 	/**
 	 * Construct a new JdbcTemplate for bean usage.
@@ -311,6 +357,123 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		return this.resultsMapCaseInsensitive;
 	}
 
+	/**
+	 * Set the minimum number of rows per chunk for batch updates from an
+	 * {@link Iterator} or {@link Stream}, which is also the size of the first chunk.
+	 * <p>Default is 16. Set this to the same value as the
+	 * {@link #setMaxBatchSize maximum batch size} for fixed-size chunks.
+	 * @since 5.1
+	 * @see #batchUpdate(String, Iterator, ParameterizedPreparedStatementSetter)
+	 */
+	public void setMinBatchSize(int minBatchSize) {
+		Assert.isTrue(minBatchSize > 0, "Minimum batch size must be greater than 0");
+		this.minBatchSize = minBatchSize;
+	}
+
+	/**
+	 * Return the minimum number of rows per chunk for streaming batch updates.
+	 * @since 5.1
+	 */
+	public int getMinBatchSize() {
+		return this.minBatchSize;
+	}
+
+	/**
+	 * Set the maximum number of rows per chunk for batch updates from an
+	 * {@link Iterator} or {@link Stream}.
+	 * <p>Default is 4096.
+	 * @since 5.1
+	 * @see #batchUpdate(String, Iterator, ParameterizedPreparedStatementSetter)
+	 */
+	public void setMaxBatchSize(int maxBatchSize) {
+		Assert.isTrue(maxBatchSize > 0, "Maximum batch size must be greater than 0");
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	/**
+	 * Return the maximum number of rows per chunk for streaming batch updates.
+	 * @since 5.1
+	 */
+	public int getMaxBatchSize() {
+		return this.maxBatchSize;
+	}
+
+	/**
+	 * Set the targeted execution time per chunk for batch updates from an
+	 * {@link Iterator} or {@link Stream}, in milliseconds. The size of each
+	 * chunk is adapted to the time per row measured for the previous chunk,
+	 * within the minimum and maximum batch size.
+	 * <p>Default is 100 milliseconds, which usually amortizes the round trip
+	 * to the database while keeping individual batches reasonably small.
+	 * @since 5.1
+	 * @see #setMinBatchSize
+	 * @see #setMaxBatchSize
+	 */
+	public void setBatchTargetTime(long batchTargetTime) {
+		Assert.isTrue(batchTargetTime > 0, "Batch target time must be greater than 0");
+		this.batchTargetTime = batchTargetTime;
+	}
+
+	/**
+	 * Return the targeted execution time per chunk for streaming batch updates.
+	 * @since 5.1
+	 */
+	public long getBatchTargetTime() {
+		return this.batchTargetTime;
+	}
+
+	/**
+	 * Set the number of connections to execute batch updates from an
+	 * {@link Iterator} or {@link Stream} on concurrently.
+	 * <p>Default is 1. Higher values only apply outside of transactions and
+	 * transaction synchronization: within a transaction, all chunks are always
+	 * executed sequentially on the transactional connection.
+	 * <p>Note that concurrent chunks are executed in no particular order, and
+	 * that a failing chunk does not roll back chunks that have already been
+	 * executed on other connections.
+	 * <p>With a concurrency higher than 1, the given
+	 * {@link ParameterizedPreparedStatementSetter} and rows-affected callback
+	 * are invoked from several threads at the same time and therefore need to
+	 * be thread-safe.
+	 * @since 5.1
+	 * @see #setBatchExecutor
+	 */
+	public void setBatchConcurrency(int batchConcurrency) {
+		Assert.isTrue(batchConcurrency > 0, "Batch concurrency must be greater than 0");
+		this.batchConcurrency = batchConcurrency;
+	}
+
+	/**
+	 * Return the number of connections to execute streaming batch updates on concurrently.
+	 * @since 5.1
+	 */
+	public int getBatchConcurrency() {
+		return this.batchConcurrency;
+	}
+
+	/**
+	 * Set the Executor to run concurrent batch workers on, in case of a
+	 * {@link #setBatchConcurrency batch concurrency} higher than 1.
+	 * <p>Default is a new thread for each worker, as spawned by a shared
+	 * {@link SimpleAsyncTaskExecutor}. If the given Executor rejects a worker,
+	 * the workers submitted so far are aborted and awaited before the
+	 * rejection is propagated.
+	 * @since 5.1
+	 * @see org.springframework.core.task.SimpleAsyncTaskExecutor
+	 */
+	public void setBatchExecutor(@Nullable Executor batchExecutor) {
+		this.batchExecutor = batchExecutor;
+	}
+
+	/**
+	 * Return the Executor to run concurrent batch workers on, if any.
+	 * @since 5.1
+	 */
+	@Nullable
+	public Executor getBatchExecutor() {
+		return this.batchExecutor;
+	}
+
 
 	//-------------------------------------------------------------------------
 	// Methods dealing with a plain java.sql.Connection
@@ -366,6 +529,22 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	@Override
 	@Nullable
 	public <T> T execute(StatementCallback<T> action) throws DataAccessException {
+		return execute(action, true);
+	}
+
+	/**
+	 * Execute a JDBC data access operation, implemented as callback action
+	 * working on a JDBC Statement.
+	 * @param action the callback to execute
+	 * @param closeResources whether to close the Statement and release the
+	 * Connection once the callback returns; if {@code false}, the callback
+	 * takes over that responsibility (resources are always cleaned up if the
+	 * callback throws an exception)
+	 * @return the result object returned by the callback
+	 * @see #execute(StatementCallback)
+	 */
+	@Nullable
+	private <T> T execute(StatementCallback<T> action, boolean closeResources) throws DataAccessException {
 		Assert.notNull(action, "Callback object must not be null");
 
 		Connection con = DataSourceUtils.getConnection(obtainDataSource());
@@ -387,9 +566,18 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			con = null;
 			throw translateException("StatementCallback", sql, ex);
 		}
+		catch (RuntimeException | Error ex) {
+			if (!closeResources) {
+				JdbcUtils.closeStatement(stmt);
+				DataSourceUtils.releaseConnection(con, getDataSource());
+			}
+			throw ex;
+		}
 		finally {
-			JdbcUtils.closeStatement(stmt);
-			DataSourceUtils.releaseConnection(con, getDataSource());
+			if (closeResources) {
+				JdbcUtils.closeStatement(stmt);
+				DataSourceUtils.releaseConnection(con, getDataSource());
+			}
 		}
 	}
 
@@ -462,6 +650,37 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		return result(query(sql, new RowMapperResultSetExtractor<>(rowMapper)));
 	}
 
+	@Override
+	public <T> Stream<T> queryForStream(final String sql, final RowMapper<T> rowMapper) throws DataAccessException {
+		Assert.notNull(sql, "SQL must not be null");
+		Assert.notNull(rowMapper, "RowMapper must not be null");
+		if (logger.isDebugEnabled()) {
+			logger.debug("Executing SQL query [" + sql + "]");
+		}
+
+		/**
+		 * Callback to execute the query, handing the open ResultSet over to the Stream.
+		 */
+		class StreamStatementCallback implements StatementCallback<Stream<T>>, SqlProvider {
+			@Override
+			public Stream<T> doInStatement(Statement stmt) throws SQLException {
+				ResultSet rs = stmt.executeQuery(sql);
+				Connection con = stmt.getConnection();
+				return new ResultSetSpliterator<>(rs, rowMapper).stream().onClose(() -> {
+					JdbcUtils.closeResultSet(rs);
+					JdbcUtils.closeStatement(stmt);
+					DataSourceUtils.releaseConnection(con, getDataSource());
+				});
+			}
+			@Override
+			public String getSql() {
+				return sql;
+			}
+		}
+
+		return result(execute(new StreamStatementCallback(), false));
+	}
+
 	@Override
 	public Map<String, Object> queryForMap(String sql) throws DataAccessException {
 		return result(queryForObject(sql, getColumnMapRowMapper()));
@@ -602,6 +821,25 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	public <T> T execute(PreparedStatementCreator psc, PreparedStatementCallback<T> action)
 			throws DataAccessException {
 
+		return execute(psc, action, true);
+	}
+
+	/**
+	 * Execute a JDBC data access operation, implemented as callback action
+	 * working on a JDBC PreparedStatement.
+	 * @param psc a callback that creates a PreparedStatement given a Connection
+	 * @param action a callback that specifies the action
+	 * @param closeResources whether to close the PreparedStatement and release
+	 * the Connection once the callback returns; if {@code false}, the callback
+	 * takes over that responsibility (resources are always cleaned up if the
+	 * callback throws an exception)
+	 * @return the result object returned by the callback
+	 * @see #execute(PreparedStatementCreator, PreparedStatementCallback)
+	 */
+	@Nullable
+	private <T> T execute(PreparedStatementCreator psc, PreparedStatementCallback<T> action, boolean closeResources)
+			throws DataAccessException {
+
 		Assert.notNull(psc, "PreparedStatementCreator must not be null");
 		Assert.notNull(action, "Callback object must not be null");
 		if (logger.isDebugEnabled()) {
@@ -631,12 +869,24 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			con = null;
 			throw translateException("PreparedStatementCallback", sql, ex);
 		}
+		catch (RuntimeException | Error ex) {
+			if (!closeResources) {
+				if (psc instanceof ParameterDisposer) {
+					((ParameterDisposer) psc).cleanupParameters();
+				}
+				JdbcUtils.closeStatement(ps);
+				DataSourceUtils.releaseConnection(con, getDataSource());
+			}
+			throw ex;
+		}
 		finally {
-			if (psc instanceof ParameterDisposer) {
-				((ParameterDisposer) psc).cleanupParameters();
+			if (closeResources) {
+				if (psc instanceof ParameterDisposer) {
+					((ParameterDisposer) psc).cleanupParameters();
+				}
+				JdbcUtils.closeStatement(ps);
+				DataSourceUtils.releaseConnection(con, getDataSource());
 			}
-			JdbcUtils.closeStatement(ps);
-			DataSourceUtils.releaseConnection(con, getDataSource());
 		}
 	}
 
@@ -768,6 +1018,80 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		return result(query(sql, args, new RowMapperResultSetExtractor<>(rowMapper)));
 	}
 
+	/**
+	 * Query using a prepared statement, allowing for a PreparedStatementCreator
+	 * and a PreparedStatementSetter, mapping each row to a result object via a
+	 * RowMapper, and turning it into an iterable and closeable Stream. All other
+	 * {@code queryForStream} variants with a prepared statement use this method.
+	 * <p>The PreparedStatement and its ResultSet remain open until the returned
+	 * Stream is closed, at which point the Connection is released through
+	 * {@link DataSourceUtils}, i.e. returned to the pool or kept open if bound
+	 * to an ongoing transaction.
+	 * @param psc a callback that creates a PreparedStatement given a Connection
+	 * @param pss a callback that knows how to set values on the prepared statement.
+	 * If this is {@code null}, the SQL will be assumed to contain no bind parameters.
+	 * @param rowMapper a callback that will map one object per row
+	 * @return the result Stream, containing mapped objects, needing to be
+	 * closed once fully processed (e.g. through a try-with-resources clause)
+	 * @throws DataAccessException if the query fails
+	 * @since 5.1
+	 */
+	public <T> Stream<T> queryForStream(PreparedStatementCreator psc, @Nullable final PreparedStatementSetter pss,
+			final RowMapper<T> rowMapper) throws DataAccessException {
+
+		Assert.notNull(rowMapper, "RowMapper must not be null");
+		logger.debug("Executing prepared SQL query for Stream");
+
+		return result(execute(psc, ps -> {
+			ResultSet rs;
+			try {
+				if (pss != null) {
+					pss.setValues(ps);
+				}
+				rs = ps.executeQuery();
+			}
+			catch (SQLException | RuntimeException | Error ex) {
+				if (pss instanceof ParameterDisposer) {
+					((ParameterDisposer) pss).cleanupParameters();
+				}
+				throw ex;
+			}
+			Connection con = ps.getConnection();
+			return new ResultSetSpliterator<>(rs, rowMapper).stream().onClose(() -> {
+				JdbcUtils.closeResultSet(rs);
+				if (pss instanceof ParameterDisposer) {
+					((ParameterDisposer) pss).cleanupParameters();
+				}
+				if (psc instanceof ParameterDisposer) {
+					((ParameterDisposer) psc).cleanupParameters();
+				}
+				JdbcUtils.closeStatement(ps);
+				DataSourceUtils.releaseConnection(con, getDataSource());
+			});
+		}, false));
+	}
+
+	@Override
+	public <T> Stream<T> queryForStream(PreparedStatementCreator psc, RowMapper<T> rowMapper)
+			throws DataAccessException {
+
+		return queryForStream(psc, null, rowMapper);
+	}
+
+	@Override
+	public <T> Stream<T> queryForStream(String sql, @Nullable PreparedStatementSetter pss, RowMapper<T> rowMapper)
+			throws DataAccessException {
+
+		return queryForStream(new SimplePreparedStatementCreator(sql), pss, rowMapper);
+	}
+
+	@Override
+	public <T> Stream<T> queryForStream(String sql, RowMapper<T> rowMapper, @Nullable Object... args)
+			throws DataAccessException {
+
+		return queryForStream(new SimplePreparedStatementCreator(sql), newArgPreparedStatementSetter(args), rowMapper);
+	}
+
 	@Override
 	@Nullable
 	public <T> T queryForObject(String sql, Object[] args, int[] argTypes, RowMapper<T> rowMapper)
@@ -1038,6 +1362,187 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		return result;
 	}
 
+	@Override
+	public <T> long batchUpdate(String sql, Iterator<T> batchArgs, ParameterizedPreparedStatementSetter<T> pss)
+			throws DataAccessException {
+
+		return batchUpdate(sql, batchArgs, pss, null);
+	}
+
+	@Override
+	public <T> long batchUpdate(String sql, Stream<T> batchArgs, ParameterizedPreparedStatementSetter<T> pss)
+			throws DataAccessException {
+
+		return batchUpdate(sql, batchArgs.iterator(), pss, null);
+	}
+
+	@Override
+	public <T> long batchUpdate(String sql, final Iterator<T> batchArgs, final ParameterizedPreparedStatementSetter<T> pss,
+			@Nullable final Consumer<int[]> rowsAffectedCallback) throws DataAccessException {
+
+		Assert.notNull(batchArgs, "Batch arguments must not be null");
+		Assert.notNull(pss, "ParameterizedPreparedStatementSetter must not be null");
+		AdaptiveBatchSizer batchSizer = new AdaptiveBatchSizer(
+				this.minBatchSize, Math.max(this.minBatchSize, this.maxBatchSize), this.batchTargetTime);
+		AtomicBoolean aborted = new AtomicBoolean();
+		int concurrency = this.batchConcurrency;
+		if (concurrency > 1 && (TransactionSynchronizationManager.isSynchronizationActive() ||
+				TransactionSynchronizationManager.hasResource(obtainDataSource()))) {
+			logger.debug("Executing SQL batch update sequentially within transaction");
+			concurrency = 1;
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Executing SQL batch update [" + sql + "] with adaptive batch size" +
+					(concurrency > 1 ? " on " + concurrency + " connections" : ""));
+		}
+
+		try {
+			if (concurrency == 1) {
+				return executeBatchChunks(sql, batchArgs, pss, batchSizer, rowsAffectedCallback, aborted);
+			}
+			Executor executor = obtainBatchExecutor();
+			List<CompletableFuture<Long>> workers = new ArrayList<>(concurrency);
+			try {
+				for (int i = 0; i < concurrency; i++) {
+					workers.add(CompletableFuture.supplyAsync(() -> {
+						try {
+							return executeBatchChunks(sql, batchArgs, pss, batchSizer, rowsAffectedCallback, aborted);
+						}
+						catch (RuntimeException | Error ex) {
+							aborted.set(true);
+							throw ex;
+						}
+					}, executor));
+				}
+			}
+			catch (RuntimeException | Error ex) {
+				// Typically a RejectedExecutionException: stop the workers submitted so far
+				// and let them finish before the arguments and the setter get released.
+				aborted.set(true);
+				try {
+					awaitBatchWorkers(workers);
+				}
+				catch (RuntimeException | Error workerEx) {
+					ex.addSuppressed(workerEx);
+				}
+				throw ex;
+			}
+			return awaitBatchWorkers(workers);
+		}
+		finally {
+			if (pss instanceof ParameterDisposer) {
+				((ParameterDisposer) pss).cleanupParameters();
+			}
+		}
+	}
+
+	/**
+	 * Return the Executor to run concurrent batch workers on: the specified
+	 * {@link #setBatchExecutor batch executor}, or a lazily created default one.
+	 */
+	private Executor obtainBatchExecutor() {
+		Executor executor = this.batchExecutor;
+		if (executor == null) {
+			executor = this.defaultBatchExecutor;
+			if (executor == null) {
+				executor = new SimpleAsyncTaskExecutor("jdbc-batch-");
+				this.defaultBatchExecutor = executor;
+			}
+		}
+		return executor;
+	}
+
+	/**
+	 * Wait for all of the given batch workers to complete, even if some of them
+	 * failed, and propagate the first failure (if any) afterwards.
+	 * @return the total number of rows affected
+	 */
+	private static long awaitBatchWorkers(List<CompletableFuture<Long>> workers) {
+		long rowsAffected = 0;
+		Throwable failure = null;
+		for (CompletableFuture<Long> worker : workers) {
+			try {
+				rowsAffected += worker.join();
+			}
+			catch (CompletionException ex) {
+				if (failure == null) {
+					Throwable cause = ex.getCause();
+					failure = (cause instanceof RuntimeException || cause instanceof Error ? cause : ex);
+				}
+			}
+		}
+		if (failure instanceof Error) {
+			throw (Error) failure;
+		}
+		if (failure != null) {
+			throw (RuntimeException) failure;
+		}
+		return rowsAffected;
+	}
+
+	/**
+	 * Execute chunks of the given batch arguments on one PreparedStatement,
+	 * until the arguments are exhausted or another worker failed.
+	 * Chunks are taken from the shared Iterator while holding its monitor.
+	 * @return the total number of rows affected
+	 */
+	private <T> long executeBatchChunks(String sql, Iterator<T> batchArgs, ParameterizedPreparedStatementSetter<T> pss,
+			AdaptiveBatchSizer batchSizer, @Nullable Consumer<int[]> rowsAffectedCallback, AtomicBoolean aborted) {
+
+		Long result = execute(sql, (PreparedStatementCallback<Long>) ps -> {
+			boolean batchSupported = JdbcUtils.supportsBatchUpdates(ps.getConnection());
+			if (!batchSupported) {
+				logger.debug("JDBC Driver does not support Batch updates; resorting to single statement execution");
+			}
+			List<T> chunk = new ArrayList<>();
+			long rowsAffected = 0;
+			while (!aborted.get()) {
+				int batchSize = batchSizer.getBatchSize();
+				chunk.clear();
+				synchronized (batchArgs) {
+					while (chunk.size() < batchSize && batchArgs.hasNext()) {
+						chunk.add(batchArgs.next());
+					}
+				}
+				if (chunk.isEmpty()) {
+					break;
+				}
+				long startTime = System.nanoTime();
+				int[] chunkRowsAffected;
+				if (batchSupported) {
+					for (T obj : chunk) {
+						pss.setValues(ps, obj);
+						ps.addBatch();
+					}
+					if (logger.isTraceEnabled()) {
+						logger.trace("Sending SQL batch update with " + chunk.size() + " items");
+					}
+					chunkRowsAffected = ps.executeBatch();
+				}
+				else {
+					chunkRowsAffected = new int[chunk.size()];
+					for (int i = 0; i < chunkRowsAffected.length; i++) {
+						pss.setValues(ps, chunk.get(i));
+						chunkRowsAffected[i] = ps.executeUpdate();
+					}
+				}
+				batchSizer.recordBatch(chunk.size(), System.nanoTime() - startTime);
+				for (int count : chunkRowsAffected) {
+					if (count > 0) {
+						rowsAffected += count;
+					}
+				}
+				if (rowsAffectedCallback != null) {
+					rowsAffectedCallback.accept(chunkRowsAffected);
+				}
+			}
+			return rowsAffected;
+		});
+
+		Assert.state(result != null, "No update count");
+		return result;
+	}
+
 	//-------------------------------------------------------------------------
 	// Methods dealing with callable statements
 	//-------------------------------------------------------------------------
@@ -1558,6 +2063,61 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	}
 
 
+	/**
+	 * Spliterator for queryForStream adaptation of a ResultSet to a Stream.
+	 * Translates an SQLException during iteration into an
+	 * {@link InvalidResultSetAccessException}.
+	 * @since 5.1
+	 */
+	private static class ResultSetSpliterator<T> implements Spliterator<T> {
+
+		private final ResultSet rs;
+
+		private final RowMapper<T> rowMapper;
+
+		private int rowNum = 0;
+
+		public ResultSetSpliterator(ResultSet rs, RowMapper<T> rowMapper) {
+			this.rs = rs;
+			this.rowMapper = rowMapper;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action) {
+			try {
+				if (this.rs.next()) {
+					action.accept(this.rowMapper.mapRow(this.rs, this.rowNum++));
+					return true;
+				}
+				return false;
+			}
+			catch (SQLException ex) {
+				throw new InvalidResultSetAccessException(ex);
+			}
+		}
+
+		@Override
+		@Nullable
+		public Spliterator<T> trySplit() {
+			return null;
+		}
+
+		@Override
+		public long estimateSize() {
+			return Long.MAX_VALUE;
+		}
+
+		@Override
+		public int characteristics() {
+			return Spliterator.ORDERED;
+		}
+
+		public Stream<T> stream() {
+			return StreamSupport.stream(this, false);
+		}
+	}
+
+
 	/**
 	 * Adapter to enable use of a RowCallbackHandler inside a ResultSetExtractor.
 	 * <p>Uses a regular ResultSet, so we have to be careful when using it:
@@ -0,0 +1,402 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Generates {@link CompiledRowPopulator} classes for {@link BeanPropertyRowMapper}:
+ * for a given set of column-to-property bindings, the generated class reads each
+ * column through the {@code ResultSet} getter matching the property type, e.g.
+ * {@code getInt} or {@code getString}, and passes the value straight to the
+ * property's setter, without a {@link org.springframework.beans.BeanWrapper}
+ * or type conversion in between.
+ *
+ * <p>Only properties of the types that
+ * {@link org.springframework.jdbc.support.JdbcUtils#getResultSetValue(java.sql.ResultSet, int, Class)}
+ * extracts with a dedicated getter can be bound this way, see
+ * {@link #isCompilable(PropertyDescriptor)}. As with {@code JdbcUtils}, a primitive
+ * wrapper property receives {@code null} if {@link java.sql.ResultSet#wasNull()}.
+ *
+ * <p>A compiler is created for each class loader of mapped classes; it manages a
+ * child class loader of that class loader which is used to load the generated classes.
+ *
+ * @since 5.1
+ */
+final class RowPopulatorCompiler implements Opcodes {
+
+	private static final Log logger = LogFactory.getLog(RowPopulatorCompiler.class);
+
+	private static final int CLASSES_DEFINED_LIMIT = 100;
+
+	private static final String POPULATOR_TYPE = Type.getInternalName(CompiledRowPopulator.class);
+
+	private static final String RESULT_SET_TYPE = "java/sql/ResultSet";
+
+	// Local variable slots in the generated populate method
+	private static final int MAPPED_OBJECT_SLOT = 1;
+
+	private static final int RESULT_SET_SLOT = 2;
+
+	private static final int DEFAULT_PRIMITIVES_SLOT = 3;
+
+	private static final int TARGET_SLOT = 4;
+
+	private static final int VALUE_SLOT = 5;
+
+	private static final Map<Class<?>, Getter> getters = new HashMap<>(32);
+
+	private static final Map<ClassLoader, RowPopulatorCompiler> compilers = new ConcurrentReferenceHashMap<>();
+
+	static {
+		getters.put(String.class, new Getter("getString", String.class));
+		getters.put(boolean.class, new Getter("getBoolean", boolean.class));
+		getters.put(Boolean.class, new Getter("getBoolean", boolean.class));
+		getters.put(byte.class, new Getter("getByte", byte.class));
+		getters.put(Byte.class, new Getter("getByte", byte.class));
+		getters.put(short.class, new Getter("getShort", short.class));
+		getters.put(Short.class, new Getter("getShort", short.class));
+		getters.put(int.class, new Getter("getInt", int.class));
+		getters.put(Integer.class, new Getter("getInt", int.class));
+		getters.put(long.class, new Getter("getLong", long.class));
+		getters.put(Long.class, new Getter("getLong", long.class));
+		getters.put(float.class, new Getter("getFloat", float.class));
+		getters.put(Float.class, new Getter("getFloat", float.class));
+		getters.put(double.class, new Getter("getDouble", double.class));
+		getters.put(Double.class, new Getter("getDouble", double.class));
+		getters.put(BigDecimal.class, new Getter("getBigDecimal", BigDecimal.class));
+		getters.put(java.sql.Date.class, new Getter("getDate", java.sql.Date.class));
+		getters.put(java.sql.Time.class, new Getter("getTime", java.sql.Time.class));
+		getters.put(Timestamp.class, new Getter("getTimestamp", Timestamp.class));
+		getters.put(java.util.Date.class, new Getter("getTimestamp", Timestamp.class));
+		getters.put(byte[].class, new Getter("getBytes", byte[].class));
+		getters.put(Blob.class, new Getter("getBlob", Blob.class));
+		getters.put(Clob.class, new Getter("getClob", Clob.class));
+	}
+
+
+	// The child ClassLoader used to load the generated populator classes
+	private ChildClassLoader ccl;
+
+	// Counter suffix for generated classes within this compiler instance
+	private final AtomicInteger suffixId = new AtomicInteger(1);
+
+	// Populators generated so far, keyed by mapped class and bindings
+	private final Map<List<Object>, CompiledRowPopulator> populators = new ConcurrentHashMap<>(64);
+
+
+	private RowPopulatorCompiler(ClassLoader classLoader) {
+		this.ccl = new ChildClassLoader(classLoader);
+	}
+
+
+	/**
+	 * Determine whether populators can be generated for the given mapped class:
+	 * it needs to be a public, concrete, top-level or static nested class with a
+	 * public no-arg constructor, loaded by a class loader that sees this package.
+	 * @param mappedClass the mapped class
+	 */
+	public static boolean isCompilable(Class<?> mappedClass) {
+		int modifiers = mappedClass.getModifiers();
+		if (!Modifier.isPublic(modifiers) || Modifier.isAbstract(modifiers) || mappedClass.isInterface() ||
+				(mappedClass.isMemberClass() && !Modifier.isStatic(modifiers))) {
+			return false;
+		}
+		Constructor<?> ctor = ClassUtils.getConstructorIfAvailable(mappedClass);
+		if (ctor == null || !Modifier.isPublic(ctor.getModifiers())) {
+			return false;
+		}
+		ClassLoader classLoader = mappedClass.getClassLoader();
+		return (classLoader != null && ClassUtils.isVisible(CompiledRowPopulator.class, classLoader));
+	}
+
+	/**
+	 * Determine whether the given property of a compilable mapped class can be
+	 * bound in a generated populator: it needs a public setter for one of the
+	 * types extracted with a dedicated {@code ResultSet} getter.
+	 * @param pd the property to check
+	 */
+	public static boolean isCompilable(PropertyDescriptor pd) {
+		Method setter = pd.getWriteMethod();
+		return (setter != null && Modifier.isPublic(setter.getModifiers()) &&
+				!Modifier.isStatic(setter.getModifiers()) && setter.getParameterCount() == 1 &&
+				getters.containsKey(setter.getParameterTypes()[0]));
+	}
+
+	/**
+	 * Obtain a populator for the given mapped class and bindings, generating
+	 * it unless a populator for the same bindings has been generated before.
+	 * @param mappedClass the mapped class (must be {@linkplain #isCompilable(Class) compilable})
+	 * @param columns the indexes of the bound columns
+	 * @param properties the bound properties, in the order of {@code columns}
+	 * (must be {@linkplain #isCompilable(PropertyDescriptor) compilable})
+	 * @return the populator instance, or {@code null} if it could not be generated
+	 */
+	@Nullable
+	public static CompiledRowPopulator compile(Class<?> mappedClass, int[] columns, PropertyDescriptor[] properties) {
+		ClassLoader classLoader = mappedClass.getClassLoader();
+		RowPopulatorCompiler compiler = compilers.computeIfAbsent(classLoader, RowPopulatorCompiler::new);
+		List<Object> key = new ArrayList<>(columns.length * 2 + 1);
+		key.add(mappedClass);
+		for (int i = 0; i < columns.length; i++) {
+			key.add(columns[i]);
+			key.add(properties[i].getWriteMethod());
+		}
+		CompiledRowPopulator populator = compiler.populators.get(key);
+		if (populator == null) {
+			try {
+				Class<? extends CompiledRowPopulator> clazz =
+						compiler.createPopulatorClass(mappedClass, columns, properties);
+				populator = ReflectionUtils.accessibleConstructor(clazz).newInstance();
+				compiler.populators.put(key, populator);
+			}
+			catch (Throwable ex) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Unable to generate row populator for " + mappedClass.getName(), ex);
+				}
+				return null;
+			}
+		}
+		return populator;
+	}
+
+
+	private synchronized Class<? extends CompiledRowPopulator> createPopulatorClass(
+			Class<?> mappedClass, int[] columns, PropertyDescriptor[] properties) {
+
+		// Create class outline 'jdbc/RowPopulatorNNN extends org.springframework.jdbc.core.CompiledRowPopulator'
+		String className = "jdbc/RowPopulator" + this.suffixId.incrementAndGet();
+		String targetType = Type.getInternalName(mappedClass);
+		ClassWriter cw = new PopulatorClassWriter();
+		cw.visit(V1_8, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, className, null, POPULATOR_TYPE, null);
+
+		// Create default constructor
+		MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+		mv.visitCode();
+		mv.visitVarInsn(ALOAD, 0);
+		mv.visitMethodInsn(INVOKESPECIAL, POPULATOR_TYPE, "<init>", "()V", false);
+		mv.visitInsn(RETURN);
+		mv.visitMaxs(0, 0);  // computed
+		mv.visitEnd();
+
+		// Create newInstance() method
+		mv = cw.visitMethod(ACC_PUBLIC, "newInstance", "()Ljava/lang/Object;", null, null);
+		mv.visitCode();
+		mv.visitTypeInsn(NEW, targetType);
+		mv.visitInsn(DUP);
+		mv.visitMethodInsn(INVOKESPECIAL, targetType, "<init>", "()V", false);
+		mv.visitInsn(ARETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		// Create populate(Object, ResultSet, boolean) method
+		mv = cw.visitMethod(ACC_PUBLIC, "populate", "(Ljava/lang/Object;Ljava/sql/ResultSet;Z)I",
+				null, new String[] {"java/sql/SQLException"});
+		mv.visitCode();
+		mv.visitVarInsn(ALOAD, MAPPED_OBJECT_SLOT);
+		mv.visitTypeInsn(CHECKCAST, targetType);
+		mv.visitVarInsn(ASTORE, TARGET_SLOT);
+		for (int i = 0; i < columns.length; i++) {
+			generateBinding(mv, targetType, columns[i], properties[i].getWriteMethod());
+		}
+		mv.visitInsn(ICONST_0);
+		mv.visitInsn(IRETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+		cw.visitEnd();
+
+		return loadClass(className.replace('/', '.'), cw.toByteArray());
+	}
+
+	private void generateBinding(MethodVisitor mv, String targetType, int column, Method setter) {
+		Class<?> propertyType = setter.getParameterTypes()[0];
+		Getter getter = getters.get(propertyType);
+		String setterDescriptor = Type.getMethodDescriptor(setter);
+
+		if (!getter.valueType.isPrimitive()) {
+			// target.setXxx(rs.getXxx(column))
+			mv.visitVarInsn(ALOAD, TARGET_SLOT);
+			mv.visitVarInsn(ALOAD, RESULT_SET_SLOT);
+			insertColumnIndex(mv, column);
+			insertGetterCall(mv, getter);
+			mv.visitMethodInsn(INVOKEVIRTUAL, targetType, setter.getName(), setterDescriptor, false);
+			insertPopIfNecessary(mv, setter);
+			return;
+		}
+
+		// value = rs.getXxx(column); if (rs.wasNull()) ...
+		Type valueType = Type.getType(getter.valueType);
+		mv.visitVarInsn(ALOAD, RESULT_SET_SLOT);
+		insertColumnIndex(mv, column);
+		insertGetterCall(mv, getter);
+		mv.visitVarInsn(valueType.getOpcode(ISTORE), VALUE_SLOT);
+		mv.visitVarInsn(ALOAD, RESULT_SET_SLOT);
+		mv.visitMethodInsn(INVOKEINTERFACE, RESULT_SET_TYPE, "wasNull", "()Z", true);
+
+		if (propertyType.isPrimitive()) {
+			// if (rs.wasNull()) { if (!primitivesDefaultedForNullValue) return column; }
+			// else target.setXxx(value);
+			Label notNull = new Label();
+			Label next = new Label();
+			mv.visitJumpInsn(IFEQ, notNull);
+			mv.visitVarInsn(ILOAD, DEFAULT_PRIMITIVES_SLOT);
+			mv.visitJumpInsn(IFNE, next);
+			insertColumnIndex(mv, column);
+			mv.visitInsn(IRETURN);
+			mv.visitLabel(notNull);
+			mv.visitVarInsn(ALOAD, TARGET_SLOT);
+			mv.visitVarInsn(valueType.getOpcode(ILOAD), VALUE_SLOT);
+			mv.visitMethodInsn(INVOKEVIRTUAL, targetType, setter.getName(), setterDescriptor, false);
+			insertPopIfNecessary(mv, setter);
+			mv.visitLabel(next);
+		}
+		else {
+			// target.setXxx(rs.wasNull() ? null : Xxx.valueOf(value))
+			Label box = new Label();
+			Label call = new Label();
+			mv.visitJumpInsn(IFEQ, box);
+			mv.visitVarInsn(ALOAD, TARGET_SLOT);
+			mv.visitInsn(ACONST_NULL);
+			mv.visitJumpInsn(GOTO, call);
+			mv.visitLabel(box);
+			mv.visitVarInsn(ALOAD, TARGET_SLOT);
+			mv.visitVarInsn(valueType.getOpcode(ILOAD), VALUE_SLOT);
+			String wrapperType = Type.getInternalName(propertyType);
+			mv.visitMethodInsn(INVOKESTATIC, wrapperType, "valueOf",
+					"(" + valueType.getDescriptor() + ")L" + wrapperType + ";", false);
+			mv.visitLabel(call);
+			mv.visitMethodInsn(INVOKEVIRTUAL, targetType, setter.getName(), setterDescriptor, false);
+			insertPopIfNecessary(mv, setter);
+		}
+	}
+
+	private static void insertGetterCall(MethodVisitor mv, Getter getter) {
+		mv.visitMethodInsn(INVOKEINTERFACE, RESULT_SET_TYPE, getter.methodName,
+				"(I)" + Type.getDescriptor(getter.valueType), true);
+	}
+
+	private static void insertColumnIndex(MethodVisitor mv, int column) {
+		if (column <= 5) {
+			mv.visitInsn(ICONST_0 + column);
+		}
+		else if (column <= Byte.MAX_VALUE) {
+			mv.visitIntInsn(BIPUSH, column);
+		}
+		else if (column <= Short.MAX_VALUE) {
+			mv.visitIntInsn(SIPUSH, column);
+		}
+		else {
+			mv.visitLdcInsn(column);
+		}
+	}
+
+	private static void insertPopIfNecessary(MethodVisitor mv, Method setter) {
+		// Setters detected by ExtendedBeanInfo may return a value, e.g. for chaining
+		Class<?> returnType = setter.getReturnType();
+		if (returnType == long.class || returnType == double.class) {
+			mv.visitInsn(POP2);
+		}
+		else if (returnType != void.class) {
+			mv.visitInsn(POP);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private Class<? extends CompiledRowPopulator> loadClass(String name, byte[] bytes) {
+		if (this.ccl.getClassesDefinedCount() > CLASSES_DEFINED_LIMIT) {
+			this.ccl = new ChildClassLoader(this.ccl.getParent());
+		}
+		return (Class<? extends CompiledRowPopulator>) this.ccl.defineClass(name, bytes);
+	}
+
+
+	private static class Getter {
+
+		final String methodName;
+
+		final Class<?> valueType;
+
+		Getter(String methodName, Class<?> valueType) {
+			this.methodName = methodName;
+			this.valueType = valueType;
+		}
+	}
+
+
+	private static class ChildClassLoader extends URLClassLoader {
+
+		private static final URL[] NO_URLS = new URL[0];
+
+		private int classesDefinedCount = 0;
+
+		public ChildClassLoader(@Nullable ClassLoader classLoader) {
+			super(NO_URLS, classLoader);
+		}
+
+		int getClassesDefinedCount() {
+			return this.classesDefinedCount;
+		}
+
+		public Class<?> defineClass(String name, byte[] bytes) {
+			Class<?> clazz = super.defineClass(name, bytes, 0, bytes.length);
+			this.classesDefinedCount++;
+			return clazz;
+		}
+	}
+
+
+	private class PopulatorClassWriter extends ClassWriter {
+
+		public PopulatorClassWriter() {
+			super(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES);
+		}
+
+		@Override
+		protected ClassLoader getClassLoader() {
+			return ccl;
+		}
+	}
+
+}
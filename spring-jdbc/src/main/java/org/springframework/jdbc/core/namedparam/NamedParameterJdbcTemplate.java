@@ -16,10 +16,12 @@
 
 package org.springframework.jdbc.core.namedparam;
 
-import java.util.LinkedHashMap;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 import javax.sql.DataSource;
 
 import org.springframework.dao.DataAccessException;
@@ -35,11 +37,13 @@ import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.SingleColumnRowMapper;
 import org.springframework.jdbc.core.SqlParameter;
+import org.springframework.jdbc.core.SqlParameterValue;
 import org.springframework.jdbc.core.SqlRowSetResultSetExtractor;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
 
 /**
  * Template class with a basic set of JDBC operations, allowing the use
@@ -71,17 +75,13 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 	/** The JdbcTemplate we are wrapping. */
 	private final JdbcOperations classicJdbcTemplate;
 
-	private volatile int cacheLimit = DEFAULT_CACHE_LIMIT;
-
 	/** Cache of original SQL String to ParsedSql representation. */
-	@SuppressWarnings("serial")
-	private final Map<String, ParsedSql> parsedSqlCache =
-			new LinkedHashMap<String, ParsedSql>(DEFAULT_CACHE_LIMIT, 0.75f, true) {
-				@Override
-				protected boolean removeEldestEntry(Map.Entry<String, ParsedSql> eldest) {
-					return size() > getCacheLimit();
-				}
-			};
+	private volatile ConcurrentLruCache<String, ParsedSql> parsedSqlCache =
+			new ConcurrentLruCache<>(DEFAULT_CACHE_LIMIT);
+
+	/** Cache of PreparedStatementCreatorFactory per SQL String and parameter types. */
+	private volatile ConcurrentLruCache<FactoryCacheKey, PreparedStatementCreatorFactory> factoryCache =
+			new ConcurrentLruCache<>(DEFAULT_CACHE_LIMIT);
 
 
 	/**
@@ -128,17 +128,41 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 
 	/**
 	 * Specify the maximum number of entries for this template's SQL cache.
-	 * Default is 256.
+	 * Default is 256. 0 indicates no caching, always parsing each statement.
+	 * <p>The same limit applies to the cache of {@link PreparedStatementCreatorFactory}
+	 * instances per statement and parameter types.
 	 */
 	public void setCacheLimit(int cacheLimit) {
-		this.cacheLimit = cacheLimit;
+		this.parsedSqlCache = new ConcurrentLruCache<>(cacheLimit);
+		this.factoryCache = new ConcurrentLruCache<>(cacheLimit);
 	}
 
 	/**
 	 * Return the maximum number of entries for this template's SQL cache.
 	 */
 	public int getCacheLimit() {
-		return this.cacheLimit;
+		return this.parsedSqlCache.sizeLimit();
+	}
+
+	/**
+	 * Return the ratio of {@link #getParsedSql} calls served from this
+	 * template's SQL cache, between 0.0 and 1.0.
+	 * @since 5.1
+	 * @see #setCacheLimit
+	 */
+	public double getParsedSqlCacheHitRate() {
+		return this.parsedSqlCache.hitRate();
+	}
+
+	/**
+	 * Return the ratio of {@link #getPreparedStatementCreator} calls that reused a
+	 * cached {@link PreparedStatementCreatorFactory} for the same statement and
+	 * parameter types, between 0.0 and 1.0.
+	 * @since 5.1
+	 * @see #setCacheLimit
+	 */
+	public double getPreparedStatementFactoryCacheHitRate() {
+		return this.factoryCache.hitRate();
 	}
 
 
@@ -224,6 +248,20 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 		return query(sql, EmptySqlParameterSource.INSTANCE, rowMapper);
 	}
 
+	@Override
+	public <T> Stream<T> queryForStream(String sql, SqlParameterSource paramSource, RowMapper<T> rowMapper)
+			throws DataAccessException {
+
+		return getJdbcOperations().queryForStream(getPreparedStatementCreator(sql, paramSource), rowMapper);
+	}
+
+	@Override
+	public <T> Stream<T> queryForStream(String sql, Map<String, ?> paramMap, RowMapper<T> rowMapper)
+			throws DataAccessException {
+
+		return queryForStream(sql, new MapSqlParameterSource(paramMap), rowMapper);
+	}
+
 	@Override
 	@Nullable
 	public <T> T queryForObject(String sql, SqlParameterSource paramSource, RowMapper<T> rowMapper)
@@ -389,33 +427,106 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 			@Nullable Consumer<PreparedStatementCreatorFactory> customizer) {
 
 		ParsedSql parsedSql = getParsedSql(sql);
-		String sqlToUse = NamedParameterUtils.substituteNamedParameters(parsedSql, paramSource);
-		List<SqlParameter> declaredParameters = NamedParameterUtils.buildSqlParameterList(parsedSql, paramSource);
-		PreparedStatementCreatorFactory pscf = new PreparedStatementCreatorFactory(sqlToUse, declaredParameters);
+		PreparedStatementCreatorFactory pscf;
 		if (customizer != null) {
+			pscf = createPreparedStatementCreatorFactory(parsedSql, paramSource);
 			customizer.accept(pscf);
 		}
+		else {
+			pscf = getPreparedStatementCreatorFactory(parsedSql, paramSource);
+		}
 		Object[] params = NamedParameterUtils.buildValueArray(parsedSql, paramSource, null);
 		return pscf.newPreparedStatementCreator(params);
 	}
 
+	/**
+	 * Obtain a {@link PreparedStatementCreatorFactory} for the given parsed statement
+	 * and parameters, reusing a cached factory for the same statement and parameter
+	 * types unless a parameter value is a Collection to be expanded into a list of
+	 * placeholders.
+	 */
+	private PreparedStatementCreatorFactory getPreparedStatementCreatorFactory(
+			ParsedSql parsedSql, SqlParameterSource paramSource) {
+
+		List<String> paramNames = parsedSql.getParameterNames();
+		int[] sqlTypes = new int[paramNames.size()];
+		String[] typeNames = new String[paramNames.size()];
+		for (int i = 0; i < sqlTypes.length; i++) {
+			String paramName = paramNames.get(i);
+			if (paramSource.hasValue(paramName)) {
+				Object value = paramSource.getValue(paramName);
+				if (value instanceof SqlParameterValue) {
+					value = ((SqlParameterValue) value).getValue();
+				}
+				if (value instanceof Collection) {
+					return createPreparedStatementCreatorFactory(parsedSql, paramSource);
+				}
+			}
+			sqlTypes[i] = paramSource.getSqlType(paramName);
+			typeNames[i] = paramSource.getTypeName(paramName);
+		}
+		FactoryCacheKey cacheKey = new FactoryCacheKey(parsedSql.getOriginalSql(), sqlTypes, typeNames);
+		return this.factoryCache.get(cacheKey, key -> createPreparedStatementCreatorFactory(parsedSql, paramSource));
+	}
+
+	private PreparedStatementCreatorFactory createPreparedStatementCreatorFactory(
+			ParsedSql parsedSql, SqlParameterSource paramSource) {
+
+		String sqlToUse = NamedParameterUtils.substituteNamedParameters(parsedSql, paramSource);
+		List<SqlParameter> declaredParameters = NamedParameterUtils.buildSqlParameterList(parsedSql, paramSource);
+		return new PreparedStatementCreatorFactory(sqlToUse, declaredParameters);
+	}
+
 	/**
 	 * Obtain a parsed representation of the given SQL statement.
-	 * <p>The default implementation uses an LRU cache with an upper limit of 256 entries.
+	 * <p>The default implementation uses a lock-free cache with an upper limit
+	 * of 256 entries, evicting entries in approximate LRU order.
 	 * @param sql the original SQL statement
 	 * @return a representation of the parsed SQL statement
+	 * @see #setCacheLimit
 	 */
 	protected ParsedSql getParsedSql(String sql) {
-		if (getCacheLimit() <= 0) {
-			return NamedParameterUtils.parseSqlStatement(sql);
+		return this.parsedSqlCache.get(sql, NamedParameterUtils::parseSqlStatement);
+	}
+
+
+	/**
+	 * Cache key for a PreparedStatementCreatorFactory: the original SQL
+	 * statement along with the SQL type information of its parameters.
+	 */
+	private static final class FactoryCacheKey {
+
+		private final String sql;
+
+		private final int[] sqlTypes;
+
+		private final String[] typeNames;
+
+		private final int hashCode;
+
+		public FactoryCacheKey(String sql, int[] sqlTypes, String[] typeNames) {
+			this.sql = sql;
+			this.sqlTypes = sqlTypes;
+			this.typeNames = typeNames;
+			this.hashCode = 31 * (31 * sql.hashCode() + Arrays.hashCode(sqlTypes)) + Arrays.hashCode(typeNames);
 		}
-		synchronized (this.parsedSqlCache) {
-			ParsedSql parsedSql = this.parsedSqlCache.get(sql);
-			if (parsedSql == null) {
-				parsedSql = NamedParameterUtils.parseSqlStatement(sql);
-				this.parsedSqlCache.put(sql, parsedSql);
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
 			}
-			return parsedSql;
+			if (!(other instanceof FactoryCacheKey)) {
+				return false;
+			}
+			FactoryCacheKey otherKey = (FactoryCacheKey) other;
+			return (this.sql.equals(otherKey.sql) && Arrays.equals(this.sqlTypes, otherKey.sqlTypes) &&
+					Arrays.equals(this.typeNames, otherKey.typeNames));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
 		}
 	}
 
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link AdaptiveBatchSizer}.
+ *
+ * @since 5.1
+ */
+public class AdaptiveBatchSizerTests {
+
+	@Test
+	public void startsWithMinimumBatchSize() {
+		AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(16, 4096, 100);
+		assertEquals(16, sizer.getBatchSize());
+	}
+
+	@Test
+	public void growsByAtMostFactorTwoWhenFasterThanTarget() {
+		AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(16, 4096, 100);
+		sizer.recordBatch(16, TimeUnit.MILLISECONDS.toNanos(1));
+		assertEquals(32, sizer.getBatchSize());
+		sizer.recordBatch(32, TimeUnit.MILLISECONDS.toNanos(1));
+		assertEquals(64, sizer.getBatchSize());
+	}
+
+	@Test
+	public void shrinksByAtMostFactorTwoWhenSlowerThanTarget() {
+		AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(16, 4096, 100);
+		for (int i = 0; i < 10; i++) {
+			sizer.recordBatch(sizer.getBatchSize(), TimeUnit.MILLISECONDS.toNanos(1));
+		}
+		assertEquals(4096, sizer.getBatchSize());
+		sizer.recordBatch(4096, TimeUnit.SECONDS.toNanos(10));
+		assertEquals(2048, sizer.getBatchSize());
+	}
+
+	@Test
+	public void convergesToTargetTime() {
+		AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(16, 4096, 100);
+		// 0.1 ms per row -> 1000 rows per 100 ms
+		for (int i = 0; i < 10; i++) {
+			int batchSize = sizer.getBatchSize();
+			sizer.recordBatch(batchSize, batchSize * TimeUnit.MICROSECONDS.toNanos(100));
+		}
+		assertEquals(1000, sizer.getBatchSize());
+	}
+
+	@Test
+	public void staysWithinBounds() {
+		AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(16, 64, 100);
+		for (int i = 0; i < 10; i++) {
+			sizer.recordBatch(sizer.getBatchSize(), 1);
+		}
+		assertEquals(64, sizer.getBatchSize());
+		for (int i = 0; i < 10; i++) {
+			sizer.recordBatch(sizer.getBatchSize(), TimeUnit.SECONDS.toNanos(10));
+		}
+		assertEquals(16, sizer.getBatchSize());
+	}
+
+	@Test
+	public void fixedBatchSize() {
+		AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(100, 100, 100);
+		sizer.recordBatch(100, 1);
+		assertEquals(100, sizer.getBatchSize());
+		sizer.recordBatch(100, TimeUnit.SECONDS.toNanos(10));
+		assertEquals(100, sizer.getBatchSize());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void maximumBelowMinimum() {
+		new AdaptiveBatchSizer(100, 10, 100);
+	}
+
+}
@@ -16,12 +16,20 @@
 
 package org.springframework.jdbc.core;
 
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.TypeMismatchException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.jdbc.core.test.ConcretePerson;
@@ -29,6 +37,9 @@ import org.springframework.jdbc.core.test.DatePerson;
 import org.springframework.jdbc.core.test.ExtendedPerson;
 import org.springframework.jdbc.core.test.Person;
 import org.springframework.jdbc.core.test.SpacePerson;
+import org.springframework.tests.Assume;
+import org.springframework.tests.TestGroup;
+import org.springframework.util.StopWatch;
 
 import static org.junit.Assert.*;
 
@@ -141,4 +152,161 @@ public class BeanPropertyRowMapperTests extends AbstractRowMapperTests {
 		mock.verifyClosed();
 	}
 
+	@Test
+	public void testStaticQueryWithCompiledMapping() throws Exception {
+		Mock mock = new Mock();
+		BeanPropertyRowMapper<Person> mapper = new BeanPropertyRowMapper<>(Person.class);
+		mapper.setCompiledMapping(true);
+		List<Person> result = mock.getJdbcTemplate().query(
+				"select name, age, birth_date, balance from people", mapper);
+		assertTrue(mapper.isCompiledPopulatorInUse());
+		assertEquals(1, result.size());
+		verifyPerson(result.get(0));
+		mock.verifyClosed();
+	}
+
+	@Test
+	public void testCompiledMappingWithInheritanceAndNoUnpopulatedFieldsFound() throws Exception {
+		Mock mock = new Mock();
+		BeanPropertyRowMapper<ConcretePerson> mapper = new BeanPropertyRowMapper<>(ConcretePerson.class, true);
+		mapper.setCompiledMapping(true);
+		List<ConcretePerson> result = mock.getJdbcTemplate().query(
+				"select name, age, birth_date, balance from people", mapper);
+		assertTrue(mapper.isCompiledPopulatorInUse());
+		assertEquals(1, result.size());
+		verifyPerson(result.get(0));
+		mock.verifyClosed();
+	}
+
+	@Test
+	public void testCompiledMappingWithUnpopulatedFieldsNotAccepted() throws Exception {
+		Mock mock = new Mock();
+		BeanPropertyRowMapper<ExtendedPerson> mapper = new BeanPropertyRowMapper<>(ExtendedPerson.class, true);
+		mapper.setCompiledMapping(true);
+		thrown.expect(InvalidDataAccessApiUsageException.class);
+		mock.getJdbcTemplate().query("select name, age, birth_date, balance from people", mapper);
+	}
+
+	@Test
+	public void testCompiledMappingNullValue() throws Exception {
+		BeanPropertyRowMapper<Person> mapper = new BeanPropertyRowMapper<>(Person.class);
+		mapper.setCompiledMapping(true);
+		Mock mock = new Mock(MockType.TWO);
+		thrown.expect(TypeMismatchException.class);
+		mock.getJdbcTemplate().query(
+				"select name, null as age, birth_date, balance from people", mapper);
+	}
+
+	@Test
+	public void testCompiledMappingNullValueWithPrimitivesDefaulted() throws Exception {
+		BeanPropertyRowMapper<Person> mapper = new BeanPropertyRowMapper<>(Person.class);
+		mapper.setCompiledMapping(true);
+		mapper.setPrimitivesDefaultedForNullValue(true);
+		Mock mock = new Mock(MockType.TWO);
+		List<Person> result = mock.getJdbcTemplate().query(
+				"select name, null as age, birth_date, balance from people", mapper);
+		assertTrue(mapper.isCompiledPopulatorInUse());
+		assertEquals(1, result.size());
+		assertEquals("Bubba", result.get(0).getName());
+		assertEquals(0L, result.get(0).getAge());
+		assertEquals(new BigDecimal("1234.56"), result.get(0).getBalance());
+	}
+
+	@Test
+	public void testCompiledMappingWithSpaceInColumnNameAndLocalDateTime() throws Exception {
+		Mock mock = new Mock(MockType.THREE);
+		BeanPropertyRowMapper<SpacePerson> mapper = new BeanPropertyRowMapper<>(SpacePerson.class);
+		mapper.setCompiledMapping(true);
+		List<SpacePerson> result = mock.getJdbcTemplate().query(
+				"select last_name as \"Last Name\", age, birth_date, balance from people", mapper);
+		assertTrue(mapper.isCompiledPopulatorInUse());
+		assertEquals(1, result.size());
+		verifyPerson(result.get(0));
+		mock.verifyClosed();
+	}
+
+	@Test
+	public void testRowPopulatorCompiledForPerson() throws Exception {
+		assertTrue(RowPopulatorCompiler.isCompilable(Person.class));
+		PropertyDescriptor[] properties = new PropertyDescriptor[] {
+				BeanUtils.getPropertyDescriptor(Person.class, "name"),
+				BeanUtils.getPropertyDescriptor(Person.class, "age"),
+				BeanUtils.getPropertyDescriptor(Person.class, "balance")};
+		CompiledRowPopulator populator = RowPopulatorCompiler.compile(Person.class, new int[] {1, 2, 4}, properties);
+		assertNotNull(populator);
+		assertSame(populator, RowPopulatorCompiler.compile(Person.class, new int[] {1, 2, 4}, properties));
+	}
+
+	@Test
+	public void testCompiledMappingReadsMetaDataOncePerResultSet() throws Exception {
+		AtomicInteger metaDataCalls = new AtomicInteger();
+		ResultSet rs = createResultSet(metaDataCalls);
+		BeanPropertyRowMapper<Person> mapper = new BeanPropertyRowMapper<>(Person.class);
+		mapper.setCompiledMapping(true);
+		for (int i = 0; i < 3; i++) {
+			assertEquals("Bubba", mapper.mapRow(rs, i).getName());
+		}
+		assertTrue(mapper.isCompiledPopulatorInUse());
+		assertEquals(1, metaDataCalls.get());
+
+		mapper.mapRow(createResultSet(metaDataCalls), 0);
+		assertEquals(2, metaDataCalls.get());
+	}
+
+	@Test
+	public void testCompiledMappingPerformance() throws Exception {
+		Assume.group(TestGroup.PERFORMANCE);
+		ResultSet rs = createResultSet();
+		BeanPropertyRowMapper<Person> mapper = new BeanPropertyRowMapper<>(Person.class);
+		BeanPropertyRowMapper<Person> compiledMapper = new BeanPropertyRowMapper<>(Person.class);
+		compiledMapper.setCompiledMapping(true);
+		StopWatch sw = new StopWatch();
+
+		sw.start("reflective");
+		for (int i = 0; i < 100000; i++) {
+			mapper.mapRow(rs, i);
+		}
+		sw.stop();
+		long reflectiveTime = sw.getLastTaskTimeMillis();
+
+		sw.start("compiled");
+		for (int i = 0; i < 100000; i++) {
+			compiledMapper.mapRow(rs, i);
+		}
+		sw.stop();
+		long compiledTime = sw.getLastTaskTimeMillis();
+
+		assertTrue("Compiled mapping took longer than reflective mapping: " + sw.prettyPrint(),
+				compiledTime < reflectiveTime);
+	}
+
+
+	private static ResultSet createResultSet() {
+		return createResultSet(new AtomicInteger());
+	}
+
+	private static ResultSet createResultSet(AtomicInteger metaDataCalls) {
+		String[] columns = {"name", "age", "birth_date", "balance"};
+		Object[] values = {"Bubba", 22L, new Timestamp(1221222L), new BigDecimal("1234.56")};
+		ClassLoader cl = BeanPropertyRowMapperTests.class.getClassLoader();
+		ResultSetMetaData rsmd = (ResultSetMetaData) Proxy.newProxyInstance(cl,
+				new Class<?>[] {ResultSetMetaData.class}, (proxy, method, args) -> {
+					if (method.getName().equals("getColumnCount")) {
+						return columns.length;
+					}
+					return columns[(Integer) args[0] - 1];
+				});
+		return (ResultSet) Proxy.newProxyInstance(cl,
+				new Class<?>[] {ResultSet.class}, (proxy, method, args) -> {
+					if (method.getName().equals("getMetaData")) {
+						metaDataCalls.incrementAndGet();
+						return rsmd;
+					}
+					if (method.getName().equals("wasNull")) {
+						return false;
+					}
+					return values[(Integer) args[0] - 1];
+				});
+	}
+
 }
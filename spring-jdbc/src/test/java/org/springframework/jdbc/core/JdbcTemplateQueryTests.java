@@ -24,8 +24,11 @@ import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.sql.DataSource;
 
 import org.junit.Before;
@@ -33,7 +36,9 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import org.springframework.dao.DataAccessException;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.jdbc.support.SQLStateSQLExceptionTranslator;
 
 import static org.junit.Assert.*;
 import static org.mockito.BDDMockito.*;
@@ -392,4 +397,56 @@ public class JdbcTemplateQueryTests {
 		verify(this.preparedStatement).close();
 	}
 
+	@Test
+	public void testQueryForStream() throws Exception {
+		String sql = "SELECT AGE FROM CUSTMR WHERE ID < 3";
+		given(this.resultSet.next()).willReturn(true, true, false);
+		given(this.resultSet.getInt(1)).willReturn(11, 12);
+		given(this.statement.getConnection()).willReturn(this.connection);
+		try (Stream<Integer> stream = this.template.queryForStream(sql, (rs, rowNum) -> rs.getInt(1))) {
+			verify(this.resultSet, never()).next();
+			verify(this.statement, never()).close();
+			assertEquals(Arrays.asList(11, 12), stream.collect(Collectors.toList()));
+			verify(this.resultSet, never()).close();
+		}
+		verify(this.resultSet).close();
+		verify(this.statement).close();
+		verify(this.connection).close();
+	}
+
+	@Test
+	public void testQueryForStreamWithArgsAndFetchSize() throws Exception {
+		String sql = "SELECT AGE FROM CUSTMR WHERE ID < ?";
+		given(this.resultSet.next()).willReturn(true, true, false);
+		given(this.resultSet.getInt(1)).willReturn(11, 12);
+		given(this.preparedStatement.getConnection()).willReturn(this.connection);
+		this.template.setFetchSize(500);
+		try (Stream<Integer> stream = this.template.queryForStream(sql, (rs, rowNum) -> rs.getInt(1), 3)) {
+			assertEquals(Integer.valueOf(11), stream.findFirst().get());
+			verify(this.preparedStatement, never()).close();
+		}
+		verify(this.preparedStatement).setFetchSize(500);
+		verify(this.preparedStatement).setObject(1, 3);
+		verify(this.resultSet).close();
+		verify(this.preparedStatement).close();
+		verify(this.connection).close();
+	}
+
+	@Test
+	public void testQueryForStreamReleasesResourcesOnFailure() throws Exception {
+		String sql = "SELECT AGE FROM CUSTMR WHERE ID < 3";
+		SQLException sqlException = new SQLException("bad SQL");
+		given(this.preparedStatement.executeQuery()).willThrow(sqlException);
+		this.template.setExceptionTranslator(new SQLStateSQLExceptionTranslator());
+		try {
+			this.template.queryForStream(sql, (PreparedStatementSetter) null, (rs, rowNum) -> rs.getInt(1));
+			fail("Should have thrown DataAccessException");
+		}
+		catch (DataAccessException ex) {
+			assertSame(sqlException, ex.getCause());
+		}
+		verify(this.preparedStatement).close();
+		verify(this.connection).close();
+	}
+
 }
@@ -33,6 +33,9 @@ import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
 import javax.sql.DataSource;
 
 import org.junit.Before;
@@ -781,6 +784,147 @@ public class JdbcTemplateTests {
 		verify(this.connection, atLeastOnce()).close();
 	}
 
+	@Test
+	public void testBatchUpdateWithIterator() throws Exception {
+		final String sql = "UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = ?";
+		final List<Integer> ids = Arrays.asList(100, 200, 300);
+		final int[] rowsAffected1 = new int[] { 1, 2 };
+		final int[] rowsAffected2 = new int[] { Statement.SUCCESS_NO_INFO };
+
+		given(this.preparedStatement.executeBatch()).willReturn(rowsAffected1, rowsAffected2);
+		mockDatabaseMetaData(true);
+
+		ParameterizedPreparedStatementSetter<Integer> setter = (ps, argument) -> ps.setInt(1, argument.intValue());
+		JdbcTemplate template = new JdbcTemplate(this.dataSource, false);
+		template.setMinBatchSize(2);
+		template.setMaxBatchSize(2);
+		List<int[]> chunks = new ArrayList<>();
+
+		long actualRowsAffected = template.batchUpdate(sql, ids.iterator(), setter, chunks::add);
+		assertEquals(3, actualRowsAffected);
+		assertEquals(2, chunks.size());
+		assertSame(rowsAffected1, chunks.get(0));
+		assertSame(rowsAffected2, chunks.get(1));
+
+		verify(this.preparedStatement, times(3)).addBatch();
+		verify(this.preparedStatement, times(2)).executeBatch();
+		verify(this.preparedStatement).setInt(1, ids.get(0));
+		verify(this.preparedStatement).setInt(1, ids.get(1));
+		verify(this.preparedStatement).setInt(1, ids.get(2));
+		verify(this.preparedStatement).close();
+		verify(this.connection, atLeastOnce()).close();
+	}
+
+	@Test
+	public void testBatchUpdateWithStreamAndNoBatchSupport() throws Exception {
+		final String sql = "UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = ?";
+
+		given(this.preparedStatement.executeUpdate()).willReturn(1);
+		mockDatabaseMetaData(false);
+
+		ParameterizedPreparedStatementSetter<Integer> setter = (ps, argument) -> ps.setInt(1, argument.intValue());
+		JdbcTemplate template = new JdbcTemplate(this.dataSource, false);
+
+		long actualRowsAffected = template.batchUpdate(sql, Stream.of(100, 200, 300), setter);
+		assertEquals(3, actualRowsAffected);
+
+		verify(this.preparedStatement, never()).addBatch();
+		verify(this.preparedStatement, times(3)).executeUpdate();
+		verify(this.preparedStatement).close();
+		verify(this.connection, atLeastOnce()).close();
+	}
+
+	@Test
+	public void testBatchUpdateWithIteratorOnConcurrentConnections() throws Exception {
+		final String sql = "UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = ?";
+		final List<Integer> ids = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			ids.add(i);
+		}
+
+		given(this.preparedStatement.executeBatch()).willReturn(new int[] { 1, 1, 1, 1, 1 });
+		mockDatabaseMetaData(true);
+
+		ParameterizedPreparedStatementSetter<Integer> setter = (ps, argument) -> ps.setInt(1, argument.intValue());
+		JdbcTemplate template = new JdbcTemplate(this.dataSource, false);
+		template.setMinBatchSize(5);
+		template.setMaxBatchSize(5);
+		template.setBatchConcurrency(4);
+
+		long actualRowsAffected = template.batchUpdate(sql, ids.iterator(), setter);
+		assertEquals(100, actualRowsAffected);
+
+		verify(this.preparedStatement, times(100)).addBatch();
+		verify(this.preparedStatement, times(20)).executeBatch();
+		verify(this.preparedStatement, times(4)).close();
+		verify(this.connection, atLeast(4)).close();
+	}
+
+	@Test
+	public void testBatchUpdateWithIteratorAndRejectedWorker() throws Exception {
+		final String sql = "UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = ?";
+		final List<Integer> ids = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			ids.add(i);
+		}
+
+		given(this.preparedStatement.executeBatch()).willReturn(new int[] { 1, 1, 1, 1, 1 });
+		mockDatabaseMetaData(true);
+
+		class DisposableSetter implements ParameterizedPreparedStatementSetter<Integer>, ParameterDisposer {
+
+			volatile boolean cleanedUp;
+
+			volatile boolean usedAfterCleanup;
+
+			@Override
+			public void setValues(PreparedStatement ps, Integer argument) throws SQLException {
+				this.usedAfterCleanup |= this.cleanedUp;
+				ps.setInt(1, argument.intValue());
+			}
+
+			@Override
+			public void cleanupParameters() {
+				this.cleanedUp = true;
+			}
+		}
+
+		List<Thread> threads = new ArrayList<>();
+		Executor executor = task -> {
+			if (!threads.isEmpty()) {
+				throw new RejectedExecutionException("Executor full");
+			}
+			Thread thread = new Thread(() -> {
+				try {
+					Thread.sleep(100);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				task.run();
+			});
+			threads.add(thread);
+			thread.start();
+		};
+		DisposableSetter setter = new DisposableSetter();
+		JdbcTemplate template = new JdbcTemplate(this.dataSource, false);
+		template.setMinBatchSize(5);
+		template.setMaxBatchSize(5);
+		template.setBatchConcurrency(2);
+		template.setBatchExecutor(executor);
+
+		try {
+			template.batchUpdate(sql, ids.iterator(), setter);
+			fail("Should have thrown RejectedExecutionException");
+		}
+		catch (RejectedExecutionException ex) {
+			assertTrue(setter.cleanedUp);
+		}
+		threads.get(0).join();
+		assertFalse(setter.usedAfterCleanup);
+		verify(this.preparedStatement, never()).executeBatch();
+	}
+
 	@Test
 	public void testCouldntGetConnectionForOperationOrExceptionTranslator() throws SQLException {
 		SQLException sqlException = new SQLException("foo", "07xxx");
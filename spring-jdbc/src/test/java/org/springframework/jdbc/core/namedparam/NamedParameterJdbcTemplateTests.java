@@ -193,6 +193,44 @@ public class NamedParameterJdbcTemplateTests {
 		verify(connection).close();
 	}
 
+	@Test
+	public void testExecuteWithCachedStatementFactory() throws SQLException {
+		given(preparedStatement.executeUpdate()).willReturn(1);
+
+		for (int i = 1; i <= 3; i++) {
+			params.put("perfId", i);
+			params.put("priceId", new SqlParameterValue(Types.INTEGER, i));
+			namedParameterTemplate.execute(UPDATE_NAMED_PARAMETERS, params,
+					(PreparedStatementCallback<Object>) PreparedStatement::executeUpdate);
+		}
+
+		verify(connection, times(3)).prepareStatement(UPDATE_NAMED_PARAMETERS_PARSED);
+		for (int i = 1; i <= 3; i++) {
+			verify(preparedStatement).setObject(1, i);
+			verify(preparedStatement).setObject(2, i, Types.INTEGER);
+		}
+		assertEquals(2.0 / 3, namedParameterTemplate.getParsedSqlCacheHitRate(), 0.001);
+		assertEquals(2.0 / 3, namedParameterTemplate.getPreparedStatementFactoryCacheHitRate(), 0.001);
+	}
+
+	@Test
+	public void testExecuteWithoutCache() throws SQLException {
+		given(preparedStatement.executeUpdate()).willReturn(1);
+		namedParameterTemplate.setCacheLimit(0);
+		assertEquals(0, namedParameterTemplate.getCacheLimit());
+
+		params.put("perfId", 1);
+		params.put("priceId", 1);
+		namedParameterTemplate.execute(UPDATE_NAMED_PARAMETERS, params,
+				(PreparedStatementCallback<Object>) PreparedStatement::executeUpdate);
+		namedParameterTemplate.execute(UPDATE_NAMED_PARAMETERS, params,
+				(PreparedStatementCallback<Object>) PreparedStatement::executeUpdate);
+
+		verify(connection, times(2)).prepareStatement(UPDATE_NAMED_PARAMETERS_PARSED);
+		assertEquals(0.0, namedParameterTemplate.getParsedSqlCacheHitRate(), 0.0);
+		assertEquals(0.0, namedParameterTemplate.getPreparedStatementFactoryCacheHitRate(), 0.0);
+	}
+
 	@Test
 	public void testExecuteNoParameters() throws SQLException {
 		given(preparedStatement.executeUpdate()).willReturn(1);
@@ -28,6 +28,8 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.sql.DataSource;
 
 import org.junit.After;
@@ -301,6 +303,26 @@ public class NamedParameterQueryTests {
 		verify(preparedStatement).setObject(2, 5);
 	}
 
+	@Test
+	public void testQueryForStreamWithParamMap() throws Exception {
+		given(resultSet.next()).willReturn(true, true, false);
+		given(resultSet.getInt(1)).willReturn(11, 12);
+		given(preparedStatement.getConnection()).willReturn(connection);
+
+		Map<String, Object> params = new HashMap<>();
+		params.put("id", 3);
+		List<Integer> ages;
+		try (Stream<Integer> stream = template.queryForStream(
+				"SELECT AGE FROM CUSTMR WHERE ID < :id", params, (rs, rowNum) -> rs.getInt(1))) {
+			ages = stream.collect(Collectors.toList());
+			verify(preparedStatement, never()).close();
+		}
+
+		assertEquals(Arrays.asList(11, 12), ages);
+		verify(connection).prepareStatement("SELECT AGE FROM CUSTMR WHERE ID < ?");
+		verify(preparedStatement).setObject(1, 3);
+	}
+
 
 	static class ParameterBean {
 
@@ -16,8 +16,10 @@
 
 package org.springframework.messaging.simp.broker;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,6 +27,8 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
 
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
@@ -41,6 +45,7 @@ import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.PathMatcher;
@@ -81,16 +86,24 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 
 	private final ExpressionParser expressionParser = new SpelExpressionParser();
 
-	private final DestinationCache destinationCache = new DestinationCache();
+	private final DestinationIndex destinationIndex = new DestinationIndex();
 
 	private final SessionSubscriptionRegistry subscriptionRegistry = new SessionSubscriptionRegistry();
 
 
 	/**
 	 * Specify the {@link PathMatcher} to use.
+	 * <p>With the default {@link AntPathMatcher}, subscriptions are resolved
+	 * through an index of the subscribed destinations and of the literal prefixes
+	 * of subscribed patterns. This requires case-sensitive matching without
+	 * trimming of tokens, and path separators other than letters, digits,
+	 * {@code '-'} and {@code '_'}; for other configurations or other
+	 * PathMatcher implementations, each destination is matched against all
+	 * subscribed destinations instead, with the results cached.
 	 */
 	public void setPathMatcher(PathMatcher pathMatcher) {
 		this.pathMatcher = pathMatcher;
+		this.destinationIndex.reset();
 	}
 
 	/**
@@ -101,11 +114,13 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 	}
 
 	/**
-	 * Specify the maximum number of entries for the resolved destination cache.
+	 * Specify the maximum number of entries for the resolved destination cache,
+	 * which holds the subscribed destination patterns matching a destination.
 	 * Default is 1024.
 	 */
 	public void setCacheLimit(int cacheLimit) {
 		this.cacheLimit = cacheLimit;
+		this.destinationIndex.reset();
 	}
 
 	/**
@@ -149,7 +164,7 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 
 		Expression expression = getSelectorExpression(message.getHeaders());
 		this.subscriptionRegistry.addSubscription(sessionId, subsId, destination, expression);
-		this.destinationCache.updateAfterNewSubscription(destination, sessionId, subsId);
+		this.destinationIndex.addSubscription(destination, sessionId);
 	}
 
 	@Nullable
@@ -181,7 +196,7 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 		if (info != null) {
 			String destination = info.removeSubscription(subsId);
 			if (destination != null) {
-				this.destinationCache.updateAfterRemovedSubscription(sessionId, subsId);
+				this.destinationIndex.removeSubscription(destination, sessionId);
 			}
 		}
 	}
@@ -190,13 +205,13 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 	public void unregisterAllSubscriptions(String sessionId) {
 		SessionSubscriptionInfo info = this.subscriptionRegistry.removeSubscriptions(sessionId);
 		if (info != null) {
-			this.destinationCache.updateAfterRemovedSession(info);
+			this.destinationIndex.removeSession(info);
 		}
 	}
 
 	@Override
 	protected MultiValueMap<String, String> findSubscriptionsInternal(String destination, Message<?> message) {
-		MultiValueMap<String, String> result = this.destinationCache.getSubscriptions(destination, message);
+		MultiValueMap<String, String> result = this.destinationIndex.getSubscriptions(destination);
 		return filterSubscriptions(result, message);
 	}
 
@@ -242,123 +257,344 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 
 	@Override
 	public String toString() {
-		return "DefaultSubscriptionRegistry[" + this.destinationCache + ", " + this.subscriptionRegistry + "]";
+		return "DefaultSubscriptionRegistry[" + this.destinationIndex + ", " + this.subscriptionRegistry + "]";
 	}
 
 
 	/**
-	 * A cache for destinations previously resolved via
-	 * {@link DefaultSubscriptionRegistry#findSubscriptionsInternal(String, Message)}.
+	 * Whether subscribed destinations can be looked up by literal prefix with
+	 * the given {@link PathMatcher}, i.e. whether a destination can only match a
+	 * pattern if it starts with all complete segments preceding the first
+	 * wildcard, in the same case, and with the same separators.
 	 */
-	private class DestinationCache {
-
-		/** Map from destination to {@code <sessionId, subscriptionId>} for fast look-ups. */
-		private final Map<String, LinkedMultiValueMap<String, String>> accessCache =
-				new ConcurrentHashMap<>(DEFAULT_CACHE_LIMIT);
-
-		/** Map from destination to {@code <sessionId, subscriptionId>} with locking. */
-		@SuppressWarnings("serial")
-		private final Map<String, LinkedMultiValueMap<String, String>> updateCache =
-				new LinkedHashMap<String, LinkedMultiValueMap<String, String>>(DEFAULT_CACHE_LIMIT, 0.75f, true) {
-					@Override
-					protected boolean removeEldestEntry(Map.Entry<String, LinkedMultiValueMap<String, String>> eldest) {
-						if (size() > getCacheLimit()) {
-							accessCache.remove(eldest.getKey());
-							return true;
-						}
-						else {
-							return false;
-						}
-					}
-				};
-
-
-		public LinkedMultiValueMap<String, String> getSubscriptions(String destination, Message<?> message) {
-			LinkedMultiValueMap<String, String> result = this.accessCache.get(destination);
-			if (result == null) {
-				synchronized (this.updateCache) {
-					result = new LinkedMultiValueMap<>();
-					for (SessionSubscriptionInfo info : subscriptionRegistry.getAllSubscriptions()) {
-						for (String destinationPattern : info.getDestinations()) {
-							if (getPathMatcher().match(destinationPattern, destination)) {
-								for (Subscription sub : info.getSubscriptions(destinationPattern)) {
-									result.add(info.sessionId, sub.getId());
-								}
-							}
-						}
-					}
-					if (!result.isEmpty()) {
-						this.updateCache.put(destination, result.deepCopy());
-						this.accessCache.put(destination, result);
-					}
+	private static boolean isIndexable(PathMatcher pathMatcher) {
+		return (pathMatcher instanceof AntPathMatcher && !pathMatcher.match("a", "A") &&
+				!pathMatcher.match("a", " a") && pathMatcher.match("*", "a-b_c"));
+	}
+
+	/**
+	 * Whether the given subscribed destination is to be indexed as a pattern,
+	 * or else looked up by the exact destination.
+	 */
+	private static boolean isPattern(String destination) {
+		return (containsWildcard(destination) || hasAdjacentSeparators(destination));
+	}
+
+	private static boolean containsWildcard(String destination) {
+		for (int i = 0; i < destination.length(); i++) {
+			char c = destination.charAt(i);
+			if (c == '*' || c == '?' || c == '{') {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean hasAdjacentSeparators(String destination) {
+		for (int i = 1; i < destination.length(); i++) {
+			if (isSeparator(destination.charAt(i)) && isSeparator(destination.charAt(i - 1))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isSeparator(char c) {
+		return !(Character.isLetterOrDigit(c) || c == '-' || c == '_');
+	}
+
+	/**
+	 * Return the index after the segment starting at the given index: either a
+	 * run of letters, digits, {@code '-'} and {@code '_'}, or a single separator.
+	 */
+	private static int getSegmentEnd(String destination, int start) {
+		if (isSeparator(destination.charAt(start))) {
+			return start + 1;
+		}
+		int end = start + 1;
+		while (end < destination.length() && !isSeparator(destination.charAt(end))) {
+			end++;
+		}
+		return end;
+	}
+
+	/**
+	 * Return the literal prefix of the given pattern that any matching destination
+	 * starts with, ending with a complete segment followed by a separator in the
+	 * destination (if not empty). Separators directly preceding the first wildcard
+	 * are excluded since {@code "**"} may match nothing, including the separator.
+	 */
+	private static String getLiteralPrefix(String pattern) {
+		int end = 0;
+		while (end < pattern.length()) {
+			char c = pattern.charAt(end);
+			if (c == '*' || c == '?' || c == '{') {
+				// A wildcard may extend a segment: cut back to the preceding separator
+				while (end > 0 && !isSeparator(pattern.charAt(end - 1))) {
+					end--;
+				}
+				break;
+			}
+			if (end > 0 && isSeparator(c) && isSeparator(pattern.charAt(end - 1))) {
+				break;
+			}
+			end++;
+		}
+		while (end > 0 && isSeparator(pattern.charAt(end - 1))) {
+			end--;
+		}
+		return pattern.substring(0, end);
+	}
+
+
+	/**
+	 * Index from subscribed destinations to the sessions subscribed to them,
+	 * resolving the subscriptions for a destination without visiting any other
+	 * sessions or subscriptions.
+	 * <p>Destination patterns are kept in a trie by their literal prefix, so
+	 * that only patterns with a prefix of the destination are checked against
+	 * it through the {@link PathMatcher}. With a PathMatcher for which this is
+	 * not safe (see {@link #isIndexable}), every subscribed destination is
+	 * checked instead. Look-ups do not acquire any locks; updates are serialized.
+	 */
+	private class DestinationIndex {
+
+		/** Map from subscribed destination to the ids of the sessions subscribed to it. */
+		private final Map<String, Set<String>> sessionIds = new ConcurrentHashMap<>(DEFAULT_CACHE_LIMIT);
+
+		/** Trie of subscribed destination patterns by literal prefix. */
+		private final PatternNode patternTrie = new PatternNode();
+
+		/** Cache from destination to the subscribed destination patterns matching it. */
+		private volatile ConcurrentLruCache<String, List<String>> patternCache =
+				new ConcurrentLruCache<>(DEFAULT_CACHE_LIMIT);
+
+		private volatile boolean indexed = true;
+
+		private volatile int patternCount;
+
+
+		public LinkedMultiValueMap<String, String> getSubscriptions(String destination) {
+			if (!this.indexed) {
+				return getSubscriptions(this.patternCache.get(destination, this::findMatchingDestinations));
+			}
+			if (hasAdjacentSeparators(destination)) {
+				// Matching ignores empty segments, which literal prefixes don't
+				return getSubscriptions(findMatchingDestinations(destination));
+			}
+			List<String> patterns = (this.patternCount > 0 ?
+					this.patternCache.get(destination, this::findMatchingPatterns) : Collections.emptyList());
+			if (containsWildcard(destination) || !this.sessionIds.containsKey(destination)) {
+				return getSubscriptions(patterns);
+			}
+			if (patterns.isEmpty()) {
+				return getSubscriptions(Collections.singletonList(destination));
+			}
+			List<String> destinations = new ArrayList<>(patterns.size() + 1);
+			destinations.add(destination);
+			destinations.addAll(patterns);
+			return getSubscriptions(destinations);
+		}
+
+		private List<String> findMatchingDestinations(String destination) {
+			List<String> result = new ArrayList<>();
+			for (String subscribedDestination : this.sessionIds.keySet()) {
+				if (getPathMatcher().match(subscribedDestination, destination)) {
+					result.add(subscribedDestination);
 				}
 			}
 			return result;
 		}
 
-		public void updateAfterNewSubscription(String destination, String sessionId, String subsId) {
-			synchronized (this.updateCache) {
-				this.updateCache.forEach((cachedDestination, subscriptions) -> {
-					if (getPathMatcher().match(destination, cachedDestination)) {
-						// Subscription id's may also be populated via getSubscriptions()
-						List<String> subsForSession = subscriptions.get(sessionId);
-						if (subsForSession == null || !subsForSession.contains(subsId)) {
-							subscriptions.add(sessionId, subsId);
-							this.accessCache.put(cachedDestination, subscriptions.deepCopy());
-						}
+		private List<String> findMatchingPatterns(String destination) {
+			List<String> result = new ArrayList<>();
+			PatternNode node = this.patternTrie;
+			int index = 0;
+			while (node != null) {
+				for (String pattern : node.getPatterns()) {
+					if (getPathMatcher().match(pattern, destination)) {
+						result.add(pattern);
 					}
-				});
+				}
+				if (index == destination.length()) {
+					break;
+				}
+				int end = getSegmentEnd(destination, index);
+				node = node.getChild(destination.substring(index, end));
+				index = end;
 			}
+			return result;
 		}
 
-		public void updateAfterRemovedSubscription(String sessionId, String subsId) {
-			synchronized (this.updateCache) {
-				Set<String> destinationsToRemove = new HashSet<>();
-				this.updateCache.forEach((destination, sessionMap) -> {
-					List<String> subscriptions = sessionMap.get(sessionId);
-					if (subscriptions != null) {
-						subscriptions.remove(subsId);
-						if (subscriptions.isEmpty()) {
-							sessionMap.remove(sessionId);
-						}
-						if (sessionMap.isEmpty()) {
-							destinationsToRemove.add(destination);
-						}
-						else {
-							this.accessCache.put(destination, sessionMap.deepCopy());
-						}
+		private LinkedMultiValueMap<String, String> getSubscriptions(List<String> subscribedDestinations) {
+			if (subscribedDestinations.isEmpty()) {
+				return new LinkedMultiValueMap<>();
+			}
+			if (subscribedDestinations.size() == 1) {
+				String subscribedDestination = subscribedDestinations.get(0);
+				LinkedMultiValueMap<String, String> result = new LinkedMultiValueMap<>();
+				forEachSubscription(subscribedDestination, (sessionId, sub) -> result.add(sessionId, sub.getId()));
+				return result;
+			}
+			// Order subscriptions to several destinations by registration within each session
+			Map<String, List<Subscription>> subscriptions = new LinkedHashMap<>();
+			for (String subscribedDestination : subscribedDestinations) {
+				forEachSubscription(subscribedDestination, (sessionId, sub) ->
+						subscriptions.computeIfAbsent(sessionId, id -> new ArrayList<>(2)).add(sub));
+			}
+			LinkedMultiValueMap<String, String> result = new LinkedMultiValueMap<>(subscriptions.size());
+			subscriptions.forEach((sessionId, subs) -> {
+				if (subs.size() > 1) {
+					subs.sort(Comparator.comparingLong(Subscription::getOrder));
+				}
+				for (Subscription sub : subs) {
+					result.add(sessionId, sub.getId());
+				}
+			});
+			return result;
+		}
+
+		private void forEachSubscription(String subscribedDestination, BiConsumer<String, Subscription> action) {
+			Set<String> sessions = this.sessionIds.get(subscribedDestination);
+			if (sessions == null) {
+				return;
+			}
+			for (String sessionId : sessions) {
+				SessionSubscriptionInfo info = subscriptionRegistry.getSubscriptions(sessionId);
+				Set<Subscription> subs = (info != null ? info.getSubscriptions(subscribedDestination) : null);
+				if (subs != null) {
+					for (Subscription sub : subs) {
+						action.accept(sessionId, sub);
 					}
-				});
-				for (String destination : destinationsToRemove) {
-					this.updateCache.remove(destination);
-					this.accessCache.remove(destination);
 				}
 			}
 		}
 
-		public void updateAfterRemovedSession(SessionSubscriptionInfo info) {
-			synchronized (this.updateCache) {
-				Set<String> destinationsToRemove = new HashSet<>();
-				this.updateCache.forEach((destination, sessionMap) -> {
-					if (sessionMap.remove(info.getSessionId()) != null) {
-						if (sessionMap.isEmpty()) {
-							destinationsToRemove.add(destination);
-						}
-						else {
-							this.accessCache.put(destination, sessionMap.deepCopy());
-						}
+		public void addSubscription(String destination, String sessionId) {
+			synchronized (this.sessionIds) {
+				Set<String> sessions = this.sessionIds.get(destination);
+				if (sessions == null) {
+					sessions = ConcurrentHashMap.newKeySet();
+					this.sessionIds.put(destination, sessions);
+					if (isPattern(destination)) {
+						this.patternTrie.addPattern(destination, getLiteralPrefix(destination));
+						this.patternCount++;
 					}
-				});
-				for (String destination : destinationsToRemove) {
-					this.updateCache.remove(destination);
-					this.accessCache.remove(destination);
+					afterDestinationChange(destination);
 				}
+				sessions.add(sessionId);
+			}
+		}
+
+		public void removeSubscription(String destination, String sessionId) {
+			synchronized (this.sessionIds) {
+				// The session may have subscribed to the same destination again in the meantime
+				SessionSubscriptionInfo info = subscriptionRegistry.getSubscriptions(sessionId);
+				if (info == null || info.getSubscriptions(destination) == null) {
+					removeSessionId(destination, sessionId);
+				}
+			}
+		}
+
+		public void removeSession(SessionSubscriptionInfo info) {
+			synchronized (this.sessionIds) {
+				for (String destination : info.getDestinations()) {
+					removeSessionId(destination, info.getSessionId());
+				}
+			}
+		}
+
+		private void removeSessionId(String destination, String sessionId) {
+			Set<String> sessions = this.sessionIds.get(destination);
+			if (sessions != null && sessions.remove(sessionId) && sessions.isEmpty()) {
+				this.sessionIds.remove(destination);
+				if (isPattern(destination)) {
+					this.patternTrie.removePattern(destination, getLiteralPrefix(destination));
+					this.patternCount--;
+				}
+				afterDestinationChange(destination);
+			}
+		}
+
+		private void afterDestinationChange(String destination) {
+			if (!this.indexed || isPattern(destination)) {
+				// Replace rather than clear, so that concurrent look-ups cannot re-populate stale entries
+				this.patternCache = new ConcurrentLruCache<>(getCacheLimit());
+			}
+		}
+
+		public void reset() {
+			synchronized (this.sessionIds) {
+				this.indexed = isIndexable(getPathMatcher());
+				this.patternCache = new ConcurrentLruCache<>(getCacheLimit());
 			}
 		}
 
 		@Override
 		public String toString() {
-			return "cache[" + this.accessCache.size() + " destination(s)]";
+			return "index[" + this.sessionIds.size() + " destination(s)]";
+		}
+	}
+
+
+	/**
+	 * Node of the trie of destination patterns: holds the patterns whose literal
+	 * prefix ends at this node, and the child nodes per following segment.
+	 */
+	private static final class PatternNode {
+
+		@Nullable
+		private volatile Map<String, PatternNode> children;
+
+		private final Set<String> patterns = new CopyOnWriteArraySet<>();
+
+		public Set<String> getPatterns() {
+			return this.patterns;
+		}
+
+		@Nullable
+		public PatternNode getChild(String segment) {
+			Map<String, PatternNode> children = this.children;
+			return (children != null ? children.get(segment) : null);
+		}
+
+		public void addPattern(String pattern, String prefix) {
+			PatternNode node = this;
+			int index = 0;
+			while (index < prefix.length()) {
+				int end = getSegmentEnd(prefix, index);
+				String segment = prefix.substring(index, end);
+				PatternNode child = node.getChild(segment);
+				if (child == null) {
+					if (node.children == null) {
+						node.children = new ConcurrentHashMap<>(4);
+					}
+					child = new PatternNode();
+					node.children.put(segment, child);
+				}
+				node = child;
+				index = end;
+			}
+			node.patterns.add(pattern);
+		}
+
+		public void removePattern(String pattern, String prefix) {
+			if (prefix.isEmpty()) {
+				this.patterns.remove(pattern);
+				return;
+			}
+			int end = getSegmentEnd(prefix, 0);
+			PatternNode child = getChild(prefix.substring(0, end));
+			if (child != null) {
+				child.removePattern(pattern, prefix.substring(end));
+				Map<String, PatternNode> children = this.children;
+				if (child.patterns.isEmpty() && child.children == null && children != null) {
+					children.remove(prefix.substring(0, end));
+					if (children.isEmpty()) {
+						this.children = null;
+					}
+				}
+			}
 		}
 	}
 
@@ -417,6 +653,8 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 		// destination -> subscriptions
 		private final Map<String, Set<Subscription>> destinationLookup = new ConcurrentHashMap<>(4);
 
+		private final AtomicLong subscriptionCount = new AtomicLong();
+
 		public SessionSubscriptionInfo(String sessionId) {
 			Assert.notNull(sessionId, "'sessionId' must not be null");
 			this.sessionId = sessionId;
@@ -430,6 +668,7 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 			return this.destinationLookup.keySet();
 		}
 
+		@Nullable
 		public Set<Subscription> getSubscriptions(String destination) {
 			return this.destinationLookup.get(destination);
 		}
@@ -458,7 +697,7 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 					}
 				}
 			}
-			subs.add(new Subscription(subscriptionId, selectorExpression));
+			subs.add(new Subscription(subscriptionId, selectorExpression, this.subscriptionCount.incrementAndGet()));
 		}
 
 		@Nullable
@@ -496,10 +735,13 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 		@Nullable
 		private final Expression selectorExpression;
 
-		public Subscription(String id, @Nullable Expression selector) {
+		private final long order;
+
+		public Subscription(String id, @Nullable Expression selector, long order) {
 			Assert.notNull(id, "Subscription id must not be null");
 			this.id = id;
 			this.selectorExpression = selector;
+			this.order = order;
 		}
 
 		public String getId() {
@@ -511,6 +753,13 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 			return this.selectorExpression;
 		}
 
+		/**
+		 * Return the order of registration of this subscription within its session.
+		 */
+		public long getOrder() {
+			return this.order;
+		}
+
 		@Override
 		public boolean equals(Object other) {
 			return (this == other || (other instanceof Subscription && this.id.equals(((Subscription) other).id)));
@@ -20,8 +20,13 @@ import java.security.Principal;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.springframework.lang.Nullable;
 import org.springframework.messaging.Message;
@@ -35,6 +40,7 @@ import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.messaging.support.MessageHeaderInitializer;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.util.Assert;
+import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.PathMatcher;
 
@@ -49,6 +55,13 @@ import org.springframework.util.PathMatcher;
  */
 public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 
+	/**
+	 * Default number of subscribed sessions from which the sending of a message
+	 * is handed off to the {@link #setBroadcastExecutor broadcast executor}: 256.
+	 * @since 5.1
+	 */
+	public static final int DEFAULT_BROADCAST_THRESHOLD = 256;
+
 	private static final byte[] EMPTY_PAYLOAD = new byte[0];
 
 
@@ -70,6 +83,14 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 	@Nullable
 	private MessageHeaderInitializer headerInitializer;
 
+	@Nullable
+	private Executor broadcastExecutor;
+
+	private int broadcastThreshold = DEFAULT_BROADCAST_THRESHOLD;
+
+	@Nullable
+	private BroadcastPartition[] broadcastPartitions;
+
 
 	private SubscriptionRegistry subscriptionRegistry;
 
@@ -249,6 +270,63 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 		return this.headerInitializer;
 	}
 
+	/**
+	 * Configure an {@link Executor} to send messages to subscribers with.
+	 * <p>When set, subscribed sessions are partitioned by session id, one
+	 * partition per available processor, and the copies of a message for the
+	 * sessions of each partition are sent as a single task. The tasks of a
+	 * partition are executed one at a time and in the order of the messages,
+	 * so that each session receives messages in the same order as without an
+	 * executor, while the partitions of a large broadcast are processed in
+	 * parallel. Messages with fewer subscribed sessions than the
+	 * {@link #setBroadcastThreshold broadcast threshold} are sent on the
+	 * calling thread unless their partition is busy.
+	 * <p>By default this is not set, and messages are sent to all subscribers
+	 * on the calling thread.
+	 * @since 5.1
+	 */
+	public void setBroadcastExecutor(@Nullable Executor broadcastExecutor) {
+		this.broadcastExecutor = broadcastExecutor;
+		if (broadcastExecutor != null) {
+			BroadcastPartition[] partitions = new BroadcastPartition[Runtime.getRuntime().availableProcessors()];
+			for (int i = 0; i < partitions.length; i++) {
+				partitions[i] = new BroadcastPartition(broadcastExecutor);
+			}
+			this.broadcastPartitions = partitions;
+		}
+		else {
+			this.broadcastPartitions = null;
+		}
+	}
+
+	/**
+	 * Return the configured broadcast executor.
+	 * @since 5.1
+	 */
+	@Nullable
+	public Executor getBroadcastExecutor() {
+		return this.broadcastExecutor;
+	}
+
+	/**
+	 * Configure the number of subscribed sessions from which the sending of a
+	 * message is handed off to the {@link #setBroadcastExecutor broadcast executor}.
+	 * <p>By default this is set to {@link #DEFAULT_BROADCAST_THRESHOLD}.
+	 * @since 5.1
+	 */
+	public void setBroadcastThreshold(int broadcastThreshold) {
+		Assert.isTrue(broadcastThreshold > 0, "Broadcast threshold must be greater than 0");
+		this.broadcastThreshold = broadcastThreshold;
+	}
+
+	/**
+	 * Return the configured broadcast threshold.
+	 * @since 5.1
+	 */
+	public int getBroadcastThreshold() {
+		return this.broadcastThreshold;
+	}
+
 
 	@Override
 	public void startInternal() {
@@ -379,13 +457,43 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 		getClientOutboundChannel().send(message);
 	}
 
+	@SuppressWarnings("unchecked")
 	protected void sendMessageToSubscribers(@Nullable String destination, Message<?> message) {
 		MultiValueMap<String,String> subscriptions = this.subscriptionRegistry.findSubscriptions(message);
 		if (!subscriptions.isEmpty() && logger.isDebugEnabled()) {
 			logger.debug("Broadcasting to " + subscriptions.size() + " sessions.");
 		}
+		BroadcastPartition[] partitions = this.broadcastPartitions;
+		if (partitions == null) {
+			sendMessageToSessions(subscriptions, message);
+			return;
+		}
+		// Each session always belongs to the same partition, preserving its order of messages
+		MultiValueMap<String, String>[] batches = new MultiValueMap[partitions.length];
+		subscriptions.forEach((sessionId, subscriptionIds) -> {
+			int index = (sessionId.hashCode() & Integer.MAX_VALUE) % partitions.length;
+			if (batches[index] == null) {
+				batches[index] = new LinkedMultiValueMap<>();
+			}
+			batches[index].put(sessionId, subscriptionIds);
+		});
+		boolean async = (subscriptions.size() >= this.broadcastThreshold);
+		for (int i = 0; i < batches.length; i++) {
+			MultiValueMap<String, String> batch = batches[i];
+			if (batch != null) {
+				partitions[i].execute(() -> sendMessageToSessions(batch, message), async);
+			}
+		}
+	}
+
+	private void sendMessageToSessions(MultiValueMap<String, String> subscriptions, Message<?> message) {
 		long now = System.currentTimeMillis();
+		Object payload = message.getPayload();
 		subscriptions.forEach((sessionId, subscriptionIds) -> {
+			SessionInfo info = this.sessions.get(sessionId);
+			if (info == null) {
+				return;
+			}
 			for (String subscriptionId : subscriptionIds) {
 				SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
 				initHeaders(headerAccessor);
@@ -393,22 +501,18 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 				headerAccessor.setSubscriptionId(subscriptionId);
 				headerAccessor.copyHeadersIfAbsent(message.getHeaders());
 				headerAccessor.setLeaveMutable(true);
-				Object payload = message.getPayload();
 				Message<?> reply = MessageBuilder.createMessage(payload, headerAccessor.getMessageHeaders());
-				SessionInfo info = this.sessions.get(sessionId);
-				if (info != null) {
-					try {
-						info.getClientOutboundChannel().send(reply);
-					}
-					catch (Throwable ex) {
-						if (logger.isErrorEnabled()) {
-							logger.error("Failed to send " + message, ex);
-						}
-					}
-					finally {
-						info.setLastWriteTime(now);
+				try {
+					info.getClientOutboundChannel().send(reply);
+				}
+				catch (Throwable ex) {
+					if (logger.isErrorEnabled()) {
+						logger.error("Failed to send " + message, ex);
 					}
 				}
+				finally {
+					info.setLastWriteTime(now);
+				}
 			}
 		});
 	}
@@ -498,6 +602,68 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 	}
 
 
+	/**
+	 * Executes the sending of messages to a partition of the subscribed sessions,
+	 * one task at a time and in order of submission, on the broadcast executor
+	 * or on a submitting thread.
+	 */
+	private class BroadcastPartition implements Runnable {
+
+		private final Executor executor;
+
+		private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+		private final AtomicBoolean running = new AtomicBoolean(false);
+
+		public BroadcastPartition(Executor executor) {
+			this.executor = executor;
+		}
+
+		public void execute(Runnable task, boolean async) {
+			this.tasks.add(task);
+			if (this.running.compareAndSet(false, true)) {
+				if (async) {
+					try {
+						this.executor.execute(this);
+						return;
+					}
+					catch (RejectedExecutionException ex) {
+						if (logger.isDebugEnabled()) {
+							logger.debug("Broadcast executor rejected task, sending on the calling thread", ex);
+						}
+					}
+				}
+				run();
+			}
+		}
+
+		@Override
+		public void run() {
+			for (;;) {
+				Runnable task = this.tasks.poll();
+				if (task != null) {
+					try {
+						task.run();
+					}
+					catch (Throwable ex) {
+						// Keep draining: the partition would otherwise never run again
+						if (logger.isErrorEnabled()) {
+							logger.error("Failed to broadcast message", ex);
+						}
+					}
+				}
+				else {
+					this.running.set(false);
+					// Resume if a task was added before the flag was released
+					if (this.tasks.isEmpty() || !this.running.compareAndSet(false, true)) {
+						return;
+					}
+				}
+			}
+		}
+	}
+
+
 	private class HeartbeatTask implements Runnable {
 
 		@Override
@@ -23,6 +23,7 @@ import java.util.List;
 import org.springframework.lang.Nullable;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.Assert;
 
 /**
  * A registration class for customizing the configuration for a
@@ -38,6 +39,8 @@ public class ChannelRegistration {
 
 	private final List<ChannelInterceptor> interceptors = new ArrayList<>();
 
+	private int ringBufferSize;
+
 
 	/**
 	 * Configure the thread pool backing this message channel.
@@ -59,6 +62,21 @@ public class ChannelRegistration {
 		return this.registration;
 	}
 
+	/**
+	 * Buffer messages for each subscriber of this message channel in a bounded
+	 * ring buffer drained by the thread pool, rather than submitting a task to
+	 * the thread pool for every message and subscriber.
+	 * @param bufferSize the maximum number of messages buffered per subscriber,
+	 * rounded up to the next power of two (and to a minimum of 2)
+	 * @since 5.1
+	 * @see org.springframework.messaging.support.RingBufferSubscribableChannel
+	 */
+	public ChannelRegistration ringBuffer(int bufferSize) {
+		Assert.isTrue(bufferSize > 0 && bufferSize <= (1 << 30), "Ring buffer size must be between 1 and 2^30");
+		this.ringBufferSize = bufferSize;
+		return this;
+	}
+
 	/**
 	 * Configure the given interceptors for this message channel,
 	 * adding them to the channel's current list of interceptors.
@@ -86,6 +104,14 @@ public class ChannelRegistration {
 		return (this.registration != null);
 	}
 
+	protected boolean hasRingBuffer() {
+		return (this.ringBufferSize > 0);
+	}
+
+	protected int getRingBufferSize() {
+		return this.ringBufferSize;
+	}
+
 	protected boolean hasInterceptors() {
 		return !this.interceptors.isEmpty();
 	}
@@ -16,6 +16,8 @@
 
 package org.springframework.messaging.simp.config;
 
+import java.util.concurrent.Executor;
+
 import org.springframework.lang.Nullable;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.SubscribableChannel;
@@ -39,6 +41,9 @@ public class SimpleBrokerRegistration extends AbstractBrokerRegistration {
 	@Nullable
 	private String selectorHeaderName = "selector";
 
+	@Nullable
+	private Executor broadcastExecutor;
+
 
 	public SimpleBrokerRegistration(SubscribableChannel inChannel, MessageChannel outChannel, String[] prefixes) {
 		super(inChannel, outChannel, prefixes);
@@ -89,6 +94,18 @@ public class SimpleBrokerRegistration extends AbstractBrokerRegistration {
 		this.selectorHeaderName = selectorHeaderName;
 	}
 
+	/**
+	 * Configure an {@link Executor} to send messages with many subscribers on,
+	 * in parallel across sessions and in order for each session.
+	 * <p>By default this is not set.
+	 * @since 5.1
+	 * @see SimpleBrokerMessageHandler#setBroadcastExecutor
+	 */
+	public SimpleBrokerRegistration setBroadcastExecutor(Executor broadcastExecutor) {
+		this.broadcastExecutor = broadcastExecutor;
+		return this;
+	}
+
 
 	@Override
 	protected SimpleBrokerMessageHandler getMessageHandler(SubscribableChannel brokerChannel) {
@@ -101,6 +118,9 @@ public class SimpleBrokerRegistration extends AbstractBrokerRegistration {
 			handler.setHeartbeatValue(this.heartbeat);
 		}
 		handler.setSelectorHeaderName(this.selectorHeaderName);
+		if (this.broadcastExecutor != null) {
+			handler.setBroadcastExecutor(this.broadcastExecutor);
+		}
 		return handler;
 	}
 
@@ -16,11 +16,10 @@
 
 package org.springframework.messaging.simp.stomp;
 
+import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.List;
-import java.util.Queue;
-import java.util.concurrent.LinkedBlockingQueue;
 
 import org.springframework.lang.Nullable;
 import org.springframework.messaging.Message;
@@ -52,7 +51,12 @@ public class BufferingStompDecoder {
 
 	private final int bufferSizeLimit;
 
-	private final Queue<ByteBuffer> chunks = new LinkedBlockingQueue<>();
+	/** Content of an incomplete STOMP frame, positioned for reading. */
+	@Nullable
+	private volatile ByteBuffer buffer;
+
+	/** Whether the buffer was allocated here and may be appended to. */
+	private volatile boolean bufferOwned;
 
 	@Nullable
 	private volatile Integer expectedContentLength;
@@ -101,7 +105,7 @@ public class BufferingStompDecoder {
 	 * @throws StompConversionException raised in case of decoding issues
 	 */
 	public List<Message<byte[]>> decode(ByteBuffer newBuffer) {
-		this.chunks.add(newBuffer);
+		append(newBuffer);
 		checkBufferLimits();
 
 		Integer contentLength = this.expectedContentLength;
@@ -109,33 +113,53 @@ public class BufferingStompDecoder {
 			return Collections.emptyList();
 		}
 
-		ByteBuffer bufferToDecode = assembleChunksAndReset();
+		ByteBuffer bufferToDecode = this.buffer;
+		Assert.state(bufferToDecode != null, "No buffer to decode");
+		this.expectedContentLength = null;
 		MultiValueMap<String, String> headers = new LinkedMultiValueMap<>();
 		List<Message<byte[]>> messages = this.stompDecoder.decode(bufferToDecode, headers);
 
 		if (bufferToDecode.hasRemaining()) {
-			this.chunks.add(bufferToDecode);
 			this.expectedContentLength = StompHeaderAccessor.getContentLength(headers);
 		}
+		else {
+			this.buffer = null;
+			this.bufferOwned = false;
+		}
 
 		return messages;
 	}
 
-	private ByteBuffer assembleChunksAndReset() {
-		ByteBuffer result;
-		if (this.chunks.size() == 1) {
-			result = this.chunks.remove();
+	/**
+	 * Add the given content to the content of an incomplete frame, if any.
+	 * New content is decoded in place where possible, and only copied into
+	 * a buffer that grows by doubling once a frame spans several inputs.
+	 */
+	private void append(ByteBuffer newBuffer) {
+		ByteBuffer current = this.buffer;
+		if (current == null) {
+			this.buffer = newBuffer;
+			this.bufferOwned = false;
+		}
+		else if (this.bufferOwned && current.capacity() - current.limit() >= newBuffer.remaining()) {
+			// Explicit casts for compatibility with covariant return types on JDK 9's ByteBuffer
+			Buffer buffer = current;
+			int position = buffer.position();
+			int limit = buffer.limit();
+			buffer.limit(limit + newBuffer.remaining());
+			buffer.position(limit);
+			current.put(newBuffer);
+			buffer.position(position);
 		}
 		else {
-			result = ByteBuffer.allocate(getBufferSize());
-			for (ByteBuffer partial : this.chunks) {
-				result.put(partial);
-			}
-			result.flip();
+			int size = current.remaining() + newBuffer.remaining();
+			ByteBuffer result = ByteBuffer.allocate(Math.max(size, Math.min(2 * size, this.bufferSizeLimit)));
+			result.put(current);
+			result.put(newBuffer);
+			((Buffer) result).flip();
+			this.buffer = result;
+			this.bufferOwned = true;
 		}
-		this.chunks.clear();
-		this.expectedContentLength = null;
-		return result;
 	}
 
 	private void checkBufferLimits() {
@@ -155,11 +179,8 @@ public class BufferingStompDecoder {
 	 * Calculate the current buffer size.
 	 */
 	public int getBufferSize() {
-		int size = 0;
-		for (ByteBuffer buffer : this.chunks) {
-			size = size + buffer.remaining();
-		}
-		return size;
+		ByteBuffer buffer = this.buffer;
+		return (buffer != null ? buffer.remaining() : 0);
 	}
 
 	/**
@@ -106,6 +106,20 @@ public class ExecutorSubscribableChannel extends AbstractSubscribableChannel {
 		return true;
 	}
 
+	/**
+	 * Invoke the given MessageHandler on the current thread, applying any
+	 * configured ExecutorChannelInterceptors.
+	 * @since 5.1
+	 */
+	void invokeHandler(Message<?> message, MessageHandler handler) {
+		if (this.executorInterceptors.isEmpty()) {
+			handler.handleMessage(message);
+		}
+		else {
+			new SendTask(message, handler).run();
+		}
+	}
+
 
 	/**
 	 * Invoke a MessageHandler with ExecutorChannelInterceptors.
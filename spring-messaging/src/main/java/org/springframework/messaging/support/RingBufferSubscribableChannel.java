@@ -0,0 +1,439 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.messaging.support;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.util.Assert;
+
+/**
+ * An {@link ExecutorSubscribableChannel} that buffers messages for each of its
+ * subscribers in a bounded, lock-free ring buffer, rather than submitting a
+ * separate task to the executor for every message and subscriber.
+ *
+ * <p>Each subscriber is invoked by at most one drain task at a time, which
+ * handles up to {@link #setBatchSize batchSize} buffered messages in order
+ * before yielding its executor thread. Each subscriber therefore receives
+ * messages one at a time and in the order in which they were sent, and the
+ * executor only sees a task when a subscriber's buffer turns non-empty.
+ *
+ * <p>When the buffer of a subscriber is full, senders wait for capacity
+ * according to the configured {@link WaitStrategy}, up to the timeout of the
+ * send operation, and the send returns {@code false} if the message could not
+ * be buffered in time. The current queue depth, the number of rejected sends,
+ * and the average time messages spend in the buffers are exposed for
+ * monitoring purposes.
+ *
+ * <p>This class can be used in place of an {@code ExecutorSubscribableChannel},
+ * including for the {@code clientInboundChannel}, {@code clientOutboundChannel}
+ * and {@code brokerChannel} of a STOMP broker configuration, for subscribers
+ * that handle messages quickly or hand off work to other threads.
+ *
+ * @since 5.1
+ * @see ExecutorSubscribableChannel
+ */
+public class RingBufferSubscribableChannel extends ExecutorSubscribableChannel {
+
+	/** Default capacity of the buffer for each subscriber: 4096. */
+	public static final int DEFAULT_BUFFER_SIZE = 4096;
+
+	/** Default maximum number of messages handled by one drain task: 256. */
+	public static final int DEFAULT_BATCH_SIZE = 256;
+
+
+	private final Executor executor;
+
+	private final int bufferSize;
+
+	private int batchSize = DEFAULT_BATCH_SIZE;
+
+	private WaitStrategy waitStrategy = WaitStrategy.PARK;
+
+	private final Map<MessageHandler, HandlerBuffer> handlerBuffers = new ConcurrentHashMap<>(4);
+
+	private final LongAdder rejectedCount = new LongAdder();
+
+	private final LongAdder drainedCount = new LongAdder();
+
+	private final LongAdder drainLatency = new LongAdder();
+
+
+	/**
+	 * Create a new {@link RingBufferSubscribableChannel} instance with buffers
+	 * of the {@link #DEFAULT_BUFFER_SIZE default size}.
+	 * @param executor the executor used to drain the buffers
+	 */
+	public RingBufferSubscribableChannel(Executor executor) {
+		this(executor, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Create a new {@link RingBufferSubscribableChannel} instance.
+	 * @param executor the executor used to drain the buffers
+	 * @param bufferSize the maximum number of messages buffered for each
+	 * subscriber (rounded up to a power of two, at least 2)
+	 */
+	public RingBufferSubscribableChannel(Executor executor, int bufferSize) {
+		super(executor);
+		Assert.notNull(executor, "Executor must not be null");
+		Assert.isTrue(bufferSize > 0 && bufferSize <= (1 << 30), "Buffer size must be between 1 and 2^30");
+		this.executor = executor;
+		// A sequenced slot cannot tell "published" from "free" with a single slot
+		this.bufferSize = (bufferSize <= 2 ? 2 : Integer.highestOneBit(bufferSize - 1) << 1);
+	}
+
+
+	/**
+	 * Return the maximum number of messages buffered for each subscriber.
+	 */
+	public int getBufferSize() {
+		return this.bufferSize;
+	}
+
+	/**
+	 * Specify the maximum number of messages handled by a drain task before it
+	 * yields its thread to other tasks of the executor.
+	 * <p>By default this is set to {@link #DEFAULT_BATCH_SIZE}.
+	 */
+	public void setBatchSize(int batchSize) {
+		Assert.isTrue(batchSize > 0, "Batch size must be greater than 0");
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Return the configured batch size.
+	 */
+	public int getBatchSize() {
+		return this.batchSize;
+	}
+
+	/**
+	 * Specify how senders wait for capacity when the buffer of a subscriber
+	 * is full.
+	 * <p>By default this is set to {@link WaitStrategy#PARK}.
+	 */
+	public void setWaitStrategy(WaitStrategy waitStrategy) {
+		Assert.notNull(waitStrategy, "WaitStrategy must not be null");
+		this.waitStrategy = waitStrategy;
+	}
+
+	/**
+	 * Return the configured wait strategy.
+	 */
+	public WaitStrategy getWaitStrategy() {
+		return this.waitStrategy;
+	}
+
+
+	/**
+	 * Return the number of messages currently buffered for all subscribers.
+	 */
+	public int getQueueDepth() {
+		int depth = 0;
+		for (HandlerBuffer buffer : this.handlerBuffers.values()) {
+			depth += buffer.size();
+		}
+		return depth;
+	}
+
+	/**
+	 * Return the number of messages that could not be buffered for a
+	 * subscriber within the timeout of the send operation.
+	 */
+	public long getRejectedCount() {
+		return this.rejectedCount.sum();
+	}
+
+	/**
+	 * Return the number of messages taken from the buffers and passed to
+	 * subscribers.
+	 */
+	public long getDrainedCount() {
+		return this.drainedCount.sum();
+	}
+
+	/**
+	 * Return the average time between buffering a message and passing it to
+	 * a subscriber, in nanoseconds, or 0 if no message has been drained yet.
+	 */
+	public long getAverageDrainLatency() {
+		long count = this.drainedCount.sum();
+		return (count != 0 ? this.drainLatency.sum() / count : 0);
+	}
+
+	/**
+	 * Return a String describing internal state and counters.
+	 */
+	public String getStatsInfo() {
+		return "queue depth = " + getQueueDepth() + ", drained = " + getDrainedCount() +
+				", rejected = " + getRejectedCount() + ", avg drain latency = " +
+				TimeUnit.NANOSECONDS.toMicros(getAverageDrainLatency()) + " us";
+	}
+
+
+	@Override
+	public boolean subscribe(MessageHandler handler) {
+		// Register the buffer first, so that it is in place once the handler is visible to senders
+		this.handlerBuffers.putIfAbsent(handler, new HandlerBuffer(handler));
+		return super.subscribe(handler);
+	}
+
+	@Override
+	public boolean unsubscribe(MessageHandler handler) {
+		boolean result = super.unsubscribe(handler);
+		if (result) {
+			// Messages buffered so far are still passed to the handler
+			this.handlerBuffers.remove(handler);
+		}
+		return result;
+	}
+
+	@Override
+	public boolean sendInternal(Message<?> message, long timeout) {
+		boolean sent = true;
+		long deadline = (timeout > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout) : 0);
+		for (MessageHandler handler : getSubscribers()) {
+			HandlerBuffer buffer = this.handlerBuffers.get(handler);
+			if (buffer != null && !buffer.offer(message, timeout, deadline)) {
+				this.rejectedCount.increment();
+				sent = false;
+			}
+		}
+		return sent;
+	}
+
+	@Override
+	public String toString() {
+		return super.toString() + "[" + getStatsInfo() + "]";
+	}
+
+
+	/**
+	 * Strategy for senders to wait for capacity in the buffer of a subscriber.
+	 */
+	public enum WaitStrategy {
+
+		/**
+		 * Retry immediately, for the lowest latency at the cost of a busy core.
+		 */
+		BUSY_SPIN {
+			@Override
+			void idle() {
+			}
+		},
+
+		/**
+		 * Yield to other threads between retries.
+		 */
+		YIELD {
+			@Override
+			void idle() {
+				Thread.yield();
+			}
+		},
+
+		/**
+		 * Park the sending thread for a short time between retries.
+		 */
+		PARK {
+			@Override
+			void idle() {
+				LockSupport.parkNanos(PARK_NANOS);
+			}
+		};
+
+		private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+		abstract void idle();
+	}
+
+
+	/**
+	 * Buffer of messages for one subscriber, drained by at most one task at a time.
+	 */
+	private class HandlerBuffer implements Runnable {
+
+		private final MessageHandler handler;
+
+		private final RingBuffer ringBuffer = new RingBuffer(bufferSize);
+
+		private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+		public HandlerBuffer(MessageHandler handler) {
+			this.handler = handler;
+		}
+
+		public int size() {
+			return this.ringBuffer.size();
+		}
+
+		public boolean offer(Message<?> message, long timeout, long deadline) {
+			while (!this.ringBuffer.offer(message)) {
+				// Make sure that a full buffer is being drained
+				schedule();
+				if (timeout == 0 || (timeout > 0 && System.nanoTime() - deadline >= 0)) {
+					return false;
+				}
+				waitStrategy.idle();
+			}
+			schedule();
+			return true;
+		}
+
+		private void schedule() {
+			if (this.scheduled.compareAndSet(false, true)) {
+				try {
+					executor.execute(this);
+				}
+				catch (RejectedExecutionException ex) {
+					this.scheduled.set(false);
+					throw ex;
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			try {
+				for (int i = 0; i < batchSize; i++) {
+					Message<?> message = this.ringBuffer.poll();
+					if (message == null) {
+						break;
+					}
+					try {
+						invokeHandler(message, this.handler);
+					}
+					catch (Throwable ex) {
+						if (logger.isErrorEnabled()) {
+							logger.error("Failed to handle " + message + " in " + this.handler, ex);
+						}
+					}
+				}
+			}
+			finally {
+				this.scheduled.set(false);
+				// Continue if messages remain or were buffered before the flag was released
+				if (this.ringBuffer.size() > 0) {
+					try {
+						schedule();
+					}
+					catch (RejectedExecutionException ex) {
+						logger.error("Failed to schedule draining of messages for " + this.handler, ex);
+					}
+				}
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "HandlerBuffer[" + this.handler + ", size=" + size() + "]";
+		}
+	}
+
+
+	/**
+	 * Bounded multi-producer queue of messages, following the design of Dmitry
+	 * Vyukov's bounded MPMC queue: each slot carries a sequence number that
+	 * tells producers and consumers whether it is free or holds a message for
+	 * the current round, so that neither side needs a lock.
+	 */
+	private class RingBuffer {
+
+		private final Object[] messages;
+
+		private final long[] timestamps;
+
+		private final AtomicLongArray sequences;
+
+		private final int mask;
+
+		private final AtomicLong tail = new AtomicLong();
+
+		private final AtomicLong head = new AtomicLong();
+
+		public RingBuffer(int capacity) {
+			this.messages = new Object[capacity];
+			this.timestamps = new long[capacity];
+			this.sequences = new AtomicLongArray(capacity);
+			for (int i = 0; i < capacity; i++) {
+				this.sequences.set(i, i);
+			}
+			this.mask = capacity - 1;
+		}
+
+		public int size() {
+			return (int) Math.max(0, this.tail.get() - this.head.get());
+		}
+
+		public boolean offer(Message<?> message) {
+			for (;;) {
+				long position = this.tail.get();
+				int index = (int) position & this.mask;
+				long diff = this.sequences.get(index) - position;
+				if (diff == 0) {
+					if (this.tail.compareAndSet(position, position + 1)) {
+						this.messages[index] = message;
+						this.timestamps[index] = System.nanoTime();
+						// Publish the slot: visible to consumers with the stored message
+						this.sequences.lazySet(index, position + 1);
+						return true;
+					}
+				}
+				else if (diff < 0) {
+					return false;
+				}
+			}
+		}
+
+		@Nullable
+		public Message<?> poll() {
+			for (;;) {
+				long position = this.head.get();
+				int index = (int) position & this.mask;
+				long diff = this.sequences.get(index) - (position + 1);
+				if (diff == 0) {
+					if (this.head.compareAndSet(position, position + 1)) {
+						Message<?> message = (Message<?>) this.messages[index];
+						long timestamp = this.timestamps[index];
+						this.messages[index] = null;
+						// Release the slot to producers of the next round
+						this.sequences.lazySet(index, position + this.mask + 1);
+						drainLatency.add(System.nanoTime() - timestamp);
+						drainedCount.increment();
+						return message;
+					}
+				}
+				else if (diff < 0) {
+					return null;
+				}
+			}
+		}
+	}
+
+}
@@ -28,6 +28,7 @@ import org.springframework.messaging.Message;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.util.MultiValueMap;
 
 import static org.junit.Assert.assertEquals;
@@ -439,6 +440,71 @@ public class DefaultSubscriptionRegistryTests {
 		assertEquals(2, this.registry.findSubscriptions(createMessage("/bar")).size());
 	}
 
+	@Test
+	public void findSubscriptionsWithPatternPrefixes() {
+		this.registry.registerSubscription(subscribeMessage("sess1", "1", "/topic/**"));
+		this.registry.registerSubscription(subscribeMessage("sess1", "2", "/topic/a*"));
+		this.registry.registerSubscription(subscribeMessage("sess1", "3", "/topic/{name}/b"));
+		this.registry.registerSubscription(subscribeMessage("sess1", "4", "/**/b"));
+		this.registry.registerSubscription(subscribeMessage("sess1", "5", "/queue//b"));
+
+		assertEquals(Collections.singletonList("1"), this.registry.findSubscriptions(createMessage("/topic")).get("sess1"));
+		assertEquals(Arrays.asList("1", "2"), this.registry.findSubscriptions(createMessage("/topic/ab")).get("sess1"));
+		assertEquals(Arrays.asList("1", "3", "4"), this.registry.findSubscriptions(createMessage("/topic/x/b")).get("sess1"));
+		assertEquals(Arrays.asList("4", "5"), this.registry.findSubscriptions(createMessage("/queue/b")).get("sess1"));
+		assertEquals(Arrays.asList("4", "5"), this.registry.findSubscriptions(createMessage("/queue//b")).get("sess1"));
+		assertEquals(0, this.registry.findSubscriptions(createMessage("/other")).size());
+	}
+
+	@Test
+	public void findSubscriptionsWithCustomPathSeparator() {
+		this.registry.setPathMatcher(new AntPathMatcher("."));
+		this.registry.registerSubscription(subscribeMessage("sess1", "1", "price.stock.*"));
+		this.registry.registerSubscription(subscribeMessage("sess1", "2", "price.stock.ibm"));
+		this.registry.registerSubscription(subscribeMessage("sess2", "3", "price.**"));
+
+		MultiValueMap<String, String> actual = this.registry.findSubscriptions(createMessage("price.stock.ibm"));
+		assertEquals(2, actual.size());
+		assertEquals(Arrays.asList("1", "2"), actual.get("sess1"));
+		assertEquals(Collections.singletonList("3"), actual.get("sess2"));
+
+		actual = this.registry.findSubscriptions(createMessage("price.bond"));
+		assertEquals(1, actual.size());
+		assertEquals(Collections.singletonList("3"), actual.get("sess2"));
+	}
+
+	@Test
+	public void findSubscriptionsWithCaseInsensitivePathMatcher() {
+		AntPathMatcher pathMatcher = new AntPathMatcher();
+		pathMatcher.setCaseSensitive(false);
+		this.registry.setPathMatcher(pathMatcher);
+		this.registry.registerSubscription(subscribeMessage("sess1", "1", "/topic/PRICE.*"));
+		this.registry.registerSubscription(subscribeMessage("sess1", "2", "/topic/Price.IBM"));
+
+		MultiValueMap<String, String> actual = this.registry.findSubscriptions(createMessage("/TOPIC/price.ibm"));
+		assertEquals(Arrays.asList("1", "2"), actual.get("sess1"));
+	}
+
+	@Test
+	public void findSubscriptionsAfterUnsubscribingFromPatterns() {
+		this.registry.registerSubscription(subscribeMessage("sess1", "1", "/topic/a/*"));
+		this.registry.registerSubscription(subscribeMessage("sess2", "2", "/topic/a/*"));
+		this.registry.registerSubscription(subscribeMessage("sess2", "3", "/topic/a/b/*"));
+		assertEquals(2, this.registry.findSubscriptions(createMessage("/topic/a/b")).size());
+
+		this.registry.unregisterSubscription(unsubscribeMessage("sess1", "1"));
+		assertEquals(1, this.registry.findSubscriptions(createMessage("/topic/a/b")).size());
+		assertEquals(1, this.registry.findSubscriptions(createMessage("/topic/a/b/c")).size());
+
+		this.registry.unregisterAllSubscriptions("sess2");
+		assertEquals(0, this.registry.findSubscriptions(createMessage("/topic/a/b")).size());
+		assertEquals(0, this.registry.findSubscriptions(createMessage("/topic/a/b/c")).size());
+
+		this.registry.registerSubscription(subscribeMessage("sess1", "4", "/topic/a/b/*"));
+		assertEquals(Collections.singletonList("4"),
+				this.registry.findSubscriptions(createMessage("/topic/a/b/c")).get("sess1"));
+	}
+
 	private Message<?> createMessage(String destination) {
 		SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
 		accessor.setDestination(destination);
@@ -17,9 +17,16 @@
 package org.springframework.messaging.simp.broker;
 
 import java.security.Principal;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -286,6 +293,85 @@ public class SimpleBrokerMessageHandlerTests {
 				messages.get(0).getHeaders().get(SimpMessageHeaderAccessor.MESSAGE_TYPE_HEADER));
 	}
 
+	@Test
+	public void broadcastWithExecutor() throws Exception {
+		Map<String, List<Object>> received = new ConcurrentHashMap<>();
+		MessageChannel outChannel = (message, timeout) -> {
+			SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+			if (SimpMessageType.MESSAGE.equals(accessor.getMessageType())) {
+				List<Object> payloads = received.get(accessor.getSessionId());
+				synchronized (payloads) {
+					payloads.add(message.getPayload());
+				}
+			}
+			return true;
+		};
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		SimpleBrokerMessageHandler handler = new SimpleBrokerMessageHandler(
+				this.clientInChannel, outChannel, this.brokerChannel, Collections.emptyList());
+		handler.setBroadcastExecutor(executor);
+		handler.setBroadcastThreshold(10);
+		handler.start();
+
+		for (int i = 0; i < 100; i++) {
+			String sessionId = "sess" + i;
+			received.put(sessionId, new ArrayList<>());
+			handler.handleMessage(createConnectMessage(sessionId, new TestPrincipal("joe"), null));
+			handler.handleMessage(createSubscriptionMessage(sessionId, "sub1", "/foo"));
+		}
+		handler.handleMessage(createSubscriptionMessage("sess0", "sub2", "/bar"));
+
+		List<Object> expected = new ArrayList<>();
+		List<Object> expectedWithOther = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			handler.handleMessage(createMessage("/foo", "message" + i));
+			handler.handleMessage(createMessage("/bar", "other" + i));
+			expected.add("message" + i);
+			expectedWithOther.add("message" + i);
+			expectedWithOther.add("other" + i);
+		}
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+		assertEquals(expectedWithOther, received.get("sess0"));
+		for (int i = 1; i < 100; i++) {
+			assertEquals(expected, received.get("sess" + i));
+		}
+	}
+
+	@Test
+	public void broadcastWithExecutorContinuesAfterFailure() throws Exception {
+		List<Object> received = Collections.synchronizedList(new ArrayList<>());
+		MessageChannel outChannel = (message, timeout) -> {
+			if (SimpMessageType.MESSAGE.equals(SimpMessageHeaderAccessor.getMessageType(message.getHeaders()))) {
+				received.add(message.getPayload());
+			}
+			return true;
+		};
+		AtomicBoolean fail = new AtomicBoolean();
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		SimpleBrokerMessageHandler handler = new SimpleBrokerMessageHandler(
+				this.clientInChannel, outChannel, this.brokerChannel, Collections.emptyList());
+		handler.setHeaderInitializer(accessor -> {
+			if (fail.getAndSet(false)) {
+				throw new IllegalStateException("Expected failure");
+			}
+		});
+		handler.setBroadcastExecutor(executor);
+		handler.setBroadcastThreshold(1);
+		handler.start();
+
+		handler.handleMessage(createConnectMessage("sess1", new TestPrincipal("joe"), null));
+		handler.handleMessage(createSubscriptionMessage("sess1", "sub1", "/foo"));
+		fail.set(true);
+		handler.handleMessage(createMessage("/foo", "message1"));
+		handler.handleMessage(createMessage("/foo", "message2"));
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+		assertEquals(Collections.singletonList("message2"), received);
+	}
+
 
 	private Message<String> startSession(String id) {
 		this.messageHandler.start();
@@ -64,6 +64,7 @@ import org.springframework.messaging.support.AbstractSubscribableChannel;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.ExecutorSubscribableChannel;
 import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.RingBufferSubscribableChannel;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Controller;
 import org.springframework.util.AntPathMatcher;
@@ -126,6 +127,21 @@ public class MessageBrokerConfigurationTests {
 		assertEquals(13, taskExecutor.getKeepAliveSeconds());
 	}
 
+	@Test
+	public void clientInboundChannelWithRingBuffer() {
+		ApplicationContext context = loadConfig(RingBufferConfig.class);
+
+		RingBufferSubscribableChannel channel = context.getBean(
+				"clientInboundChannel", RingBufferSubscribableChannel.class);
+		assertEquals(1024, channel.getBufferSize());
+		assertSame(context.getBean("clientInboundChannelExecutor"), channel.getExecutor());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void ringBufferWithInvalidSize() {
+		new ChannelRegistration().ringBuffer(0);
+	}
+
 	@Test
 	public void clientOutboundChannelUsedByAnnotatedMethod() {
 		ApplicationContext context = loadConfig(SimpleBrokerConfig.class);
@@ -651,6 +667,16 @@ public class MessageBrokerConfigurationTests {
 	}
 
 
+	@Configuration
+	static class RingBufferConfig extends BaseTestMessageBrokerConfig {
+
+		@Override
+		protected void configureClientInboundChannel(ChannelRegistration registration) {
+			registration.ringBuffer(1000);
+		}
+	}
+
+
 	@Configuration
 	static abstract class BaseDotSeparatorConfig extends BaseTestMessageBrokerConfig {
 
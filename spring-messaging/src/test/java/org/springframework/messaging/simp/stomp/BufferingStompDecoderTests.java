@@ -70,6 +70,23 @@ public class BufferingStompDecoderTests {
 		assertNull(stompDecoder.getExpectedContentLength());
 	}
 
+	@Test
+	public void oneMessageInManyChunks() {
+		BufferingStompDecoder stompDecoder = new BufferingStompDecoder(STOMP_DECODER, 128);
+		String frame = "SEND\na:alpha\n\nMessage body\0SEND\na:beta\n\n";
+
+		for (int i = 0; i < frame.length() - 1; i++) {
+			List<Message<byte[]>> messages = stompDecoder.decode(toByteBuffer(frame.substring(i, i + 1)));
+			assertEquals(i == 26 ? 1 : 0, messages.size());
+		}
+		assertEquals(12, stompDecoder.getBufferSize());
+
+		List<Message<byte[]>> messages = stompDecoder.decode(toByteBuffer("\nSecond\0"));
+		assertEquals(1, messages.size());
+		assertEquals("Second", new String(messages.get(0).getPayload()));
+		assertEquals(0, stompDecoder.getBufferSize());
+	}
+
 	@Test
 	public void twoMessagesInOneChunk() throws InterruptedException {
 		BufferingStompDecoder stompDecoder = new BufferingStompDecoder(STOMP_DECODER, 128);
@@ -18,6 +18,7 @@ package org.springframework.messaging.simp.stomp;
 
 import java.io.UnsupportedEncodingException;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import org.junit.Test;
@@ -27,7 +28,9 @@ import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.util.InvalidMimeTypeException;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 /**
  * Test fixture for {@link StompDecoder}.
@@ -160,6 +163,39 @@ public class StompDecoderTests {
 		assertEquals("alpha:bravo\r\n\\", headers.getFirstNativeHeader("a:\r\n\\b"));
 	}
 
+	@Test
+	public void decodeFrameWithKnownHeaderNames() {
+		Message<byte[]> frame = decode("SEND\ndestination:/queue/a\ncontent-type:text/plain\ncustom:1\n\nbody\0");
+		StompHeaderAccessor headers = StompHeaderAccessor.wrap(frame);
+
+		assertEquals(3, headers.toNativeHeaderMap().size());
+		assertEquals("/queue/a", headers.getDestination());
+		assertEquals("1", headers.getFirstNativeHeader("custom"));
+		for (String name : headers.toNativeHeaderMap().keySet()) {
+			if (!name.equals("custom")) {
+				assertSame(name.intern(), name);
+			}
+		}
+	}
+
+	@Test
+	public void decodeFrameFromDirectBuffer() {
+		byte[] bytes = "SEND\ndestination:/queue/\u00e9\n\nbody\0".getBytes(StandardCharsets.UTF_8);
+		ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length + 2);
+		buffer.put((byte) '\n').put(bytes).put((byte) 'X');
+		buffer.flip();
+		buffer.position(1);
+		buffer.limit(bytes.length + 1);
+
+		Message<byte[]> frame = decode(buffer);
+		StompHeaderAccessor headers = StompHeaderAccessor.wrap(frame);
+
+		assertEquals(StompCommand.SEND, headers.getCommand());
+		assertEquals("/queue/\u00e9", headers.getDestination());
+		assertEquals("body", new String(frame.getPayload(), StandardCharsets.UTF_8));
+		assertFalse(buffer.hasRemaining());
+	}
+
 	@Test(expected = StompConversionException.class)
 	public void decodeFrameBodyNotAllowed() {
 		decode("CONNECT\naccept-version:1.2\n\nThe body of the message\0");
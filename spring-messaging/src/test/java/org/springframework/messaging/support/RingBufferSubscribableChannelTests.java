@@ -0,0 +1,211 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.messaging.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link RingBufferSubscribableChannel}.
+ *
+ * @since 5.1
+ */
+public class RingBufferSubscribableChannelTests {
+
+	private final List<Runnable> tasks = new ArrayList<>();
+
+	private final RingBufferSubscribableChannel channel = new RingBufferSubscribableChannel(this.tasks::add, 4);
+
+
+	@Test
+	public void bufferSizeRoundedUpToPowerOfTwo() {
+		assertEquals(4, this.channel.getBufferSize());
+		assertEquals(2, new RingBufferSubscribableChannel(this.tasks::add, 1).getBufferSize());
+		assertEquals(2, new RingBufferSubscribableChannel(this.tasks::add, 2).getBufferSize());
+		assertEquals(1024, new RingBufferSubscribableChannel(this.tasks::add, 1000).getBufferSize());
+	}
+
+	@Test
+	public void messagesDrainedInOrderByOneTask() {
+		List<Object> payloads = new ArrayList<>();
+		this.channel.subscribe(message -> payloads.add(message.getPayload()));
+		for (int i = 0; i < 3; i++) {
+			assertTrue(this.channel.send(MessageBuilder.withPayload(i).build()));
+		}
+		assertEquals(1, this.tasks.size());
+		assertEquals(3, this.channel.getQueueDepth());
+
+		this.tasks.remove(0).run();
+		assertEquals(0, this.tasks.size());
+		assertEquals(0, this.channel.getQueueDepth());
+		assertEquals(3, this.channel.getDrainedCount());
+		assertEquals(Arrays.asList(0, 1, 2), payloads);
+	}
+
+	@Test
+	public void drainYieldsAfterBatchSize() {
+		AtomicInteger count = new AtomicInteger();
+		this.channel.subscribe(message -> count.incrementAndGet());
+		this.channel.setBatchSize(2);
+		for (int i = 0; i < 3; i++) {
+			this.channel.send(MessageBuilder.withPayload(i).build());
+		}
+		this.tasks.remove(0).run();
+		assertEquals(2, count.get());
+		assertEquals(1, this.tasks.size());
+
+		this.tasks.remove(0).run();
+		assertEquals(3, count.get());
+		assertEquals(0, this.tasks.size());
+	}
+
+	@Test
+	public void sendRejectedWhenBufferFull() {
+		this.channel.subscribe(message -> {});
+		for (int i = 0; i < 4; i++) {
+			assertTrue(this.channel.send(MessageBuilder.withPayload(i).build(), 0));
+		}
+		assertFalse(this.channel.send(MessageBuilder.withPayload(4).build(), 0));
+		assertFalse(this.channel.send(MessageBuilder.withPayload(5).build(), 10));
+		assertEquals(2, this.channel.getRejectedCount());
+
+		this.tasks.remove(0).run();
+		assertTrue(this.channel.send(MessageBuilder.withPayload(6).build(), 0));
+	}
+
+	@Test
+	public void sendRejectedWhenSmallestBufferFull() {
+		RingBufferSubscribableChannel channel = new RingBufferSubscribableChannel(this.tasks::add, 1);
+		List<Object> payloads = new ArrayList<>();
+		channel.subscribe(message -> payloads.add(message.getPayload()));
+		for (int i = 0; i < channel.getBufferSize(); i++) {
+			assertTrue(channel.send(MessageBuilder.withPayload(i).build(), 0));
+		}
+		assertFalse(channel.send(MessageBuilder.withPayload(channel.getBufferSize()).build(), 0));
+		assertEquals(1, channel.getRejectedCount());
+
+		this.tasks.remove(0).run();
+		assertEquals(Arrays.asList(0, 1), payloads);
+	}
+
+	@Test
+	public void eachSubscriberHasItsOwnBuffer() {
+		AtomicInteger count1 = new AtomicInteger();
+		AtomicInteger count2 = new AtomicInteger();
+		this.channel.subscribe(message -> count1.incrementAndGet());
+		MessageHandler handler2 = message -> count2.incrementAndGet();
+		this.channel.subscribe(handler2);
+		this.channel.send(MessageBuilder.withPayload("a").build());
+		assertEquals(2, this.tasks.size());
+		assertEquals(2, this.channel.getQueueDepth());
+
+		this.tasks.remove(0).run();
+		this.tasks.remove(0).run();
+		assertEquals(1, count1.get());
+		assertEquals(1, count2.get());
+
+		this.channel.unsubscribe(handler2);
+		this.channel.send(MessageBuilder.withPayload("b").build());
+		this.tasks.remove(0).run();
+		assertEquals(2, count1.get());
+		assertEquals(1, count2.get());
+	}
+
+	@Test
+	public void executorInterceptorsApplied() {
+		List<String> events = new ArrayList<>();
+		this.channel.addInterceptor(new ExecutorChannelInterceptor() {
+			@Override
+			public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+				events.add("before " + message.getPayload());
+				return message;
+			}
+			@Override
+			public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler,
+					@Nullable Exception ex) {
+				events.add("after " + message.getPayload() + (ex != null ? " failed" : ""));
+			}
+		});
+		this.channel.subscribe(message -> {
+			if ("b".equals(message.getPayload())) {
+				throw new IllegalStateException("b");
+			}
+			events.add("handle " + message.getPayload());
+		});
+		this.channel.send(MessageBuilder.withPayload("a").build());
+		this.channel.send(MessageBuilder.withPayload("b").build());
+		this.channel.send(MessageBuilder.withPayload("c").build());
+		this.tasks.remove(0).run();
+
+		assertEquals(Arrays.asList("before a", "handle a", "after a", "before b", "after b failed",
+				"before c", "handle c", "after c"), events);
+	}
+
+	@Test
+	public void concurrentSenders() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		RingBufferSubscribableChannel channel = new RingBufferSubscribableChannel(executor, 64);
+		int senders = 4;
+		int messages = 10000;
+		CountDownLatch latch = new CountDownLatch(senders * messages);
+		int[] lastReceived = new int[senders];
+		AtomicInteger outOfOrder = new AtomicInteger();
+		channel.subscribe(message -> {
+			int[] payload = (int[]) message.getPayload();
+			if (payload[1] != lastReceived[payload[0]] + 1) {
+				outOfOrder.incrementAndGet();
+			}
+			lastReceived[payload[0]] = payload[1];
+			latch.countDown();
+		});
+		Thread[] threads = new Thread[senders];
+		for (int i = 0; i < senders; i++) {
+			int sender = i;
+			threads[i] = new Thread(() -> {
+				for (int j = 1; j <= messages; j++) {
+					channel.send(MessageBuilder.withPayload(new int[] {sender, j}).build());
+				}
+			});
+			threads[i].start();
+		}
+		try {
+			assertTrue(latch.await(10, TimeUnit.SECONDS));
+			assertEquals(0, outOfOrder.get());
+			assertEquals(senders * messages, channel.getDrainedCount());
+			assertEquals(0, channel.getRejectedCount());
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+}
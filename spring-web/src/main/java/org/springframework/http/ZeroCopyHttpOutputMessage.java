@@ -18,9 +18,16 @@ package org.springframework.http;
 
 import java.io.File;
 import java.nio.file.Path;
+import java.util.List;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.util.StreamUtils;
+
 /**
  * Sub-interface of {@code ReactiveOutputMessage} that has support for "zero-copy"
  * file transfers.
@@ -55,4 +62,30 @@ public interface ZeroCopyHttpOutputMessage extends ReactiveHttpOutputMessage {
 	 */
 	Mono<Void> writeWith(Path file, long position, long count);
 
+	/**
+	 * Write a body composed of in-memory content and file regions, e.g. the
+	 * parts of a {@code multipart/byteranges} response, to the underlying
+	 * HTTP layer, transferring the file regions "zero-copy" where supported.
+	 * <p>The default implementation reads the file regions into data buffers
+	 * and writes them along with the in-memory content via
+	 * {@link #writeWith(org.reactivestreams.Publisher)}, for servers that can
+	 * only transfer a single file region per response.
+	 * @param parts the parts of the body, in order: each a {@link DataBuffer}
+	 * or a {@link ResourceRegion} whose resource {@linkplain
+	 * org.springframework.core.io.Resource#isFile() is a file}
+	 * @return a publisher that indicates completion or error.
+	 * @since 5.1
+	 */
+	default Mono<Void> writePartsWith(List<?> parts) {
+		return writeWith(Flux.fromIterable(parts).concatMap(part -> {
+			if (part instanceof DataBuffer) {
+				return Mono.just((DataBuffer) part);
+			}
+			ResourceRegion region = (ResourceRegion) part;
+			Flux<DataBuffer> in = DataBufferUtils.read(
+					region.getResource(), region.getPosition(), bufferFactory(), StreamUtils.BUFFER_SIZE);
+			return DataBufferUtils.takeUntilByteCount(in, region.getCount());
+		}));
+	}
+
 }
@@ -18,6 +18,8 @@ package org.springframework.http.codec;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -57,6 +59,9 @@ import org.springframework.util.MimeTypeUtils;
  * for writing one or more {@link ResourceRegion}'s based on the HTTP ranges
  * specified in the request.
  *
+ * <p>File-based resources, including any number of regions of them, are
+ * transferred "zero-copy" when writing to a {@link ZeroCopyHttpOutputMessage}.
+ *
  * <p>For reading to a Resource, use {@link ResourceDecoder} wrapped with
  * {@link DecoderHttpMessageReader}.
  *
@@ -231,6 +236,10 @@ public class ResourceHttpMessageWriter implements HttpMessageWriter<Resource> {
 				String boundary = MimeTypeUtils.generateMultipartBoundaryString();
 				MediaType multipartType = MediaType.parseMediaType("multipart/byteranges;boundary=" + boundary);
 				headers.setContentType(multipartType);
+				if (response instanceof ZeroCopyHttpOutputMessage && resource.isFile()) {
+					return zeroCopyRegions(regions, boundary, resourceMediaType,
+							(ZeroCopyHttpOutputMessage) response, hints);
+				}
 				Map<String, Object> allHints = Hints.merge(hints, ResourceRegionEncoder.BOUNDARY_STRING_HINT, boundary);
 				return encodeAndWriteRegions(Flux.fromIterable(regions), resourceMediaType, response, allHints);
 			}
@@ -248,6 +257,34 @@ public class ResourceHttpMessageWriter implements HttpMessageWriter<Resource> {
 				});
 	}
 
+	/**
+	 * Write the given regions of a file as {@code multipart/byteranges} body,
+	 * with only the boundaries and part headers written from memory.
+	 */
+	private static Mono<Void> zeroCopyRegions(List<ResourceRegion> regions, String boundary,
+			MediaType mediaType, ZeroCopyHttpOutputMessage message, Map<String, Object> hints) {
+
+		Resource resource = regions.get(0).getResource();
+		long contentLength = lengthOf(resource);
+		if (logger.isDebugEnabled() && !Hints.isLoggingSuppressed(hints)) {
+			logger.debug(Hints.getLogPrefix(hints) + "Zero-copy " + regions.size() + " regions of [" + resource + "]");
+		}
+		DataBufferFactory factory = message.bufferFactory();
+		List<Object> parts = new ArrayList<>(regions.size() * 2 + 1);
+		for (ResourceRegion region : regions) {
+			long start = region.getPosition();
+			long end = start + region.getCount() - 1;
+			String partHeaders = "\r\n--" + boundary + "\r\n" +
+					"Content-Type: " + mediaType + "\r\n" +
+					"Content-Range: bytes " + start + '-' + end +
+					(contentLength != -1 ? "/" + contentLength : "") + "\r\n\r\n";
+			parts.add(factory.wrap(partHeaders.getBytes(StandardCharsets.US_ASCII)));
+			parts.add(region);
+		}
+		parts.add(factory.wrap(("\r\n--" + boundary + "--").getBytes(StandardCharsets.US_ASCII)));
+		return message.writePartsWith(parts);
+	}
+
 	private Mono<Void> encodeAndWriteRegions(Publisher<? extends ResourceRegion> publisher,
 			@Nullable MediaType mediaType, ReactiveHttpOutputMessage message, Map<String, Object> hints) {
 
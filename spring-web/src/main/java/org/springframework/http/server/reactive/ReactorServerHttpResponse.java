@@ -16,7 +16,11 @@
 
 package org.springframework.http.server.reactive;
 
+import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.handler.codec.http.HttpResponseStatus;
@@ -25,11 +29,14 @@ import io.netty.handler.codec.http.cookie.DefaultCookie;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.netty.NettyOutbound;
 import reactor.netty.http.server.HttpServerResponse;
 
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.core.io.support.ResourceRegion;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ZeroCopyHttpOutputMessage;
 import org.springframework.util.Assert;
@@ -113,6 +120,37 @@ class ReactorServerHttpResponse extends AbstractServerHttpResponse implements Ze
 		return doCommit(() -> this.response.sendFile(file, position, count).then());
 	}
 
+	@Override
+	public Mono<Void> writePartsWith(List<?> parts) {
+		return doCommit(() -> {
+			List<Path> files = new ArrayList<>();
+			try {
+				for (Object part : parts) {
+					if (part instanceof ResourceRegion) {
+						files.add(((ResourceRegion) part).getResource().getFile().toPath());
+					}
+				}
+			}
+			catch (IOException ex) {
+				parts.stream().filter(DataBuffer.class::isInstance)
+						.forEach(part -> DataBufferUtils.release((DataBuffer) part));
+				return Mono.error(ex);
+			}
+			NettyOutbound outbound = this.response;
+			Iterator<Path> fileIterator = files.iterator();
+			for (Object part : parts) {
+				if (part instanceof DataBuffer) {
+					outbound = outbound.send(Mono.just(NettyDataBufferFactory.toByteBuf((DataBuffer) part)));
+				}
+				else {
+					ResourceRegion region = (ResourceRegion) part;
+					outbound = outbound.sendFile(fileIterator.next(), region.getPosition(), region.getCount());
+				}
+			}
+			return outbound.then();
+		});
+	}
+
 	private Publisher<ByteBuf> toByteBufs(Publisher<? extends DataBuffer> dataBuffers) {
 		return Flux.from(dataBuffers).map(NettyDataBufferFactory::toByteBuf);
 	}
@@ -18,18 +18,25 @@ package org.springframework.http.server.reactive;
 
 import java.io.File;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 
 import org.junit.Test;
 import reactor.core.publisher.Mono;
 
+import org.springframework.core.ResolvableType;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.RequestEntity;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.ZeroCopyHttpOutputMessage;
+import org.springframework.http.codec.ResourceHttpMessageWriter;
 import org.springframework.http.server.reactive.bootstrap.ReactorHttpServer;
 import org.springframework.http.server.reactive.bootstrap.UndertowHttpServer;
+import org.springframework.util.FileCopyUtils;
 import org.springframework.web.client.RestTemplate;
 
 import static org.junit.Assert.assertEquals;
@@ -67,10 +74,38 @@ public class ZeroCopyIntegrationTests extends AbstractHttpHandlerIntegrationTest
 
 	}
 
+	@Test
+	public void zeroCopyMultipleRanges() throws Exception {
+		URI url = new URI("http://localhost:" + port);
+		RequestEntity<?> request = RequestEntity.get(url).header(HttpHeaders.RANGE, "bytes=0-9,20-29").build();
+		ResponseEntity<byte[]> response = new RestTemplate().exchange(request, byte[].class);
+
+		Resource logo = new ClassPathResource("spring.png", ZeroCopyIntegrationTests.class);
+		byte[] logoBytes = FileCopyUtils.copyToByteArray(logo.getInputStream());
+
+		assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+		assertEquals("multipart", response.getHeaders().getContentType().getType());
+		assertEquals("byteranges", response.getHeaders().getContentType().getSubtype());
+		String body = new String(response.getBody(), StandardCharsets.ISO_8859_1);
+		String logoContent = new String(logoBytes, StandardCharsets.ISO_8859_1);
+		assertTrue(body.contains("Content-Range: bytes 0-9/" + logoBytes.length + "\r\n\r\n" +
+				logoContent.substring(0, 10) + "\r\n"));
+		assertTrue(body.contains("Content-Range: bytes 20-29/" + logoBytes.length + "\r\n\r\n" +
+				logoContent.substring(20, 30) + "\r\n"));
+	}
+
+
 	private static class ZeroCopyHandler implements HttpHandler {
 
+		private final ResourceHttpMessageWriter writer = new ResourceHttpMessageWriter();
+
 		@Override
 		public Mono<Void> handle(ServerHttpRequest request, ServerHttpResponse response) {
+			if (!request.getHeaders().getRange().isEmpty()) {
+				Resource logo = new ClassPathResource("spring.png", ZeroCopyIntegrationTests.class);
+				return this.writer.write(Mono.just(logo), null, ResolvableType.forClass(Resource.class),
+						MediaType.IMAGE_PNG, request, response, Collections.emptyMap());
+			}
 			try {
 				ZeroCopyHttpOutputMessage zeroCopyResponse = (ZeroCopyHttpOutputMessage) response;
 				Resource logo = new ClassPathResource("spring.png", ZeroCopyIntegrationTests.class);
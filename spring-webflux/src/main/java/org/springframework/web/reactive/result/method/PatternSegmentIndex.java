@@ -0,0 +1,186 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.result.method;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.util.StringUtils;
+
+/**
+ * Index of handler method mappings by the literal leading segments of their
+ * URL patterns, used to narrow down the mappings to check for a lookup path.
+ *
+ * <p>A mapping is stored under the literal segments each of its patterns
+ * starts with, up to the first segment with a wildcard or URI variable.
+ * The last segment of a pattern is never indexed since it may be subject
+ * to optional trailing separator matching. Mappings without patterns are
+ * stored at the root and therefore returned for every lookup path.
+ *
+ * <p>Literal pattern segments are compared in lower case with the
+ * {@link PathContainer.PathSegment#valueToMatch() value to match} of path
+ * segments, so that the candidates returned for a lookup path are a superset
+ * of the mappings a {@link org.springframework.web.util.pattern.PathPattern
+ * PathPattern} could match, independent of its case sensitivity.
+ *
+ * <p>This class is not thread-safe; access is guarded by the read-write lock
+ * of {@link AbstractHandlerMethodMapping.MappingRegistry}.
+ *
+ * @since 5.1
+ * @param <T> the mapping type
+ */
+class PatternSegmentIndex<T> {
+
+	private static final String PATH_SEPARATOR = "/";
+
+	private static final char[] WILDCARD_CHARS = {'*', '?', '{'};
+
+
+	private final Node<T> root = new Node<>();
+
+
+	/**
+	 * Add a mapping under the literal leading segments of each of its patterns.
+	 * @param mapping the mapping to add
+	 * @param patterns the URL patterns of the mapping, possibly empty
+	 */
+	public void add(T mapping, Collection<String> patterns) {
+		if (patterns.isEmpty()) {
+			this.root.mappings.add(mapping);
+			return;
+		}
+		for (String pattern : patterns) {
+			Node<T> node = this.root;
+			for (String segment : getLiteralSegments(pattern)) {
+				node = node.children.computeIfAbsent(segment, key -> new Node<>());
+			}
+			node.mappings.add(mapping);
+		}
+	}
+
+	/**
+	 * Remove a mapping previously added with the same patterns.
+	 * @param mapping the mapping to remove
+	 * @param patterns the URL patterns of the mapping, possibly empty
+	 */
+	public void remove(T mapping, Collection<String> patterns) {
+		if (patterns.isEmpty()) {
+			this.root.mappings.remove(mapping);
+			return;
+		}
+		for (String pattern : patterns) {
+			remove(this.root, getLiteralSegments(pattern), 0, mapping);
+		}
+	}
+
+	private boolean remove(Node<T> node, List<String> segments, int index, T mapping) {
+		if (index == segments.size()) {
+			node.mappings.remove(mapping);
+		}
+		else {
+			String segment = segments.get(index);
+			Node<T> child = node.children.get(segment);
+			if (child != null && remove(child, segments, index + 1, mapping)) {
+				node.children.remove(segment);
+			}
+		}
+		return (node.mappings.isEmpty() && node.children.isEmpty());
+	}
+
+	/**
+	 * Return the mappings whose patterns may match the given lookup path,
+	 * i.e. the mappings stored under any leading segments of the path.
+	 * @param lookupPath the lookup path to find candidate mappings for
+	 * @return the candidate mappings (never {@code null})
+	 */
+	public Collection<T> getCandidates(PathContainer lookupPath) {
+		List<Node<T>> nodes = null;
+		Node<T> node = this.root;
+		for (PathContainer.Element element : lookupPath.elements()) {
+			if (!(element instanceof PathContainer.PathSegment)) {
+				continue;
+			}
+			String segment = ((PathContainer.PathSegment) element).valueToMatch();
+			if (segment.isEmpty()) {
+				continue;
+			}
+			node = node.children.get(normalize(segment));
+			if (node == null) {
+				break;
+			}
+			if (nodes == null) {
+				nodes = new ArrayList<>(4);
+			}
+			nodes.add(node);
+		}
+		if (nodes == null) {
+			return Collections.unmodifiableSet(this.root.mappings);
+		}
+		Set<T> candidates = new LinkedHashSet<>(this.root.mappings);
+		for (Node<T> current : nodes) {
+			candidates.addAll(current.mappings);
+		}
+		return candidates;
+	}
+
+
+	private static List<String> getLiteralSegments(String pattern) {
+		String[] segments = tokenize(pattern);
+		List<String> result = new ArrayList<>(segments.length);
+		for (int i = 0; i < segments.length - 1; i++) {
+			if (!isLiteral(segments[i])) {
+				break;
+			}
+			result.add(normalize(segments[i]));
+		}
+		return result;
+	}
+
+	private static boolean isLiteral(String segment) {
+		for (char c : WILDCARD_CHARS) {
+			if (segment.indexOf(c) != -1) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static String[] tokenize(String pattern) {
+		return StringUtils.tokenizeToStringArray(pattern, PATH_SEPARATOR, false, true);
+	}
+
+	private static String normalize(String segment) {
+		return segment.toLowerCase(Locale.ROOT);
+	}
+
+
+	private static class Node<T> {
+
+		private final Map<String, Node<T>> children = new HashMap<>();
+
+		private final Set<T> mappings = new LinkedHashSet<>();
+	}
+
+}
@@ -67,6 +67,19 @@ public abstract class RequestMappingInfoHandlerMapping extends AbstractHandlerMe
 	}
 
 
+	/**
+	 * Get the URL path patterns associated with this {@link RequestMappingInfo}.
+	 */
+	@Override
+	protected Set<String> getMappingPathPatterns(RequestMappingInfo info) {
+		Set<PathPattern> patterns = info.getPatternsCondition().getPatterns();
+		Set<String> result = new LinkedHashSet<>(patterns.size());
+		for (PathPattern pattern : patterns) {
+			result.add(pattern.getPatternString());
+		}
+		return result;
+	}
+
 	/**
 	 * Check if the given RequestMappingInfo matches the current request and
 	 * return a (potentially new) instance with conditions that match the
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.result.method;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import org.springframework.http.server.PathContainer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link PatternSegmentIndex}.
+ */
+public class PatternSegmentIndexTests {
+
+	private final PatternSegmentIndex<String> index = new PatternSegmentIndex<>();
+
+
+	@Test
+	public void literalPrefix() {
+		this.index.add("users", Collections.singleton("/users/{id}"));
+		this.index.add("orders", Collections.singleton("/orders/{id}"));
+		this.index.add("items", Collections.singleton("/orders/{id}/items/{item}"));
+
+		assertEquals(setOf("users"), candidates("/users/1"));
+		assertEquals(setOf("orders", "items"), candidates("/orders/1/items/2"));
+		assertTrue(candidates("/products/1").isEmpty());
+	}
+
+	@Test
+	public void captureAllEndsPrefix() {
+		this.index.add("files", Collections.singleton("/files/{*path}"));
+		this.index.add("static", Collections.singleton("/static/**"));
+
+		assertEquals(setOf("files"), candidates("/files/a/b/c"));
+		assertEquals(setOf("static"), candidates("/static/css/site.css"));
+	}
+
+	@Test
+	public void lastSegmentNotIndexed() {
+		this.index.add("list", Collections.singleton("/users/list"));
+
+		assertEquals(setOf("list"), candidates("/users/list"));
+		assertEquals(setOf("list"), candidates("/users/list/"));
+	}
+
+	@Test
+	public void matrixVariablesAndEncoding() {
+		this.index.add("users", Collections.singleton("/users/{id}"));
+		this.index.add("cafe", Collections.singleton("/café/{id}"));
+
+		assertEquals(setOf("users"), candidates("/users;v=1/1"));
+		assertEquals(setOf("cafe"), candidates("/caf%C3%A9/1"));
+	}
+
+	@Test
+	public void noPatternsAlwaysCandidate() {
+		this.index.add("all", Collections.emptySet());
+		this.index.add("users", Collections.singleton("/users/{id}"));
+
+		assertEquals(setOf("all", "users"), candidates("/users/1"));
+		assertEquals(setOf("all"), candidates("/orders/1"));
+	}
+
+	@Test
+	public void remove() {
+		this.index.add("users", Collections.singleton("/api/users/{id}"));
+		this.index.add("orders", Collections.singleton("/api/orders/{id}"));
+
+		this.index.remove("users", Collections.singleton("/api/users/{id}"));
+		assertTrue(candidates("/api/users/1").isEmpty());
+		assertEquals(setOf("orders"), candidates("/api/orders/1"));
+	}
+
+
+	private Set<String> candidates(String path) {
+		return new HashSet<>(this.index.getCandidates(PathContainer.parsePath(path)));
+	}
+
+	private static Set<String> setOf(String... values) {
+		return new HashSet<>(Arrays.asList(values));
+	}
+
+}
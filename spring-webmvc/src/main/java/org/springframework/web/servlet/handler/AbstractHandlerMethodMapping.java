@@ -36,6 +36,7 @@ import org.springframework.beans.factory.BeanFactoryUtils;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.MethodIntrospector;
 import org.springframework.lang.Nullable;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.LinkedMultiValueMap;
@@ -81,6 +82,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 	private boolean detectHandlerMethodsInAncestorContexts = false;
 
+	private boolean usePatternIndex = false;
+
 	@Nullable
 	private HandlerMethodMappingNamingStrategy<T> namingStrategy;
 
@@ -99,6 +102,30 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 		this.detectHandlerMethodsInAncestorContexts = detectHandlerMethodsInAncestorContexts;
 	}
 
+	/**
+	 * Whether to narrow down the mappings to check for a lookup path without a
+	 * direct URL match through an index of the literal leading segments of the
+	 * {@link #getMappingPathPatterns URL patterns} of each mapping, rather than
+	 * checking all registered mappings.
+	 * <p>Default is "false". Switch this flag on only if a mapping can match a
+	 * request only when one of its URL patterns matches the lookup path, or when
+	 * it has no URL patterns at all. The index is only used in combination with
+	 * an {@link AntPathMatcher}.
+	 * @since 5.1
+	 */
+	public void setUsePatternIndex(boolean usePatternIndex) {
+		this.usePatternIndex = usePatternIndex;
+	}
+
+	/**
+	 * Whether to narrow down mappings to check through an index of their URL
+	 * pattern segments.
+	 * @since 5.1
+	 */
+	public boolean usePatternIndex() {
+		return this.usePatternIndex;
+	}
+
 	/**
 	 * Configure the naming strategy to use for assigning a default name to every
 	 * mapped handler method.
@@ -348,8 +375,14 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			addMatchingMappings(directPathMatches, matches, request);
 		}
 		if (matches.isEmpty()) {
-			// No choice but to go through all mappings...
-			addMatchingMappings(this.mappingRegistry.getMappings().keySet(), matches, request);
+			if (this.usePatternIndex && getPathMatcher() instanceof AntPathMatcher) {
+				// Go through mappings whose patterns start with the same literal segments...
+				addMatchingMappings(this.mappingRegistry.getMappingsByPattern(lookupPath), matches, request);
+			}
+			else {
+				// No choice but to go through all mappings...
+				addMatchingMappings(this.mappingRegistry.getMappings().keySet(), matches, request);
+			}
 		}
 
 		if (!matches.isEmpty()) {
@@ -492,6 +525,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 		private final MultiValueMap<String, T> urlLookup = new LinkedMultiValueMap<>();
 
+		private final PatternSegmentIndex<T> patternLookup = new PatternSegmentIndex<>();
+
 		private final Map<String, List<HandlerMethod>> nameLookup = new ConcurrentHashMap<>();
 
 		private final Map<HandlerMethod, CorsConfiguration> corsLookup = new ConcurrentHashMap<>();
@@ -508,6 +543,15 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.urlLookup.get(urlPath);
 		}
 
+		/**
+		 * Return the mappings whose URL patterns may match the given lookup path,
+		 * based on the literal leading segments of their patterns. Not thread-safe.
+		 * @see #acquireReadLock()
+		 */
+		public Collection<T> getMappingsByPattern(String lookupPath) {
+			return this.patternLookup.getCandidates(lookupPath);
+		}
+
 		/**
 		 * Return handler methods by mapping name. Thread-safe for concurrent use.
 		 */
@@ -550,6 +594,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					this.urlLookup.add(url, mapping);
 				}
 
+				this.patternLookup.add(mapping, getMappingPathPatterns(mapping));
+
 				String name = null;
 				if (getNamingStrategy() != null) {
 					name = getNamingStrategy().getName(handlerMethod, mapping);
@@ -625,6 +671,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					}
 				}
 
+				this.patternLookup.remove(definition.getMapping(), getMappingPathPatterns(definition.getMapping()));
+
 				removeMappingName(definition);
 
 				this.corsLookup.remove(definition.getHandlerMethod());
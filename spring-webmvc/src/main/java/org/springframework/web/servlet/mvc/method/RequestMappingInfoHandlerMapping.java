@@ -71,6 +71,7 @@ public abstract class RequestMappingInfoHandlerMapping extends AbstractHandlerMe
 
 	protected RequestMappingInfoHandlerMapping() {
 		setHandlerMethodMappingNamingStrategy(new RequestMappingInfoHandlerMethodMappingNamingStrategy());
+		setUsePatternIndex(true);
 	}
 
 
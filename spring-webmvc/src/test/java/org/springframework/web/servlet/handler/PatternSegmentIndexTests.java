@@ -0,0 +1,113 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.handler;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link PatternSegmentIndex}.
+ */
+public class PatternSegmentIndexTests {
+
+	private final PatternSegmentIndex<String> index = new PatternSegmentIndex<>();
+
+
+	@Test
+	public void literalPrefix() {
+		this.index.add("users", Collections.singleton("/users/{id}"));
+		this.index.add("orders", Collections.singleton("/orders/{id}"));
+		this.index.add("items", Collections.singleton("/orders/{id}/items/{item}"));
+
+		assertEquals(setOf("users"), setOf(this.index.getCandidates("/users/1")));
+		assertEquals(setOf("orders", "items"), setOf(this.index.getCandidates("/orders/1/items/2")));
+		assertTrue(this.index.getCandidates("/products/1").isEmpty());
+	}
+
+	@Test
+	public void lastSegmentNotIndexed() {
+		this.index.add("list", Collections.singleton("/users/list"));
+
+		assertEquals(setOf("list"), setOf(this.index.getCandidates("/users/list.json")));
+		assertEquals(setOf("list"), setOf(this.index.getCandidates("/users/list/")));
+	}
+
+	@Test
+	public void wildcardSegmentEndsPrefix() {
+		this.index.add("any", Collections.singleton("/**/users/{id}"));
+		this.index.add("nested", Collections.singleton("/api/*/users/{id}"));
+
+		assertEquals(setOf("any", "nested"), setOf(this.index.getCandidates("/api/v1/users/1")));
+		assertEquals(setOf("any"), setOf(this.index.getCandidates("/other/users/1")));
+	}
+
+	@Test
+	public void noPatternsAlwaysCandidate() {
+		this.index.add("all", Collections.emptySet());
+		this.index.add("users", Collections.singleton("/users/{id}"));
+
+		assertEquals(setOf("all", "users"), setOf(this.index.getCandidates("/users/1")));
+		assertEquals(setOf("all"), setOf(this.index.getCandidates("/orders/1")));
+	}
+
+	@Test
+	public void multiplePatterns() {
+		this.index.add("both", Arrays.asList("/users/{id}", "/people/{id}"));
+
+		assertEquals(setOf("both"), setOf(this.index.getCandidates("/users/1")));
+		assertEquals(setOf("both"), setOf(this.index.getCandidates("/people/1")));
+	}
+
+	@Test
+	public void caseInsensitiveAndEmptySegments() {
+		this.index.add("users", Collections.singleton("/Users/{id}"));
+
+		assertEquals(setOf("users"), setOf(this.index.getCandidates("/users/1")));
+		assertEquals(setOf("users"), setOf(this.index.getCandidates("//USERS/1")));
+	}
+
+	@Test
+	public void remove() {
+		this.index.add("users", Collections.singleton("/api/users/{id}"));
+		this.index.add("orders", Collections.singleton("/api/orders/{id}"));
+
+		this.index.remove("users", Collections.singleton("/api/users/{id}"));
+		assertTrue(this.index.getCandidates("/api/users/1").isEmpty());
+		assertEquals(setOf("orders"), setOf(this.index.getCandidates("/api/orders/1")));
+
+		this.index.remove("orders", Collections.singleton("/api/orders/{id}"));
+		assertTrue(this.index.getCandidates("/api/orders/1").isEmpty());
+	}
+
+
+	private static Set<String> setOf(Iterable<String> values) {
+		Set<String> result = new HashSet<>();
+		values.forEach(result::add);
+		return result;
+	}
+
+	private static Set<String> setOf(String... values) {
+		return new HashSet<>(Arrays.asList(values));
+	}
+
+}